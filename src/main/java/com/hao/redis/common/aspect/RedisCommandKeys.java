@@ -0,0 +1,83 @@
+package com.hao.redis.common.aspect;
+
+import com.hao.redis.integration.redis.RedisClientImpl;
+
+import java.util.Set;
+
+/**
+ * Redis 命令 Key 解析
+ *
+ * 类职责：
+ * 从 RedisClient 方法参数中取出决定路由的单个 Key，供按节点统计与按节点保护的切面共用。
+ *
+ * 核心实现思路：
+ * - 首个参数为 String（或只含一个元素的 String[]）时视为单 Key 命令。
+ * - keys/scan 的首个参数是匹配模式而非 Key，属于全集群命令。
+ * - 阻塞命令（blpop/brpop）首个参数为超时秒数，Key 取第二个参数。
+ * - 从节点读视图的流量在主节点地址后追加后缀，统计与隔离均与主节点分开。
+ */
+final class RedisCommandKeys {
+
+    /**
+     * 首个参数不是 Key（而是匹配模式）的全集群命令
+     */
+    private static final Set<String> CLUSTER_WIDE_COMMANDS = Set.of("keys", "scan", "scanStream");
+
+    /**
+     * 阻塞命令：按设计长时间挂起，节点保护只做熔断检查不占许可
+     */
+    private static final Set<String> BLOCKING_COMMANDS = Set.of("blpop", "brpop");
+
+    /**
+     * 从节点读视图的节点后缀
+     */
+    private static final String REPLICA_SUFFIX = "#replica";
+
+    private RedisCommandKeys() {
+    }
+
+    /**
+     * 解析命令的路由 Key
+     *
+     * @param command 命令（客户端方法名）
+     * @param args 方法参数
+     * @return 单个 Key，多 Key、无 Key 或全集群命令返回 null
+     */
+    static String routingKey(String command, Object[] args) {
+        if (args == null || args.length == 0 || CLUSTER_WIDE_COMMANDS.contains(command)) {
+            return null;
+        }
+        Object first = isBlocking(command) && args.length > 1 ? args[1] : args[0];
+        if (first instanceof String single) {
+            return single;
+        }
+        if (first instanceof String[] keys && keys.length == 1) {
+            return keys[0];
+        }
+        return null;
+    }
+
+    /**
+     * 是否为阻塞命令
+     *
+     * @param command 命令（客户端方法名）
+     * @return 阻塞命令返回 true
+     */
+    static boolean isBlocking(String command) {
+        return BLOCKING_COMMANDS.contains(command);
+    }
+
+    /**
+     * 按目标客户端修饰节点标识
+     *
+     * @param target 切面目标对象
+     * @param node 路由 Key 所属主节点地址
+     * @return 从节点读视图返回带后缀的节点标识，其余原样返回
+     */
+    static String nodeOf(Object target, String node) {
+        if (node != null && target instanceof RedisClientImpl client && client.isReplicaView()) {
+            return node + REPLICA_SUFFIX;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,100 @@
+package com.hao.redis.common.aspect;
+
+import com.hao.redis.common.util.RedisSlotUtil;
+import com.hao.redis.integration.cluster.RedisClusterTopologyCache;
+import com.hao.redis.integration.redis.RedisCommandMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 命令耗时统计切面
+ *
+ * 类职责：
+ * 环绕 RedisClient 的每次调用，按“命令 + 节点”记录耗时、错误与超时。
+ *
+ * 设计目的：
+ * - 为每条命令提供 p50/p99/p999 延迟，定位慢节点与慢命令。
+ * - 统计逻辑与客户端实现解耦，RedisClientImpl 无需逐个方法埋点。
+ *
+ * 核心实现思路：
+ * - 首个参数为单个 Key 时按 Slot 解析所属节点；多 Key 或无 Key 的命令记为 multi。
+ * - 从节点读视图的命令记在“主节点地址#replica”下，与主节点流量分开。
+ * - 耗时使用 System.nanoTime，异常原样抛出。
+ * - 位于切面链最外层（节点保护切面之外），节点保护拒绝同样被记录为 rejected。
+ * - 只覆盖经过代理的客户端调用；异步、对冲、二进制、合并读与自调用由 RedisWireLatencyRecorder 在连接层记录。
+ * - 可通过 redis.metrics.enabled=false 关闭。
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "redis.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisCommandMetricsAspect {
+
+    private static final String MULTI_NODE = "multi";
+
+    @Autowired
+    private RedisClusterTopologyCache topologyCache;
+
+    @Autowired
+    private RedisCommandMetrics commandMetrics;
+
+    /**
+     * 定义切点：拦截 RedisClient 的全部公共方法（读视图获取方法除外）
+     */
+    @Pointcut("execution(public * com.hao.redis.integration.redis.RedisClient.*(..)) && " +
+              "!execution(* com.hao.redis.integration.redis.RedisClient.replicaReads(..))")
+    public void redisCommands() {
+    }
+
+    /**
+     * 环绕通知：记录命令耗时与异常
+     *
+     * @param joinPoint 连接点
+     * @return 命令返回值
+     * @throws Throwable 命令原始异常
+     */
+    @Around("redisCommands()")
+    public Object recordLatency(ProceedingJoinPoint joinPoint) throws Throwable {
+        long begin = System.nanoTime();
+        Throwable error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            long cost = System.nanoTime() - begin;
+            try {
+                String command = joinPoint.getSignature().getName();
+                String node = RedisCommandKeys.nodeOf(joinPoint.getTarget(), resolveNode(command, joinPoint.getArgs()));
+                commandMetrics.record(command, node, cost, error);
+            } catch (Exception e) {
+                log.warn("Redis命令统计异常|Redis_command_metrics_error", e);
+            }
+        }
+    }
+
+    /**
+     * 解析命令所属节点
+     *
+     * @param command 命令（客户端方法名）
+     * @param args 方法参数
+     * @return 节点地址，多 Key 或无 Key 时为 multi
+     */
+    private String resolveNode(String command, Object[] args) {
+        String key = RedisCommandKeys.routingKey(command, args);
+        if (key == null) {
+            return MULTI_NODE;
+        }
+        return topologyCache.getNodeBySlot(RedisSlotUtil.getSlot(key));
+    }
+}
@@ -0,0 +1,91 @@
+package com.hao.redis.common.aspect;
+
+import com.hao.redis.common.util.RedisSlotUtil;
+import com.hao.redis.integration.cluster.RedisClusterTopologyCache;
+import com.hao.redis.integration.cluster.RedisNodeGuard;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 节点保护切面
+ *
+ * 类职责：
+ * 环绕 RedisClient 的单 Key 命令，按 Key 所属节点执行隔离舱与熔断检查。
+ *
+ * 设计目的：
+ * - 慢节点或故障节点上的命令快速失败，不占用请求线程等待命令超时。
+ * - 保护逻辑与客户端实现解耦，RedisClientImpl 无需逐个方法改造。
+ *
+ * 核心实现思路：
+ * - 位于统计切面之内：被拒绝的命令由统计切面记为 rejected（不进入延迟直方图），拒绝量可观测。
+ * - 多 Key 与全集群命令无法归属单个节点，直接放行。
+ * - 阻塞命令（blpop/brpop）不占隔离舱许可，只在熔断打开时快速失败，避免长时间挂起的命令占满许可。
+ * - 从节点读视图按“主节点地址#replica”独立隔离，从节点抖动不会打开主节点熔断。
+ * - 可通过 redis.guard.enabled=false 关闭。
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "redis.guard.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisNodeGuardAspect {
+
+    @Autowired
+    private RedisClusterTopologyCache topologyCache;
+
+    @Autowired
+    private RedisNodeGuard nodeGuard;
+
+    /**
+     * 定义切点：拦截 RedisClient 的全部公共方法（读视图获取方法除外）
+     */
+    @Pointcut("execution(public * com.hao.redis.integration.redis.RedisClient.*(..)) && " +
+              "!execution(* com.hao.redis.integration.redis.RedisClient.replicaReads(..))")
+    public void redisCommands() {
+    }
+
+    /**
+     * 环绕通知：申请节点许可后执行命令
+     *
+     * 实现逻辑：
+     * 1. 解析路由 Key 与所属节点，无法解析时直接执行。
+     * 2. 阻塞命令只做熔断检查后直接执行。
+     * 3. 申请许可（熔断或隔离舱已满时抛出 RedisNodeUnavailableException）。
+     * 4. 执行命令并按结果归还许可。
+     *
+     * @param joinPoint 连接点
+     * @return 命令返回值
+     * @throws Throwable 命令原始异常或节点不可用异常
+     */
+    @Around("redisCommands()")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        String command = joinPoint.getSignature().getName();
+        String key = RedisCommandKeys.routingKey(command, joinPoint.getArgs());
+        String node = key != null ? topologyCache.getNodeBySlot(RedisSlotUtil.getSlot(key)) : null;
+        node = RedisCommandKeys.nodeOf(joinPoint.getTarget(), node);
+        if (node == null) {
+            return joinPoint.proceed();
+        }
+        if (RedisCommandKeys.isBlocking(command)) {
+            nodeGuard.checkCircuit(node);
+            return joinPoint.proceed();
+        }
+        // 核心代码：申请许可，失败即快速抛出
+        boolean probe = nodeGuard.acquire(node);
+        Throwable error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            nodeGuard.release(node, probe, error);
+        }
+    }
+}
@@ -35,9 +35,13 @@ public @interface SimpleRateLimit {
          */
         STANDALONE,
         /**
-         * 分布式限流
+         * 分布式限流（算法由 rate.limit.algorithm 配置）
          */
-        DISTRIBUTED
+        DISTRIBUTED,
+        /**
+         * 分布式平滑限流（GCRA，匀速发放许可，与单机令牌桶形态一致）
+         */
+        DISTRIBUTED_SMOOTH
     }
 
     /**
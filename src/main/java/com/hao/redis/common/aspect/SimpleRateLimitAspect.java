@@ -1,7 +1,9 @@
 package com.hao.redis.common.aspect;
 
+import com.hao.redis.common.enums.RateLimitAlgorithm;
 import com.hao.redis.common.exception.RateLimitException;
 import com.hao.redis.common.interceptor.SimpleRateLimiter;
+import com.hao.redis.common.model.RateLimitResult;
 import com.hao.redis.common.util.RedisRateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -35,7 +37,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * - 使用 Spring AOP @Around 环绕通知拦截目标方法。
  * - 解析注解中的 QPS 配置（支持动态配置）。
  * - 第一层：调用 SimpleRateLimiter (Guava) 进行本地快速检查。
- * - 第二层：若配置为 DISTRIBUTED，调用 RedisRateLimiter (Lua) 进行集群总量检查。
+ * - 第二层：若配置为 DISTRIBUTED，调用 RedisRateLimiter (Lua) 进行集群总量检查；
+ *   DISTRIBUTED_SMOOTH 使用 GCRA 匀速发放许可，与第一层令牌桶形态一致。
  * - 任一环节失败则抛出 RateLimitException。
  */
 @Slf4j
@@ -117,6 +120,14 @@ public class SimpleRateLimitAspect {
                 log.warn("分布式限流拦截|Distributed_rate_limited,uri={},qps={}", key, qps);
                 throw new RateLimitException(limit.message());
             }
+        } else if (limit.type() == SimpleRateLimit.LimitType.DISTRIBUTED_SMOOTH) {
+            // 优化：GCRA 按固定间隔发放许可，集群层不再先突发后饥饿；突发容量由 rate.limit.gcra.burst-seconds 决定
+            RateLimitResult result = redisRateLimiter.acquire(key, (int) qps, 1, RateLimitAlgorithm.GCRA);
+            if (!result.isAllowed()) {
+                log.warn("分布式平滑限流拦截|Distributed_smooth_rate_limited,uri={},qps={},retryAfterMs={}",
+                        key, qps, result.getRetryAfterMillis());
+                throw new RateLimitException(limit.message(), result.getRetryAfterMillis());
+            }
         }
 
         // 放行
@@ -0,0 +1,53 @@
+package com.hao.redis.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 分布式限流算法枚举
+ *
+ * 类职责：
+ * 声明 RedisRateLimiter 可选的限流算法，以及各算法对应的 Lua 脚本与 Key 前缀。
+ *
+ * 设计目的：
+ * 1. 算法通过配置 rate.limit.algorithm 切换，调用方无需改动。
+ * 2. 不同算法的 Key 数据结构不同（字符串计数 / 哈希状态），使用独立前缀避免切换时 WRONGTYPE。
+ *
+ * 为什么需要该类：
+ * 固定窗口在窗口边界前后可放行接近 2 倍阈值的流量，需要可切换到平滑的算法，同时保留原算法便于对比。
+ * 窗口类算法在配额耗尽后要等到窗口滑过才恢复（先突发后饥饿），GCRA 则与本地令牌桶同样匀速恢复。
+ */
+@Getter
+@AllArgsConstructor
+public enum RateLimitAlgorithm {
+
+    /**
+     * 固定窗口计数：实现简单，窗口边界处可能放行 2 倍阈值
+     */
+    FIXED_WINDOW(RedisScriptEnum.RATE_LIMIT_FIXED_WINDOW, "rate_limit:", "固定窗口"),
+
+    /**
+     * 滑动窗口计数：前一窗口按剩余占比加权，边界突发被平滑
+     */
+    SLIDING_WINDOW(RedisScriptEnum.RATE_LIMIT_SLIDING_WINDOW, "rate_limit:sliding:", "滑动窗口"),
+
+    /**
+     * GCRA：按固定间隔匀速发放许可，允许有限突发，形态与本地 Guava 令牌桶一致
+     */
+    GCRA(RedisScriptEnum.RATE_LIMIT_GCRA, "rate_limit:gcra:", "GCRA平滑限流");
+
+    /**
+     * 算法对应的 Lua 脚本
+     */
+    private final RedisScriptEnum script;
+
+    /**
+     * 限流 Key 前缀
+     */
+    private final String keyPrefix;
+
+    /**
+     * 算法说明
+     */
+    private final String desc;
+}
@@ -1,6 +1,5 @@
 package com.hao.redis.common.enums;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 /**
@@ -17,11 +16,16 @@ import lombok.Getter;
  * 统一的键规范可以降低冲突与误用风险，提升可维护性。
  *
  * 核心实现思路：
- * - 枚举承载键与描述信息。
+ * - 枚举承载键、描述信息与值压缩开关。
  * - 提供拼接方法统一生成业务键。
+ *
+ * 同实体共址约定：
+ * - 需要在一次 Lua 脚本或 MULTI 中原子操作的同一实体的多个 Key，统一使用 joinTagged 生成，
+ *   实体 ID 作为 Hash Tag（如 weibo:null:{5001}、weibo:{5001}:likes），保证落在同一 Slot。
+ * - Hash Tag 只包含实体 ID，不包含前缀，不同前缀的同实体 Key 才能共址。
+ * - 已有数据的 Key（如 user:1001）改用 joinTagged 需先迁移数据，仅缓存类 Key 可直接切换。
  */
 @Getter
-@AllArgsConstructor
 public enum RedisKeysEnum {
 
     // ============================
@@ -85,11 +89,27 @@ public enum RedisKeysEnum {
     WEIBO_PREFIX("weibo:", "微博业务键前缀"),
 
     /**
-     * 微博详情
+     * 微博详情（旧版单哈希，已拆分为分桶存储，仅用于迁移与迁移期间的回读）
+     * 类型：哈希
+     * 用法：HGET weibo:info {postId}
+     */
+    WEIBO_POST_INFO("weibo:info", "微博详情字典（旧版）"),
+
+    /**
+     * 微博详情分桶
      * 类型：哈希
-     * 用法：键 -> "weibo:list:微博id"
+     * 用法：拼接桶号 -> "weibo:info:17"，桶号 = postId % 桶数，HGET weibo:info:17 {postId}
+     * 压缩：开启（正文 JSON 压缩比高）
+     */
+    WEIBO_POST_BUCKET("weibo:info:", "微博详情分桶前缀", true),
+
+    /**
+     * 微博逻辑过期缓存（RedisLogicalData 包装）
+     * 类型：字符串
+     * 用法：拼接 postId -> "weibo:logical:5001"，值为 {"expireTime":...,"data":{...}}
+     * 压缩：开启（包装对象内嵌完整微博 JSON）
      */
-    WEIBO_POST_INFO("weibo:info", "微博详情字典"),
+    WEIBO_LOGICAL_CACHE("weibo:logical:", "微博逻辑过期缓存前缀", true),
 
     // ============================
     // 4. 防御性缓存（空值缓存）
@@ -97,7 +117,7 @@ public enum RedisKeysEnum {
     /**
      * 微博空值缓存（用于解决布隆过滤器误判）
      * 类型：字符串
-     * 用法：SETEX weibo:null:5001 300 "1"
+     * 用法：SETEX weibo:null:{5001} 300 "1"（joinTagged，与同一微博的其他 Key 共址）
      */
     WEIBO_NULL_CACHE("weibo:null:", "微博不存在标记缓存");
 
@@ -105,6 +125,21 @@ public enum RedisKeysEnum {
     private final String key;
     private final String desc;
 
+    /**
+     * 是否对该键的大值启用压缩（由 RedisValueCodec 按前缀匹配）
+     */
+    private final boolean compressible;
+
+    RedisKeysEnum(String key, String desc) {
+        this(key, desc, false);
+    }
+
+    RedisKeysEnum(String key, String desc, boolean compressible) {
+        this.key = key;
+        this.desc = desc;
+        this.compressible = compressible;
+    }
+
     /**
      * 拼接业务键
      *
@@ -119,4 +154,43 @@ public enum RedisKeysEnum {
         // 1. 使用前缀与后缀拼接生成完整键。
         return this.key + suffix;
     }
+
+    /**
+     * 拼接带 Hash Tag 的实体键
+     *
+     * 实现逻辑：
+     * 1. 在枚举前缀后拼接 {实体ID}，集群只对花括号内的实体 ID 计算 Slot。
+     *
+     * @param entityId 实体 ID（如用户 ID、微博 ID）
+     * @return 拼接后的完整键，如 weibo:null:{5001}
+     */
+    public String joinTagged(Object entityId) {
+        return this.key + hashTag(entityId);
+    }
+
+    /**
+     * 拼接带 Hash Tag 的实体子键
+     *
+     * @param entityId 实体 ID
+     * @param suffix 实体 ID 之后的后缀
+     * @return 拼接后的完整键，如 WEIBO_PREFIX.joinTagged(5001, ":likes") -> weibo:{5001}:likes
+     */
+    public String joinTagged(Object entityId, String suffix) {
+        return this.key + hashTag(entityId) + suffix;
+    }
+
+    /**
+     * 生成实体 Hash Tag
+     *
+     * @param entityId 实体 ID（不能为空，且不能包含花括号）
+     * @return {实体ID}
+     */
+    public static String hashTag(Object entityId) {
+        String id = entityId != null ? entityId.toString() : "";
+        if (id.isEmpty() || id.indexOf('{') >= 0 || id.indexOf('}') >= 0) {
+            // 空标签或嵌套花括号会让 Slot 按整个 Key 计算，共址约定失效
+            throw new IllegalArgumentException("entityId 不能为空且不能包含花括号: " + entityId);
+        }
+        return "{" + id + "}";
+    }
 }
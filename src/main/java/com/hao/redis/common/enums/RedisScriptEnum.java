@@ -0,0 +1,237 @@
+package com.hao.redis.common.enums;
+
+import io.lettuce.core.ScriptOutputType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Redis Lua 脚本枚举定义
+ *
+ * 类职责：
+ * 统一管理项目内全部 Lua 脚本的正文、返回类型与说明。
+ *
+ * 设计目的：
+ * 1. 脚本集中声明，启动时可一次性预加载到所有主节点。
+ * 2. 避免脚本正文散落在各调用点，每次调用重复构建脚本对象与计算摘要。
+ *
+ * 为什么需要该类：
+ * RedisScriptRegistry 需要一份完整的脚本清单，才能在启动与拓扑变化时做全量加载。
+ *
+ * 核心实现思路：
+ * - 枚举承载脚本正文、Lettuce 返回类型与描述信息。
+ * - 脚本只访问 KEYS 中声明的 Key，保证集群下按首个 Key 路由正确。
+ */
+@Getter
+@AllArgsConstructor
+public enum RedisScriptEnum {
+
+    // ============================
+    // 1. 分布式锁
+    // ============================
+    /**
+     * 释放锁：持有者匹配才删除
+     * KEYS[1]: 锁键
+     * ARGV[1]: 锁值（持有者标识）
+     * 返回：1 释放成功，0 非持有者
+     */
+    LOCK_RELEASE(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "return redis.call('del', KEYS[1]) " +
+            "else return 0 end",
+            ScriptOutputType.INTEGER, "分布式锁释放"),
+
+    /**
+     * 锁续期（看门狗）：持有者匹配才续期
+     * KEYS[1]: 锁键
+     * ARGV[1]: 锁值（持有者标识）
+     * ARGV[2]: 续期毫秒数
+     * 返回：1 续期成功，0 非持有者
+     */
+    LOCK_RENEW(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "else return 0 end",
+            ScriptOutputType.INTEGER, "分布式锁续期"),
+
+
+    // ============================
+    // 2. 限流
+    // ============================
+    /**
+     * 固定窗口计数限流
+     * KEYS[1]: 限流键
+     * ARGV[1]: 限流阈值
+     * ARGV[2]: 时间窗口(秒)
+     * 返回：1 放行，0 拒绝
+     */
+    RATE_LIMIT_FIXED_WINDOW(
+            "local key = KEYS[1] " +
+            "local limit = tonumber(ARGV[1]) " +
+            "local window = tonumber(ARGV[2]) " +
+            "local current = redis.call('INCR', key) " +
+            "if current == 1 or redis.call('TTL', key) == -1 then " +
+            "    redis.call('EXPIRE', key, window) " +
+            "end " +
+            "if current > limit then " +
+            "    return 0 " +
+            "end " +
+            "return 1",
+            ScriptOutputType.INTEGER, "固定窗口限流"),
+
+    /**
+     * 滑动窗口计数限流（前一窗口按剩余占比加权 + 当前窗口计数）
+     * KEYS[1]: 限流哈希键（字段 idx 当前窗口序号、cur 当前窗口计数、prev 前一窗口计数）
+     * ARGV[1]: 限流阈值
+     * ARGV[2]: 时间窗口(秒)
+     * 返回：{放行标记(1/0), 剩余配额, 建议重试等待毫秒}
+     * 说明：时间取 Redis TIME，各应用节点时钟偏差不影响窗口划分。
+     */
+    RATE_LIMIT_SLIDING_WINDOW(
+            "if redis.replicate_commands then redis.replicate_commands() end " +
+            "local key = KEYS[1] " +
+            "local limit = tonumber(ARGV[1]) " +
+            "local window = tonumber(ARGV[2]) * 1000 " +
+            "local t = redis.call('TIME') " +
+            "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) " +
+            "local idx = math.floor(now / window) " +
+            "local state = redis.call('HMGET', key, 'idx', 'cur', 'prev') " +
+            "local lastIdx = tonumber(state[1]) " +
+            "local cur = tonumber(state[2]) or 0 " +
+            "local prev = tonumber(state[3]) or 0 " +
+            "if lastIdx == nil or idx > lastIdx + 1 then " +
+            "    prev = 0 " +
+            "    cur = 0 " +
+            "elseif idx == lastIdx + 1 then " +
+            "    prev = cur " +
+            "    cur = 0 " +
+            "elseif idx < lastIdx then " +
+            "    idx = lastIdx " +
+            "end " +
+            "local elapsed = math.min(math.max(now - idx * window, 0), window) " +
+            "local count = prev * (window - elapsed) / window + cur " +
+            "if count + 1 <= limit then " +
+            "    redis.call('HSET', key, 'idx', idx, 'cur', cur + 1, 'prev', prev) " +
+            "    redis.call('PEXPIRE', key, window * 2) " +
+            "    return {1, math.floor(limit - count - 1), 0} " +
+            "end " +
+            "local retry " +
+            "local free = limit - cur - 1 " +
+            "if free >= 0 and prev > 0 then " +
+            "    retry = math.ceil(window * (1 - free / prev)) - elapsed " +
+            "else " +
+            "    local need = 0 " +
+            "    if cur > 0 then need = math.max(math.ceil(window * (1 - (limit - 1) / cur)), 0) end " +
+            "    retry = window - elapsed + need " +
+            "end " +
+            "return {0, 0, math.max(retry, 1)}",
+            ScriptOutputType.MULTI, "滑动窗口限流"),
+
+    /**
+     * GCRA 平滑限流（通用信元速率算法，等价于令牌桶）
+     * KEYS[1]: 限流键（值为理论到达时间 TAT，单位微秒）
+     * ARGV[1]: 限流阈值（窗口内许可数）
+     * ARGV[2]: 时间窗口(秒)
+     * ARGV[3]: 突发容量（瞬时最多放行的请求数，>=1）
+     * 返回：{放行标记(1/0), 剩余突发配额, 建议重试等待毫秒}
+     * 说明：发放间隔 = 窗口 / 阈值；请求放行条件为 max(TAT, now) + 间隔 - 突发容量 * 间隔 <= now。
+     *      时间取 Redis TIME；TAT 以整数字符串写入，过期时间为 TAT 距当前的时长。
+     */
+    RATE_LIMIT_GCRA(
+            "if redis.replicate_commands then redis.replicate_commands() end " +
+            "local key = KEYS[1] " +
+            "local limit = tonumber(ARGV[1]) " +
+            "local window = tonumber(ARGV[2]) * 1000000 " +
+            "local burst = tonumber(ARGV[3]) " +
+            "if limit <= 0 then " +
+            "    return {0, 0, math.ceil(window / 1000)} " +
+            "end " +
+            "local interval = window / limit " +
+            "local t = redis.call('TIME') " +
+            "local now = tonumber(t[1]) * 1000000 + tonumber(t[2]) " +
+            "local tat = tonumber(redis.call('GET', key)) or now " +
+            "if tat < now then tat = now end " +
+            "local newTat = tat + interval " +
+            "local allowAt = newTat - burst * interval " +
+            "if now < allowAt then " +
+            "    return {0, 0, math.max(math.ceil((allowAt - now) / 1000), 1)} " +
+            "end " +
+            "redis.call('SET', key, string.format('%.0f', newTat), 'PX', math.ceil((newTat - now) / 1000)) " +
+            "return {1, math.floor((now - allowAt) / interval), 0}",
+            ScriptOutputType.MULTI, "GCRA平滑限流"),
+
+    /**
+     * 配额租约：按滑动窗口计数一次性批量申领许可
+     * KEYS[1]: 租约哈希键（字段 idx 当前窗口序号、cur 当前窗口已发放、prev 前一窗口已发放）
+     * ARGV[1]: 全局阈值（窗口内许可数）
+     * ARGV[2]: 时间窗口(秒)
+     * ARGV[3]: 单次申领上限
+     * 返回：{实际发放许可数, 当前窗口剩余毫秒（租约有效期）}
+     * 说明：发放数 = min(申领上限, 阈值 - 加权已发放数)，发放即计入当前窗口；配额不足时发放 0。
+     */
+    RATE_LIMIT_LEASE(
+            "if redis.replicate_commands then redis.replicate_commands() end " +
+            "local key = KEYS[1] " +
+            "local limit = tonumber(ARGV[1]) " +
+            "local window = tonumber(ARGV[2]) * 1000 " +
+            "local chunk = tonumber(ARGV[3]) " +
+            "local t = redis.call('TIME') " +
+            "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) " +
+            "local idx = math.floor(now / window) " +
+            "local state = redis.call('HMGET', key, 'idx', 'cur', 'prev') " +
+            "local lastIdx = tonumber(state[1]) " +
+            "local cur = tonumber(state[2]) or 0 " +
+            "local prev = tonumber(state[3]) or 0 " +
+            "if lastIdx == nil or idx > lastIdx + 1 then " +
+            "    prev = 0 " +
+            "    cur = 0 " +
+            "elseif idx == lastIdx + 1 then " +
+            "    prev = cur " +
+            "    cur = 0 " +
+            "elseif idx < lastIdx then " +
+            "    idx = lastIdx " +
+            "end " +
+            "local elapsed = math.min(math.max(now - idx * window, 0), window) " +
+            "local count = prev * (window - elapsed) / window + cur " +
+            "local grant = math.max(math.min(chunk, math.floor(limit - count)), 0) " +
+            "if grant > 0 then " +
+            "    redis.call('HSET', key, 'idx', idx, 'cur', cur + grant, 'prev', prev) " +
+            "    redis.call('PEXPIRE', key, window * 2) " +
+            "end " +
+            "return {grant, math.max(window - elapsed, 1)}",
+            ScriptOutputType.MULTI, "配额租约申领"),
+
+
+    // ============================
+    // 3. 库存
+    // ============================
+    /**
+     * 秒杀扣减分片库存
+     * KEYS[1]: 分片库存键
+     * 返回：1 扣减成功，0 库存不足，-1 库存键不存在
+     */
+    SECKILL_DEDUCT_STOCK(
+            "if (redis.call('get', KEYS[1]) == false) then return -1 end; " +
+            "local stock = tonumber(redis.call('get', KEYS[1])); " +
+            "if (stock > 0) then " +
+            "   redis.call('decr', KEYS[1]); " +
+            "   return 1; " +
+            "else " +
+            "   return 0; " +
+            "end",
+            ScriptOutputType.INTEGER, "秒杀扣减库存");
+
+    /**
+     * 脚本正文
+     */
+    private final String script;
+
+    /**
+     * 返回类型
+     */
+    private final ScriptOutputType outputType;
+
+    /**
+     * 脚本说明
+     */
+    private final String desc;
+}
@@ -57,6 +57,35 @@ public class GlobalExceptionHandler {
         result.put("code", HttpStatus.TOO_MANY_REQUESTS.value());
         result.put("message", "访问过于频繁，请稍后再试");
         result.put("error", e.getMessage());
+        if (e.getRetryAfterMillis() > 0) {
+            result.put("retryAfterMs", e.getRetryAfterMillis());
+        }
+        return result;
+    }
+
+    /**
+     * 处理 Redis 节点不可用异常
+     *
+     * 实现逻辑：
+     * 1. 捕获业务层未降级的 RedisNodeUnavailableException。
+     * 2. 记录 WARN 级别日志（节点熔断属于预期内保护，堆栈无排查价值）。
+     * 3. 返回 HTTP 503（服务暂不可用）状态码。
+     *
+     * @param e 节点不可用异常
+     * @param request 请求上下文
+     * @return 标准化错误响应
+     */
+    @ExceptionHandler(RedisNodeUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, Object> handleRedisNodeUnavailableException(RedisNodeUnavailableException e, WebRequest request) {
+        // 实现思路：
+        // 1. 记录节点与拒绝原因，便于关联熔断日志。
+        log.warn("Redis节点不可用_快速失败|Redis_node_unavailable_fail_fast,path={},node={},reason={}",
+                getRequestPath(request), e.getNode(), e.getReason());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("code", HttpStatus.SERVICE_UNAVAILABLE.value());
+        result.put("message", "服务繁忙，请稍后再试");
         return result;
     }
 
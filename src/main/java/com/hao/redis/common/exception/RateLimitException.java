@@ -15,21 +15,46 @@ package com.hao.redis.common.exception;
  *
  * 实现思路：
  * - 继承 RuntimeException，属于非受检异常，业务层无需显式捕获。
- * - 仅包含基础构造方法，传递限流提示信息。
+ * - 可携带建议重试等待时间，由 GlobalExceptionHandler 返回给调用方用于退避。
  */
 public class RateLimitException extends RuntimeException {
 
+    /**
+     * 建议重试等待毫秒数，0 表示未知
+     */
+    private final long retryAfterMillis;
+
     /**
      * 限流异常构造方法
      *
      * 实现逻辑：
-     * 1. 传递限流提示信息给父类。
+     * 1. 传递限流提示信息，不携带重试时间。
      *
      * @param message 限流提示
      */
     public RateLimitException(String message) {
         // 实现思路：
-        // 1. 调用父类构造方法保存异常信息。
+        // 1. 委托带重试时间的构造方法，重试时间记为未知。
+        this(message, 0L);
+    }
+
+    /**
+     * 限流异常构造方法（携带建议重试时间）
+     *
+     * @param message 限流提示
+     * @param retryAfterMillis 建议重试等待毫秒数
+     */
+    public RateLimitException(String message, long retryAfterMillis) {
         super(message);
+        this.retryAfterMillis = Math.max(retryAfterMillis, 0L);
+    }
+
+    /**
+     * 获取建议重试等待毫秒数
+     *
+     * @return 建议重试等待毫秒数，0 表示未知
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
     }
 }
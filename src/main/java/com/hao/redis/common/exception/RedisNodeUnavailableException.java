@@ -0,0 +1,62 @@
+package com.hao.redis.common.exception;
+
+/**
+ * Redis 节点不可用异常
+ *
+ * 类职责：
+ * 节点隔离舱已满或熔断器打开时快速失败，中断对该节点的命令调用。
+ *
+ * 设计目的：
+ * 1. 与 Redis 连接、超时等底层异常区分，调用方可精确捕获并降级。
+ * 2. 携带节点地址与拒绝原因，便于监控统计与日志排查。
+ *
+ * 为什么需要该类：
+ * 快速失败属于可预期的保护行为，使用专用异常类型便于业务层按节点故障执行降级而非当作系统错误处理。
+ *
+ * 实现思路：
+ * - 继承 RuntimeException，属于非受检异常，未降级的调用方由 GlobalExceptionHandler 统一返回 503。
+ */
+public class RedisNodeUnavailableException extends RuntimeException {
+
+    /**
+     * 拒绝原因
+     */
+    public enum Reason {
+        /**
+         * 节点在途命令数已达上限
+         */
+        BULKHEAD_FULL,
+        /**
+         * 节点熔断中
+         */
+        CIRCUIT_OPEN
+    }
+
+    private final String node;
+    private final Reason reason;
+
+    /**
+     * 节点不可用异常构造方法
+     *
+     * 实现逻辑：
+     * 1. 保存节点地址与拒绝原因，并生成异常信息。
+     *
+     * @param node 节点地址（IP:Port）
+     * @param reason 拒绝原因
+     */
+    public RedisNodeUnavailableException(String node, Reason reason) {
+        // 实现思路：
+        // 1. 异常信息包含节点与原因，日志中可直接定位。
+        super("Redis节点不可用: node=" + node + ", reason=" + reason);
+        this.node = node;
+        this.reason = reason;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
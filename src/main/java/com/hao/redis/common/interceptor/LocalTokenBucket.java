@@ -0,0 +1,118 @@
+package com.hao.redis.common.interceptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 无锁本地令牌桶
+ *
+ * 类职责：
+ * 为单个限流键提供非阻塞的 tryAcquire，语义与 Guava RateLimiter（SmoothBursty）的 tryAcquire() 一致。
+ *
+ * 设计目的：
+ * 1. 去掉 Guava RateLimiter 内部的 synchronized 互斥：全局限流键被所有请求线程共用，互斥会形成锁护航。
+ * 2. 获取令牌与读取速率均不加锁、不分配对象。
+ *
+ * 为什么需要该类：
+ * SimpleRateLimiter 每个请求都会调用 getRate() 与 tryAcquire()，两者在 Guava 中都要获取同一把锁。
+ *
+ * 核心实现思路：
+ * - 全部状态压缩在一个 long 中：下一个令牌的可用时刻（纳秒），记为 TAT。
+ *   桶内存量 = (now - TAT) / 发放间隔，上次补充时间即 TAT 本身，因此一个 long 同时表达令牌数与时间。
+ * - 获取：TAT 晚于当前时间则拒绝（只有一次 volatile 读）；否则 TAT = max(TAT, now - 最大突发时长) + 间隔，CAS 提交。
+ * - 最大突发时长固定 1 秒（与 SmoothBursty 默认 maxBurstSeconds 一致），即闲置后最多累积 1 秒的令牌。
+ * - 速率变化只替换发放间隔，不触碰 TAT。
+ */
+public final class LocalTokenBucket {
+
+    /**
+     * 最大突发时长：闲置后最多累积 1 秒的令牌
+     */
+    private static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongSupplier ticker;
+
+    /**
+     * 下一个令牌的可用时刻（纳秒）
+     */
+    private final AtomicLong state;
+
+    private volatile double permitsPerSecond;
+    private volatile long intervalNanos;
+
+    /**
+     * 令牌桶构造方法
+     *
+     * @param permitsPerSecond 每秒令牌数
+     * @param ticker 纳秒时钟（测试可替换）
+     */
+    LocalTokenBucket(double permitsPerSecond, LongSupplier ticker) {
+        this.ticker = ticker;
+        setRate(permitsPerSecond);
+        // 初始无存量，首个请求可立即获取（与 Guava 一致）
+        this.state = new AtomicLong(ticker.getAsLong());
+    }
+
+    /**
+     * 创建令牌桶
+     *
+     * @param permitsPerSecond 每秒令牌数
+     * @return 令牌桶
+     */
+    public static LocalTokenBucket create(double permitsPerSecond) {
+        return new LocalTokenBucket(permitsPerSecond, System::nanoTime);
+    }
+
+    /**
+     * 尝试立即获取一个令牌
+     *
+     * 实现逻辑：
+     * 1. TAT 晚于当前时间说明下一个令牌尚未生成，直接拒绝。
+     * 2. 否则把 TAT 截断到最大突发时长以内后前移一个间隔，CAS 失败则重读重试。
+     *
+     * @return true表示获取成功
+     */
+    public boolean tryAcquire() {
+        // 实现思路：
+        // 1. 限流拒绝路径只有一次 volatile 读，高并发拒绝不产生写竞争。
+        long now = ticker.getAsLong();
+        long interval = intervalNanos;
+        for (;;) {
+            long tat = state.get();
+            if (tat - now > 0) {
+                return false;
+            }
+            // 核心代码：存量最多 1 秒，取走一个令牌即 TAT 前移一个间隔
+            long next = Math.max(tat, now - MAX_BURST_NANOS) + interval;
+            if (state.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 获取当前速率
+     *
+     * @return 每秒令牌数
+     */
+    public double getRate() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * 更新速率
+     *
+     * 实现逻辑：
+     * 1. 只替换发放间隔，已有存量按时间保留，新间隔从下一次获取开始生效。
+     *
+     * @param permitsPerSecond 每秒令牌数（必须为正数）
+     */
+    public void setRate(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+            throw new IllegalArgumentException("rate must be positive: " + permitsPerSecond);
+        }
+        this.intervalNanos = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond), 1L);
+        this.permitsPerSecond = permitsPerSecond;
+    }
+}
@@ -1,7 +1,6 @@
 package com.hao.redis.common.interceptor;
 
 import com.github.benmanes.caffeine.cache.Cache;
-import com.google.common.util.concurrent.RateLimiter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -24,16 +23,18 @@ import org.springframework.stereotype.Component;
  * - 核心优化：使用 Caffeine 替代 Guava Cache，以获得更优的并发性能和抗扫描攻击能力。
  * - 依赖注入：从 CacheConfig 中注入统一配置的 Cache 实例。
  * - 动态调整令牌桶速率以适配配置变化。
+ * - 令牌桶使用无锁的 LocalTokenBucket 替代 Guava RateLimiter：全局限流键被全部请求线程共用，
+ *   Guava 的 getRate()/tryAcquire() 都要获取同一把内部锁，会形成锁护航。
  */
 @Slf4j
 @Component
 public class SimpleRateLimiter {
     
     // 核心优化：注入由 CacheConfig 统一管理的 Caffeine 实例
-    private final Cache<String, RateLimiter> limiters;
+    private final Cache<String, LocalTokenBucket> limiters;
 
     @Autowired
-    public SimpleRateLimiter(@Qualifier("rateLimiterCache") Cache<String, RateLimiter> rateLimiterCache) {
+    public SimpleRateLimiter(@Qualifier("rateLimiterCache") Cache<String, LocalTokenBucket> rateLimiterCache) {
         this.limiters = rateLimiterCache;
     }
     
@@ -53,26 +54,27 @@ public class SimpleRateLimiter {
         // 1. Caffeine 的 get 方法是线程安全的，如果 Key 不存在，Lambda 表达式会被执行并存入缓存。
         // 2. 捕获异常并提供兜底。
         
-        RateLimiter limiter;
+        LocalTokenBucket limiter;
         try {
             // 核心代码：使用 Caffeine 的 get 方法实现“获取或创建”
             limiter = limiters.get(key, k -> {
                 log.info("创建限流器|Rate_limiter_created,key={},qps={}", k, qps);
-                return RateLimiter.create(qps);
+                return LocalTokenBucket.create(qps);
             });
         } catch (Exception e) {
             // 注意：Caffeine 的 get 方法会把 Lambda 中抛出的异常包装在 RuntimeException 或 UncheckedExecutionException 中
             log.error("获取限流器异常_使用临时实例兜底|Get_limiter_error_fallback,key={}", key, e);
             // 兜底策略：创建一个临时的限流器，确保业务不中断
-            limiter = RateLimiter.create(qps);
+            limiter = LocalTokenBucket.create(qps);
         }
         
         // 动态调整速率（使用Math.abs避免浮点数精度问题）
+        // 优化：getRate() 只是一次 volatile 读，不再每个请求获取一次互斥锁
         if (Math.abs(limiter.getRate() - qps) > 0.0001) {
             limiter.setRate(qps);
         }
 
-        // 立刻拿令牌，不等待
+        // 立刻拿令牌，不等待（CAS 无锁）
         return limiter.tryAcquire();
     }
 }
@@ -0,0 +1,41 @@
+package com.hao.redis.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 限流判定结果
+ * <p>
+ * 类职责：
+ * 承载一次限流判定的结论、剩余配额与建议重试等待时间。
+ * <p>
+ * 设计目的：
+ * 1. 被拒绝的调用方可以按 retryAfterMillis 退避，而不是立即重试继续冲击限流键。
+ * 2. 剩余配额便于网关、压测观察当前水位。
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RateLimitResult {
+
+    /**
+     * 剩余配额未知（固定窗口脚本与本地降级不返回剩余配额）
+     */
+    public static final long UNKNOWN = -1L;
+
+    /**
+     * 是否放行
+     */
+    private final boolean allowed;
+
+    /**
+     * 本次判定后的剩余配额，未知时为 UNKNOWN
+     */
+    private final long remaining;
+
+    /**
+     * 建议重试等待毫秒数，放行时为 0
+     */
+    private final long retryAfterMillis;
+}
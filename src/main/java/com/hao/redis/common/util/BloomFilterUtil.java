@@ -1,5 +1,6 @@
 package com.hao.redis.common.util;
 
+import com.hao.redis.integration.redis.RedisBatch;
 import com.hao.redis.integration.redis.RedisClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,6 +80,31 @@ public class BloomFilterUtil {
         }
     }
 
+    /**
+     * 添加元素到布隆过滤器（管道模式）
+     * <p>
+     * 仅登记 SETBIT 命令，由调用方的 pipeline 统一刷写，与业务写命令共享一次网络往返。
+     *
+     * @param batch    管道批量命令
+     * @param category 业务分类（如 user, post）
+     * @param value    待添加元素
+     */
+    public void add(RedisBatch<?> batch, String category, String value) {
+        if (batch == null || value == null || category == null) {
+            return;
+        }
+
+        String key = BLOOM_FILTER_PREFIX + category;
+
+        // 1. 计算 Hash 位置
+        long[] offsets = getOffsets(value);
+
+        // 2. 登记 SETBIT 命令，不单独发起网络请求
+        for (long offset : offsets) {
+            batch.setBit(key, offset, true);
+        }
+    }
+
     /**
      * 判断元素是否存在
      *
@@ -1,7 +1,9 @@
 package com.hao.redis.common.util;
 
 import com.hao.redis.common.model.RedisLogicalData;
+import com.hao.redis.integration.redis.BinaryRedisClient;
 import com.hao.redis.integration.redis.RedisClient;
+import com.hao.redis.integration.redis.RedisValueCodec;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -33,6 +35,12 @@ public class CacheBreakdownUtil {
     @Autowired
     private RedisClient<String> redisClient;
 
+    @Autowired
+    private BinaryRedisClient binaryRedisClient;
+
+    @Autowired
+    private RedisValueCodec valueCodec;
+
     // 注入 IO 密集型线程池（用于异步查库）
     // 修正：使用 ThreadPoolConfig 中定义的 Bean 名称 "ioTaskExecutor"
     // 且类型应为 Executor 或 ThreadPoolTaskExecutor
@@ -133,7 +141,9 @@ public class CacheBreakdownUtil {
         // 封装数据
         RedisLogicalData<R> logicalData = new RedisLogicalData<>(expireSeconds, data);
         // 写入 Redis（不设置 TTL，即永不过期）
-        redisClient.set(key, JsonUtil.toJson(logicalData));
+        // 优化：直接序列化为字节写入，避免中间 String
+        // 优化：可压缩前缀（如 weibo:logical:）的大包装对象压缩后写入，读取时 RedisClient 透明解压
+        binaryRedisClient.set(key, valueCodec.encode(key, JsonUtil.toJsonBytes(logicalData)));
     }
 
     // --- 简易分布式锁辅助方法 ---
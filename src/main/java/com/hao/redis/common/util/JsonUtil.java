@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Map;
@@ -16,7 +17,7 @@ import java.util.Map;
  * JSON 工具类
  *
  * 类职责：
- * 提供对象与 JSON 字符串之间的相互转换能力。
+ * 提供对象与 JSON 字符串（及 UTF-8 字节）之间的相互转换能力。
  *
  * 设计目的：
  * 1. 封装 Jackson 细节，屏蔽受检异常，简化调用。
@@ -65,6 +66,67 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * 对象转 JSON 字节（UTF-8）
+     * <p>
+     * 直接序列化为字节，不经过中间 String，供二进制 Redis 客户端写入。
+     *
+     * @param obj 目标对象
+     * @return JSON 字节，对象为 null 时返回 null
+     */
+    public static byte[] toJsonBytes(Object obj) {
+        if (obj == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            log.error("对象转JSON字节失败|Object_to_json_bytes_fail,class={}", obj.getClass().getName(), e);
+            throw new RuntimeException("JSON序列化失败", e);
+        }
+    }
+
+    /**
+     * JSON 字节转对象
+     *
+     * @param json JSON 字节（UTF-8）
+     * @param clazz 目标类型
+     * @return 目标对象，字节为空返回 null
+     */
+    public static <T> T toBean(byte[] json, Class<T> clazz) {
+        if (json == null || json.length == 0) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, clazz);
+        } catch (IOException e) {
+            log.error("JSON字节转对象失败|Json_bytes_to_object_fail,length={},class={}", json.length, clazz.getName(), e);
+            throw new RuntimeException("JSON反序列化失败", e);
+        }
+    }
+
+    /**
+     * JSON 字节转泛型对象 (如 RedisLogicalData<WeiboPost>)
+     *
+     * @param json JSON 字节（UTF-8）
+     * @param outerClass 外层泛型类
+     * @param innerClass 内层泛型参数类
+     * @return 目标对象，字节为空返回 null
+     */
+    public static <T, E> T toBean(byte[] json, Class<T> outerClass, Class<E> innerClass) {
+        if (json == null || json.length == 0) {
+            return null;
+        }
+        try {
+            JavaType javaType = OBJECT_MAPPER.getTypeFactory().constructParametricType(outerClass, innerClass);
+            return OBJECT_MAPPER.readValue(json, javaType);
+        } catch (IOException e) {
+            log.error("JSON字节转泛型对象失败|Json_bytes_to_generic_object_fail,length={},outer={},inner={}",
+                    json.length, outerClass.getName(), innerClass.getName(), e);
+            throw new RuntimeException("JSON反序列化泛型对象失败", e);
+        }
+    }
+
     /**
      * JSON 字符串转对象
      *
@@ -0,0 +1,365 @@
+package com.hao.redis.common.util;
+
+import com.hao.redis.common.enums.RedisScriptEnum;
+import com.hao.redis.common.model.RateLimitResult;
+import com.hao.redis.integration.cluster.RedisNodeGuard;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 配额租约限流器
+ *
+ * 类职责：
+ * 各节点按批从 Redis 申领全局许可（租约），在本地无锁发放，低于低水位时异步续租。
+ *
+ * 设计目的：
+ * 1. 全局限流不再每个请求访问一次 Redis：单次申领约全局 QPS 的 5%，Redis 调用量下降约两个数量级。
+ * 2. 全局总量保持准确：许可在申领时即计入 Redis 滑动窗口，不会超发；误差为各节点未用完的租约，
+ *    上界为 节点数 × 单次申领量（少放行），以及续租跨窗口时带入新窗口的低水位余量（多放行）。
+ *
+ * 为什么需要该类：
+ * 逐请求限流让每个 HTTP 请求多一次 Redis 往返，且整个集群的流量集中到同一个限流 Key 上。
+ *
+ * 核心实现思路：
+ * - 申领脚本按滑动窗口计数发放 min(申领上限, 剩余配额) 个许可，租约有效期为当前窗口剩余时长。
+ * - 本地发放使用 CAS 递减，不加锁；剩余许可降到低水位时由一个线程异步续租。
+ * - 租约耗尽或过期时同步申领（同 Key 串行）；Redis 配额耗尽时短暂退避，期间本地直接拒绝。
+ * - Redis 异常时在退避期内改用 RedisRateLimiter 的本地保守限流。
+ */
+@Slf4j
+@Component
+public class RedisLeasedRateLimiter {
+
+    /**
+     * 租约 Key 前缀
+     */
+    private static final String KEY_PREFIX = "rate_limit:lease:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisScriptRegistry scriptRegistry;
+    private final RedisRateLimiter redisRateLimiter;
+    private final Executor refillExecutor;
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> leaseScript;
+
+    /**
+     * 单次申领占全局阈值的比例
+     */
+    private final double chunkRatio;
+
+    /**
+     * 低水位占单次申领量的比例
+     */
+    private final double lowWaterRatio;
+
+    /**
+     * 配额耗尽后的退避上限
+     */
+    private final long denyBackoffNanos;
+
+    /**
+     * Redis 异常后改用本地限流的时长
+     */
+    private final long fallbackNanos;
+
+    /**
+     * 节点隔离舱（可选）
+     */
+    private RedisNodeGuard nodeGuard;
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private final LongAdder acquires = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder redisCalls = new LongAdder();
+    private final LongAdder asyncRefills = new LongAdder();
+    private final LongAdder leasedPermits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * 配额租约限流器构造方法
+     *
+     * @param stringRedisTemplate Redis 模板（注册中心不可用时执行脚本）
+     * @param scriptRegistry 脚本注册中心（可为空）
+     * @param redisRateLimiter Redis 限流器（提供本地保守限流）
+     * @param refillExecutor 异步续租执行器
+     * @param chunkRatio 单次申领占全局阈值的比例
+     * @param lowWaterRatio 低水位占单次申领量的比例
+     * @param denyBackoffMillis 配额耗尽后的退避上限（毫秒）
+     * @param fallbackMillis Redis 异常后改用本地限流的时长（毫秒）
+     */
+    @Autowired
+    public RedisLeasedRateLimiter(StringRedisTemplate stringRedisTemplate,
+                                  RedisScriptRegistry scriptRegistry,
+                                  RedisRateLimiter redisRateLimiter,
+                                  @Qualifier("virtualThreadExecutor") Executor refillExecutor,
+                                  @Value("${rate.limit.lease.chunk-ratio:0.05}") double chunkRatio,
+                                  @Value("${rate.limit.lease.low-water-ratio:0.2}") double lowWaterRatio,
+                                  @Value("${rate.limit.lease.deny-backoff-ms:10}") long denyBackoffMillis,
+                                  @Value("${rate.limit.lease.fallback-ms:1000}") long fallbackMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.scriptRegistry = scriptRegistry;
+        this.redisRateLimiter = redisRateLimiter;
+        this.refillExecutor = refillExecutor;
+        this.chunkRatio = chunkRatio > 0 && chunkRatio <= 1 ? chunkRatio : 0.05D;
+        this.lowWaterRatio = lowWaterRatio >= 0 && lowWaterRatio < 1 ? lowWaterRatio : 0.2D;
+        this.denyBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(denyBackoffMillis, 1));
+        this.fallbackNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(fallbackMillis, 1));
+        this.leaseScript = new DefaultRedisScript<>();
+        this.leaseScript.setScriptText(RedisScriptEnum.RATE_LIMIT_LEASE.getScript());
+        this.leaseScript.setResultType(List.class);
+    }
+
+    /**
+     * 注入节点隔离舱
+     *
+     * @param nodeGuard 节点隔离舱
+     */
+    @Autowired(required = false)
+    public void setNodeGuard(RedisNodeGuard nodeGuard) {
+        this.nodeGuard = nodeGuard;
+    }
+
+    /**
+     * 获取访问许可
+     *
+     * 实现逻辑：
+     * 1. Redis 异常退避期内走本地保守限流。
+     * 2. 租约有效且有剩余许可时 CAS 递减，降到低水位时触发异步续租。
+     * 3. 配额耗尽退避期内直接拒绝；否则同步申领后再发放。
+     *
+     * @param key 业务键
+     * @param limit 全局限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @return 限流判定结果（剩余配额为本节点租约剩余许可）
+     */
+    public RateLimitResult acquire(String key, int limit, int windowSeconds) {
+        // 实现思路：
+        // 1. 常态路径只有一次 CAS，不访问 Redis、不加锁。
+        acquires.increment();
+        Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+        long now = System.nanoTime();
+        if (now < lease.fallbackUntilNanos) {
+            fallbacks.increment();
+            return redisRateLimiter.acquireLocally(key, limit, windowSeconds);
+        }
+        if (now < lease.expiresAtNanos) {
+            long left = lease.take();
+            if (left >= 0) {
+                maybeRefill(key, lease, left, limit, windowSeconds, now);
+                return new RateLimitResult(true, left, 0L);
+            }
+        }
+        if (now < lease.deniedUntilNanos) {
+            return reject(lease, now);
+        }
+        return acquireSlow(key, lease, limit, windowSeconds);
+    }
+
+    /**
+     * 获取租约统计
+     *
+     * @return 申领次数、发放许可数、Redis 调用占比与各 Key 本地剩余许可
+     */
+    public Map<String, Object> stats() {
+        long acquireCount = acquires.sum();
+        long calls = redisCalls.sum();
+        Map<String, Object> local = new LinkedHashMap<>();
+        leases.forEach((key, lease) -> local.put(key, lease.permits.get()));
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("chunkRatio", chunkRatio);
+        stats.put("lowWaterRatio", lowWaterRatio);
+        stats.put("acquires", acquireCount);
+        stats.put("rejected", rejected.sum());
+        stats.put("redisCalls", calls);
+        stats.put("asyncRefills", asyncRefills.sum());
+        stats.put("leasedPermits", leasedPermits.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("redisCallRatio", acquireCount == 0 ? 0.0D : (double) calls / acquireCount);
+        stats.put("localPermits", local);
+        return stats;
+    }
+
+    /**
+     * 同步申领并发放
+     *
+     * 实现逻辑：
+     * 1. 同 Key 串行，拿到锁后复查：其他线程可能已完成申领或进入退避。
+     * 2. 申领失败（Redis 异常）时进入降级退避并走本地保守限流。
+     *
+     * @param key 业务键
+     * @param lease 本地租约
+     * @param limit 全局限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @return 限流判定结果
+     */
+    private RateLimitResult acquireSlow(String key, Lease lease, int limit, int windowSeconds) {
+        lease.lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now < lease.expiresAtNanos) {
+                long left = lease.take();
+                if (left >= 0) {
+                    return new RateLimitResult(true, left, 0L);
+                }
+            }
+            if (now < lease.deniedUntilNanos) {
+                return reject(lease, now);
+            }
+            if (!refill(key, lease, limit, windowSeconds)) {
+                lease.fallbackUntilNanos = System.nanoTime() + fallbackNanos;
+                fallbacks.increment();
+                return redisRateLimiter.acquireLocally(key, limit, windowSeconds);
+            }
+            long left = lease.take();
+            return left >= 0 ? new RateLimitResult(true, left, 0L) : reject(lease, System.nanoTime());
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    /**
+     * 低水位异步续租
+     *
+     * 实现逻辑：
+     * 1. 剩余许可不高于低水位且当前无续租任务时，由一个线程提交续租，请求线程不等待。
+     * 2. 配额耗尽退避期内不续租，避免全局配额用尽时每个请求都触发一次 Redis 调用。
+     *
+     * @param key 业务键
+     * @param lease 本地租约
+     * @param left 本次发放后的剩余许可
+     * @param limit 全局限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @param now 当前时间（纳秒）
+     */
+    private void maybeRefill(String key, Lease lease, long left, int limit, int windowSeconds, long now) {
+        if (left > (long) (chunk(limit) * lowWaterRatio) || now < lease.deniedUntilNanos
+                || !lease.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    asyncRefills.increment();
+                    refill(key, lease, limit, windowSeconds);
+                } finally {
+                    lease.refilling.set(false);
+                }
+            });
+        } catch (Exception e) {
+            lease.refilling.set(false);
+            log.warn("异步续租提交失败|Lease_refill_submit_fail,key={},error={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 向 Redis 申领一批许可
+     *
+     * 实现逻辑：
+     * 1. 发放数大于 0：累加到本地剩余许可（原租约已过期则覆盖），有效期延长到当前窗口结束。
+     * 2. 发放数为 0：配额耗尽，退避 min(窗口剩余时长, 退避上限)，期间本地直接拒绝。
+     *
+     * @param key 业务键
+     * @param lease 本地租约
+     * @param limit 全局限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @return 是否成功访问 Redis
+     */
+    private boolean refill(String key, Lease lease, int limit, int windowSeconds) {
+        String redisKey = KEY_PREFIX + key;
+        try {
+            redisCalls.increment();
+            // 核心代码：参数说明 KEYS=[租约键], ARGV=[全局阈值, 窗口秒数, 单次申领上限]
+            List<?> result = nodeGuard != null
+                    ? nodeGuard.execute(redisKey, () -> executeLeaseScript(redisKey, limit, windowSeconds))
+                    : executeLeaseScript(redisKey, limit, windowSeconds);
+            if (result == null || result.size() < 2) {
+                throw new IllegalStateException("租约脚本返回值异常: " + result);
+            }
+            long granted = ((Number) result.get(0)).longValue();
+            long ttlNanos = TimeUnit.MILLISECONDS.toNanos(((Number) result.get(1)).longValue());
+            long now = System.nanoTime();
+            if (granted > 0) {
+                if (now >= lease.expiresAtNanos) {
+                    lease.permits.set(granted);
+                } else {
+                    lease.permits.addAndGet(granted);
+                }
+                lease.expiresAtNanos = now + ttlNanos;
+                leasedPermits.add(granted);
+            } else {
+                lease.deniedUntilNanos = now + Math.min(ttlNanos, denyBackoffNanos);
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("配额租约申领失败|Lease_refill_fail,key={},error={}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    private List<?> executeLeaseScript(String redisKey, int limit, int windowSeconds) {
+        List<String> keys = Collections.singletonList(redisKey);
+        String limitArg = String.valueOf(limit);
+        String windowArg = String.valueOf(windowSeconds);
+        String chunkArg = String.valueOf(chunk(limit));
+        return scriptRegistry != null
+                ? scriptRegistry.execute(RedisScriptEnum.RATE_LIMIT_LEASE, keys, limitArg, windowArg, chunkArg)
+                : stringRedisTemplate.execute(leaseScript, keys, limitArg, windowArg, chunkArg);
+    }
+
+    private RateLimitResult reject(Lease lease, long now) {
+        rejected.increment();
+        long retryAfter = TimeUnit.NANOSECONDS.toMillis(Math.max(lease.deniedUntilNanos - now, 0));
+        return new RateLimitResult(false, 0L, Math.max(retryAfter, 1L));
+    }
+
+    private int chunk(int limit) {
+        return (int) Math.max(Math.ceil(limit * chunkRatio), 1);
+    }
+
+    /**
+     * 单 Key 本地租约
+     */
+    private static final class Lease {
+        private final AtomicLong permits = new AtomicLong();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long expiresAtNanos = System.nanoTime();
+        private volatile long deniedUntilNanos = System.nanoTime();
+        private volatile long fallbackUntilNanos = System.nanoTime();
+
+        /**
+         * 无锁取出一个许可
+         *
+         * @return 取出后的剩余许可，无许可时返回 -1
+         */
+        private long take() {
+            long current;
+            do {
+                current = permits.get();
+                if (current <= 0) {
+                    return -1;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+            return current - 1;
+        }
+    }
+}
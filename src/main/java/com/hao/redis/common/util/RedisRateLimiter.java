@@ -1,13 +1,28 @@
 package com.hao.redis.common.util;
 
+import com.hao.redis.common.enums.RateLimitAlgorithm;
+import com.hao.redis.common.enums.RedisScriptEnum;
+import com.hao.redis.common.exception.RedisNodeUnavailableException;
 import com.hao.redis.common.interceptor.SimpleRateLimiter;
+import com.hao.redis.common.model.RateLimitResult;
+import com.hao.redis.integration.cluster.RedisNodeGuard;
+import com.hao.redis.integration.redis.RedisHotKeyDetector;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Redis分布式限流工具类
@@ -24,67 +39,170 @@ import java.util.Collections;
  * 分布式限流必须具备原子性与高可用特性，独立封装可降低业务侵入。
  *
  * 实现思路：
- * - 采用计数器固定窗口算法。
- * - 通过 Lua 脚本在 Redis 端原子执行计数与过期时间设置。
+ * - 算法可选：固定窗口计数（默认，与原有行为及 rate_limit: 键一致），或滑动窗口计数（rate.limit.algorithm=SLIDING_WINDOW，
+ *   前一窗口按剩余占比加权，消除边界处的 2 倍突发），
+ *   或 GCRA（按理论到达时间匀速发放许可，允许可配置的突发，与本地令牌桶形态一致）。
+ * - 通过 Lua 脚本在 Redis 端原子执行计数与过期时间设置；滑动窗口同时返回剩余配额与建议重试时间。
  * - 捕获 Redis 执行异常，默认执行本地保守限流降级策略。
+ * - 条带模式（acquireStriped）：全局阈值拆到 N 个 Hash Tag 不同的子键，分散到不同 Slot / 主节点，
+ *   节点按亲和性固定首选条带，首选条带耗尽时向其他条带借用，消除单个限流 Key 成为集群 QPS 上限。
  */
 @Slf4j
 @Component
 public class RedisRateLimiter {
 
+    /**
+     * 条带模式子键前缀
+     */
+    private static final String STRIPED_KEY_PREFIX = "rate_limit:striped:";
+
     private final StringRedisTemplate stringRedisTemplate;
     private final DefaultRedisScript<Long> limitScript;
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> slidingWindowScript;
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> gcraScript;
     private final SimpleRateLimiter fallbackRateLimiter;
     private final double redisFallbackRatio;
 
-    // Lua 脚本：固定窗口计数器
-    // KEYS[1]: 限流键
-    // ARGV[1]: 限流阈值
-    // ARGV[2]: 时间窗口(秒)
-    // 优化：增加 TTL 兜底校验，防止 Key 变为永不过期的僵尸 Key
-    private static final String LUA_SCRIPT_TEXT =
-            "local key = KEYS[1] " +
-            "local limit = tonumber(ARGV[1]) " +
-            "local window = tonumber(ARGV[2]) " +
-            "local current = redis.call('INCR', key) " +
-            "if current == 1 or redis.call('TTL', key) == -1 then " +
-            "    redis.call('EXPIRE', key, window) " +
-            "end " +
-            "if current > limit then " +
-            "    return 0 " +
-            "end " +
-            "return 1";
+    /**
+     * 默认限流算法
+     */
+    private final RateLimitAlgorithm algorithm;
+
+    /**
+     * GCRA 默认突发时长（秒）：突发容量 = 每秒许可数 * 该时长，与 Guava SmoothBursty 默认 1 秒一致
+     */
+    private final double gcraBurstSeconds;
+
+    /**
+     * 条带数
+     */
+    private final int stripeCount;
+
+    /**
+     * 条带模式全局精度容忍度（阈值占比），决定“条带已耗尽”提示的有效时长
+     */
+    private final double stripeTolerance;
+
+    /**
+     * 本节点的首选条带散列值（按节点标识计算）
+     */
+    private final int nodeAffinity;
+
+    /**
+     * 条带状态：限流键 -> 各条带的本地提示（仅用于全局键等少量固定键）
+     */
+    private final Map<String, StripeHints> stripeHints = new ConcurrentHashMap<>();
+
+    /**
+     * 脚本注册中心（可选），存在时以 EVALSHA 执行限流脚本
+     */
+    private final RedisScriptRegistry scriptRegistry;
+
+    /**
+     * 热点 Key 探测器（可选），全局限流键是典型的单 Key 热点
+     */
+    private RedisHotKeyDetector hotKeyDetector;
+
+    /**
+     * 节点隔离舱（可选），限流键所在节点故障时快速失败并走本地降级
+     */
+    private RedisNodeGuard nodeGuard;
 
     /**
      * Redis 限流器构造方法
      *
      * 实现逻辑：
-     * 1. 注入 StringRedisTemplate。
-     * 2. 初始化 Lua 脚本并设置返回类型。
+     * 1. 不使用脚本注册中心，直接通过 StringRedisTemplate 执行脚本（便于手动构造与 Mock）。
+     * 2. 默认使用固定窗口算法。
+     *
+     * @param stringRedisTemplate Redis 模板
+     * @param fallbackRateLimiter 本地降级限流器
+     * @param redisFallbackRatio 降级比例
+     */
+    public RedisRateLimiter(StringRedisTemplate stringRedisTemplate,
+                            SimpleRateLimiter fallbackRateLimiter,
+                            double redisFallbackRatio) {
+        this(stringRedisTemplate, fallbackRateLimiter, redisFallbackRatio, null, RateLimitAlgorithm.FIXED_WINDOW, 1.0D,
+                8, 0.05D, null);
+    }
+
+    /**
+     * Redis 限流器构造方法（脚本注册中心版）
+     *
+     * 实现逻辑：
+     * 1. 注入模板与脚本注册中心。
+     * 2. 初始化模板执行用的 Lua 脚本（注册中心不可用时使用）。
      *
      * @param stringRedisTemplate Redis 模板
+     * @param fallbackRateLimiter 本地降级限流器
+     * @param redisFallbackRatio 降级比例
+     * @param scriptRegistry 脚本注册中心
+     * @param algorithm 默认限流算法（未配置时为 FIXED_WINDOW，与三参构造一致）
+     * @param gcraBurstSeconds GCRA 默认突发时长（秒）
+     * @param stripeCount 条带模式子键数量
+     * @param stripeTolerance 条带模式全局精度容忍度（阈值占比）
+     * @param nodeId 节点标识（为空时使用主机名 + 进程号），决定首选条带
      */
+    @Autowired
     public RedisRateLimiter(StringRedisTemplate stringRedisTemplate,
                             SimpleRateLimiter fallbackRateLimiter,
-                            @Value("${rate.limit.redis-fallback-ratio:0.5}") double redisFallbackRatio) {
+                            @Value("${rate.limit.redis-fallback-ratio:0.5}") double redisFallbackRatio,
+                            RedisScriptRegistry scriptRegistry,
+                            @Value("${rate.limit.algorithm:FIXED_WINDOW}") RateLimitAlgorithm algorithm,
+                            @Value("${rate.limit.gcra.burst-seconds:1.0}") double gcraBurstSeconds,
+                            @Value("${rate.limit.striped.stripes:8}") int stripeCount,
+                            @Value("${rate.limit.striped.tolerance:0.05}") double stripeTolerance,
+                            @Value("${rate.limit.striped.node-id:}") String nodeId) {
         // 实现思路：
         // 1. 注入模板并完成脚本初始化。
         this.stringRedisTemplate = stringRedisTemplate;
         this.fallbackRateLimiter = fallbackRateLimiter;
         this.redisFallbackRatio = normalizeFallbackRatio(redisFallbackRatio);
+        this.scriptRegistry = scriptRegistry;
+        this.algorithm = algorithm != null ? algorithm : RateLimitAlgorithm.FIXED_WINDOW;
+        this.gcraBurstSeconds = gcraBurstSeconds > 0 ? gcraBurstSeconds : 1.0D;
+        this.stripeCount = Math.max(stripeCount, 1);
+        this.stripeTolerance = stripeTolerance > 0 && stripeTolerance <= 1 ? stripeTolerance : 0.05D;
+        this.nodeAffinity = spread((nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId).hashCode());
         // 初始化 Lua 脚本
         this.limitScript = new DefaultRedisScript<>();
-        this.limitScript.setScriptText(LUA_SCRIPT_TEXT);
+        this.limitScript.setScriptText(RedisScriptEnum.RATE_LIMIT_FIXED_WINDOW.getScript());
         this.limitScript.setResultType(Long.class);
+        this.slidingWindowScript = new DefaultRedisScript<>();
+        this.slidingWindowScript.setScriptText(RedisScriptEnum.RATE_LIMIT_SLIDING_WINDOW.getScript());
+        this.slidingWindowScript.setResultType(List.class);
+        this.gcraScript = new DefaultRedisScript<>();
+        this.gcraScript.setScriptText(RedisScriptEnum.RATE_LIMIT_GCRA.getScript());
+        this.gcraScript.setResultType(List.class);
+    }
+
+    /**
+     * 注入热点 Key 探测器
+     *
+     * @param hotKeyDetector 热点 Key 探测器
+     */
+    @Autowired(required = false)
+    public void setHotKeyDetector(RedisHotKeyDetector hotKeyDetector) {
+        this.hotKeyDetector = hotKeyDetector;
+    }
+
+    /**
+     * 注入节点隔离舱
+     *
+     * @param nodeGuard 节点隔离舱
+     */
+    @Autowired(required = false)
+    public void setNodeGuard(RedisNodeGuard nodeGuard) {
+        this.nodeGuard = nodeGuard;
     }
 
     /**
      * 尝试获取访问许可
      *
      * 实现逻辑：
-     * 1. 构造 Redis 键。
-     * 2. 执行 Lua 脚本进行原子计数校验。
-     * 3. 处理 Redis 异常，执行降级策略。
+     * 1. 使用默认算法判定，仅返回是否放行。
      *
      * @param key 业务键（如用户ID、IP）
      * @param limit 限制次数
@@ -92,44 +210,333 @@ public class RedisRateLimiter {
      * @return true表示允许访问，false表示拒绝访问
      */
     public boolean tryAcquire(String key, int limit, int windowSeconds) {
+        return acquire(key, limit, windowSeconds, algorithm).isAllowed();
+    }
+
+    /**
+     * 获取访问许可（默认算法，返回剩余配额与重试时间）
+     *
+     * @param key 业务键（如用户ID、IP）
+     * @param limit 限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @return 限流判定结果
+     */
+    public RateLimitResult acquire(String key, int limit, int windowSeconds) {
+        return acquire(key, limit, windowSeconds, algorithm);
+    }
+
+    /**
+     * 获取访问许可（指定算法）
+     *
+     * 实现逻辑：
+     * 1. GCRA 使用默认突发容量（每秒许可数 * 突发时长），窗口类算法忽略突发容量。
+     *
+     * @param key 业务键（如用户ID、IP）
+     * @param limit 限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @param algorithm 限流算法
+     * @return 限流判定结果
+     */
+    public RateLimitResult acquire(String key, int limit, int windowSeconds, RateLimitAlgorithm algorithm) {
+        return acquire(key, limit, windowSeconds, algorithm, defaultBurst(limit, windowSeconds));
+    }
+
+    /**
+     * 获取访问许可（GCRA，指定突发容量）
+     *
+     * @param key 业务键（如用户ID、IP）
+     * @param limit 限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @param burst 突发容量（瞬时最多放行的请求数，最小为 1）
+     * @return 限流判定结果
+     */
+    public RateLimitResult acquireSmooth(String key, int limit, int windowSeconds, int burst) {
+        return acquire(key, limit, windowSeconds, RateLimitAlgorithm.GCRA, Math.max(burst, 1));
+    }
+
+    /**
+     * 获取访问许可（指定算法与突发容量）
+     *
+     * 实现逻辑：
+     * 1. 按算法前缀构造 Redis 键。
+     * 2. 执行对应 Lua 脚本进行原子计数校验。
+     * 3. 处理 Redis 异常，执行降级策略。
+     *
+     * @param key 业务键（如用户ID、IP）
+     * @param limit 限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @param algorithm 限流算法
+     * @param burst 突发容量（仅 GCRA 使用）
+     * @return 限流判定结果
+     */
+    private RateLimitResult acquire(String key, int limit, int windowSeconds, RateLimitAlgorithm algorithm, int burst) {
         // 实现思路：
         // 1. 构造 Redis 键。
         // 2. 执行 Lua 脚本进行原子计数校验。
         // 3. 处理 Redis 异常，执行降级策略。
 
-        // 构造完整的 Redis 键，增加前缀避免冲突
-        String redisKey = "rate_limit:" + key;
+        // 构造完整的 Redis 键，增加前缀避免冲突（不同算法数据结构不同，前缀也不同）
+        String redisKey = algorithm.getKeyPrefix() + key;
+        if (hotKeyDetector != null) {
+            hotKeyDetector.record(redisKey);
+        }
 
         try {
             // 核心代码：执行 Lua 脚本，原子性判断是否限流
-            // 参数说明：KEYS=[限流键], ARGV=[阈值, 窗口秒数]
-            Long result = stringRedisTemplate.execute(
-                    limitScript,
-                    Collections.singletonList(redisKey),
-                    String.valueOf(limit),
-                    String.valueOf(windowSeconds)
-            );
-
-            // Lua脚本返回1表示允许，0表示拒绝
-            return result != null && result == 1L;
+            // 优化：经节点隔离舱执行，限流键所在节点熔断时不再等待命令超时
+            return nodeGuard != null
+                    ? nodeGuard.execute(redisKey, () -> executeLimitScript(algorithm, redisKey, limit, windowSeconds, burst))
+                    : executeLimitScript(algorithm, redisKey, limit, windowSeconds, burst);
 
+        } catch (RedisNodeUnavailableException e) {
+            // 实现思路：
+            // 1. 节点熔断属于预期内快速失败，不打印堆栈，直接本地降级。
+            log.warn("Redis限流节点不可用_触发本地降级|Redis_limiter_node_unavailable_fallback_to_local,key={},node={},reason={}",
+                    key, e.getNode(), e.getReason());
+            return fallbackAcquire(key, limit, windowSeconds);
         } catch (Exception e) {
             // 实现思路：
             // 1. 捕获 Redis 连接超时、读写失败等异常。
             // 2. 记录错误日志，保留现场信息。
             // 3. 降级到本地保守限流，避免异常时完全放行。
             log.error("Redis限流服务异常_触发本地降级|Redis_limiter_error_fallback_to_local,key={},error={}", key, e.getMessage(), e);
-            // 核心修复：根据 limit 和 window 计算正确的 QPS
-            double fallbackQps = calculateFallbackQps(limit, windowSeconds);
-            boolean allowed = fallbackRateLimiter.tryAcquire(buildFallbackKey(key), fallbackQps);
-            if (!allowed) {
-                log.warn("Redis限流异常_本地降级拦截|Redis_limiter_error_local_block,key={},fallbackQps={}",
-                        key, formatQps(fallbackQps));
+            return fallbackAcquire(key, limit, windowSeconds);
+        }
+    }
+
+    /**
+     * 获取访问许可（条带模式）
+     *
+     * 实现逻辑：
+     * 1. 全局阈值均分到 N 个条带子键（余数分给前几个条带），各条带独立执行滑动窗口计数，总和不超过全局阈值。
+     * 2. 从本节点的首选条带开始按环形顺序尝试，首选条带耗尽时向后续条带借用。
+     * 3. 条带拒绝后在本地记录“已耗尽”提示，有效期为 min(建议重试时间, 容忍度 × 窗口)，期间跳过该条带；
+     *    配额释放后最迟一个提示周期即被重新发现，少放行的量不超过 容忍度 × 全局阈值。
+     * 4. 条带异常时标记为不可用一个窗口并继续借用；所有条带均不可用时走本地保守限流。
+     *
+     * @param key 业务键（如全局限流键）
+     * @param limit 全局限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @return 限流判定结果（剩余配额为条带级数据，统一记为未知）
+     */
+    public RateLimitResult acquireStriped(String key, int limit, int windowSeconds) {
+        // 实现思路：
+        // 1. 阈值小于条带数时减少条带，保证每个条带至少 1 个许可。
+        int stripes = Math.max(Math.min(stripeCount, limit), 1);
+        long windowMillis = Math.max(windowSeconds, 1) * 1000L;
+        long hintMillis = Math.max((long) (windowMillis * stripeTolerance), 1L);
+        StripeHints hints = stripeHints.computeIfAbsent(key, k -> new StripeHints(stripeCount));
+        int home = Math.floorMod(nodeAffinity, stripes);
+
+        long now = System.nanoTime();
+        long minRetryMillis = Long.MAX_VALUE;
+        boolean anyHealthy = false;
+        for (int i = 0; i < stripes; i++) {
+            int stripe = (home + i) % stripes;
+            long deniedWait = hints.deniedUntil.get(stripe) - now;
+            if (deniedWait > 0) {
+                // 优化：已知耗尽的条带直接跳过，配额打满时不会每个请求扫描全部条带
+                anyHealthy = true;
+                minRetryMillis = Math.min(minRetryMillis, toMillisCeil(deniedWait));
+                continue;
+            }
+            if (hints.failedUntil.get(stripe) - now > 0) {
+                continue;
+            }
+            String redisKey = stripeKey(key, stripe);
+            int stripeLimit = limit / stripes + (stripe < limit % stripes ? 1 : 0);
+            if (hotKeyDetector != null) {
+                hotKeyDetector.record(redisKey);
             }
-            return allowed;
+            try {
+                // 核心代码：条带子键复用滑动窗口脚本，条带阈值为全局阈值的 1/N
+                RateLimitResult result = nodeGuard != null
+                        ? nodeGuard.execute(redisKey, () -> executeLimitScript(RateLimitAlgorithm.SLIDING_WINDOW,
+                        redisKey, stripeLimit, windowSeconds, 1))
+                        : executeLimitScript(RateLimitAlgorithm.SLIDING_WINDOW, redisKey, stripeLimit, windowSeconds, 1);
+                anyHealthy = true;
+                if (result.isAllowed()) {
+                    return new RateLimitResult(true, RateLimitResult.UNKNOWN, 0L);
+                }
+                long retryMillis = Math.max(result.getRetryAfterMillis(), 1L);
+                hints.deniedUntil.set(stripe, now + TimeUnit.MILLISECONDS.toNanos(Math.min(retryMillis, hintMillis)));
+                minRetryMillis = Math.min(minRetryMillis, retryMillis);
+            } catch (RedisNodeUnavailableException e) {
+                log.warn("条带限流节点不可用_跳过条带|Striped_limiter_node_unavailable_skip_stripe,key={},node={},reason={}",
+                        redisKey, e.getNode(), e.getReason());
+                hints.failedUntil.set(stripe, now + TimeUnit.MILLISECONDS.toNanos(windowMillis));
+            } catch (Exception e) {
+                log.error("条带限流异常_跳过条带|Striped_limiter_error_skip_stripe,key={},error={}", redisKey, e.getMessage(), e);
+                hints.failedUntil.set(stripe, now + TimeUnit.MILLISECONDS.toNanos(windowMillis));
+            }
+        }
+        if (!anyHealthy) {
+            // 所有条带均不可用：与逐请求模式相同，降级为本地保守限流
+            return fallbackAcquire(key, limit, windowSeconds);
+        }
+        return new RateLimitResult(false, 0L, minRetryMillis == Long.MAX_VALUE ? 1L : minRetryMillis);
+    }
+
+    /**
+     * 获取默认限流算法
+     *
+     * @return 默认限流算法
+     */
+    public RateLimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 执行限流脚本
+     *
+     * 实现逻辑：
+     * 1. 注册中心存在时以 EVALSHA 执行，只发送摘要；否则通过模板执行。
+     * 2. 固定窗口脚本只返回放行标记，剩余配额记为未知；滑动窗口与 GCRA 脚本返回完整结果。
+     *
+     * @param algorithm 限流算法
+     * @param redisKey 限流键
+     * @param limit 限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @param burst 突发容量（仅 GCRA 使用）
+     * @return 限流判定结果
+     */
+    private RateLimitResult executeLimitScript(RateLimitAlgorithm algorithm, String redisKey, int limit, int windowSeconds, int burst) {
+        // 核心代码：参数说明 KEYS=[限流键], ARGV=[阈值, 窗口秒数]
+        List<String> keys = Collections.singletonList(redisKey);
+        String limitArg = String.valueOf(limit);
+        String windowArg = String.valueOf(windowSeconds);
+        if (algorithm == RateLimitAlgorithm.FIXED_WINDOW) {
+            Long result = scriptRegistry != null
+                    ? scriptRegistry.execute(algorithm.getScript(), keys, limitArg, windowArg)
+                    : stringRedisTemplate.execute(limitScript, keys, limitArg, windowArg);
+            // Lua脚本返回1表示允许，0表示拒绝
+            boolean allowed = result != null && result == 1L;
+            return new RateLimitResult(allowed, RateLimitResult.UNKNOWN, allowed ? 0L : windowSeconds * 1000L);
+        }
+        if (algorithm == RateLimitAlgorithm.GCRA) {
+            // 核心代码：GCRA 额外传入突发容量 ARGV=[阈值, 窗口秒数, 突发容量]
+            String burstArg = String.valueOf(burst);
+            List<?> result = scriptRegistry != null
+                    ? scriptRegistry.execute(algorithm.getScript(), keys, limitArg, windowArg, burstArg)
+                    : stringRedisTemplate.execute(gcraScript, keys, limitArg, windowArg, burstArg);
+            return toResult(result);
+        }
+        List<?> result = scriptRegistry != null
+                ? scriptRegistry.execute(algorithm.getScript(), keys, limitArg, windowArg)
+                : stringRedisTemplate.execute(slidingWindowScript, keys, limitArg, windowArg);
+        return toResult(result);
+    }
+
+    /**
+     * 解析脚本返回的 {放行标记, 剩余配额, 重试等待毫秒}
+     *
+     * @param result 脚本返回值
+     * @return 限流判定结果
+     */
+    private RateLimitResult toResult(List<?> result) {
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("限流脚本返回值异常: " + result);
+        }
+        return new RateLimitResult(toLong(result.get(0)) == 1L, toLong(result.get(1)), toLong(result.get(2)));
+    }
+
+    /**
+     * 计算 GCRA 默认突发容量
+     *
+     * 实现逻辑：
+     * 1. 每秒许可数 * 突发时长，向上取整，最小为 1。
+     *
+     * @param limit 限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @return 突发容量
+     */
+    private int defaultBurst(int limit, int windowSeconds) {
+        double perSecond = windowSeconds > 0 ? (double) limit / windowSeconds : limit;
+        return (int) Math.max(Math.ceil(perSecond * gcraBurstSeconds), 1);
+    }
+
+    /**
+     * 构造条带子键
+     *
+     * 实现逻辑：
+     * 1. Hash Tag 同时包含业务键与条带号，不同条带计算出不同 Slot，分散到多个主节点。
+     *
+     * @param key 业务键
+     * @param stripe 条带号
+     * @return 条带子键，如 rate_limit:striped:{global_service_limit:3}
+     */
+    private String stripeKey(String key, int stripe) {
+        return STRIPED_KEY_PREFIX + "{" + key + ":" + stripe + "}";
+    }
+
+    private long toMillisCeil(long nanos) {
+        return Math.max((nanos + 999_999L) / 1_000_000L, 1L);
+    }
+
+    /**
+     * 打散节点标识散列值，避免相近主机名落到同一条带
+     */
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * 默认节点标识：主机名 + 进程号
+     */
+    private static String defaultNodeId() {
+        long pid = ProcessHandle.current().pid();
+        try {
+            return InetAddress.getLocalHost().getHostName() + ":" + pid;
+        } catch (UnknownHostException e) {
+            return String.valueOf(pid);
         }
     }
 
+    private long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    /**
+     * 本地保守限流
+     *
+     * 实现逻辑：
+     * 1. 供自行访问 Redis 的组件（如配额租约）在 Redis 不可用时复用同一降级策略与降级键。
+     *
+     * @param key 业务键
+     * @param limit 限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @return 限流判定结果（剩余配额未知）
+     */
+    public RateLimitResult acquireLocally(String key, int limit, int windowSeconds) {
+        return fallbackAcquire(key, limit, windowSeconds);
+    }
+
+    /**
+     * 本地保守限流降级
+     *
+     * 实现逻辑：
+     * 1. 按比例下调阈值后交由本地限流器判断。
+     * 2. 拒绝时建议等待一个降级令牌的生成间隔。
+     *
+     * @param key 业务键
+     * @param limit 限制次数
+     * @param windowSeconds 时间窗口（秒）
+     * @return 限流判定结果（剩余配额未知）
+     */
+    private RateLimitResult fallbackAcquire(String key, int limit, int windowSeconds) {
+        // 核心修复：根据 limit 和 window 计算正确的 QPS
+        double fallbackQps = calculateFallbackQps(limit, windowSeconds);
+        boolean allowed = fallbackRateLimiter.tryAcquire(buildFallbackKey(key), fallbackQps);
+        if (!allowed) {
+            log.warn("Redis限流异常_本地降级拦截|Redis_limiter_error_local_block,key={},fallbackQps={}",
+                    key, formatQps(fallbackQps));
+        }
+        return new RateLimitResult(allowed, RateLimitResult.UNKNOWN, allowed ? 0L : (long) Math.ceil(1000D / fallbackQps));
+    }
+
     /**
      * 计算降级QPS
      *
@@ -197,4 +604,24 @@ public class RedisRateLimiter {
         // 1. 使用两位小数输出。
         return String.format("%.2f", qps);
     }
+
+    /**
+     * 条带本地提示
+     *
+     * 说明：deniedUntil 为条带配额耗尽提示的截止时刻，failedUntil 为条带异常的跳过截止时刻（纳秒）。
+     */
+    private static final class StripeHints {
+        private final AtomicLongArray deniedUntil;
+        private final AtomicLongArray failedUntil;
+
+        private StripeHints(int stripes) {
+            long now = System.nanoTime();
+            this.deniedUntil = new AtomicLongArray(stripes);
+            this.failedUntil = new AtomicLongArray(stripes);
+            for (int i = 0; i < stripes; i++) {
+                deniedUntil.set(i, now);
+                failedUntil.set(i, now);
+            }
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.hao.redis.common.util;
 import io.lettuce.core.codec.CRC16;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.StringJoiner;
+
 /**
  * Redis 集群槽位计算工具类
  *
@@ -57,4 +59,32 @@ public class RedisSlotUtil {
         // Lettuce 提供了标准的 CRC16 实现，直接复用避免造轮子
         return CRC16.crc16(key.getBytes()) % CLUSTER_SLOTS;
     }
+
+    /**
+     * 校验多个 Key 位于同一 Slot
+     *
+     * 实现逻辑：
+     * 1. 逐个计算 Slot，与第一个 Key 比较。
+     * 2. 存在不同 Slot 时抛出异常，列出每个 Key 的 Slot，便于定位未使用 Hash Tag 的 Key。
+     *
+     * @param keys Key 列表（至少一个）
+     * @return 公共 Slot
+     * @throws IllegalArgumentException Key 分布在不同 Slot
+     */
+    public static int requireSameSlot(String... keys) {
+        // 实现思路：
+        // 1. 集群服务端对跨 Slot 的多 Key 命令返回 CROSSSLOT，客户端（Spring Data Redis）则会
+        //    把部分命令拆成逐 Key 执行再在本地合并，结果看似正确但失去原子性，必须在发送前拦截。
+        int slot = getSlot(keys[0]);
+        for (int i = 1; i < keys.length; i++) {
+            if (getSlot(keys[i]) != slot) {
+                StringJoiner detail = new StringJoiner(", ");
+                for (String key : keys) {
+                    detail.add(key + "->" + getSlot(key));
+                }
+                throw new IllegalArgumentException("多Key命令要求所有Key位于同一Slot，请使用 RedisKeysEnum#joinTagged 生成 Hash Tag: " + detail);
+            }
+        }
+        return slot;
+    }
 }
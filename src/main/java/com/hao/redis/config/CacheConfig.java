@@ -2,10 +2,14 @@ package com.hao.redis.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.google.common.util.concurrent.RateLimiter;
+import com.hao.redis.common.interceptor.LocalTokenBucket;
+import com.hao.redis.integration.cache.RedisNearCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -29,13 +33,13 @@ public class CacheConfig {
      * 限流器缓存实例
      *
      * 实现逻辑：
-     * 1. 使用 Caffeine 构建一个专门用于存储 RateLimiter 对象的缓存。
+     * 1. 使用 Caffeine 构建一个专门用于存储令牌桶（LocalTokenBucket）的缓存。
      * 2. 配置淘汰策略，以应对恶意攻击和节省内存。
      *
      * @return 配置好的限流器 Cache Bean
      */
     @Bean("rateLimiterCache")
-    public Cache<String, RateLimiter> rateLimiterCache() {
+    public Cache<String, LocalTokenBucket> rateLimiterCache() {
         // 实现思路：
         // 1. expireAfterAccess: 用户在指定时间内无任何请求，则其限流器被自动回收，释放内存。
         // 2. maximumSize: 限制缓存的最大条目数，防止因 Key 无限增长（如随机ID攻击）导致OOM。
@@ -46,4 +50,27 @@ public class CacheConfig {
                 .maximumSize(50000) // 根据服务器内存调整，保护系统不被撑爆
                 .build();
     }
+
+    /**
+     * Redis 近端缓存实例
+     *
+     * 实现逻辑：
+     * 1. 按前缀圈定缓存范围（同时作为 CLIENT TRACKING 的 BCAST 前缀）。
+     * 2. 以缓存内容估算字节数（权重）与单 Key 字段数双重限制内存，TTL 作为失效通知丢失时的兜底。
+     *
+     * @param prefixes 缓存前缀，默认微博详情哈希与用户哈希
+     * @param maxWeightBytes 缓存内容估算字节数上限，默认 64MB
+     * @param maxFieldsPerKey 单 Key 最大缓存字段数
+     * @param ttlSeconds 写入后过期秒数
+     * @return 近端缓存 Bean
+     */
+    @Bean
+    public RedisNearCache redisNearCache(@Value("${redis.near-cache.prefixes:weibo:info,user:}") String[] prefixes,
+                                         @Value("${redis.near-cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                                         @Value("${redis.near-cache.max-fields-per-key:1000}") int maxFieldsPerKey,
+                                         @Value("${redis.near-cache.ttl-seconds:60}") long ttlSeconds) {
+        // 实现思路：
+        // 1. 跟踪未就绪前缓存处于旁路状态，由 RedisClientTrackingManager 激活（redis.near-cache.enabled=true 时才存在）。
+        return new RedisNearCache(Arrays.asList(prefixes), maxWeightBytes, maxFieldsPerKey, Duration.ofSeconds(ttlSeconds));
+    }
 }
@@ -1,24 +1,57 @@
 package com.hao.redis.config;
 
+import com.hao.redis.common.enums.RedisKeysEnum;
+import com.hao.redis.integration.cache.RedisNearCache;
+import com.hao.redis.integration.cluster.RedisClusterScanner;
+import com.hao.redis.integration.cluster.RedisClusterTopologyCache;
+import com.hao.redis.integration.lock.DistributedLock;
+import com.hao.redis.integration.lock.DistributedLockService;
+import com.hao.redis.integration.redis.AsyncRedisClient;
+import com.hao.redis.integration.redis.AsyncRedisClientImpl;
+import com.hao.redis.integration.redis.BinaryRedisClient;
+import com.hao.redis.integration.redis.BinaryRedisClientImpl;
+import com.hao.redis.integration.redis.ReactiveRedisClient;
+import com.hao.redis.integration.redis.ReactiveRedisClientImpl;
+import com.hao.redis.integration.redis.RedisBucketedHash;
 import com.hao.redis.integration.redis.RedisClientImpl;
+import com.hao.redis.integration.redis.RedisHedgedReader;
+import com.hao.redis.integration.redis.RedisHotKeyDetector;
+import com.hao.redis.integration.redis.RedisReadCoalescer;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
+import com.hao.redis.integration.redis.RedisValueCodec;
+import io.lettuce.core.ReadFrom;
 import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.resource.ClientResources;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisClusterConnection;
 import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.util.StringUtils;
 
 import java.time.Duration;
+import java.util.concurrent.Executor;
 
 /**
  * Redis 集群配置类
@@ -45,18 +78,26 @@ public class RedisConfig {
 
     private final RedisProperties redisProperties;
 
+    /**
+     * 容器管理的 Lettuce 客户端资源（含连接层延迟记录器），为空时连接工厂自建
+     */
+    private final ClientResources clientResources;
+
     /**
      * Redis 配置构造方法
      *
      * 实现逻辑：
      * 1. 注入 Spring Boot 的 RedisProperties。
+     * 2. 注入 Spring Boot 创建的 ClientResources，全部连接工厂共用，命令延迟回调统一生效。
      *
      * @param redisProperties Redis 配置属性
+     * @param clientResources Lettuce 客户端资源
      */
-    public RedisConfig(RedisProperties redisProperties) {
+    public RedisConfig(RedisProperties redisProperties, ObjectProvider<ClientResources> clientResources) {
         // 实现思路：
         // 1. 保留配置对象供后续构建连接工厂使用。
         this.redisProperties = redisProperties;
+        this.clientResources = clientResources.getIfAvailable();
     }
 
     /**
@@ -65,18 +106,51 @@ public class RedisConfig {
      * 这里手动组装集群配置、连接池配置和客户端配置，并针对高并发场景进行连接共享调优。
      *
      * 实现逻辑：
-     * 1. 读取并构建集群节点配置与连接池参数。
-     * 2. 构建 Lettuce 客户端配置并实例化连接工厂。
-     * 3. 关闭连接共享并初始化工厂。
+     * 1. 读取连接模式配置（redis.connection.mode）。
+     * 2. 按模式构建连接工厂。
      *
+     * @param connectionMode 连接模式：pooled（默认，连接池独占）或 shared（共享多路复用连接）
      * @return LettuceConnectionFactory 配置好的连接工厂
      */
     @Bean
-    public LettuceConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory(@Value("${redis.connection.mode:pooled}") String connectionMode) {
+        // 实现思路：
+        // 1. 委托 createConnectionFactory，压测可用同一方法构建另一种模式的工厂做对比。
+        return createConnectionFactory(connectionMode);
+    }
+
+    /**
+     * 按连接模式构建 Lettuce 连接工厂（读写均路由到主节点）
+     *
+     * @param connectionMode 连接模式：pooled 或 shared
+     * @return 已初始化的连接工厂（调用方负责销毁非容器管理的实例）
+     */
+    public LettuceConnectionFactory createConnectionFactory(String connectionMode) {
+        return createConnectionFactory(connectionMode, null);
+    }
+
+    /**
+     * 按连接模式与读路由策略构建 Lettuce 连接工厂
+     * <p>
+     * pooled：每条命令从连接池借出独占连接，并发度受池大小限制，每次借出需额外同步开销。
+     * shared：普通命令共用一条多路复用的集群连接（每个节点一条 TCP），
+     * 阻塞命令（BLPOP/BRPOP）、事务（MULTI）与管道仍从连接池借出独占连接。
+     *
+     * 实现逻辑：
+     * 1. 读取并构建集群节点配置与连接池参数。
+     * 2. 构建 Lettuce 客户端配置（含读路由策略）并实例化连接工厂。
+     * 3. 按模式设置连接共享与校验策略并初始化工厂。
+     *
+     * @param connectionMode 连接模式：pooled 或 shared
+     * @param readFrom 读路由策略，为空时使用 Lettuce 默认（仅主节点）
+     * @return 已初始化的连接工厂（调用方负责销毁非容器管理的实例）
+     */
+    public LettuceConnectionFactory createConnectionFactory(String connectionMode, ReadFrom readFrom) {
         // 实现思路：
         // 1. 组装集群与连接池参数。
         // 2. 构建客户端配置并实例化连接工厂。
         // 3. 调整连接共享策略并完成初始化。
+        boolean shared = resolveSharedMode(connectionMode);
         // --- 1. 配置 Redis 集群节点信息 ---
         // 从 application.yml 读取节点列表 (192.168.254.x:6401)
         RedisClusterConfiguration config = new RedisClusterConfiguration(redisProperties.getCluster().getNodes());
@@ -106,37 +180,105 @@ public class RedisConfig {
         }
 
         // 设置默认命令超时时间 (默认5秒)
-        Duration timeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : Duration.ofSeconds(5);
+        Duration timeout = commandTimeout();
 
         // --- 3. 构建 Lettuce 客户端配置 ---
         // 使用连接池模式构建配置
-        LettuceClientConfiguration clientConfiguration = LettucePoolingClientConfiguration.builder()
-                .commandTimeout(timeout)
-                .poolConfig(poolConfig)
-                .build();
+        LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder clientBuilder =
+                LettucePoolingClientConfiguration.builder()
+                        .commandTimeout(timeout)
+                        .poolConfig(poolConfig);
+        if (readFrom != null) {
+            // 读命令按策略路由，写命令始终发往主节点
+            clientBuilder.readFrom(readFrom);
+        }
+        if (clientResources != null) {
+            // 共用容器管理的客户端资源：连接层延迟统计覆盖由该工厂派生的全部连接，资源随容器关闭
+            clientBuilder.clientResources(clientResources);
+        }
+        LettuceClientConfiguration clientConfiguration = clientBuilder.build();
 
         // --- 4. 实例化连接工厂 ---
         LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(config, clientConfiguration);
 
-        // 开启连接校验，确保获取到的连接是可用的
-        connectionFactory.setValidateConnection(true);
+        if (shared) {
+            // 共享模式：命令在同一条连接上多路复用，Lettuce 断线自动重连，
+            // 无需每次取共享连接前额外执行一次 PING 校验
+            connectionFactory.setValidateConnection(false);
+            // 核心代码：开启连接共享，连接池仅服务阻塞命令、事务与管道
+            connectionFactory.setShareNativeConnection(true);
+        } else {
+            // 开启连接校验，确保获取到的连接是可用的
+            connectionFactory.setValidateConnection(true);
 
-        // 核心性能优化：
-        // 默认值为 true（开启共享），会复用同一条物理 TCP 连接。
-        // 在高并发下单连接易成瓶颈，关闭共享可提升并发吞吐。
-        // 作用：配合连接池让每次操作获取独立物理连接。
-        // 结果：连接数与吞吐能力成正比提升。
-        // 核心代码：关闭连接共享
-        connectionFactory.setShareNativeConnection(false);
+            // 核心性能优化：
+            // 默认值为 true（开启共享），会复用同一条物理 TCP 连接。
+            // 在高并发下单连接易成瓶颈，关闭共享可提升并发吞吐。
+            // 作用：配合连接池让每次操作获取独立物理连接。
+            // 结果：连接数与吞吐能力成正比提升。
+            // 核心代码：关闭连接共享
+            connectionFactory.setShareNativeConnection(false);
+        }
         // 初始化工厂
         connectionFactory.afterPropertiesSet();
-        log.info("Redis集群连接工厂创建完成|Redis_cluster_factory_created,nodes={},poolMax={},shareNativeConnection=false",
+        log.info("Redis集群连接工厂创建完成|Redis_cluster_factory_created,nodes={},poolMax={},shareNativeConnection={},readFrom={}",
                 redisProperties.getCluster().getNodes(),
-                poolConfig.getMaxTotal());
+                poolConfig.getMaxTotal(),
+                shared,
+                readFrom != null ? readFrom : "UPSTREAM");
 
         return connectionFactory;
     }
 
+    /**
+     * 解析单命令超时
+     * <p>
+     * 管道、多 Key 扇出与合并读的等待超时统一使用该值，批量等待不会长于单命令超时。
+     *
+     * @return spring.data.redis.timeout，未配置时为 5 秒
+     */
+    private Duration commandTimeout() {
+        return redisProperties.getTimeout() != null ? redisProperties.getTimeout() : Duration.ofSeconds(5);
+    }
+
+    /**
+     * 解析连接模式
+     *
+     * @param connectionMode 连接模式配置值
+     * @return 是否为共享模式
+     */
+    private static boolean resolveSharedMode(String connectionMode) {
+        if ("shared".equalsIgnoreCase(connectionMode)) {
+            return true;
+        }
+        if ("pooled".equalsIgnoreCase(connectionMode)) {
+            return false;
+        }
+        throw new IllegalArgumentException("redis.connection.mode 仅支持 pooled 或 shared: " + connectionMode);
+    }
+
+    /**
+     * 创建从节点优先读的连接工厂
+     * <p>
+     * 仅供 RedisClient#replicaReads 视图使用；不参与按类型注入，避免与主连接工厂产生歧义。
+     * 延迟创建，关闭从节点读（redis.replica-read.enabled=false）时不建立任何连接。
+     *
+     * 实现逻辑：
+     * 1. 使用与主工厂相同的集群、连接池与连接模式参数。
+     * 2. 读路由策略设置为 REPLICA_PREFERRED：优先从节点，无可用从节点时回退主节点。
+     *
+     * @param connectionMode 连接模式：pooled 或 shared
+     * @return 从节点优先读的连接工厂
+     */
+    @Lazy
+    @Bean(autowireCandidate = false)
+    public LettuceConnectionFactory replicaConnectionFactory(@Value("${redis.connection.mode:pooled}") String connectionMode) {
+        // 实现思路：
+        // 1. 独立工厂持有独立连接，从节点读流量不占用主工厂连接池。
+        // 核心代码：以 REPLICA_PREFERRED 构建连接工厂
+        return createConnectionFactory(connectionMode, ReadFrom.REPLICA_PREFERRED);
+    }
+
     /**
      * 配置 StringRedisTemplate
      * <p>
@@ -164,16 +306,408 @@ public class RedisConfig {
      *
      * 实现逻辑：
      * 1. 使用 StringRedisTemplate 构建客户端封装。
+     * 2. 注入集群拓扑缓存，供 MGET/MSET/DEL 按节点分组扇出。
+     * 3. 注入近端缓存，哈希读命中本地时免去网络往返。
+     * 4. 按需注入读请求合并器。
+     * 5. 注入集群并行扫描器，KEYS 基于全集群 SCAN 实现。
+     * 6. 注入脚本注册中心，内置脚本以 EVALSHA 执行。
+     * 7. 开启从节点读时注入从节点读视图（独立 Bean，经过统计与节点保护切面），供可容忍旧数据的展示类读使用。
+     * 8. 注入热点 Key 探测器，主客户端与从节点读视图共用同一份统计。
+     * 9. 注入值压缩编解码器，可压缩 Key 的大值写入前压缩。
+     * 10. 注入对冲读取器，供带截止时间的读方法使用。
      *
      * @param stringRedisTemplate Redis 模板
+     * @param topologyCache 集群拓扑缓存
+     * @param nearCache 近端缓存
+     * @param readCoalescer 读请求合并器（仅在开启时存在）
+     * @param clusterScanner 集群并行扫描器
+     * @param scriptRegistry 脚本注册中心
+     * @param hotKeyDetector 热点 Key 探测器
+     * @param valueCodec 值压缩编解码器
+     * @param hedgedReader 对冲读取器
+     * @param replicaRedisClient 从节点读视图（仅在开启从节点读时存在）
      * @return RedisClient 客户端封装
      */
     @Bean
-    public com.hao.redis.integration.redis.RedisClient<String> redisClient(StringRedisTemplate stringRedisTemplate) {
+    @Primary
+    public com.hao.redis.integration.redis.RedisClient<String> redisClient(StringRedisTemplate stringRedisTemplate,
+                                                                           RedisClusterTopologyCache topologyCache,
+                                                                           RedisNearCache nearCache,
+                                                                           ObjectProvider<RedisReadCoalescer> readCoalescer,
+                                                                           RedisClusterScanner clusterScanner,
+                                                                           RedisScriptRegistry scriptRegistry,
+                                                                           RedisHotKeyDetector hotKeyDetector,
+                                                                           RedisValueCodec valueCodec,
+                                                                           RedisHedgedReader hedgedReader,
+                                                                           @Qualifier("replicaRedisClient")
+                                                                           ObjectProvider<com.hao.redis.integration.redis.RedisClient<String>> replicaRedisClient) {
         // 实现思路：
         // 1. 通过模板构建统一客户端封装。
         // 核心代码：实例化客户端封装
-        return new RedisClientImpl(stringRedisTemplate);
+        RedisClientImpl redisClient = new RedisClientImpl(stringRedisTemplate);
+        redisClient.setBatchTimeout(commandTimeout());
+        redisClient.setTopologyCache(topologyCache);
+        redisClient.setNearCache(nearCache);
+        redisClient.setReadCoalescer(readCoalescer.getIfAvailable());
+        redisClient.setClusterScanner(clusterScanner);
+        redisClient.setScriptRegistry(scriptRegistry);
+        redisClient.setHotKeyDetector(hotKeyDetector);
+        redisClient.setValueCodec(valueCodec);
+        redisClient.setHedgedReader(hedgedReader);
+        // 注入的是容器代理，从节点读流量同样经过耗时统计与节点保护切面
+        redisClient.setReplicaClient(replicaRedisClient.getIfAvailable());
+        return redisClient;
+    }
+
+    /**
+     * 配置从节点读视图
+     * <p>
+     * 默认关闭：从节点存在复制延迟，需显式设置 redis.replica-read.enabled=true 开启。
+     * 注册为独立 Bean 而非在主客户端内部 new，使其被切面代理，耗时统计与节点保护覆盖从节点读流量。
+     *
+     * 实现逻辑：
+     * 1. 基于从节点优先读的连接工厂构建模板与客户端。
+     * 2. 只注入读命令所需组件：不注入近端缓存与合并器（二者绑定主节点连接）。
+     * 3. 标记为从节点读视图，切面按独立节点维度统计与隔离，从节点抖动不触发主节点熔断。
+     *
+     * @param topologyCache 集群拓扑缓存
+     * @param clusterScanner 集群并行扫描器
+     * @param hotKeyDetector 热点 Key 探测器
+     * @param connectionMode 连接模式
+     * @return 从节点读视图客户端
+     */
+    @Bean
+    @ConditionalOnProperty(name = "redis.replica-read.enabled", havingValue = "true")
+    public com.hao.redis.integration.redis.RedisClient<String> replicaRedisClient(RedisClusterTopologyCache topologyCache,
+                                                                                  RedisClusterScanner clusterScanner,
+                                                                                  RedisHotKeyDetector hotKeyDetector,
+                                                                                  @Value("${redis.connection.mode:pooled}") String connectionMode) {
+        // 实现思路：
+        // 1. 独立模板绑定从节点优先读的连接工厂。
+        StringRedisTemplate replicaTemplate = new StringRedisTemplate();
+        replicaTemplate.setConnectionFactory(replicaConnectionFactory(connectionMode));
+        replicaTemplate.afterPropertiesSet();
+        // 核心代码：构建从节点读客户端并标记为读视图
+        RedisClientImpl replicaClient = new RedisClientImpl(replicaTemplate);
+        replicaClient.setBatchTimeout(commandTimeout());
+        replicaClient.setTopologyCache(topologyCache);
+        replicaClient.setClusterScanner(clusterScanner);
+        replicaClient.setHotKeyDetector(hotKeyDetector);
+        replicaClient.setReplicaView(true);
+        return replicaClient;
+    }
+
+    /**
+     * 创建集群并行扫描器
+     *
+     * 实现逻辑：
+     * 1. 复用共享集群连接获取各主节点直连。
+     * 2. 扫描任务运行在虚拟线程执行器上，节点间并行、等待回包不占用平台线程。
+     *
+     * @param topologyCache 集群拓扑缓存
+     * @param asyncClusterConnection 共享集群连接
+     * @param virtualThreadExecutor 虚拟线程执行器
+     * @return 集群并行扫描器
+     */
+    @Bean
+    public RedisClusterScanner redisClusterScanner(RedisClusterTopologyCache topologyCache,
+                                                   StatefulRedisClusterConnection<String, String> asyncClusterConnection,
+                                                   @Qualifier("virtualThreadExecutor") Executor virtualThreadExecutor) {
+        // 实现思路：
+        // 1. SCAN 为多路复用的普通命令，与异步客户端共用连接即可。
+        // 核心代码：实例化扫描器
+        return new RedisClusterScanner(topologyCache, asyncClusterConnection, virtualThreadExecutor);
+    }
+
+    /**
+     * 创建读请求合并器（默认关闭）
+     * <p>
+     * 开启后并发的单 Key GET/HGET 在微秒级窗口内合并为 MGET/HMGET，适用于热点读高并发场景。
+     *
+     * 实现逻辑：
+     * 1. 为合并器建立独占集群连接（合并器会关闭其自动刷写）。
+     * 2. 按配置的窗口、批上限与队列容量构建合并器。
+     *
+     * @param connectionFactory Lettuce 连接工厂
+     * @param windowMicros 合并窗口（微秒）
+     * @param maxBatchSize 单批最大请求数
+     * @param queueCapacity 等待队列容量
+     * @return 读请求合并器
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "redis.coalescing.enabled", havingValue = "true")
+    public RedisReadCoalescer redisReadCoalescer(LettuceConnectionFactory connectionFactory,
+                                                 @Value("${redis.coalescing.window-micros:200}") long windowMicros,
+                                                 @Value("${redis.coalescing.max-batch-size:128}") int maxBatchSize,
+                                                 @Value("${redis.coalescing.queue-capacity:65536}") int queueCapacity) {
+        // 实现思路：
+        // 1. 独占连接只由合并器分发线程写入，手动刷写不会影响其他调用方。
+        // 核心代码：建立独占连接并构建合并器
+        RedisClusterClient clusterClient = (RedisClusterClient) connectionFactory.getRequiredNativeClient();
+        StatefulRedisClusterConnection<String, String> connection = clusterClient.connect(StringCodec.UTF8);
+        return new RedisReadCoalescer(connection, Duration.ofNanos(windowMicros * 1000), maxBatchSize, queueCapacity,
+                commandTimeout());
+    }
+
+    /**
+     * 配置 ReactiveStringRedisTemplate
+     * <p>
+     * 响应式读链路使用的模板，键和值都是 String 序列化。
+     *
+     * 实现逻辑：
+     * 1. 复用同一个 Lettuce 连接工厂（其同时实现响应式连接工厂接口）。
+     *
+     * @param connectionFactory Lettuce 连接工厂
+     * @return 响应式字符串模板
+     */
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(LettuceConnectionFactory connectionFactory) {
+        // 实现思路：
+        // 1. 与同步模板共用连接配置，避免维护两套集群参数。
+        // 核心代码：实例化响应式模板
+        ReactiveStringRedisTemplate template = new ReactiveStringRedisTemplate(connectionFactory);
+        log.info("ReactiveStringRedisTemplate初始化完成|ReactiveStringRedisTemplate_init_done");
+        return template;
+    }
+
+    /**
+     * 配置响应式 RedisClient 封装类
+     *
+     * 实现逻辑：
+     * 1. 使用响应式模板构建客户端封装。
+     *
+     * @param reactiveStringRedisTemplate 响应式字符串模板
+     * @return ReactiveRedisClient 响应式客户端封装
+     */
+    @Bean
+    public ReactiveRedisClient<String> reactiveRedisClient(ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        // 实现思路：
+        // 1. 通过响应式模板构建统一客户端封装。
+        // 核心代码：实例化响应式客户端封装
+        return new ReactiveRedisClientImpl(reactiveStringRedisTemplate);
+    }
+
+    /**
+     * 创建共享的异步集群连接
+     * <p>
+     * 异步命令天然多路复用，单条连接即可承载高并发，不占用连接池连接。
+     *
+     * 实现逻辑：
+     * 1. 复用连接工厂内部的 RedisClusterClient（共享拓扑刷新与事件循环资源）。
+     * 2. 使用 UTF-8 字符串编解码建立有状态集群连接。
+     * 3. 容器关闭时自动关闭连接。
+     *
+     * @param connectionFactory Lettuce 连接工厂
+     * @return 有状态集群连接
+     */
+    @Bean(destroyMethod = "close")
+    public StatefulRedisClusterConnection<String, String> asyncClusterConnection(LettuceConnectionFactory connectionFactory) {
+        // 实现思路：
+        // 1. 连接工厂已在创建时完成初始化，可直接获取原生客户端。
+        // 核心代码：基于原生集群客户端建立共享连接
+        RedisClusterClient clusterClient = (RedisClusterClient) connectionFactory.getRequiredNativeClient();
+        StatefulRedisClusterConnection<String, String> connection = clusterClient.connect(StringCodec.UTF8);
+        log.info("异步集群连接创建完成|Async_cluster_connection_created");
+        return connection;
+    }
+
+    /**
+     * 配置异步 RedisClient 封装类
+     *
+     * 实现逻辑：
+     * 1. 使用共享异步集群连接构建异步客户端。
+     *
+     * @param asyncClusterConnection 共享异步集群连接
+     * @return AsyncRedisClient 异步客户端封装
+     */
+    @Bean
+    public AsyncRedisClient<String> asyncRedisClient(StatefulRedisClusterConnection<String, String> asyncClusterConnection) {
+        // 实现思路：
+        // 1. 通过异步命令接口构建客户端封装。
+        // 核心代码：实例化异步客户端封装
+        return new AsyncRedisClientImpl(asyncClusterConnection.async());
+    }
+
+    /**
+     * 创建对冲读专用的集群连接
+     * <p>
+     * 读路由为从节点优先，对冲请求与主请求不在同一连接上排队。
+     * 不作为自动注入候选，避免与共享异步连接产生类型歧义；延迟创建，关闭对冲时不建连。
+     *
+     * @param connectionFactory Lettuce 连接工厂
+     * @return 从节点优先的有状态集群连接
+     */
+    @Lazy
+    @Bean(destroyMethod = "close", autowireCandidate = false)
+    public StatefulRedisClusterConnection<String, String> hedgeClusterConnection(LettuceConnectionFactory connectionFactory) {
+        // 实现思路：
+        // 1. 复用原生集群客户端，仅修改本连接的读路由。
+        // 核心代码：建立从节点优先连接
+        RedisClusterClient clusterClient = (RedisClusterClient) connectionFactory.getRequiredNativeClient();
+        StatefulRedisClusterConnection<String, String> connection = clusterClient.connect(StringCodec.UTF8);
+        connection.setReadFrom(ReadFrom.REPLICA_PREFERRED);
+        log.info("对冲读集群连接创建完成|Hedge_cluster_connection_created");
+        return connection;
+    }
+
+    /**
+     * 创建对冲读与截止时间读取器
+     *
+     * 实现逻辑：
+     * 1. 主请求走共享异步连接，对冲请求走从节点优先连接。
+     * 2. 对冲默认关闭（redis.hedge.enabled=true 开启）：第二路请求会放大读流量并读到从节点旧数据；关闭时只施加截止时间。
+     *
+     * @param asyncRedisClient 异步客户端（主请求）
+     * @param connectionFactory Lettuce 连接工厂
+     * @param hedgeEnabled 是否开启对冲
+     * @param hedgeQuantile 对冲延迟分位
+     * @param defaultDelayMs 样本不足时的对冲延迟（毫秒）
+     * @param minDelayMicros 对冲延迟下限（微秒）
+     * @param windowMs 对冲延迟刷新窗口（毫秒）
+     * @return 对冲读取器
+     */
+    @Bean
+    public RedisHedgedReader redisHedgedReader(AsyncRedisClient<String> asyncRedisClient,
+                                               LettuceConnectionFactory connectionFactory,
+                                               @Value("${redis.hedge.enabled:false}") boolean hedgeEnabled,
+                                               @Value("${redis.hedge.quantile:0.95}") double hedgeQuantile,
+                                               @Value("${redis.hedge.default-delay-ms:10}") long defaultDelayMs,
+                                               @Value("${redis.hedge.min-delay-us:500}") long minDelayMicros,
+                                               @Value("${redis.hedge.window-ms:10000}") long windowMs) {
+        // 实现思路：
+        // 1. 对冲客户端与主客户端使用同一封装，仅底层连接读路由不同。
+        // 核心代码：按开关构建对冲客户端
+        AsyncRedisClient<String> hedgeClient = hedgeEnabled
+                ? new AsyncRedisClientImpl(hedgeClusterConnection(connectionFactory).async())
+                : null;
+        log.info("对冲读取器初始化|Hedged_reader_init,enabled={},quantile={},defaultDelayMs={}",
+                hedgeEnabled, hedgeQuantile, defaultDelayMs);
+        return new RedisHedgedReader(asyncRedisClient, hedgeClient, hedgeQuantile,
+                Duration.ofMillis(defaultDelayMs), Duration.ofNanos(minDelayMicros * 1000), Duration.ofMillis(windowMs));
+    }
+
+    /**
+     * 创建共享的二进制值集群连接
+     * <p>
+     * Key 使用 UTF-8 编解码，值使用 ByteArrayCodec 原样透传，供二进制客户端使用。
+     *
+     * 实现逻辑：
+     * 1. 复用连接工厂内部的 RedisClusterClient。
+     * 2. 组合 Key/值编解码器建立有状态集群连接，容器关闭时自动关闭。
+     *
+     * @param connectionFactory Lettuce 连接工厂
+     * @return 有状态二进制集群连接
+     */
+    @Bean(destroyMethod = "close")
+    public StatefulRedisClusterConnection<String, byte[]> binaryClusterConnection(LettuceConnectionFactory connectionFactory) {
+        // 实现思路：
+        // 1. Key 直接编码进网络缓冲区，值不做任何转换。
+        // 核心代码：组合编解码器建立共享连接
+        RedisClusterClient clusterClient = (RedisClusterClient) connectionFactory.getRequiredNativeClient();
+        StatefulRedisClusterConnection<String, byte[]> connection =
+                clusterClient.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        log.info("二进制集群连接创建完成|Binary_cluster_connection_created");
+        return connection;
+    }
+
+    /**
+     * 配置二进制值 RedisClient 封装类
+     *
+     * 实现逻辑：
+     * 1. 普通命令走共享二进制连接，阻塞命令与管道通过模板借出独占连接。
+     * 2. 注入近端缓存，哈希写入后主动失效。
+     *
+     * @param binaryClusterConnection 共享二进制集群连接
+     * @param stringRedisTemplate Redis 模板
+     * @param nearCache 近端缓存
+     * @return BinaryRedisClient 二进制客户端封装
+     */
+    @Bean
+    public BinaryRedisClient binaryRedisClient(StatefulRedisClusterConnection<String, byte[]> binaryClusterConnection,
+                                               StringRedisTemplate stringRedisTemplate,
+                                               RedisNearCache nearCache) {
+        // 实现思路：
+        // 1. 通过同步命令接口构建客户端封装。
+        // 核心代码：实例化二进制客户端封装
+        BinaryRedisClientImpl binaryRedisClient = new BinaryRedisClientImpl(binaryClusterConnection.sync(), stringRedisTemplate);
+        binaryRedisClient.setNearCache(nearCache);
+        binaryRedisClient.setBatchTimeout(commandTimeout());
+        return binaryRedisClient;
+    }
+
+    /**
+     * 创建微博详情分桶存储
+     * <p>
+     * 微博详情按 postId % 桶数 分散到 weibo:info:{桶号}，避免单个大哈希集中在一个节点。
+     *
+     * 实现逻辑：
+     * 1. 以旧版 weibo:info 为迁移源、weibo:info: 为分桶前缀构建存储。
+     * 2. 注入状态复查客户端，各实例按 Redis 中旧哈希是否存在定时刷新回读开关。
+     * 3. 注入值编解码器，异步与响应式读取按分桶 Key 解压。
+     *
+     * @param bucketCount 桶数（上线后不可随意修改）
+     * @param redisClient Redis 客户端
+     * @param valueCodec 值编解码器
+     * @return 微博详情分桶存储
+     */
+    @Bean
+    public RedisBucketedHash weiboPostStore(@Value("${weibo.post.bucket-count:256}") int bucketCount,
+                                            com.hao.redis.integration.redis.RedisClient<String> redisClient,
+                                            RedisValueCodec valueCodec) {
+        // 实现思路：
+        // 1. 桶数决定单桶大小，默认 256 桶在百万级微博下单桶约 4 千字段。
+        // 核心代码：实例化分桶存储
+        RedisBucketedHash store = new RedisBucketedHash(RedisKeysEnum.WEIBO_POST_INFO.getKey(),
+                RedisKeysEnum.WEIBO_POST_BUCKET.getKey(), bucketCount);
+        store.setStateClient(redisClient);
+        store.setValueCodec(valueCodec);
+        return store;
+    }
+
+    /**
+     * 启动时迁移旧版微博详情大哈希
+     * <p>
+     * 默认关闭，作为一次性运维任务：只在一个实例上设置 weibo.post.migrate-on-startup=true 启动执行。
+     * 迁移幂等且可中断重跑；迁移完成前读取会回读旧哈希，业务无感；其余实例通过定时复查得知迁移完成。
+     *
+     * 实现逻辑：
+     * 1. 开启迁移时先获取分布式锁，误在多个实例开启时只有一个实例执行，其余跳过。
+     * 2. 持锁分批把 weibo:info 搬到各分桶。
+     * 3. 捕获异常并记录，迁移失败不影响启动（读取仍可回读旧哈希）。
+     *
+     * @param weiboPostStore 微博详情分桶存储
+     * @param redisClient Redis 客户端
+     * @param lockService 分布式锁服务
+     * @param migrateOnStartup 是否在启动时迁移
+     * @param batchSize 每批迁移字段数
+     * @return 启动任务
+     */
+    @Bean
+    public CommandLineRunner migrateWeiboPostInfo(RedisBucketedHash weiboPostStore,
+                                                  com.hao.redis.integration.redis.RedisClient<String> redisClient,
+                                                  DistributedLockService lockService,
+                                                  @Value("${weibo.post.migrate-on-startup:false}") boolean migrateOnStartup,
+                                                  @Value("${weibo.post.migrate-batch-size:500}") int batchSize) {
+        return args -> {
+            // 实现思路：
+            // 1. 迁移为一次性后台整理，失败时保留旧哈希并依赖回读兜底。
+            if (!migrateOnStartup) {
+                return;
+            }
+            // 核心代码：分布式锁保证同一时刻只有一个实例迁移（看门狗续期，迁移耗时不受锁超时限制）
+            DistributedLock lock = lockService.getLock("weibo:post:migrate");
+            if (!lock.tryLock()) {
+                log.info("微博详情分桶迁移已由其他实例执行_跳过|Weibo_post_bucket_migrate_skip_locked");
+                return;
+            }
+            try {
+                weiboPostStore.migrateLegacy(redisClient, batchSize);
+            } catch (Exception e) {
+                log.error("微博详情分桶迁移失败|Weibo_post_bucket_migrate_fail,error={}", e.getMessage(), e);
+            } finally {
+                lock.unlock();
+            }
+        };
     }
 
     /**
@@ -0,0 +1,86 @@
+package com.hao.redis.controller;
+
+import com.hao.redis.dal.model.WeiboPost;
+import com.hao.redis.service.ReactiveWeiboService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 微博响应式读接口控制器
+ *
+ * 类职责：
+ * 以 Mono 返回值提供与 WeiboController 对应的只读接口。
+ *
+ * 设计目的：
+ * 1. 等待 Redis 回包期间释放 Tomcat 工作线程，提升单机可承载的并发连接数。
+ * 2. 与同步接口路径一一对应，便于压测对比。
+ *
+ * 为什么需要该类：
+ * 列表、热榜、用户详情均为纯 Redis 读，无需占用线程等待网络。
+ *
+ * 核心实现思路：
+ * - Spring MVC 原生支持 Mono 返回值，按异步请求处理，无需切换 WebFlux 容器。
+ * - 保留现有 Servlet 过滤器（全局限流）与切面链路不变。
+ */
+@RestController
+@RequestMapping("/reactive/weibo")
+@RequiredArgsConstructor
+public class ReactiveWeiboController {
+
+    @Autowired
+    private ReactiveWeiboService reactiveWeiboService;
+
+    /**
+     * 获取用户详情
+     *
+     * 实现逻辑：
+     * 1. 委托响应式服务读取用户详情。
+     *
+     * @param userId 用户ID
+     * @return 用户信息
+     */
+    @GetMapping("/user/{userId}")
+    public Mono<Map<String, String>> getUser(@PathVariable String userId) {
+        // 实现思路：
+        // 1. 直接委托响应式服务查询。
+        return reactiveWeiboService.getUser(userId);
+    }
+
+    /**
+     * 获取最新动态列表
+     *
+     * 实现逻辑：
+     * 1. 委托响应式服务读取时间轴列表。
+     *
+     * @return 最新微博列表
+     */
+    @GetMapping("/weibo/list")
+    public Mono<List<WeiboPost>> listPosts() {
+        // 实现思路：
+        // 1. 直接委托响应式服务读取列表。
+        return reactiveWeiboService.listLatestPosts();
+    }
+
+    /**
+     * 获取全站热搜排行榜
+     *
+     * 实现逻辑：
+     * 1. 委托响应式服务读取热搜榜。
+     *
+     * @return 热搜榜列表
+     */
+    @GetMapping("/weibo/rank")
+    public Mono<List<WeiboPost>> getHotRank() {
+        // 实现思路：
+        // 1. 直接委托响应式服务获取排行榜。
+        return reactiveWeiboService.getHotRank();
+    }
+}
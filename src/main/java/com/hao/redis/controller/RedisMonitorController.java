@@ -0,0 +1,234 @@
+package com.hao.redis.controller;
+
+import com.hao.redis.common.util.RedisLeasedRateLimiter;
+import com.hao.redis.integration.cache.RedisNearCache;
+import com.hao.redis.integration.cluster.RedisNodeGuard;
+import com.hao.redis.integration.cluster.RedisWarmUp;
+import com.hao.redis.integration.redis.RedisCommandMetrics;
+import com.hao.redis.integration.redis.RedisHedgedReader;
+import com.hao.redis.integration.redis.RedisHotKeyDetector;
+import com.hao.redis.integration.redis.RedisReadCoalescer;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
+import com.hao.redis.integration.redis.RedisValueCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Redis 客户端运行指标控制器
+ *
+ * 类职责：
+ * 暴露 Redis 客户端侧组件（近端缓存等）的运行计数，便于压测观测与线上排障。
+ *
+ * 设计目的：
+ * 1. 不依赖外部监控系统即可查看命中率、失效次数等关键指标。
+ * 2. 集中提供客户端侧指标入口，后续组件可在此追加接口。
+ *
+ * 为什么需要该类：
+ * 近端缓存的收益与一致性需要通过命中率与失效计数验证。
+ *
+ * 核心实现思路：
+ * - 直接返回各组件的统计快照。
+ */
+@RestController
+@RequestMapping("/redis/monitor")
+@RequiredArgsConstructor
+public class RedisMonitorController {
+
+    private final RedisNearCache redisNearCache;
+
+    private final ObjectProvider<RedisReadCoalescer> redisReadCoalescer;
+
+    private final RedisScriptRegistry redisScriptRegistry;
+
+    private final RedisHotKeyDetector redisHotKeyDetector;
+
+    private final RedisCommandMetrics redisCommandMetrics;
+
+    private final RedisNodeGuard redisNodeGuard;
+
+    private final RedisValueCodec redisValueCodec;
+
+    private final RedisHedgedReader redisHedgedReader;
+
+    private final RedisWarmUp redisWarmUp;
+
+    private final RedisLeasedRateLimiter redisLeasedRateLimiter;
+
+    /**
+     * 获取近端缓存统计
+     *
+     * 实现逻辑：
+     * 1. 返回命中、未命中、远端失效、本地失效、清空次数等计数。
+     *
+     * @return 统计快照
+     */
+    @GetMapping("/near-cache")
+    public Map<String, Object> nearCacheStats() {
+        // 实现思路：
+        // 1. 直接返回近端缓存统计快照。
+        return redisNearCache.stats();
+    }
+
+    /**
+     * 获取读请求合并器统计
+     *
+     * 实现逻辑：
+     * 1. 合并器开启时返回批次数、往返次数与批大小直方图。
+     * 2. 未开启时返回 enabled=false。
+     *
+     * @return 统计快照
+     */
+    @GetMapping("/coalescer")
+    public Map<String, Object> coalescerStats() {
+        // 实现思路：
+        // 1. 合并器为可选组件，按需获取。
+        RedisReadCoalescer coalescer = redisReadCoalescer.getIfAvailable();
+        if (coalescer == null) {
+            return Collections.singletonMap("enabled", false);
+        }
+        return coalescer.stats();
+    }
+
+    /**
+     * 获取脚本注册中心统计
+     *
+     * 实现逻辑：
+     * 1. 返回执行次数、NOSCRIPT 恢复次数与已加载节点。
+     *
+     * @return 统计快照
+     */
+    @GetMapping("/scripts")
+    public Map<String, Object> scriptStats() {
+        // 实现思路：
+        // 1. 直接返回脚本注册中心统计快照。
+        return redisScriptRegistry.stats();
+    }
+
+    /**
+     * 获取热点 Key 统计
+     *
+     * 实现逻辑：
+     * 1. 返回抽样参数与滑动窗口内的 Top-K 热点 Key（含估算 QPS、Slot 与所属节点）。
+     *
+     * @return 统计快照
+     */
+    @GetMapping("/hot-keys")
+    public Map<String, Object> hotKeyStats() {
+        // 实现思路：
+        // 1. 直接返回热点探测器统计快照。
+        return redisHotKeyDetector.stats();
+    }
+
+    /**
+     * 获取命令延迟统计
+     *
+     * 实现逻辑：
+     * 1. 返回按命令、按节点汇总及明细的调用次数、p50/p99/p999/最大延迟（微秒）、错误与超时数。
+     *
+     * @return 统计快照
+     */
+    @GetMapping("/latency")
+    public Map<String, Object> latencyStats() {
+        // 实现思路：
+        // 1. 直接返回命令统计快照。
+        return redisCommandMetrics.snapshot();
+    }
+
+    /**
+     * 清空命令延迟统计
+     *
+     * 实现逻辑：
+     * 1. 压测前清空历史样本，便于对比单轮结果。
+     *
+     * @return 清空结果
+     */
+    @DeleteMapping("/latency")
+    public Map<String, Object> resetLatencyStats() {
+        // 实现思路：
+        // 1. 清空后返回确认标记。
+        redisCommandMetrics.reset();
+        return Collections.singletonMap("reset", true);
+    }
+
+    /**
+     * 获取节点隔离与熔断状态
+     *
+     * 实现逻辑：
+     * 1. 返回各节点的熔断状态、在途命令数、连续故障数与拒绝次数。
+     *
+     * @return 状态快照
+     */
+    @GetMapping("/node-guard")
+    public Map<String, Object> nodeGuardStats() {
+        // 实现思路：
+        // 1. 直接返回节点隔离舱状态快照。
+        return redisNodeGuard.stats();
+    }
+
+    /**
+     * 获取值压缩统计
+     *
+     * 实现逻辑：
+     * 1. 返回可压缩前缀、阈值、压缩与放弃次数及压缩前后字节数。
+     *
+     * @return 统计快照
+     */
+    @GetMapping("/compression")
+    public Map<String, Object> compressionStats() {
+        // 实现思路：
+        // 1. 直接返回值压缩编解码器统计快照。
+        return redisValueCodec.stats();
+    }
+
+    /**
+     * 获取对冲读统计
+     *
+     * 实现逻辑：
+     * 1. 返回读取数、对冲数、对冲胜出数、截止超时数与各命令当前对冲延迟。
+     *
+     * @return 统计快照
+     */
+    @GetMapping("/hedge")
+    public Map<String, Object> hedgeStats() {
+        // 实现思路：
+        // 1. 对冲比例应接近 1 - 对冲分位，明显偏高说明主节点延迟在恶化。
+        return redisHedgedReader.stats();
+    }
+
+    /**
+     * 获取启动预热结果
+     *
+     * 实现逻辑：
+     * 1. 返回预热状态、各步骤结果（拓扑、脚本、连接池、共享连接、热点 Key）与总耗时。
+     *
+     * @return 预热结果
+     */
+    @GetMapping("/warm-up")
+    public Map<String, Object> warmUpStats() {
+        // 实现思路：
+        // 1. 直接返回预热组件记录的结果快照。
+        return redisWarmUp.stats();
+    }
+
+    /**
+     * 获取配额租约统计
+     *
+     * 实现逻辑：
+     * 1. 返回申领次数、Redis 调用次数与占比、异步续租次数及各限流键的本地剩余许可。
+     *
+     * @return 统计快照
+     */
+    @GetMapping("/rate-lease")
+    public Map<String, Object> rateLeaseStats() {
+        // 实现思路：
+        // 1. redisCallRatio 约等于 1 / 单次申领量，明显偏高说明租约频繁过期或全局配额吃紧。
+        return redisLeasedRateLimiter.stats();
+    }
+}
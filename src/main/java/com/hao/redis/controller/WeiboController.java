@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 微博业务控制器
@@ -159,6 +160,23 @@ public class WeiboController {
         return weiboService.getHotRank();
     }
 
+    /**
+     * 获取首页聚合数据（异步）
+     *
+     * 实现逻辑：
+     * 1. 调用服务层并发读取最新动态与热搜榜。
+     * 2. 返回 CompletableFuture，由 Spring MVC 异步写回响应，不占用容器线程等待 Redis。
+     *
+     * @return 首页数据
+     */
+    @GetMapping("/weibo/home")
+    public CompletableFuture<Map<String, List<WeiboPost>>> getHomeFeed() {
+        // 实现思路：
+        // 1. 直接委托服务层获取聚合数据。
+        // 核心代码：调用异步聚合服务
+        return weiboService.getHomeFeedAsync();
+    }
+
     // ===========================
     // 4. 系统统计
     // ===========================
@@ -3,6 +3,8 @@ package com.hao.redis.filters;
 import com.hao.redis.common.constants.RateLimitConstants;
 import com.hao.redis.common.exception.RateLimitException;
 import com.hao.redis.common.interceptor.SimpleRateLimiter;
+import com.hao.redis.common.model.RateLimitResult;
+import com.hao.redis.common.util.RedisLeasedRateLimiter;
 import com.hao.redis.common.util.RedisRateLimiter;
 import jakarta.servlet.*;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +48,9 @@ import java.io.IOException;
  * - 采用过滤器机制，在请求进入 DispatcherServlet 之前拦截。
  * - 策略：单机限流（Guava）优先 + 分布式限流（Redis）兜底。
  * - 阈值：使用 RateLimitConstants.GLOBAL_SERVICE_QPS。
+ * - 分布式层默认逐请求调用 RedisRateLimiter；可开启配额租约（rate.limit.lease.enabled=true）：
+ *   节点批量申领许可后本地发放，避免每个请求一次 Redis 往返。
+ * - 逐请求模式可开启条带（rate.limit.striped.enabled）：全局计数拆到多个 Slot，不再集中在单个主节点。
  */
 @Slf4j
 @Component
@@ -58,6 +63,17 @@ public class GlobalRateLimitFilter implements Filter {
     @Autowired
     private RedisRateLimiter redisRateLimiter;
 
+    @Autowired
+    private RedisLeasedRateLimiter redisLeasedRateLimiter;
+
+    // 是否使用配额租约模式
+    @Value("${rate.limit.lease.enabled:false}")
+    private boolean leaseEnabled;
+
+    // 逐请求模式下是否使用条带计数
+    @Value("${rate.limit.striped.enabled:false}")
+    private boolean stripedEnabled;
+
     private static final String GLOBAL_LIMIT_KEY = "global_service_limit";
 
     // 从配置读取全局QPS，默认使用常量阈值
@@ -94,9 +110,20 @@ public class GlobalRateLimitFilter implements Filter {
         // 2. 第二道防线：分布式限流 (Redis)
         // 全局协调：控制整个集群的总流量。
         // 注意：RedisRateLimiter 内部已实现本地保守限流降级，保障异常场景可用性。
-        if (!redisRateLimiter.tryAcquire(GLOBAL_LIMIT_KEY, (int) globalQps, 1)) {
-            log.warn("全局分布式限流触发|Global_distributed_limit_triggered,qps={}", globalQps);
-            throw new RateLimitException("系统繁忙_集群限流");
+        // 优化：租约模式下常态只在本地递减许可，约每 5% 全局 QPS 才访问一次 Redis。
+        RateLimitResult result;
+        if (leaseEnabled) {
+            result = redisLeasedRateLimiter.acquire(GLOBAL_LIMIT_KEY, (int) globalQps, 1);
+        } else if (stripedEnabled) {
+            // 优化：逐请求计数分散到多个条带子键，单个主节点不再是全局 QPS 的上限
+            result = redisRateLimiter.acquireStriped(GLOBAL_LIMIT_KEY, (int) globalQps, 1);
+        } else {
+            result = redisRateLimiter.acquire(GLOBAL_LIMIT_KEY, (int) globalQps, 1);
+        }
+        if (!result.isAllowed()) {
+            log.warn("全局分布式限流触发|Global_distributed_limit_triggered,qps={},retryAfterMs={}",
+                    globalQps, result.getRetryAfterMillis());
+            throw new RateLimitException("系统繁忙_集群限流", result.getRetryAfterMillis());
         }
 
         // 放行
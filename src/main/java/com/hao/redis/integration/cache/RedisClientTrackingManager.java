@@ -0,0 +1,219 @@
+package com.hao.redis.integration.cache;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.push.RedisClusterPushListener;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 客户端跟踪（CLIENT TRACKING）管理器
+ *
+ * 类职责：
+ * 在每个主节点上开启 BCAST 模式的客户端跟踪，接收 RESP3 失效推送并驱动近端缓存失效。
+ *
+ * 设计目的：
+ * 1. 任意节点、任意客户端写入被跟踪前缀的 Key 后，毫秒级剔除本机近端缓存。
+ * 2. 跟踪状态异常（断线、拓扑变更）时自动降级为穿透读，保证不返回脏数据。
+ *
+ * 为什么需要该类：
+ * 近端缓存的一致性依赖服务端推送，跟踪连接的生命周期需要独立管理。
+ *
+ * 核心实现思路：
+ * - 使用独立的集群连接（不参与业务命令），逐个主节点执行 CLIENT TRACKING ON BCAST PREFIX ...。
+ * - BCAST 模式无需“谁读谁跟踪”，业务读走连接池连接也能收到失效通知。
+ * - 节点连接断开即视为可能漏收通知：近端缓存置为未就绪并清空，定时任务重新开启跟踪后恢复。
+ *
+ * 使用约束：
+ * 需要 Redis 6.0+ 且连接协商为 RESP3（Lettuce 6 默认自动协商）；开启失败时近端缓存保持未就绪。
+ * 默认关闭（与读请求合并器一致），需显式配置 redis.near-cache.enabled=true；未开启时近端缓存始终穿透。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "redis.near-cache.enabled", havingValue = "true")
+public class RedisClientTrackingManager implements CommandLineRunner {
+
+    private final LettuceConnectionFactory connectionFactory;
+    private final RedisNearCache nearCache;
+
+    /**
+     * 已开启跟踪的节点连接 -> 节点ID
+     */
+    private final Map<Object, String> trackedConnections = new ConcurrentHashMap<>();
+
+    private final RedisConnectionStateListener connectionStateListener = new TrackingConnectionStateListener();
+
+    private volatile RedisClusterClient clusterClient;
+    private volatile StatefulRedisClusterConnection<String, String> trackingConnection;
+
+    public RedisClientTrackingManager(LettuceConnectionFactory connectionFactory, RedisNearCache nearCache) {
+        this.connectionFactory = connectionFactory;
+        this.nearCache = nearCache;
+    }
+
+    /**
+     * 项目启动时开启跟踪
+     */
+    @Override
+    public void run(String... args) {
+        refreshTracking();
+    }
+
+    /**
+     * 定时校验跟踪状态
+     *
+     * 实现逻辑：
+     * 1. 首次调用时建立独立跟踪连接并注册推送监听。
+     * 2. 刷新集群分区，对尚未跟踪的主节点开启 BCAST 跟踪。
+     * 3. 全部主节点跟踪成功后置近端缓存为就绪，否则保持未就绪。
+     */
+    @Scheduled(fixedDelayString = "${redis.near-cache.tracking-refresh-ms:5000}")
+    public synchronized void refreshTracking() {
+        // 实现思路：
+        // 1. 只对新增主节点或断线重连的节点重新下发 CLIENT TRACKING，避免重复前缀报错。
+        try {
+            ensureTrackingConnection();
+            clusterClient.refreshPartitions();
+
+            Set<String> masterIds = new HashSet<>();
+            for (RedisClusterNode node : trackingConnection.getPartitions()) {
+                if (!node.is(RedisClusterNode.NodeFlag.UPSTREAM)) {
+                    continue;
+                }
+                masterIds.add(node.getNodeId());
+                StatefulRedisConnection<String, String> nodeConnection = trackingConnection.getConnection(node.getNodeId());
+                if (!trackedConnections.containsKey(nodeConnection)) {
+                    enableTracking(node, nodeConnection);
+                }
+            }
+
+            // 下线或降级为从节点的连接不再视为已跟踪
+            trackedConnections.values().removeIf(nodeId -> !masterIds.contains(nodeId));
+            boolean allTracked = !masterIds.isEmpty() && trackedConnections.values().containsAll(masterIds);
+            nearCache.setActive(allTracked);
+        } catch (Exception e) {
+            log.warn("客户端跟踪刷新失败_近端缓存降级|Client_tracking_refresh_fail,error={}", e.getMessage());
+            nearCache.setActive(false);
+        }
+    }
+
+    /**
+     * 关闭跟踪连接
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        nearCache.setActive(false);
+        if (clusterClient != null) {
+            clusterClient.removeListener(connectionStateListener);
+        }
+        if (trackingConnection != null) {
+            trackingConnection.close();
+            trackingConnection = null;
+        }
+        trackedConnections.clear();
+    }
+
+    /**
+     * 建立独立跟踪连接
+     *
+     * 实现逻辑：
+     * 1. 复用连接工厂的 RedisClusterClient 建立新集群连接。
+     * 2. 注册集群推送监听与连接状态监听。
+     */
+    private void ensureTrackingConnection() {
+        if (trackingConnection != null) {
+            return;
+        }
+        clusterClient = (RedisClusterClient) connectionFactory.getRequiredNativeClient();
+        StatefulRedisClusterConnection<String, String> connection = clusterClient.connect(StringCodec.UTF8);
+        connection.addListener((RedisClusterPushListener) (node, message) -> handlePush(message));
+        clusterClient.addListener(connectionStateListener);
+        trackingConnection = connection;
+        log.info("客户端跟踪连接建立|Client_tracking_connection_created,prefixes={}", nearCache.getPrefixes());
+    }
+
+    /**
+     * 在单个主节点上开启跟踪
+     *
+     * @param node 主节点
+     * @param nodeConnection 节点连接
+     */
+    private void enableTracking(RedisClusterNode node, StatefulRedisConnection<String, String> nodeConnection) {
+        // 核心代码：BCAST + PREFIX，只推送近端缓存关心的 Key
+        TrackingArgs trackingArgs = TrackingArgs.Builder.enabled()
+                .bcast()
+                .prefixes(nearCache.getPrefixes().toArray(new String[0]));
+        nodeConnection.sync().clientTracking(trackingArgs);
+        trackedConnections.put(nodeConnection, node.getNodeId());
+        log.info("节点开启客户端跟踪|Client_tracking_enabled,node={}:{}", node.getUri().getHost(), node.getUri().getPort());
+    }
+
+    /**
+     * 处理 RESP3 推送消息
+     *
+     * 实现逻辑：
+     * 1. 仅处理 invalidate 类型消息。
+     * 2. 第二个元素为失效 Key 列表，null 表示全部失效（FLUSHALL/FLUSHDB）。
+     *
+     * @param message 推送消息
+     */
+    private void handlePush(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys instanceof List<?> keyList) {
+            List<String> invalidatedKeys = new ArrayList<>(keyList.size());
+            for (Object key : keyList) {
+                invalidatedKeys.add(String.valueOf(key));
+            }
+            nearCache.onRemoteInvalidation(invalidatedKeys);
+        } else {
+            nearCache.onRemoteInvalidation(null);
+        }
+    }
+
+    /**
+     * 跟踪节点连接状态监听
+     * <p>
+     * 断线期间的写入不会推送失效通知，重连后服务端跟踪状态也已丢失，必须降级并重新开启。
+     */
+    private final class TrackingConnectionStateListener implements RedisConnectionStateListener {
+
+        @Override
+        public void onRedisConnected(RedisChannelHandler<?, ?> connection, SocketAddress socketAddress) {
+            // 重连后由定时任务重新下发跟踪命令，回调运行在事件循环线程，不能同步执行命令
+        }
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+            String nodeId = trackedConnections.remove(connection);
+            if (nodeId != null) {
+                log.warn("跟踪节点断开_近端缓存降级|Tracking_node_disconnected,nodeId={}", nodeId);
+                nearCache.setActive(false);
+            }
+        }
+
+        @Override
+        public void onRedisExceptionCaught(RedisChannelHandler<?, ?> connection, Throwable cause) {
+            // 异常由断线回调统一处理
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.hao.redis.integration.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Redis 近端缓存（客户端本地缓存）
+ *
+ * 类职责：
+ * 在 RedisClient 哈希读方法前缓存热点结果，由 Redis CLIENT TRACKING 失效通知保持一致。
+ *
+ * 设计目的：
+ * 1. weibo:info 的 HGET/HMGET 与 user:* 的 HGETALL 每秒重复读取上千次，本地命中可省去整次 RTT。
+ * 2. 容量有界（按缓存内容估算字节数加权 + 单 Key 字段数），TTL 兜底，避免内存失控。
+ *
+ * 为什么需要该类：
+ * 纯 TTL 本地缓存无法感知其他节点的写入，一致性窗口等于 TTL；
+ * 服务端失效通知可将窗口压缩到毫秒级。
+ *
+ * 核心实现思路：
+ * - 一级 Caffeine 以 Redis Key 为粒度，失效通知按 Key 到达，可直接整体剔除。
+ *   以 maximumWeight + 权重函数限制总量：条目权重为 Key、字段与值的字符数之和加固定开销，
+ *   微博详情分桶这类“少量 Key、大量大字段”的数据也按实际体积淘汰，而不是按 Key 个数。
+ *   条目写入新字段后重新放回缓存，使 Caffeine 重新计算权重。
+ * - 二级字段表缓存 HGET/HMGET 结果（含“字段不存在”），HGETALL 结果整体快照。
+ * - 分段失效纪元（epoch）防止“读到旧值 -> 失效到达 -> 旧值写入缓存”的竞态：
+ *   回源前记录纪元，写入前校验一次，写入后再校验一次，写入后发现纪元变化则剔除该 Key。
+ * - 跟踪未就绪（启动中、连接断开）时 active=false，读请求直接穿透到 Redis。
+ */
+@Slf4j
+public class RedisNearCache {
+
+    /**
+     * 失效纪元分段数（2 的幂）
+     */
+    private static final int EPOCH_STRIPES = 1024;
+
+    /**
+     * 单个 Key 条目与单个字段的估算固定开销（对象头、Map 节点、Optional 等）
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int FIELD_OVERHEAD = 48;
+
+    private final List<String> prefixes;
+    private final int maxFieldsPerKey;
+    private final Cache<String, KeyEntry> cache;
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder remoteInvalidations = new LongAdder();
+    private final LongAdder localInvalidations = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder staleLoadsDropped = new LongAdder();
+
+    /**
+     * 跟踪是否就绪，未就绪时不读写本地缓存
+     */
+    private volatile boolean active;
+
+    /**
+     * 近端缓存构造方法
+     *
+     * @param prefixes 允许缓存的 Key 前缀（同时作为 BCAST 跟踪前缀）
+     * @param maxWeightBytes 缓存内容估算字节数上限（按 Key、字段与值的字符数加固定开销估算）
+     * @param maxFieldsPerKey 单个 Key 最多缓存的字段数
+     * @param ttl 写入后过期时间（失效通知丢失时的兜底）
+     */
+    public RedisNearCache(List<String> prefixes, long maxWeightBytes, int maxFieldsPerKey, Duration ttl) {
+        if (prefixes == null || prefixes.isEmpty()) {
+            throw new IllegalArgumentException("prefixes 不能为空");
+        }
+        this.prefixes = List.copyOf(prefixes);
+        this.maxFieldsPerKey = maxFieldsPerKey;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, KeyEntry entry) -> (int) Math.min(Integer.MAX_VALUE, key.length() + entry.weight()))
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * 获取跟踪前缀
+     *
+     * @return 前缀列表（只读）
+     */
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * 判断 Key 是否走近端缓存
+     *
+     * @param key Redis Key
+     * @return 跟踪就绪且前缀匹配时返回 true
+     */
+    public boolean isCacheable(String key) {
+        if (!active) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 设置跟踪就绪状态
+     *
+     * 实现逻辑：
+     * 1. 状态变化时清空本地缓存：未就绪期间可能漏收失效通知。
+     *
+     * @param active 是否就绪
+     */
+    public void setActive(boolean active) {
+        if (this.active != active) {
+            invalidateAll();
+            log.info("近端缓存状态切换|Near_cache_active_changed,active={}", active);
+        }
+        this.active = active;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * 读取单个哈希字段（HGET）
+     *
+     * 实现逻辑：
+     * 1. 命中字段表直接返回（包含字段不存在的空结果）。
+     * 2. 未命中时回源加载，纪元未变化才写入缓存（写入后复核纪元）。
+     *
+     * @param key Redis Key
+     * @param field 字段
+     * @param loader 回源函数
+     * @return 字段值
+     */
+    public String getField(String key, String field, Supplier<String> loader) {
+        // 实现思路：
+        // 1. Optional 区分“未缓存”与“缓存了空值”。
+        KeyEntry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            Optional<String> cached = entry.lookup(field);
+            if (cached != null) {
+                hits.increment();
+                return cached.orElse(null);
+            }
+        }
+        misses.increment();
+        long stamp = epoch(key);
+        String value = loader.get();
+        publish(key, stamp, target -> target.putField(field, value, maxFieldsPerKey));
+        return value;
+    }
+
+    /**
+     * 批量读取哈希字段（HMGET）
+     *
+     * 实现逻辑：
+     * 1. 先从字段表取出已缓存字段。
+     * 2. 仅对缺失字段回源一次 HMGET。
+     * 3. 按入参顺序合并结果。
+     *
+     * @param key Redis Key
+     * @param fields 字段列表
+     * @param loader 回源函数（入参为缺失字段，返回值与其一一对应）
+     * @return 字段值列表，顺序与入参一致
+     */
+    public List<String> getFields(String key, List<String> fields, Function<List<String>, List<String>> loader) {
+        // 实现思路：
+        // 1. 部分命中时只加载缺失字段，降低回源负载。
+        KeyEntry entry = cache.getIfPresent(key);
+        String[] result = new String[fields.size()];
+        List<Integer> missingIndexes = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Optional<String> cached = entry != null ? entry.lookup(fields.get(i)) : null;
+            if (cached != null) {
+                result[i] = cached.orElse(null);
+            } else {
+                missingIndexes.add(i);
+            }
+        }
+        hits.add(fields.size() - missingIndexes.size());
+        if (missingIndexes.isEmpty()) {
+            return Arrays.asList(result);
+        }
+        misses.add(missingIndexes.size());
+
+        List<String> missingFields = new ArrayList<>(missingIndexes.size());
+        for (Integer index : missingIndexes) {
+            missingFields.add(fields.get(index));
+        }
+        long stamp = epoch(key);
+        List<String> loaded = loader.apply(missingFields);
+        for (int i = 0; i < missingIndexes.size(); i++) {
+            result[missingIndexes.get(i)] = loaded.get(i);
+        }
+        publish(key, stamp, target -> {
+            for (int i = 0; i < missingFields.size(); i++) {
+                target.putField(missingFields.get(i), loaded.get(i), maxFieldsPerKey);
+            }
+        });
+        return Arrays.asList(result);
+    }
+
+    /**
+     * 读取整个哈希（HGETALL）
+     *
+     * 实现逻辑：
+     * 1. 命中完整快照直接返回只读副本。
+     * 2. 未命中时回源加载，纪元未变化才写入快照。
+     *
+     * @param key Redis Key
+     * @param loader 回源函数
+     * @return 哈希全部字段
+     */
+    public Map<String, String> getAll(String key, Supplier<Map<String, String>> loader) {
+        // 实现思路：
+        // 1. 字段数超过单 Key 上限的大哈希不缓存快照，避免占用过多内存。
+        KeyEntry entry = cache.getIfPresent(key);
+        if (entry != null && entry.all != null) {
+            hits.increment();
+            return entry.all;
+        }
+        misses.increment();
+        long stamp = epoch(key);
+        Map<String, String> value = loader.get();
+        if (value.size() <= maxFieldsPerKey) {
+            Map<String, String> snapshot = Collections.unmodifiableMap(new LinkedHashMap<>(value));
+            publish(key, stamp, target -> target.putAll(snapshot));
+        }
+        return value;
+    }
+
+    /**
+     * 服务端失效通知处理
+     *
+     * @param keys 失效的 Key 列表，null 表示服务端要求全部失效（如 FLUSHALL）
+     */
+    public void onRemoteInvalidation(Collection<String> keys) {
+        if (keys == null) {
+            invalidateAll();
+            return;
+        }
+        for (String key : keys) {
+            remoteInvalidations.increment();
+            evict(key);
+        }
+    }
+
+    /**
+     * 本地写入后的主动失效
+     * <p>
+     * 本节点写入后立即剔除，不必等待服务端通知回到本机。
+     *
+     * @param key Redis Key
+     */
+    public void invalidateLocal(String key) {
+        if (!isTracked(key)) {
+            return;
+        }
+        localInvalidations.increment();
+        evict(key);
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < EPOCH_STRIPES; i++) {
+            epochs.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+        flushes.increment();
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 命中/未命中/失效等计数
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("active", active);
+        stats.put("prefixes", prefixes);
+        stats.put("keys", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            stats.put("weightBytes", eviction.weightedSize().orElse(0L));
+            stats.put("maxWeightBytes", eviction.getMaximum());
+        });
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("remoteInvalidations", remoteInvalidations.sum());
+        stats.put("localInvalidations", localInvalidations.sum());
+        stats.put("flushes", flushes.sum());
+        stats.put("staleLoadsDropped", staleLoadsDropped.sum());
+        return stats;
+    }
+
+    private boolean isTracked(String key) {
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 剔除单个 Key
+     *
+     * 实现逻辑：
+     * 1. 先推进纪元，再剔除缓存，保证并发中的回源结果不会被写回。
+     *
+     * @param key Redis Key
+     */
+    private void evict(String key) {
+        epochs.incrementAndGet(stripe(key));
+        cache.invalidate(key);
+    }
+
+    /**
+     * 回源结果写入缓存
+     *
+     * 实现逻辑：
+     * 1. 写入前纪元已变化：放弃写入。
+     * 2. 写入后把条目重新放回缓存，Caffeine 按新内容重新计算权重并在超限时淘汰。
+     * 3. 写入后复核纪元：校验与写入之间到达的失效会推进纪元，此时剔除该 Key。
+     *    失效方先推进纪元再剔除，两种先后顺序下旧值都不会留在缓存中。
+     *
+     * @param key Redis Key
+     * @param stamp 回源前的纪元
+     * @param writer 写入动作
+     */
+    private void publish(String key, long stamp, Consumer<KeyEntry> writer) {
+        if (!isUnchanged(key, stamp)) {
+            return;
+        }
+        KeyEntry entry = cache.get(key, k -> new KeyEntry());
+        writer.accept(entry);
+        cache.put(key, entry);
+        // 核心代码：写入后复核，关闭“校验通过 -> 失效到达 -> 写入”的窗口
+        if (!isUnchanged(key, stamp)) {
+            cache.invalidate(key);
+        }
+    }
+
+    private long epoch(String key) {
+        return epochs.get(stripe(key));
+    }
+
+    private boolean isUnchanged(String key, long stamp) {
+        if (epochs.get(stripe(key)) == stamp) {
+            return true;
+        }
+        staleLoadsDropped.increment();
+        return false;
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (EPOCH_STRIPES - 1);
+    }
+
+    /**
+     * 单个 Redis Key 的缓存条目
+     */
+    private static final class KeyEntry {
+
+        /**
+         * 字段缓存，Optional.empty 表示字段不存在
+         */
+        private final Map<String, Optional<String>> fields = new ConcurrentHashMap<>();
+
+        /**
+         * HGETALL 完整快照
+         */
+        private volatile Map<String, String> all;
+
+        /**
+         * 已缓存内容的估算字节数
+         */
+        private final AtomicLong weight = new AtomicLong(ENTRY_OVERHEAD);
+
+        private Optional<String> lookup(String field) {
+            Map<String, String> snapshot = all;
+            if (snapshot != null) {
+                return Optional.ofNullable(snapshot.get(field));
+            }
+            return fields.get(field);
+        }
+
+        private void putField(String field, String value, int maxFields) {
+            if (fields.size() < maxFields) {
+                Optional<String> previous = fields.put(field, Optional.ofNullable(value));
+                weight.addAndGet(weigh(field, value) - (previous != null ? weigh(field, previous.orElse(null)) : 0));
+            }
+        }
+
+        private void putAll(Map<String, String> snapshot) {
+            Map<String, String> previous = all;
+            all = snapshot;
+            weight.addAndGet(weigh(snapshot) - (previous != null ? weigh(previous) : 0));
+        }
+
+        private long weight() {
+            return weight.get();
+        }
+
+        private static long weigh(Map<String, String> snapshot) {
+            long size = 0;
+            for (Map.Entry<String, String> e : snapshot.entrySet()) {
+                size += weigh(e.getKey(), e.getValue());
+            }
+            return size;
+        }
+
+        private static int weigh(String field, String value) {
+            return FIELD_OVERHEAD + field.length() + (value != null ? value.length() : 0);
+        }
+    }
+}
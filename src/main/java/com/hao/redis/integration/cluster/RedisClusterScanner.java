@@ -0,0 +1,267 @@
+package com.hao.redis.integration.cluster;
+
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Redis 集群并行扫描器
+ *
+ * 类职责：
+ * 在集群全部主节点上并行执行 SCAN，把各节点的结果页合并为一个 Stream 输出。
+ *
+ * 设计目的：
+ * 1. 取代 KEYS：KEYS 在每个分片上一次性遍历全部 Key，期间阻塞该分片所有请求。
+ * 2. 覆盖全部分片：模板的 SCAN 只会落在某一个节点上，集群下结果不完整。
+ * 3. 有界内存：消费方处理变慢时，生产方被阻塞而不是无限堆积结果页。
+ *
+ * 为什么需要该类：
+ * 运维与清理任务需要按模式遍历 Key，若使用 KEYS 会在大 Key 空间下造成全集群延迟尖刺。
+ *
+ * 核心实现思路：
+ * - 从 RedisClusterTopologyCache 获取主节点列表，每个节点一个扫描任务，运行在虚拟线程执行器上。
+ * - 每个任务在对应节点连接上按游标循环 SCAN MATCH COUNT，结果页投递到有界队列（背压）。
+ * - 消费侧以 Spliterator 从队列取页并逐个输出 Key；Stream 关闭时取消所有扫描任务。
+ *
+ * 使用约束：
+ * 返回的 Stream 持有后台扫描任务，提前结束遍历时应使用 try-with-resources 关闭。
+ * SCAN 语义下同一 Key 在 rehash 期间可能重复返回，需要去重时由调用方处理。
+ */
+@Slf4j
+public class RedisClusterScanner {
+
+    /**
+     * 每个节点允许在队列中积压的结果页数
+     */
+    private static final int QUEUED_PAGES_PER_NODE = 2;
+
+    /**
+     * 生产方投递结果页的重试间隔，用于及时感知取消
+     */
+    private static final long OFFER_RETRY_MILLIS = 100;
+
+    private final RedisClusterTopologyCache topologyCache;
+    private final StatefulRedisClusterConnection<String, String> connection;
+    private final Executor executor;
+
+    /**
+     * 集群并行扫描器构造方法
+     *
+     * @param topologyCache 集群拓扑缓存，提供主节点列表
+     * @param connection 集群连接，用于获取各节点连接
+     * @param executor 扫描任务执行器（建议虚拟线程执行器，阻塞等待不占用平台线程）
+     */
+    public RedisClusterScanner(RedisClusterTopologyCache topologyCache,
+                               StatefulRedisClusterConnection<String, String> connection,
+                               Executor executor) {
+        this.topologyCache = topologyCache;
+        this.connection = connection;
+        this.executor = executor;
+    }
+
+    /**
+     * 并行扫描全部主节点
+     *
+     * 实现逻辑：
+     * 1. 获取主节点列表，为每个节点提交一个扫描任务。
+     * 2. 返回以结果队列为数据源的顺序 Stream，关闭时取消扫描。
+     *
+     * @param pattern 匹配模式（如 user:*）
+     * @param pageSize 单次 SCAN 的 COUNT 提示值
+     * @return 匹配的 Key 流
+     */
+    public Stream<String> scan(String pattern, int pageSize) {
+        // 实现思路：
+        // 1. 队列容量按节点数放大，保证每个节点至少能积压一页，避免互相饿死。
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize 必须大于 0");
+        }
+        Set<String> masters = topologyCache.getMasterNodes();
+        if (masters.isEmpty()) {
+            throw new IllegalStateException("集群主节点列表为空，无法执行扫描");
+        }
+        ScanTask task = new ScanTask(pattern, masters.size());
+        // 核心代码：每个主节点一个扫描任务
+        for (String node : masters) {
+            executor.execute(() -> task.scanNode(node, pageSize));
+        }
+        return StreamSupport.stream(task, false).onClose(task::cancel);
+    }
+
+    /**
+     * 单次扫描任务
+     * <p>
+     * 同时承担生产方（各节点扫描）与消费方（Spliterator）的协调。
+     */
+    private final class ScanTask implements Spliterator<String> {
+
+        private final String pattern;
+        private final int nodeCount;
+        private final BlockingQueue<Page> queue;
+        private final LongAdder scanned = new LongAdder();
+        private final long startNanos = System.nanoTime();
+
+        private volatile boolean cancelled;
+        private int finishedNodes;
+        private List<String> current = List.of();
+        private int index;
+
+        private ScanTask(String pattern, int nodeCount) {
+            this.pattern = pattern;
+            this.nodeCount = nodeCount;
+            this.queue = new ArrayBlockingQueue<>(nodeCount * QUEUED_PAGES_PER_NODE);
+        }
+
+        /**
+         * 扫描单个节点
+         *
+         * 实现逻辑：
+         * 1. 解析节点地址，获取节点直连。
+         * 2. 游标循环 SCAN，非空结果页投递到队列。
+         * 3. 正常结束投递结束标记，异常时投递错误标记。
+         *
+         * @param node 节点地址（IP:Port）
+         * @param pageSize 单次 SCAN 的 COUNT 提示值
+         */
+        private void scanNode(String node, int pageSize) {
+            // 实现思路：
+            // 1. 同步命令运行在虚拟线程上，等待回包期间不占用平台线程。
+            try {
+                int separator = node.lastIndexOf(':');
+                String host = node.substring(0, separator);
+                int port = Integer.parseInt(node.substring(separator + 1));
+                RedisCommands<String, String> commands = connection.getConnection(host, port).sync();
+                ScanArgs args = ScanArgs.Builder.matches(pattern).limit(pageSize);
+
+                ScanCursor cursor = ScanCursor.INITIAL;
+                do {
+                    KeyScanCursor<String> page = commands.scan(cursor, args);
+                    scanned.add(page.getKeys().size());
+                    if (!page.getKeys().isEmpty() && !put(new Page(page.getKeys(), null))) {
+                        return;
+                    }
+                    cursor = page;
+                } while (!cursor.isFinished() && !cancelled);
+                put(Page.END);
+            } catch (Exception e) {
+                log.error("节点扫描失败|Node_scan_fail,node={},pattern={},error={}", node, pattern, e.getMessage(), e);
+                put(new Page(List.of(), e));
+            }
+        }
+
+        /**
+         * 投递结果页（背压点）
+         *
+         * @param page 结果页
+         * @return 投递成功返回 true；任务已取消返回 false
+         */
+        private boolean put(Page page) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(page, OFFER_RETRY_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        private void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                queue.clear();
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            // 实现思路：
+            // 1. 当前页未消费完直接输出；否则阻塞取下一页，直到全部节点结束。
+            while (index >= current.size()) {
+                if (finishedNodes == nodeCount) {
+                    log.info("集群扫描完成|Cluster_scan_done,pattern={},nodes={},keys={},costMs={}",
+                            pattern, nodeCount, scanned.sum(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    return false;
+                }
+                Page page = take();
+                if (page.error != null) {
+                    cancel();
+                    if (page.error instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw new IllegalStateException("集群扫描失败", page.error);
+                }
+                if (page == Page.END) {
+                    finishedNodes++;
+                    continue;
+                }
+                current = page.keys;
+                index = 0;
+            }
+            action.accept(current.get(index++));
+            return true;
+        }
+
+        private Page take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new IllegalStateException("等待扫描结果被中断", e);
+            }
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            // 结果来自共享队列，不支持拆分
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL;
+        }
+    }
+
+    /**
+     * 扫描结果页
+     */
+    private static final class Page {
+
+        /**
+         * 节点扫描结束标记
+         */
+        private static final Page END = new Page(List.of(), null);
+
+        private final List<String> keys;
+        private final Throwable error;
+
+        private Page(List<String> keys, Throwable error) {
+            this.keys = keys;
+            this.error = error;
+        }
+    }
+}
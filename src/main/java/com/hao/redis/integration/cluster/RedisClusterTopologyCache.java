@@ -9,7 +9,9 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashSet;
 import java.util.NavigableMap;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
@@ -98,6 +100,18 @@ public class RedisClusterTopologyCache implements CommandLineRunner {
         }
     }
 
+    /**
+     * 获取全部主节点地址
+     *
+     * @return 主节点地址集合 (IP:Port)
+     */
+    public Set<String> getMasterNodes() {
+        if (slotNodeCache.isEmpty()) {
+            refreshTopology();
+        }
+        return new LinkedHashSet<>(slotNodeCache.values());
+    }
+
     /**
      * 根据 Slot ID 查询其所属的节点地址
      *
@@ -0,0 +1,326 @@
+package com.hao.redis.integration.cluster;
+
+import com.hao.redis.common.exception.RedisNodeUnavailableException;
+import com.hao.redis.common.util.RedisSlotUtil;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Redis 节点隔离舱与熔断器
+ *
+ * 类职责：
+ * 按节点地址（来自集群拓扑缓存）限制在途命令数，并在节点连续故障时熔断，快速失败而不是等待命令超时。
+ *
+ * 设计目的：
+ * 1. 单个主节点变慢时，只有访问该节点的请求受影响，其余分片保持满吞吐。
+ * 2. 熔断期间直接抛出 RedisNodeUnavailableException，调用方可立即降级。
+ *
+ * 为什么需要该类：
+ * 命令超时为 5 秒，一个慢节点会让请求线程逐个阻塞在该节点上，最终耗尽整个服务的线程池。
+ *
+ * 核心实现思路：
+ * - 隔离舱：每个节点一个信号量，许可上限默认等于连接池容量（spring.data.redis.lettuce.pool.max-active），
+ *   只有单个节点独占整池连接时才会触发；申请许可最多等待 acquire-timeout-ms，短暂排队不直接失败。
+ * - 阻塞命令（BLPOP/BRPOP）不占隔离舱许可，只在熔断打开时快速失败，也不把阻塞超时计为节点故障。
+ * - 熔断器：连续 N 次节点级故障（超时、连接失败）后打开，打开期满进入半开，只放行一个探测命令。
+ * - 探测成功则关闭熔断，失败则重新打开；业务错误（如 WRONGTYPE）说明节点有响应，视为成功。
+ * - 探测资格由 acquire 返回、release 回传：熔断打开前已在途的命令晚到的成功不能关闭熔断，
+ *   否则慢而未宕的节点上一个掉队的成功就会让熔断立即失效。
+ */
+@Slf4j
+@Component
+public class RedisNodeGuard {
+
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final RedisClusterTopologyCache topologyCache;
+
+    /**
+     * 节点地址 -> 节点状态
+     */
+    private final Map<String, NodeState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 节点隔离舱构造方法（申请许可不等待）
+     *
+     * @param maxConcurrent 单节点最大在途命令数
+     * @param failureThreshold 触发熔断的连续故障次数
+     * @param openMillis 熔断打开时长（毫秒）
+     * @param topologyCache 集群拓扑缓存（可为空，为空时按 Key 执行不做保护）
+     */
+    public RedisNodeGuard(int maxConcurrent, int failureThreshold, long openMillis,
+                          RedisClusterTopologyCache topologyCache) {
+        this(maxConcurrent, 0, failureThreshold, openMillis, topologyCache);
+    }
+
+    /**
+     * 节点隔离舱构造方法
+     *
+     * @param maxConcurrent 单节点最大在途命令数，未配置时取连接池最大连接数，负数表示不限制
+     * @param acquireTimeoutMs 隔离舱已满时申请许可的最长等待（毫秒），0 表示不等待
+     * @param failureThreshold 触发熔断的连续故障次数
+     * @param openMillis 熔断打开时长（毫秒）
+     * @param topologyCache 集群拓扑缓存（可为空，为空时按 Key 执行不做保护）
+     */
+    @Autowired
+    public RedisNodeGuard(@Value("${redis.guard.max-concurrent-per-node:${spring.data.redis.lettuce.pool.max-active:8}}") int maxConcurrent,
+                          @Value("${redis.guard.acquire-timeout-ms:100}") long acquireTimeoutMs,
+                          @Value("${redis.guard.failure-threshold:5}") int failureThreshold,
+                          @Value("${redis.guard.open-ms:5000}") long openMillis,
+                          RedisClusterTopologyCache topologyCache) {
+        if (maxConcurrent == 0 || acquireTimeoutMs < 0 || failureThreshold <= 0 || openMillis <= 0) {
+            throw new IllegalArgumentException("节点隔离参数必须大于 0");
+        }
+        // 与连接池约定一致：max-active 为负数表示不限制
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Integer.MAX_VALUE;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.topologyCache = topologyCache;
+    }
+
+    /**
+     * 申请节点执行许可
+     *
+     * 实现逻辑：
+     * 1. 熔断打开且未到期：拒绝。
+     * 2. 熔断到期（半开）：仅第一个调用者作为探测放行，其余拒绝。
+     * 3. 隔离舱信号量已满：最多等待 acquireTimeoutMs，仍无许可则拒绝。
+     *
+     * @param node 节点地址（IP:Port）
+     * @return true 表示本次调用是半开探测，归还时需原样传给 release
+     * @throws RedisNodeUnavailableException 节点熔断或隔离舱已满
+     */
+    public boolean acquire(String node) {
+        // 实现思路：
+        // 1. 全程无锁：熔断状态为 volatile 时间戳，探测资格用 CAS 争抢。
+        NodeState state = states.computeIfAbsent(node, key -> new NodeState(maxConcurrent));
+        long openUntil = state.openUntil;
+        boolean probe = false;
+        if (openUntil != 0) {
+            if (System.currentTimeMillis() < openUntil || !state.probing.compareAndSet(false, true)) {
+                state.rejectedOpen.increment();
+                throw new RedisNodeUnavailableException(node, RedisNodeUnavailableException.Reason.CIRCUIT_OPEN);
+            }
+            probe = true;
+        }
+        // 核心代码：限时等待的信号量申请，瞬时排队可等到许可，慢节点长期占满许可时才失败
+        if (!tryAcquirePermit(state)) {
+            if (probe) {
+                state.probing.set(false);
+            }
+            state.rejectedBulkhead.increment();
+            throw new RedisNodeUnavailableException(node, RedisNodeUnavailableException.Reason.BULKHEAD_FULL);
+        }
+        return probe;
+    }
+
+    /**
+     * 阻塞命令的熔断检查
+     *
+     * 实现逻辑：
+     * 1. 阻塞命令（BLPOP/BRPOP）按设计长时间挂起，不占隔离舱许可，执行结束也不回写熔断状态。
+     * 2. 熔断打开或半开等待探测期间直接拒绝，探测由普通命令完成。
+     *
+     * @param node 节点地址（IP:Port）
+     * @throws RedisNodeUnavailableException 节点熔断
+     */
+    public void checkCircuit(String node) {
+        NodeState state = states.computeIfAbsent(node, key -> new NodeState(maxConcurrent));
+        if (state.openUntil != 0) {
+            state.rejectedOpen.increment();
+            throw new RedisNodeUnavailableException(node, RedisNodeUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+    }
+
+    /**
+     * 归还节点执行许可并更新熔断状态
+     *
+     * 实现逻辑：
+     * 1. 释放信号量。
+     * 2. 节点级故障：连续故障计数加一，达到阈值或探测失败时打开熔断。
+     * 3. 其余情况：清零故障计数；只有半开探测成功才关闭熔断。
+     *
+     * @param node 节点地址
+     * @param probe acquire 的返回值（是否为半开探测）
+     * @param error 命令异常，成功为 null
+     */
+    public void release(String node, boolean probe, Throwable error) {
+        NodeState state = states.get(node);
+        if (state == null) {
+            return;
+        }
+        state.permits.release();
+        if (error != null && isNodeFailure(error)) {
+            int failures = state.consecutiveFailures.incrementAndGet();
+            if (probe || failures >= failureThreshold) {
+                trip(node, state, probe, failures);
+            }
+            return;
+        }
+        state.consecutiveFailures.set(0);
+        // 核心代码：熔断打开前已在途的命令晚到的成功不关闭熔断
+        if (probe && state.openUntil != 0) {
+            state.openUntil = 0;
+            state.probing.set(false);
+            log.info("Redis节点熔断关闭|Redis_node_circuit_closed,node={}", node);
+        }
+    }
+
+    /**
+     * 按 Key 所属节点受保护地执行操作
+     *
+     * 实现逻辑：
+     * 1. 通过 Slot 与拓扑缓存解析节点，无法解析时直接执行。
+     * 2. 申请许可后执行，结束后按结果归还。
+     *
+     * @param key Redis Key
+     * @param action 实际操作
+     * @return 操作结果
+     * @param <R> 结果类型
+     * @throws RedisNodeUnavailableException 节点熔断或隔离舱已满
+     */
+    public <R> R execute(String key, Supplier<R> action) {
+        String node = topologyCache != null ? topologyCache.getNodeBySlot(RedisSlotUtil.getSlot(key)) : null;
+        if (node == null) {
+            return action.get();
+        }
+        boolean probe = acquire(node);
+        Throwable error = null;
+        try {
+            return action.get();
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            release(node, probe, error);
+        }
+    }
+
+    /**
+     * 获取各节点隔离与熔断状态
+     *
+     * @return 状态快照
+     */
+    public Map<String, Object> stats() {
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        new TreeMap<>(states).forEach((node, state) -> {
+            long openUntil = state.openUntil;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("node", node);
+            row.put("state", openUntil == 0 ? "CLOSED"
+                    : System.currentTimeMillis() < openUntil ? "OPEN" : "HALF_OPEN");
+            row.put("inFlight", maxConcurrent - state.permits.availablePermits());
+            row.put("consecutiveFailures", state.consecutiveFailures.get());
+            row.put("rejectedBulkhead", state.rejectedBulkhead.sum());
+            row.put("rejectedOpen", state.rejectedOpen.sum());
+            row.put("opened", state.opened.sum());
+            nodes.add(row);
+        });
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrentPerNode", maxConcurrent);
+        stats.put("acquireTimeoutMs", acquireTimeoutMs);
+        stats.put("failureThreshold", failureThreshold);
+        stats.put("openMs", openMillis);
+        stats.put("nodes", nodes);
+        return stats;
+    }
+
+    /**
+     * 申请隔离舱许可
+     *
+     * @param state 节点状态
+     * @return 是否获得许可（等待期间被中断视为未获得）
+     */
+    private boolean tryAcquirePermit(NodeState state) {
+        if (acquireTimeoutMs == 0) {
+            return state.permits.tryAcquire();
+        }
+        try {
+            return state.permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 打开熔断
+     *
+     * @param node 节点地址
+     * @param state 节点状态
+     * @param probe 是否由半开探测失败触发（只有探测方可交还探测资格）
+     * @param failures 当前连续故障次数
+     */
+    private void trip(String node, NodeState state, boolean probe, int failures) {
+        boolean wasClosed = state.openUntil == 0;
+        boolean probeFailed = probe && state.probing.getAndSet(false);
+        state.openUntil = System.currentTimeMillis() + openMillis;
+        if (wasClosed || probeFailed) {
+            state.opened.increment();
+            log.warn("Redis节点熔断打开|Redis_node_circuit_open,node={},failures={},probeFailed={},openMs={}",
+                    node, failures, probeFailed, openMillis);
+        }
+    }
+
+    /**
+     * 判断是否为节点级故障（超时、连接失败），业务错误不计入熔断
+     *
+     * @param error 命令异常
+     * @return true 表示节点级故障
+     */
+    private static boolean isNodeFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RedisCommandTimeoutException
+                    || cause instanceof RedisConnectionException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 单节点状态
+     */
+    private static final class NodeState {
+        private final Semaphore permits;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicBoolean probing = new AtomicBoolean();
+        private final LongAdder rejectedBulkhead = new LongAdder();
+        private final LongAdder rejectedOpen = new LongAdder();
+        private final LongAdder opened = new LongAdder();
+
+        /**
+         * 熔断到期时间戳（毫秒），0 表示关闭
+         */
+        private volatile long openUntil;
+
+        private NodeState(int maxConcurrent) {
+            this.permits = new Semaphore(maxConcurrent);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.hao.redis.integration.cluster;
+
+import com.hao.redis.common.enums.RedisKeysEnum;
+import com.hao.redis.integration.redis.RedisBucketedHash;
+import com.hao.redis.integration.redis.RedisClient;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Redis 启动预热
+ *
+ * 类职责：
+ * 在 Web 服务开始监听、应用上报就绪之前，完成拓扑加载、连接建立、脚本加载与热点 Key 访问。
+ *
+ * 设计目的：
+ * 1. 消除发布后的延迟悬崖：首批请求不再承担建连、连接池扩容、拓扑发现与脚本加载的开销。
+ * 2. 预热失败不阻止启动，只记录结果；各组件原有的懒加载与定时刷新仍然兜底。
+ *
+ * 为什么需要该类：
+ * 拓扑缓存与脚本注册中心原本在 CommandLineRunner 中加载，此时 Web 服务已开始接收请求；
+ * 连接池与集群节点连接则完全由首批请求按需建立。
+ *
+ * 核心实现思路：
+ * - 实现 SmartLifecycle，阶段早于 Web 服务启动，预热在监听端口之前同步完成。
+ * - 依次执行：刷新拓扑 -> 加载脚本 -> 连接池填充到 minIdle -> 共享连接逐节点建连 -> 访问热点 Key。
+ * - 每个步骤在独立线程上执行，调用线程只等待剩余时间：挂起的步骤到期即放弃，不会卡住启动。
+ * - 整体耗时超过上限时跳过剩余步骤。
+ */
+@Slf4j
+@Component
+public class RedisWarmUp implements SmartLifecycle {
+
+    /**
+     * 早于 Web 服务启动阶段（DEFAULT_PHASE - 2048）
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final String[] hotKeys;
+    private final int hotRankSize;
+    private final String connectionMode;
+    private final RedisProperties redisProperties;
+    private final LettuceConnectionFactory connectionFactory;
+    private final StatefulRedisClusterConnection<String, String> asyncClusterConnection;
+    private final RedisClusterTopologyCache topologyCache;
+    private final RedisScriptRegistry scriptRegistry;
+    private final RedisClient<String> redisClient;
+    private final RedisBucketedHash weiboPostStore;
+
+    /**
+     * 预热结果（步骤 -> 结果），供监控接口查看
+     */
+    private final Map<String, Object> results = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile boolean running;
+
+    /**
+     * 启动预热构造方法
+     *
+     * @param enabled 是否开启预热
+     * @param timeoutMillis 预热总耗时上限（毫秒）
+     * @param hotKeys 需访问的热点 Key
+     * @param hotRankSize 预读热榜详情条数
+     * @param connectionMode 连接模式
+     * @param redisProperties Redis 配置属性（读取连接池 minIdle）
+     * @param connectionFactory Lettuce 连接工厂
+     * @param asyncClusterConnection 共享集群连接
+     * @param topologyCache 集群拓扑缓存
+     * @param scriptRegistry 脚本注册中心
+     * @param redisClient Redis 客户端
+     * @param weiboPostStore 微博详情分桶存储
+     */
+    public RedisWarmUp(@Value("${redis.warmup.enabled:true}") boolean enabled,
+                       @Value("${redis.warmup.timeout-ms:30000}") long timeoutMillis,
+                       @Value("${redis.warmup.hot-keys:rank:hot,timeline:global,total:uv}") String[] hotKeys,
+                       @Value("${redis.warmup.hot-rank-size:10}") int hotRankSize,
+                       @Value("${redis.connection.mode:pooled}") String connectionMode,
+                       RedisProperties redisProperties,
+                       LettuceConnectionFactory connectionFactory,
+                       StatefulRedisClusterConnection<String, String> asyncClusterConnection,
+                       RedisClusterTopologyCache topologyCache,
+                       RedisScriptRegistry scriptRegistry,
+                       RedisClient<String> redisClient,
+                       RedisBucketedHash weiboPostStore) {
+        this.enabled = enabled;
+        this.timeoutMillis = timeoutMillis;
+        this.hotKeys = hotKeys;
+        this.hotRankSize = hotRankSize;
+        this.connectionMode = connectionMode;
+        this.redisProperties = redisProperties;
+        this.connectionFactory = connectionFactory;
+        this.asyncClusterConnection = asyncClusterConnection;
+        this.topologyCache = topologyCache;
+        this.scriptRegistry = scriptRegistry;
+        this.redisClient = redisClient;
+        this.weiboPostStore = weiboPostStore;
+    }
+
+    /**
+     * 执行预热（Web 服务启动前由容器调用）
+     */
+    @Override
+    public void start() {
+        if (enabled) {
+            warmUp();
+        } else {
+            results.put("status", "DISABLED");
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 执行全部预热步骤
+     *
+     * 实现逻辑：
+     * 1. 按依赖顺序执行：脚本加载与逐节点建连依赖拓扑。
+     * 2. 单步失败只记录错误，继续后续步骤；单步最多等待剩余时间，总耗时超过上限时跳过剩余步骤。
+     */
+    public void warmUp() {
+        // 实现思路：
+        // 1. 每步独立计时并记录结果，便于定位哪一步拖慢了启动。
+        long begin = System.currentTimeMillis();
+        long deadline = begin + timeoutMillis;
+        results.put("status", "RUNNING");
+        ExecutorService stepExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "RedisWarmUpStep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            runStep(stepExecutor, "topology", deadline, () -> {
+                topologyCache.refreshTopology();
+                return topologyCache.getMasterNodes().size();
+            });
+            runStep(stepExecutor, "scripts", deadline, () -> {
+                scriptRegistry.refreshScripts();
+                return scriptRegistry.stats().get("loadedNodes");
+            });
+            runStep(stepExecutor, "pool", deadline, this::fillPool);
+            runStep(stepExecutor, "sharedConnection", deadline, this::connectSharedNodes);
+            runStep(stepExecutor, "hotKeys", deadline, this::touchHotKeys);
+        } finally {
+            // 中断仍挂起的步骤线程（守护线程，即使无法响应中断也不阻止进程退出）
+            stepExecutor.shutdownNow();
+        }
+        long cost = System.currentTimeMillis() - begin;
+        results.put("status", "COMPLETED");
+        results.put("costMs", cost);
+        log.info("Redis预热完成|Redis_warm_up_done,costMs={},results={}", cost, results);
+    }
+
+    /**
+     * 获取预热结果
+     *
+     * @return 状态、各步骤结果与耗时
+     */
+    public Map<String, Object> stats() {
+        synchronized (results) {
+            return new LinkedHashMap<>(results);
+        }
+    }
+
+    /**
+     * 在剩余时间内执行单个预热步骤
+     *
+     * 实现逻辑：
+     * 1. 已无剩余时间：跳过。
+     * 2. 步骤提交到独立线程，调用线程最多等待剩余时间；到期取消步骤并记为超时，继续后续步骤（后续步骤随即因无剩余时间跳过）。
+     *
+     * @param executor 步骤执行器
+     * @param step 步骤名
+     * @param deadline 整体截止时间戳（毫秒）
+     * @param action 步骤逻辑
+     */
+    private void runStep(ExecutorService executor, String step, long deadline, StepAction action) {
+        long begin = System.currentTimeMillis();
+        long remaining = deadline - begin;
+        if (remaining <= 0) {
+            results.put(step, "SKIPPED_TIMEOUT");
+            log.warn("Redis预热超时_跳过步骤|Redis_warm_up_step_skipped,step={}", step);
+            return;
+        }
+        Future<Object> future = executor.submit(action::run);
+        try {
+            // 核心代码：限时等待步骤结果，挂起的步骤不会卡住启动
+            Object result = future.get(remaining, TimeUnit.MILLISECONDS);
+            results.put(step, result);
+            log.info("Redis预热步骤完成|Redis_warm_up_step_done,step={},result={},costMs={}",
+                    step, result, System.currentTimeMillis() - begin);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            results.put(step, "TIMEOUT");
+            log.warn("Redis预热步骤超时|Redis_warm_up_step_timeout,step={},waitedMs={}", step, remaining);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            results.put(step, "INTERRUPTED");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            results.put(step, "FAILED: " + cause.getMessage());
+            log.warn("Redis预热步骤失败|Redis_warm_up_step_fail,step={},error={}", step, cause.getMessage());
+        }
+    }
+
+    /**
+     * 连接池填充到 minIdle
+     *
+     * 实现逻辑：
+     * 1. 同时借出 minIdle 条集群连接，每条连接逐个主节点执行 PING，使每条池化连接到每个主节点的节点连接都提前建立。
+     * 2. 全部归还后连接以空闲状态留在池中。
+     * 3. 共享模式下普通命令不经过连接池，池只服务阻塞命令与事务，不做填充。
+     *
+     * @return 预热的连接数与 PING 次数
+     */
+    private Object fillPool() {
+        // 实现思路：
+        // 1. 必须同时持有，逐条借还只会反复借出同一条连接。
+        if ("shared".equalsIgnoreCase(connectionMode)) {
+            return "SKIPPED_SHARED_MODE";
+        }
+        RedisProperties.Pool pool = redisProperties.getLettuce().getPool();
+        int minIdle = pool != null ? pool.getMinIdle() : 0;
+        List<RedisClusterNode> masters = new ArrayList<>();
+        for (String node : topologyCache.getMasterNodes()) {
+            int split = node.lastIndexOf(':');
+            masters.add(new RedisClusterNode(node.substring(0, split), Integer.parseInt(node.substring(split + 1))));
+        }
+        List<RedisClusterConnection> borrowed = new ArrayList<>(minIdle);
+        int pings = 0;
+        try {
+            for (int i = 0; i < minIdle; i++) {
+                RedisClusterConnection connection = connectionFactory.getClusterConnection();
+                borrowed.add(connection);
+                // 核心代码：经当前借出的连接逐个主节点 PING
+                for (RedisClusterNode master : masters) {
+                    connection.ping(master);
+                    pings++;
+                }
+            }
+        } finally {
+            borrowed.forEach(RedisClusterConnection::close);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connections", borrowed.size());
+        result.put("pings", pings);
+        return result;
+    }
+
+    /**
+     * 共享连接逐主节点建连
+     *
+     * 实现逻辑：
+     * 1. 共享集群连接对各节点的连接按需建立，逐个主节点 PING 使其提前建立。
+     *
+     * @return 已建连的主节点
+     */
+    private Object connectSharedNodes() {
+        Set<String> connected = new TreeSet<>();
+        for (String node : topologyCache.getMasterNodes()) {
+            int split = node.lastIndexOf(':');
+            // 核心代码：获取节点直连并 PING
+            asyncClusterConnection.getConnection(node.substring(0, split), Integer.parseInt(node.substring(split + 1)))
+                    .sync().ping();
+            connected.add(node);
+        }
+        return connected;
+    }
+
+    /**
+     * 访问热点 Key
+     *
+     * 实现逻辑：
+     * 1. 对配置的热点 Key 执行 TYPE，经统一客户端路由到所属节点。
+     * 2. 读取热榜 Top N 及其详情，覆盖首页读链路上的分桶哈希。
+     *
+     * @return 存在的热点 Key 数与预读详情数
+     */
+    private Object touchHotKeys() {
+        // 实现思路：
+        // 1. 只读不写，预热过程对线上数据无副作用。
+        int existing = 0;
+        for (String key : hotKeys) {
+            if (!"none".equals(redisClient.type(key))) {
+                existing++;
+            }
+        }
+        int details = 0;
+        if (hotRankSize > 0) {
+            Set<String> topPostIds = redisClient.zrevrange(RedisKeysEnum.HOT_RANK_KEY.getKey(), 0, hotRankSize - 1);
+            if (topPostIds != null && !topPostIds.isEmpty()) {
+                details = (int) weiboPostStore.hmget(redisClient, new ArrayList<>(topPostIds)).stream()
+                        .filter(Objects::nonNull)
+                        .count();
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("existingKeys", existing);
+        result.put("hotRankDetails", details);
+        return result;
+    }
+
+    /**
+     * 预热步骤
+     */
+    @FunctionalInterface
+    private interface StepAction {
+        Object run() throws Exception;
+    }
+}
@@ -1,6 +1,8 @@
 package com.hao.redis.integration.lock;
 
+import com.hao.redis.common.enums.RedisScriptEnum;
 import com.hao.redis.integration.redis.RedisClient;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
@@ -23,10 +25,21 @@ public class RedisDistributedLock implements DistributedLock {
     private final StringRedisTemplate stringRedisTemplate;
     private final long lockWatchdogTimeout;
 
+    /**
+     * 脚本注册中心（可选），存在时以 EVALSHA 执行解锁与续期脚本
+     */
+    private final RedisScriptRegistry scriptRegistry;
+
     private final ThreadLocal<String> threadLockValue = new ThreadLocal<>();
     private final ThreadLocal<Integer> threadLockCount = ThreadLocal.withInitial(() -> 0);
     private final ThreadLocal<ScheduledFuture<?>> watchdogTask = new ThreadLocal<>();
 
+    // 未注入脚本注册中心时使用的脚本对象，全局复用，摘要只计算一次
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT =
+            new DefaultRedisScript<>(RedisScriptEnum.LOCK_RELEASE.getScript(), Long.class);
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT =
+            new DefaultRedisScript<>(RedisScriptEnum.LOCK_RENEW.getScript(), Long.class);
+
     private static final ScheduledExecutorService WATCHDOG_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
             runnable -> {
                 Thread thread = new Thread(runnable, "RedisLockWatchdog");
@@ -36,10 +49,16 @@ public class RedisDistributedLock implements DistributedLock {
     );
 
     public RedisDistributedLock(String lockKey, RedisClient<String> redisClient, StringRedisTemplate stringRedisTemplate, long lockWatchdogTimeout) {
+        this(lockKey, redisClient, stringRedisTemplate, lockWatchdogTimeout, null);
+    }
+
+    public RedisDistributedLock(String lockKey, RedisClient<String> redisClient, StringRedisTemplate stringRedisTemplate,
+                                long lockWatchdogTimeout, RedisScriptRegistry scriptRegistry) {
         this.lockKey = lockKey;
         this.redisClient = redisClient;
         this.stringRedisTemplate = stringRedisTemplate;
         this.lockWatchdogTimeout = lockWatchdogTimeout;
+        this.scriptRegistry = scriptRegistry;
     }
 
     @Override
@@ -104,16 +123,7 @@ public class RedisDistributedLock implements DistributedLock {
 
         try {
             stopWatchdog();
-            
-            String script = "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-                            "return redis.call('del', KEYS[1]) " +
-                            "else return 0 end";
-            
-            stringRedisTemplate.execute(
-                    new DefaultRedisScript<>(script, Long.class),
-                    Collections.singletonList(lockKey),
-                    threadLockValue.get()
-            );
+            runScript(RedisScriptEnum.LOCK_RELEASE, RELEASE_SCRIPT, threadLockValue.get());
         } finally {
             threadLockValue.remove();
             threadLockCount.remove();
@@ -127,16 +137,7 @@ public class RedisDistributedLock implements DistributedLock {
 
         ScheduledFuture<?> future = WATCHDOG_EXECUTOR.scheduleAtFixedRate(() -> {
             try {
-                String script = "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-                                "return redis.call('pexpire', KEYS[1], ARGV[2]) " +
-                                "else return 0 end";
-                
-                Long result = stringRedisTemplate.execute(
-                        new DefaultRedisScript<>(script, Long.class),
-                        Collections.singletonList(lockKey),
-                        lockValue,
-                        String.valueOf(lockWatchdogTimeout)
-                );
+                Long result = runScript(RedisScriptEnum.LOCK_RENEW, RENEW_SCRIPT, lockValue, String.valueOf(lockWatchdogTimeout));
 
                 if (Long.valueOf(1).equals(result)) {
                     log.debug("看门狗续期成功|Watchdog_renew_success, key={}", lockKey);
@@ -153,6 +154,16 @@ public class RedisDistributedLock implements DistributedLock {
         watchdogTask.set(future);
     }
 
+    /**
+     * 执行锁脚本：优先走脚本注册中心的 EVALSHA，未注入时使用模板执行全局复用的脚本对象
+     */
+    private Long runScript(RedisScriptEnum script, DefaultRedisScript<Long> fallbackScript, String... args) {
+        if (scriptRegistry != null) {
+            return scriptRegistry.execute(script, Collections.singletonList(lockKey), args);
+        }
+        return stringRedisTemplate.execute(fallbackScript, Collections.singletonList(lockKey), (Object[]) args);
+    }
+
     private void stopWatchdog() {
         ScheduledFuture<?> future = watchdogTask.get();
         if (future != null && !future.isDone()) {
@@ -1,6 +1,7 @@
 package com.hao.redis.integration.lock;
 
 import com.hao.redis.integration.redis.RedisClient;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
@@ -13,19 +14,22 @@ public class RedisDistributedLockService implements DistributedLockService {
 
     private final RedisClient<String> redisClient;
     private final StringRedisTemplate stringRedisTemplate;
+    private final RedisScriptRegistry scriptRegistry;
 
     // 从配置文件读取看门狗超时时间，默认 30 秒
     @Value("${distributed.lock.watchdog.timeout:30000}")
     private long lockWatchdogTimeout;
 
-    public RedisDistributedLockService(RedisClient<String> redisClient, StringRedisTemplate stringRedisTemplate) {
+    public RedisDistributedLockService(RedisClient<String> redisClient, StringRedisTemplate stringRedisTemplate,
+                                       RedisScriptRegistry scriptRegistry) {
         this.redisClient = redisClient;
         this.stringRedisTemplate = stringRedisTemplate;
+        this.scriptRegistry = scriptRegistry;
     }
 
     @Override
     public DistributedLock getLock(String name) {
         String lockKey = "lock:" + name;
-        return new RedisDistributedLock(lockKey, redisClient, stringRedisTemplate, lockWatchdogTimeout);
+        return new RedisDistributedLock(lockKey, redisClient, stringRedisTemplate, lockWatchdogTimeout, scriptRegistry);
     }
 }
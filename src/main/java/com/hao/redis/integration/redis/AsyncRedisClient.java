@@ -0,0 +1,511 @@
+package com.hao.redis.integration.redis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 异步客户端接口
+ *
+ * 类职责：
+ * 与 RedisClient 保持一致的命令集合，所有方法立即返回 CompletableFuture，不阻塞调用线程。
+ *
+ * 设计目的：
+ * 1. 释放“等待 Socket”的平台线程，IO 线程池无需按 CPU 核数 4~8 倍放大。
+ * 2. 支持多条独立读命令并发发出、组合结果（如时间轴 LRANGE 与热榜 ZREVRANGE）。
+ *
+ * 为什么需要该类：
+ * 同步客户端每次调用都会占用一个线程直到回包，组合多个读请求时延迟是各次 RTT 之和。
+ *
+ * 核心实现思路：
+ * - 基于 Lettuce 原生异步 API，命令在共享的多路复用连接上发送。
+ * - Future 回调运行在 Lettuce 事件循环线程，回调内禁止执行阻塞操作。
+ *
+ * 与同步接口的差异：
+ * - 不提供 BLPOP/BRPOP：阻塞命令会占住共享连接，阻塞其他所有命令。
+ * - 不提供 keys/scan/pipeline：全量扫描与管道需要独占连接，仍使用 RedisClient。
+ * - SINTER/SUNION/ZINTERSTORE/RENAME 等多 Key 命令要求 Key 位于同一 Slot（建议使用 Hash Tag）。
+ *
+ * @param <T> 值类型
+ */
+@SuppressWarnings("all")
+public interface AsyncRedisClient<T> {
+
+    // 区域：字符串
+
+    /**
+     * 字符串 -> SET，写入并设置秒级过期。
+     */
+    CompletableFuture<Void> set(String key, T value, int expireTime);
+
+    /**
+     * 字符串 -> SET，覆盖写入。
+     */
+    CompletableFuture<Void> set(String key, T value);
+
+    /**
+     * 字符串 -> SETNX，仅在不存在时写入。
+     *
+     * @return true 写入成功，false 已存在
+     */
+    CompletableFuture<Boolean> setnx(String key, T value);
+
+    /**
+     * 字符串 -> SETEX，写入并设置过期秒数。
+     */
+    CompletableFuture<Void> setex(String key, int expireSeconds, T value);
+
+    /**
+     * 分布式锁 -> SET NX PX，尝试加锁。
+     *
+     * @return 是否加锁成功
+     */
+    CompletableFuture<Boolean> tryLock(String key, T value, long expireTime, TimeUnit unit);
+
+    /**
+     * 预防雪崩：写入并设置随机过期时间（基础时间 + 0~10% 偏移）。
+     */
+    CompletableFuture<Void> setWithRandomTtl(String key, T value, long time, TimeUnit unit);
+
+    /**
+     * 字符串 -> GET，读取值。
+     */
+    CompletableFuture<T> get(String key);
+
+    /**
+     * 字符串 -> SETBIT，设置位。
+     *
+     * @return 该位的原始值
+     */
+    CompletableFuture<Boolean> setBit(String key, long offset, boolean value);
+
+    /**
+     * 字符串 -> GETBIT，获取位。
+     */
+    CompletableFuture<Boolean> getBit(String key, long offset);
+
+    /**
+     * 字符串 -> MGET，批量读取（跨 Slot 时由 Lettuce 自动拆分），结果顺序与入参一致。
+     */
+    CompletableFuture<List<T>> mget(String... keys);
+
+    /**
+     * 字符串 -> MSET，批量写入（跨 Slot 时由 Lettuce 自动拆分）。
+     */
+    CompletableFuture<Void> mset(Map<String, T> values);
+
+    /**
+     * 字符串 -> GETSET，设置新值并返回旧值。
+     */
+    CompletableFuture<T> getSet(String key, T value);
+
+    /**
+     * 通用 -> EXISTS，判断键是否存在。
+     */
+    CompletableFuture<Boolean> exists(String key);
+
+    /**
+     * 字符串 -> INCR，整数加 1。
+     */
+    CompletableFuture<Long> incr(String key);
+
+    /**
+     * 字符串 -> INCRBY，整数加指定值。
+     */
+    CompletableFuture<Long> incrBy(String key, long delta);
+
+    /**
+     * 字符串 -> INCRBYFLOAT，浮点加指定值。
+     */
+    CompletableFuture<Double> incrByFloat(String key, double delta);
+
+    /**
+     * 字符串 -> DECR，整数减 1。
+     */
+    CompletableFuture<Long> decr(String key);
+
+    /**
+     * 字符串 -> DECRBY，整数减指定值。
+     */
+    CompletableFuture<Long> decrBy(String key, long delta);
+
+    /**
+     * 字符串 -> APPEND，追加内容。
+     *
+     * @return 追加后的长度
+     */
+    CompletableFuture<Long> append(String key, String appendValue);
+
+    /**
+     * 字符串 -> STRLEN，获取长度。
+     */
+    CompletableFuture<Long> strlen(String key);
+
+    /**
+     * 通用 -> DEL，删除单个键。
+     */
+    CompletableFuture<Long> del(String key);
+
+    /**
+     * 通用 -> DEL，批量删除（跨 Slot 时由 Lettuce 自动拆分）。
+     */
+    CompletableFuture<Long> del(String... keys);
+
+    // 区域结束
+
+    // 区域：哈希
+
+    /**
+     * 哈希 -> HSET，设置字段。
+     */
+    CompletableFuture<Void> hset(String key, String field, T value);
+
+    /**
+     * 哈希 -> HSETNX，仅在字段不存在时写入。
+     */
+    CompletableFuture<Boolean> hsetnx(String key, String field, T value);
+
+    /**
+     * 哈希 -> HGET，读取字段。
+     */
+    CompletableFuture<T> hget(String key, String field);
+
+    /**
+     * 哈希 -> HGETALL，读取全部字段。
+     */
+    CompletableFuture<Map<String, T>> hgetAll(String key);
+
+    /**
+     * 哈希 -> HMSET，批量写字段。
+     */
+    CompletableFuture<Void> hmset(String key, Map<String, T> paramMap);
+
+    /**
+     * 哈希 -> HMGET，批量读字段，结果顺序与入参一致。
+     */
+    CompletableFuture<List<T>> hmget(String key, String... fields);
+
+    /**
+     * 哈希 -> HMGET，批量读字段（List 入参）。
+     */
+    CompletableFuture<List<T>> hmget(String key, List<String> fields);
+
+    /**
+     * 哈希 -> HKEYS，获取所有字段名。
+     */
+    CompletableFuture<Set<String>> hkeys(String key);
+
+    /**
+     * 哈希 -> HVALS，获取所有字段值。
+     */
+    CompletableFuture<List<T>> hvals(String key);
+
+    /**
+     * 哈希 -> HLEN，获取字段数量。
+     */
+    CompletableFuture<Long> hlen(String key);
+
+    /**
+     * 哈希 -> HEXISTS，判断字段是否存在。
+     */
+    CompletableFuture<Boolean> hexists(String key, String field);
+
+    /**
+     * 哈希 -> HDEL，删除字段。
+     */
+    CompletableFuture<Long> hdel(String key, String... fields);
+
+    /**
+     * 哈希 -> HINCRBY，字段整数自增。
+     */
+    CompletableFuture<Long> hincrBy(String key, String field, long delta);
+
+    /**
+     * 哈希 -> HINCRBYFLOAT，字段浮点自增。
+     */
+    CompletableFuture<Double> hincrByFloat(String key, String field, double delta);
+
+    // 区域结束
+
+    // 区域：列表
+
+    /**
+     * 列表 -> LPUSH，左侧入队。
+     */
+    CompletableFuture<Long> lpush(String key, T... values);
+
+    /**
+     * 列表 -> RPUSH，右侧入队。
+     */
+    CompletableFuture<Long> rpush(String key, T... values);
+
+    /**
+     * 列表 -> LPOP，左侧出队。
+     */
+    CompletableFuture<T> lpop(String key);
+
+    /**
+     * 列表 -> RPOP，右侧出队。
+     */
+    CompletableFuture<T> rpop(String key);
+
+    /**
+     * 列表 -> LRANGE，按区间读取。
+     */
+    CompletableFuture<List<T>> lrange(String key, long start, long stop);
+
+    /**
+     * 列表 -> LINDEX，按下标读取。
+     */
+    CompletableFuture<T> lindex(String key, long index);
+
+    /**
+     * 列表 -> LSET，按下标写入。
+     */
+    CompletableFuture<Void> lset(String key, long index, T value);
+
+    /**
+     * 列表 -> LTRIM，保留指定区间。
+     */
+    CompletableFuture<Void> ltrim(String key, long start, long stop);
+
+    /**
+     * 列表 -> LREM，按值删除。
+     */
+    CompletableFuture<Long> lrem(String key, long count, T value);
+
+    /**
+     * 列表 -> RPOPLPUSH，右出左入（两个 Key 需位于同一 Slot）。
+     */
+    CompletableFuture<T> rpoplpush(String sourceKey, String destinationKey);
+
+    /**
+     * 列表 -> LLEN，获取长度。
+     */
+    CompletableFuture<Long> llen(String key);
+
+    // 区域结束
+
+    // 区域：无序集合
+
+    /**
+     * 无序集合 -> SADD，添加成员。
+     */
+    CompletableFuture<Long> sadd(String key, T... members);
+
+    /**
+     * 无序集合 -> SREM，删除成员。
+     */
+    CompletableFuture<Long> srem(String key, T... members);
+
+    /**
+     * 无序集合 -> SMEMBERS，获取全部成员。
+     */
+    CompletableFuture<Set<T>> smembers(String key);
+
+    /**
+     * 无序集合 -> SISMEMBER，判断成员是否存在。
+     */
+    CompletableFuture<Boolean> sismember(String key, T member);
+
+    /**
+     * 无序集合 -> SCARD，获取成员数量。
+     */
+    CompletableFuture<Long> scard(String key);
+
+    /**
+     * 无序集合 -> SPOP，随机弹出一个成员。
+     */
+    CompletableFuture<T> spop(String key);
+
+    /**
+     * 无序集合 -> SPOP，随机弹出多个成员。
+     */
+    CompletableFuture<Set<T>> spop(String key, long count);
+
+    /**
+     * 无序集合 -> SRANDMEMBER，随机读取一个成员。
+     */
+    CompletableFuture<T> srandmember(String key);
+
+    /**
+     * 无序集合 -> SRANDMEMBER，随机读取多个成员。
+     */
+    CompletableFuture<List<T>> srandmember(String key, int count);
+
+    /**
+     * 无序集合 -> SINTER，求交集（Key 需位于同一 Slot）。
+     */
+    CompletableFuture<Set<T>> sinter(String... keys);
+
+    /**
+     * 无序集合 -> SUNION，求并集（Key 需位于同一 Slot）。
+     */
+    CompletableFuture<Set<T>> sunion(String... keys);
+
+    /**
+     * 无序集合 -> SDIFF，求差集（Key 需位于同一 Slot）。
+     */
+    CompletableFuture<Set<T>> sdiff(String... keys);
+
+    /**
+     * 无序集合 -> SINTERSTORE，交集写入目标键。
+     */
+    CompletableFuture<Long> sinterstore(String destination, String... keys);
+
+    /**
+     * 无序集合 -> SUNIONSTORE，并集写入目标键。
+     */
+    CompletableFuture<Long> sunionstore(String destination, String... keys);
+
+    /**
+     * 无序集合 -> SDIFFSTORE，差集写入目标键。
+     */
+    CompletableFuture<Long> sdiffstore(String destination, String... keys);
+
+    // 区域结束
+
+    // 区域：有序集合
+
+    /**
+     * 有序集合 -> ZADD，批量添加成员。
+     */
+    CompletableFuture<Long> zadd(String key, Map<T, Double> valueMap);
+
+    /**
+     * 有序集合 -> ZADD，添加单个成员。
+     */
+    CompletableFuture<Long> zadd(String key, double score, T member);
+
+    /**
+     * 有序集合 -> ZRANGE，按排名升序读取。
+     */
+    CompletableFuture<Set<T>> zrange(String key, long start, long stop);
+
+    /**
+     * 有序集合 -> ZREVRANGE，按排名降序读取。
+     */
+    CompletableFuture<Set<T>> zrevrange(String key, long start, long stop);
+
+    /**
+     * 有序集合 -> ZRANGEBYSCORE，按分数升序读取。
+     */
+    CompletableFuture<Set<T>> zrangeByScore(String key, double minScore, double maxScore);
+
+    /**
+     * 有序集合 -> ZREVRANGEBYSCORE，按分数降序读取。
+     */
+    CompletableFuture<Set<T>> zrevrangeByScore(String key, double maxScore, double minScore);
+
+    /**
+     * 有序集合 -> ZRANK，获取升序排名。
+     */
+    CompletableFuture<Long> zrank(String key, T member);
+
+    /**
+     * 有序集合 -> ZREVRANK，获取降序排名。
+     */
+    CompletableFuture<Long> zrevrank(String key, T member);
+
+    /**
+     * 有序集合 -> ZREMRANGEBYSCORE，按分数区间删除。
+     */
+    CompletableFuture<Long> zremrangeByScore(String key, double scoreMin, double scoreMax);
+
+    /**
+     * 有序集合 -> ZREMRANGEBYRANK，按排名区间删除。
+     */
+    CompletableFuture<Long> zremrangeByRank(String key, long start, long stop);
+
+    /**
+     * 有序集合 -> ZREM，删除成员。
+     */
+    CompletableFuture<Long> zrem(String key, T... members);
+
+    /**
+     * 有序集合 -> ZSCORE，获取成员分数。
+     */
+    CompletableFuture<Double> zscore(String key, T member);
+
+    /**
+     * 有序集合 -> ZINCRBY，分数自增。
+     */
+    CompletableFuture<Double> zincrby(String key, double increment, T member);
+
+    /**
+     * 有序集合 -> ZCARD，获取成员数量。
+     */
+    CompletableFuture<Long> zcard(String key);
+
+    /**
+     * 有序集合 -> ZCOUNT，统计分数区间内成员数。
+     */
+    CompletableFuture<Long> zcount(String key, double scoreMin, double scoreMax);
+
+    /**
+     * 有序集合 -> ZPOPMIN，弹出分数最小的成员。
+     */
+    CompletableFuture<Set<T>> zpopmin(String key, long count);
+
+    /**
+     * 有序集合 -> ZPOPMAX，弹出分数最大的成员。
+     */
+    CompletableFuture<Set<T>> zpopmax(String key, long count);
+
+    /**
+     * 有序集合 -> ZINTERSTORE，交集写入目标键。
+     */
+    CompletableFuture<Long> zinterstore(String destination, String... keys);
+
+    /**
+     * 有序集合 -> ZUNIONSTORE，并集写入目标键。
+     */
+    CompletableFuture<Long> zunionstore(String destination, String... keys);
+
+    // 区域结束
+
+    // 区域：过期控制
+
+    /**
+     * 键过期 -> EXPIRE，设置秒级过期。
+     */
+    CompletableFuture<Boolean> expire(String key, int seconds);
+
+    /**
+     * 键过期 -> EXPIREAT，设置过期时间戳（秒）。
+     */
+    CompletableFuture<Boolean> expireAt(String key, long timestamp);
+
+    /**
+     * 键过期 -> PERSIST，移除过期时间。
+     */
+    CompletableFuture<Boolean> persist(String key);
+
+    /**
+     * 键过期 -> TTL，查看剩余秒数。
+     */
+    CompletableFuture<Long> ttl(String key);
+
+    // 区域结束
+
+    // 区域：通用
+
+    /**
+     * 通用 -> TYPE，查看数据类型。
+     */
+    CompletableFuture<String> type(String key);
+
+    /**
+     * 通用 -> RENAME，重命名（两个 Key 需位于同一 Slot）。
+     */
+    CompletableFuture<Void> rename(String oldKey, String newKey);
+
+    /**
+     * 通用 -> RENAMENX，目标不存在时重命名。
+     */
+    CompletableFuture<Boolean> renamenx(String oldKey, String newKey);
+
+    // 区域结束
+}
@@ -0,0 +1,747 @@
+package com.hao.redis.integration.redis;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Redis 异步客户端实现
+ *
+ * 类职责：
+ * 基于 Lettuce 集群原生异步命令实现 AsyncRedisClient，返回 CompletableFuture。
+ *
+ * 设计目的：
+ * 1. 调用线程只负责“发出命令”，回包由 Lettuce 事件循环线程完成 Future。
+ * 2. 参数校验与返回值转换与 RedisClientImpl 保持一致，便于同步/异步互相替换。
+ *
+ * 为什么需要该类：
+ * 同步模板在等待回包期间持有平台线程，高并发读场景下线程数成为瓶颈。
+ *
+ * 核心实现思路：
+ * - 使用共享的 StatefulRedisClusterConnection（多路复用），不占用连接池连接。
+ * - RedisAdvancedClusterAsyncCommands 自动按 Slot 拆分 MGET/MSET/DEL。
+ * - 状态回复（OK）统一转换为 Void，集合回复转换为与同步接口一致的类型。
+ */
+@Slf4j
+@SuppressWarnings("all")
+public class AsyncRedisClientImpl implements AsyncRedisClient<String> {
+
+    private final RedisAdvancedClusterAsyncCommands<String, String> commands;
+
+    /**
+     * 异步客户端构造方法
+     *
+     * @param commands 共享集群连接上的异步命令
+     */
+    public AsyncRedisClientImpl(RedisAdvancedClusterAsyncCommands<String, String> commands) {
+        this.commands = commands;
+    }
+
+    /* ------------------ 辅助方法 ------------------ */
+
+    /**
+     * 原生 Future 转换为业务 Future
+     *
+     * 实现逻辑：
+     * 1. RedisFuture 转为 CompletableFuture。
+     * 2. 通过转换函数映射为业务类型。
+     *
+     * @param future 原生命令 Future
+     * @param converter 结果转换函数
+     * @return 业务类型 Future
+     */
+    private static <R, V> CompletableFuture<V> map(RedisFuture<R> future, Function<R, V> converter) {
+        // 实现思路：
+        // 1. 转换在事件循环线程执行，转换函数必须为纯内存操作。
+        return future.toCompletableFuture().thenApply(converter);
+    }
+
+    private static <R> CompletableFuture<R> wrap(RedisFuture<R> future) {
+        return future.toCompletableFuture();
+    }
+
+    private static CompletableFuture<Void> status(RedisFuture<String> future) {
+        return map(future, reply -> null);
+    }
+
+    private static List<String> values(List<KeyValue<String, String>> keyValues) {
+        List<String> result = new ArrayList<>(keyValues.size());
+        for (KeyValue<String, String> kv : keyValues) {
+            result.add(kv.hasValue() ? kv.getValue() : null);
+        }
+        return result;
+    }
+
+    private static Set<String> orderedSet(Collection<String> members) {
+        return members == null ? Collections.emptySet() : new LinkedHashSet<>(members);
+    }
+
+    private static Set<String> scoredMembers(List<ScoredValue<String>> scoredValues) {
+        Set<String> result = new LinkedHashSet<>();
+        for (ScoredValue<String> scoredValue : scoredValues) {
+            result.add(scoredValue.getValue());
+        }
+        return result;
+    }
+
+    private void validateKey(String key, String name) {
+        if (!StringUtils.hasText(key)) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    private void validateParams(Object[] params, String name) {
+        if (params == null || params.length == 0) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    private void validatePositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " 必须大于 0");
+        }
+    }
+
+    // 区域：字符串
+
+    @Override
+    public CompletableFuture<Void> set(String key, String value, int expireTime) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        validatePositive(expireTime, "expireTime");
+        return status(commands.setex(key, expireTime, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> set(String key, String value) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        return status(commands.set(key, value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setnx(String key, String value) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        return wrap(commands.setnx(key, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> setex(String key, int expireSeconds, String value) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        validatePositive(expireSeconds, "expireSeconds");
+        return status(commands.setex(key, expireSeconds, value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tryLock(String key, String value, long expireTime, TimeUnit unit) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        validatePositive(expireTime, "expireTime");
+        // 核心代码：SET NX PX 原子加锁，未获取到锁时返回 null 回复
+        return map(commands.set(key, value, SetArgs.Builder.nx().px(unit.toMillis(expireTime))), "OK"::equals);
+    }
+
+    @Override
+    public CompletableFuture<Void> setWithRandomTtl(String key, String value, long time, TimeUnit unit) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        validatePositive(time, "time");
+        // 实现思路：
+        // 1. 与同步实现一致，在基础时间上增加 0~10% 的随机偏移。
+        long randomBound = Math.max(1, time / 10);
+        long finalTime = time + ThreadLocalRandom.current().nextLong(randomBound);
+        return status(commands.set(key, value, SetArgs.Builder.px(unit.toMillis(finalTime))));
+    }
+
+    @Override
+    public CompletableFuture<String> get(String key) {
+        validateKey(key, "key");
+        return wrap(commands.get(key));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setBit(String key, long offset, boolean value) {
+        validateKey(key, "key");
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset 不能为负数");
+        }
+        return map(commands.setbit(key, offset, value ? 1 : 0), previous -> previous != null && previous == 1L);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> getBit(String key, long offset) {
+        validateKey(key, "key");
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset 不能为负数");
+        }
+        return map(commands.getbit(key, offset), bit -> bit != null && bit == 1L);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> mget(String... keys) {
+        validateParams(keys, "keys");
+        return map(commands.mget(keys), AsyncRedisClientImpl::values);
+    }
+
+    @Override
+    public CompletableFuture<Void> mset(Map<String, String> values) {
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("values 不能为空");
+        }
+        return status(commands.mset(values));
+    }
+
+    @Override
+    public CompletableFuture<String> getSet(String key, String value) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        return wrap(commands.getset(key, value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String key) {
+        validateKey(key, "key");
+        return map(commands.exists(key), count -> count != null && count > 0);
+    }
+
+    @Override
+    public CompletableFuture<Long> incr(String key) {
+        validateKey(key, "key");
+        return wrap(commands.incr(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> incrBy(String key, long delta) {
+        validateKey(key, "key");
+        return wrap(commands.incrby(key, delta));
+    }
+
+    @Override
+    public CompletableFuture<Double> incrByFloat(String key, double delta) {
+        validateKey(key, "key");
+        return wrap(commands.incrbyfloat(key, delta));
+    }
+
+    @Override
+    public CompletableFuture<Long> decr(String key) {
+        validateKey(key, "key");
+        return wrap(commands.decr(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> decrBy(String key, long delta) {
+        validateKey(key, "key");
+        return wrap(commands.decrby(key, delta));
+    }
+
+    @Override
+    public CompletableFuture<Long> append(String key, String appendValue) {
+        validateKey(key, "key");
+        validateKey(appendValue, "appendValue");
+        return wrap(commands.append(key, appendValue));
+    }
+
+    @Override
+    public CompletableFuture<Long> strlen(String key) {
+        validateKey(key, "key");
+        return wrap(commands.strlen(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> del(String key) {
+        validateKey(key, "key");
+        return wrap(commands.del(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> del(String... keys) {
+        validateParams(keys, "keys");
+        return wrap(commands.del(keys));
+    }
+
+    // 区域结束
+
+    // 区域：哈希
+
+    @Override
+    public CompletableFuture<Void> hset(String key, String field, String value) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        validateKey(value, "value");
+        return map(commands.hset(key, field, value), created -> null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hsetnx(String key, String field, String value) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        validateKey(value, "value");
+        return wrap(commands.hsetnx(key, field, value));
+    }
+
+    @Override
+    public CompletableFuture<String> hget(String key, String field) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return wrap(commands.hget(key, field));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> hgetAll(String key) {
+        validateKey(key, "key");
+        return map(commands.hgetall(key), entries -> entries == null ? Collections.emptyMap() : entries);
+    }
+
+    @Override
+    public CompletableFuture<Void> hmset(String key, Map<String, String> paramMap) {
+        validateKey(key, "key");
+        if (paramMap == null || paramMap.isEmpty()) {
+            throw new IllegalArgumentException("paramMap 不能为空");
+        }
+        return status(commands.hmset(key, paramMap));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> hmget(String key, String... fields) {
+        validateKey(key, "key");
+        validateParams(fields, "fields");
+        return map(commands.hmget(key, fields), AsyncRedisClientImpl::values);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> hmget(String key, List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("fields 不能为空");
+        }
+        return hmget(key, fields.toArray(new String[0]));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> hkeys(String key) {
+        validateKey(key, "key");
+        return map(commands.hkeys(key), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> hvals(String key) {
+        validateKey(key, "key");
+        return wrap(commands.hvals(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> hlen(String key) {
+        validateKey(key, "key");
+        return wrap(commands.hlen(key));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hexists(String key, String field) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return wrap(commands.hexists(key, field));
+    }
+
+    @Override
+    public CompletableFuture<Long> hdel(String key, String... fields) {
+        validateKey(key, "key");
+        validateParams(fields, "fields");
+        return wrap(commands.hdel(key, fields));
+    }
+
+    @Override
+    public CompletableFuture<Long> hincrBy(String key, String field, long delta) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return wrap(commands.hincrby(key, field, delta));
+    }
+
+    @Override
+    public CompletableFuture<Double> hincrByFloat(String key, String field, double delta) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return wrap(commands.hincrbyfloat(key, field, delta));
+    }
+
+    // 区域结束
+
+    // 区域：列表
+
+    @Override
+    public CompletableFuture<Long> lpush(String key, String... values) {
+        validateKey(key, "key");
+        validateParams(values, "values");
+        return wrap(commands.lpush(key, values));
+    }
+
+    @Override
+    public CompletableFuture<Long> rpush(String key, String... values) {
+        validateKey(key, "key");
+        validateParams(values, "values");
+        return wrap(commands.rpush(key, values));
+    }
+
+    @Override
+    public CompletableFuture<String> lpop(String key) {
+        validateKey(key, "key");
+        return wrap(commands.lpop(key));
+    }
+
+    @Override
+    public CompletableFuture<String> rpop(String key) {
+        validateKey(key, "key");
+        return wrap(commands.rpop(key));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> lrange(String key, long start, long stop) {
+        validateKey(key, "key");
+        return wrap(commands.lrange(key, start, stop));
+    }
+
+    @Override
+    public CompletableFuture<String> lindex(String key, long index) {
+        validateKey(key, "key");
+        return wrap(commands.lindex(key, index));
+    }
+
+    @Override
+    public CompletableFuture<Void> lset(String key, long index, String value) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        return status(commands.lset(key, index, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> ltrim(String key, long start, long stop) {
+        validateKey(key, "key");
+        return status(commands.ltrim(key, start, stop));
+    }
+
+    @Override
+    public CompletableFuture<Long> lrem(String key, long count, String value) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        return wrap(commands.lrem(key, count, value));
+    }
+
+    @Override
+    public CompletableFuture<String> rpoplpush(String sourceKey, String destinationKey) {
+        validateKey(sourceKey, "sourceKey");
+        validateKey(destinationKey, "destinationKey");
+        return wrap(commands.rpoplpush(sourceKey, destinationKey));
+    }
+
+    @Override
+    public CompletableFuture<Long> llen(String key) {
+        validateKey(key, "key");
+        return wrap(commands.llen(key));
+    }
+
+    // 区域结束
+
+    // 区域：无序集合
+
+    @Override
+    public CompletableFuture<Long> sadd(String key, String... members) {
+        validateKey(key, "key");
+        validateParams(members, "members");
+        return wrap(commands.sadd(key, members));
+    }
+
+    @Override
+    public CompletableFuture<Long> srem(String key, String... members) {
+        validateKey(key, "key");
+        validateParams(members, "members");
+        return wrap(commands.srem(key, members));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> smembers(String key) {
+        validateKey(key, "key");
+        return map(commands.smembers(key), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sismember(String key, String member) {
+        validateKey(key, "key");
+        validateKey(member, "member");
+        return wrap(commands.sismember(key, member));
+    }
+
+    @Override
+    public CompletableFuture<Long> scard(String key) {
+        validateKey(key, "key");
+        return wrap(commands.scard(key));
+    }
+
+    @Override
+    public CompletableFuture<String> spop(String key) {
+        validateKey(key, "key");
+        return wrap(commands.spop(key));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> spop(String key, long count) {
+        validateKey(key, "key");
+        validatePositive(count, "count");
+        return map(commands.spop(key, count), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<String> srandmember(String key) {
+        validateKey(key, "key");
+        return wrap(commands.srandmember(key));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> srandmember(String key, int count) {
+        validateKey(key, "key");
+        validatePositive(count, "count");
+        return wrap(commands.srandmember(key, count));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> sinter(String... keys) {
+        validateParams(keys, "keys");
+        return map(commands.sinter(keys), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> sunion(String... keys) {
+        validateParams(keys, "keys");
+        return map(commands.sunion(keys), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> sdiff(String... keys) {
+        validateParams(keys, "keys");
+        return map(commands.sdiff(keys), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<Long> sinterstore(String destination, String... keys) {
+        validateKey(destination, "destination");
+        validateParams(keys, "keys");
+        return wrap(commands.sinterstore(destination, keys));
+    }
+
+    @Override
+    public CompletableFuture<Long> sunionstore(String destination, String... keys) {
+        validateKey(destination, "destination");
+        validateParams(keys, "keys");
+        return wrap(commands.sunionstore(destination, keys));
+    }
+
+    @Override
+    public CompletableFuture<Long> sdiffstore(String destination, String... keys) {
+        validateKey(destination, "destination");
+        validateParams(keys, "keys");
+        return wrap(commands.sdiffstore(destination, keys));
+    }
+
+    // 区域结束
+
+    // 区域：有序集合
+
+    @Override
+    public CompletableFuture<Long> zadd(String key, Map<String, Double> valueMap) {
+        validateKey(key, "key");
+        if (valueMap == null || valueMap.isEmpty()) {
+            throw new IllegalArgumentException("valueMap 不能为空");
+        }
+        ScoredValue<String>[] scoredValues = new ScoredValue[valueMap.size()];
+        int index = 0;
+        for (Map.Entry<String, Double> entry : valueMap.entrySet()) {
+            scoredValues[index++] = ScoredValue.just(entry.getValue(), entry.getKey());
+        }
+        return wrap(commands.zadd(key, scoredValues));
+    }
+
+    @Override
+    public CompletableFuture<Long> zadd(String key, double score, String member) {
+        validateKey(key, "key");
+        validateKey(member, "member");
+        return wrap(commands.zadd(key, score, member));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zrange(String key, long start, long stop) {
+        validateKey(key, "key");
+        return map(commands.zrange(key, start, stop), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zrevrange(String key, long start, long stop) {
+        validateKey(key, "key");
+        return map(commands.zrevrange(key, start, stop), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zrangeByScore(String key, double minScore, double maxScore) {
+        validateKey(key, "key");
+        return map(commands.zrangebyscore(key, Range.create(minScore, maxScore)), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zrevrangeByScore(String key, double maxScore, double minScore) {
+        validateKey(key, "key");
+        // 核心代码：Lettuce 的 Range 始终为 [min, max]，降序由命令本身决定
+        return map(commands.zrevrangebyscore(key, Range.create(minScore, maxScore)), AsyncRedisClientImpl::orderedSet);
+    }
+
+    @Override
+    public CompletableFuture<Long> zrank(String key, String member) {
+        validateKey(key, "key");
+        validateKey(member, "member");
+        return wrap(commands.zrank(key, member));
+    }
+
+    @Override
+    public CompletableFuture<Long> zrevrank(String key, String member) {
+        validateKey(key, "key");
+        validateKey(member, "member");
+        return wrap(commands.zrevrank(key, member));
+    }
+
+    @Override
+    public CompletableFuture<Long> zremrangeByScore(String key, double scoreMin, double scoreMax) {
+        validateKey(key, "key");
+        return wrap(commands.zremrangebyscore(key, Range.create(scoreMin, scoreMax)));
+    }
+
+    @Override
+    public CompletableFuture<Long> zremrangeByRank(String key, long start, long stop) {
+        validateKey(key, "key");
+        return wrap(commands.zremrangebyrank(key, start, stop));
+    }
+
+    @Override
+    public CompletableFuture<Long> zrem(String key, String... members) {
+        validateKey(key, "key");
+        validateParams(members, "members");
+        return wrap(commands.zrem(key, members));
+    }
+
+    @Override
+    public CompletableFuture<Double> zscore(String key, String member) {
+        validateKey(key, "key");
+        validateKey(member, "member");
+        return wrap(commands.zscore(key, member));
+    }
+
+    @Override
+    public CompletableFuture<Double> zincrby(String key, double increment, String member) {
+        validateKey(key, "key");
+        validateKey(member, "member");
+        return wrap(commands.zincrby(key, increment, member));
+    }
+
+    @Override
+    public CompletableFuture<Long> zcard(String key) {
+        validateKey(key, "key");
+        return wrap(commands.zcard(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> zcount(String key, double scoreMin, double scoreMax) {
+        validateKey(key, "key");
+        return wrap(commands.zcount(key, Range.create(scoreMin, scoreMax)));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zpopmin(String key, long count) {
+        validateKey(key, "key");
+        validatePositive(count, "count");
+        return map(commands.zpopmin(key, count), AsyncRedisClientImpl::scoredMembers);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> zpopmax(String key, long count) {
+        validateKey(key, "key");
+        validatePositive(count, "count");
+        return map(commands.zpopmax(key, count), AsyncRedisClientImpl::scoredMembers);
+    }
+
+    @Override
+    public CompletableFuture<Long> zinterstore(String destination, String... keys) {
+        validateKey(destination, "destination");
+        validateParams(keys, "keys");
+        return wrap(commands.zinterstore(destination, keys));
+    }
+
+    @Override
+    public CompletableFuture<Long> zunionstore(String destination, String... keys) {
+        validateKey(destination, "destination");
+        validateParams(keys, "keys");
+        return wrap(commands.zunionstore(destination, keys));
+    }
+
+    // 区域结束
+
+    // 区域：过期控制
+
+    @Override
+    public CompletableFuture<Boolean> expire(String key, int seconds) {
+        validateKey(key, "key");
+        validatePositive(seconds, "seconds");
+        return wrap(commands.expire(key, seconds));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expireAt(String key, long timestamp) {
+        validateKey(key, "key");
+        validatePositive(timestamp, "timestamp");
+        return wrap(commands.expireat(key, timestamp));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> persist(String key) {
+        validateKey(key, "key");
+        return wrap(commands.persist(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> ttl(String key) {
+        validateKey(key, "key");
+        return wrap(commands.ttl(key));
+    }
+
+    // 区域结束
+
+    // 区域：通用
+
+    @Override
+    public CompletableFuture<String> type(String key) {
+        validateKey(key, "key");
+        return wrap(commands.type(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> rename(String oldKey, String newKey) {
+        validateKey(oldKey, "oldKey");
+        validateKey(newKey, "newKey");
+        return status(commands.rename(oldKey, newKey));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> renamenx(String oldKey, String newKey) {
+        validateKey(oldKey, "oldKey");
+        validateKey(newKey, "newKey");
+        return wrap(commands.renamenx(oldKey, newKey));
+    }
+
+    // 区域结束
+}
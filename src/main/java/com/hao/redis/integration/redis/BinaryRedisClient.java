@@ -0,0 +1,173 @@
+package com.hao.redis.integration.redis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Redis 二进制值客户端接口
+ *
+ * 类职责：
+ * Key 为 String、值为 byte[] 的 Redis 访问接口，覆盖写入与列表热点路径的常用命令。
+ *
+ * 设计目的：
+ * 1. 调用方可直接把对象序列化为字节（如 JsonUtil.toJsonBytes）写入，省去“对象 -> String -> byte[]”的中间副本。
+ * 2. 命令命名与 RedisClient 保持一致，降低两类客户端切换成本。
+ *
+ * 为什么需要该类：
+ * RedisClient&lt;String&gt; 的每次写入都要先构建 String 再按 UTF-8 编码一次，大 JSON 体在高并发下放大分配与 GC 压力。
+ *
+ * 核心实现思路：
+ * - 基于 Lettuce 原生 API，Key 使用 UTF-8 编解码器直接写入网络缓冲区，值使用 ByteArrayCodec 原样透传。
+ * - 写入的字节与 RedisClient&lt;String&gt; 写入的 UTF-8 字节一致，两类客户端可读写同一批 Key。
+ *
+ * 与同步接口的差异：
+ * - 仅提供字符串、哈希、列表与管道的常用命令，其余命令仍使用 RedisClient。
+ * - BLPOP/BRPOP 返回 Map.Entry（来源 Key -> 值），不再把 Key 与值混在同一个列表中。
+ */
+public interface BinaryRedisClient {
+
+    // 区域：字符串
+
+    /**
+     * 字符串 -> GET，读取值。
+     */
+    byte[] get(String key);
+
+    /**
+     * 字符串 -> MGET，批量读取，缺失的 Key 对应 null；跨 Slot 时按 Slot 拆分执行。
+     */
+    List<byte[]> mget(String... keys);
+
+    /**
+     * 字符串 -> SET，覆盖写入。
+     */
+    void set(String key, byte[] value);
+
+    /**
+     * 字符串 -> SETEX，写入并设置过期秒数。
+     */
+    void setex(String key, int expireSeconds, byte[] value);
+
+    /**
+     * 字符串 -> SETNX，仅在不存在时写入。
+     *
+     * @return true 写入成功，false 已存在
+     */
+    Boolean setnx(String key, byte[] value);
+
+    /**
+     * 通用 -> DEL，删除键；跨 Slot 时按 Slot 拆分执行。
+     */
+    Long del(String... keys);
+
+    /**
+     * 通用 -> EXISTS，判断键是否存在。
+     */
+    Boolean exists(String key);
+
+    /**
+     * 键过期 -> EXPIRE，设置过期秒数。
+     */
+    Boolean expire(String key, int seconds);
+
+    // 区域结束
+
+    // 区域：哈希
+
+    /**
+     * 哈希 -> HGET，读取字段。
+     */
+    byte[] hget(String key, String field);
+
+    /**
+     * 哈希 -> HMGET，批量读字段，结果顺序与入参一致，缺失字段对应 null。
+     */
+    List<byte[]> hmget(String key, String... fields);
+
+    /**
+     * 哈希 -> HGETALL，读取全部字段。
+     */
+    Map<String, byte[]> hgetAll(String key);
+
+    /**
+     * 哈希 -> HSET，设置字段。
+     *
+     * @return true 新增字段，false 覆盖已有字段
+     */
+    Boolean hset(String key, String field, byte[] value);
+
+    /**
+     * 哈希 -> HMSET，批量设置字段。
+     */
+    void hmset(String key, Map<String, byte[]> paramMap);
+
+    /**
+     * 哈希 -> HDEL，删除字段。
+     */
+    Long hdel(String key, String... fields);
+
+    // 区域结束
+
+    // 区域：列表
+
+    /**
+     * 列表 -> LPUSH，左侧入队。
+     */
+    Long lpush(String key, byte[]... values);
+
+    /**
+     * 列表 -> RPUSH，右侧入队。
+     */
+    Long rpush(String key, byte[]... values);
+
+    /**
+     * 列表 -> LPOP，左出队。
+     */
+    byte[] lpop(String key);
+
+    /**
+     * 列表 -> RPOP，右出队。
+     */
+    byte[] rpop(String key);
+
+    /**
+     * 列表 -> BLPOP，阻塞左出队。
+     *
+     * @return 来源 Key 与值；超时返回 null
+     */
+    Map.Entry<String, byte[]> blpop(int timeoutSeconds, String... keys);
+
+    /**
+     * 列表 -> BRPOP，阻塞右出队。
+     *
+     * @return 来源 Key 与值；超时返回 null
+     */
+    Map.Entry<String, byte[]> brpop(int timeoutSeconds, String... keys);
+
+    /**
+     * 列表 -> LRANGE，按区间读取。
+     */
+    List<byte[]> lrange(String key, long start, long stop);
+
+    /**
+     * 列表 -> LTRIM，保留区间内元素。
+     */
+    void ltrim(String key, long start, long stop);
+
+    /**
+     * 列表 -> LLEN，获取长度。
+     */
+    Long llen(String key);
+
+    // 区域结束
+
+    // 区域：管道
+
+    /**
+     * 管道 -> 批量登记命令后一次刷写，与 RedisClient.pipeline 语义一致。
+     */
+    void pipeline(Consumer<RedisBatch<byte[]>> batchConsumer);
+
+    // 区域结束
+}
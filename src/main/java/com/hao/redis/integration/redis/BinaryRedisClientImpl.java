@@ -0,0 +1,357 @@
+package com.hao.redis.integration.redis;
+
+import com.hao.redis.integration.cache.RedisNearCache;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Redis 二进制值客户端实现
+ *
+ * 类职责：
+ * 基于 Key 为 String、值为 byte[] 的 Lettuce 集群连接实现 BinaryRedisClient。
+ *
+ * 设计目的：
+ * 1. 值字节原样透传，不经过 String 中转，读写各省一次编解码与一份副本。
+ * 2. 参数校验与返回值语义与 RedisClientImpl 保持一致。
+ *
+ * 为什么需要该类：
+ * 发布微博、逻辑过期缓存等写路径的值都是 JSON 字节，通过 String 客户端写入会产生多余的中间对象。
+ *
+ * 核心实现思路：
+ * - 普通命令使用共享的多路复用连接（同步 API），不占用连接池连接。
+ * - 阻塞命令与管道需要独占连接，通过 StringRedisTemplate 从连接池借出，直接使用原始字节结果。
+ * - 哈希写入后主动失效近端缓存，与 RedisClientImpl 行为一致。
+ */
+@Slf4j
+public class BinaryRedisClientImpl implements BinaryRedisClient {
+
+    /**
+     * 管道默认等待超时时间（未注入配置时使用）
+     */
+    private static final Duration DEFAULT_BATCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final RedisAdvancedClusterCommands<String, byte[]> commands;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 管道等待超时，与单命令超时（spring.data.redis.timeout）一致
+     */
+    private Duration batchTimeout = DEFAULT_BATCH_TIMEOUT;
+
+    /**
+     * 近端缓存（可选），哈希写入后用于主动失效
+     */
+    private RedisNearCache nearCache;
+
+    /**
+     * 二进制客户端构造方法
+     *
+     * @param commands 共享二进制集群连接的同步命令
+     * @param redisTemplate 字符串模板，用于借出独占连接执行阻塞命令与管道
+     */
+    public BinaryRedisClientImpl(RedisAdvancedClusterCommands<String, byte[]> commands, StringRedisTemplate redisTemplate) {
+        this.commands = commands;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 注入近端缓存
+     *
+     * 实现逻辑：
+     * 1. 保存近端缓存引用；未注入时哈希写入不做本地失效。
+     *
+     * @param nearCache 近端缓存
+     */
+    public void setNearCache(RedisNearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    /**
+     * 注入管道等待超时
+     *
+     * @param batchTimeout 等待超时（通常为 spring.data.redis.timeout）
+     */
+    public void setBatchTimeout(Duration batchTimeout) {
+        if (batchTimeout != null && !batchTimeout.isNegative() && !batchTimeout.isZero()) {
+            this.batchTimeout = batchTimeout;
+        }
+    }
+
+    /* ------------------ 辅助方法 ------------------ */
+
+    private void validateKey(String key, String name) {
+        if (!StringUtils.hasText(key)) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    private void validateValue(byte[] value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    private void validateParams(Object[] params, String name) {
+        if (params == null || params.length == 0) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    private void validatePositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " 必须大于 0");
+        }
+    }
+
+    private static List<byte[]> values(List<KeyValue<String, byte[]>> keyValues) {
+        List<byte[]> result = new ArrayList<>(keyValues.size());
+        for (KeyValue<String, byte[]> kv : keyValues) {
+            result.add(kv.hasValue() ? kv.getValue() : null);
+        }
+        return result;
+    }
+
+    private void invalidateNearCache(String... keys) {
+        if (nearCache == null) {
+            return;
+        }
+        for (String key : keys) {
+            nearCache.invalidateLocal(key);
+        }
+    }
+
+    // 区域：字符串
+
+    @Override
+    public byte[] get(String key) {
+        validateKey(key, "key");
+        return commands.get(key);
+    }
+
+    @Override
+    public List<byte[]> mget(String... keys) {
+        validateParams(keys, "keys");
+        return values(commands.mget(keys));
+    }
+
+    @Override
+    public void set(String key, byte[] value) {
+        validateKey(key, "key");
+        validateValue(value, "value");
+        commands.set(key, value);
+    }
+
+    @Override
+    public void setex(String key, int expireSeconds, byte[] value) {
+        validateKey(key, "key");
+        validateValue(value, "value");
+        validatePositive(expireSeconds, "expireSeconds");
+        commands.setex(key, expireSeconds, value);
+    }
+
+    @Override
+    public Boolean setnx(String key, byte[] value) {
+        validateKey(key, "key");
+        validateValue(value, "value");
+        return commands.setnx(key, value);
+    }
+
+    @Override
+    public Long del(String... keys) {
+        validateParams(keys, "keys");
+        invalidateNearCache(keys);
+        return commands.del(keys);
+    }
+
+    @Override
+    public Boolean exists(String key) {
+        validateKey(key, "key");
+        Long count = commands.exists(key);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public Boolean expire(String key, int seconds) {
+        validateKey(key, "key");
+        validatePositive(seconds, "seconds");
+        return commands.expire(key, seconds);
+    }
+
+    // 区域结束
+
+    // 区域：哈希
+
+    @Override
+    public byte[] hget(String key, String field) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return commands.hget(key, field);
+    }
+
+    @Override
+    public List<byte[]> hmget(String key, String... fields) {
+        validateKey(key, "key");
+        validateParams(fields, "fields");
+        return values(commands.hmget(key, fields));
+    }
+
+    @Override
+    public Map<String, byte[]> hgetAll(String key) {
+        validateKey(key, "key");
+        return commands.hgetall(key);
+    }
+
+    @Override
+    public Boolean hset(String key, String field, byte[] value) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        validateValue(value, "value");
+        Boolean created = commands.hset(key, field, value);
+        invalidateNearCache(key);
+        return created;
+    }
+
+    @Override
+    public void hmset(String key, Map<String, byte[]> paramMap) {
+        validateKey(key, "key");
+        if (paramMap == null || paramMap.isEmpty()) {
+            throw new IllegalArgumentException("paramMap 不能为空");
+        }
+        commands.hmset(key, paramMap);
+        invalidateNearCache(key);
+    }
+
+    @Override
+    public Long hdel(String key, String... fields) {
+        validateKey(key, "key");
+        validateParams(fields, "fields");
+        Long removed = commands.hdel(key, fields);
+        invalidateNearCache(key);
+        return removed;
+    }
+
+    // 区域结束
+
+    // 区域：列表
+
+    @Override
+    public Long lpush(String key, byte[]... values) {
+        validateKey(key, "key");
+        validateParams(values, "values");
+        return commands.lpush(key, values);
+    }
+
+    @Override
+    public Long rpush(String key, byte[]... values) {
+        validateKey(key, "key");
+        validateParams(values, "values");
+        return commands.rpush(key, values);
+    }
+
+    @Override
+    public byte[] lpop(String key) {
+        validateKey(key, "key");
+        return commands.lpop(key);
+    }
+
+    @Override
+    public byte[] rpop(String key) {
+        validateKey(key, "key");
+        return commands.rpop(key);
+    }
+
+    @Override
+    public Map.Entry<String, byte[]> blpop(int timeoutSeconds, String... keys) {
+        validateParams(keys, "keys");
+        validatePositive(timeoutSeconds, "timeoutSeconds");
+        return blockingPop(keys, rawKeys -> redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.listCommands().bLPop(timeoutSeconds, rawKeys)));
+    }
+
+    @Override
+    public Map.Entry<String, byte[]> brpop(int timeoutSeconds, String... keys) {
+        validateParams(keys, "keys");
+        validatePositive(timeoutSeconds, "timeoutSeconds");
+        return blockingPop(keys, rawKeys -> redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.listCommands().bRPop(timeoutSeconds, rawKeys)));
+    }
+
+    /**
+     * 执行阻塞出队
+     *
+     * 实现逻辑：
+     * 1. 阻塞命令会占住连接，必须在连接池借出的独占连接上执行，不能使用共享连接。
+     * 2. 返回结果第一个元素为来源 Key，第二个为值；值字节原样返回。
+     *
+     * @param keys 监听的 Key
+     * @param executor 阻塞命令执行函数
+     * @return 来源 Key 与值；超时返回 null
+     */
+    private Map.Entry<String, byte[]> blockingPop(String[] keys, Function<byte[][], List<byte[]>> executor) {
+        byte[][] rawKeys = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            rawKeys[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+        }
+        List<byte[]> result = executor.apply(rawKeys);
+        if (result == null || result.size() < 2) {
+            return null;
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(new String(result.get(0), StandardCharsets.UTF_8), result.get(1));
+    }
+
+    @Override
+    public List<byte[]> lrange(String key, long start, long stop) {
+        validateKey(key, "key");
+        return commands.lrange(key, start, stop);
+    }
+
+    @Override
+    public void ltrim(String key, long start, long stop) {
+        validateKey(key, "key");
+        commands.ltrim(key, start, stop);
+    }
+
+    @Override
+    public Long llen(String key) {
+        validateKey(key, "key");
+        return commands.llen(key);
+    }
+
+    // 区域结束
+
+    // 区域：管道
+
+    @Override
+    public void pipeline(Consumer<RedisBatch<byte[]>> batchConsumer) {
+        // 实现思路：
+        // 1. 与 RedisClientImpl.pipeline 相同的独占连接 + 手动刷写流程。
+        // 2. 值编解码为恒等函数，字节直接写入连接缓冲区。
+        if (batchConsumer == null) {
+            throw new IllegalArgumentException("batchConsumer 不能为空");
+        }
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            // 核心代码：手动刷写执行，值不经过任何转换
+            LettuceManualFlushExecutor.execute(connection, batchTimeout, nativeCommands -> {
+                LettuceRedisBatch<byte[]> batch = new LettuceRedisBatch<>(nativeCommands, Function.identity(), Function.identity());
+                batchConsumer.accept(batch);
+                return batch.pendingFutures();
+            });
+            return null;
+        });
+    }
+
+    // 区域结束
+}
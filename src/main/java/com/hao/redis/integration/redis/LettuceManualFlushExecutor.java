@@ -0,0 +1,162 @@
+package com.hao.redis.integration.redis;
+
+import io.lettuce.core.AbstractRedisAsyncCommands;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Lettuce 手动刷写执行器
+ *
+ * 类职责：
+ * 在一条独占连接上关闭自动刷写，批量写入命令后一次性刷写并等待全部结果。
+ *
+ * 设计目的：
+ * 1. 把 N 条命令的 N 次 socket 写合并为每个节点一次写，压缩 RTT 与系统调用开销。
+ * 2. 统一处理自动刷写开关的恢复，避免连接归还连接池后仍处于手动刷写状态。
+ *
+ * 为什么需要该类：
+ * 管道写入与按 Slot 扇出（MGET/MSET/DEL）都依赖同一套“关刷写 -> 写命令 -> 刷写 -> 等待”流程。
+ *
+ * 核心实现思路：
+ * - 通过 RedisConnection#getNativeConnection 取得 Lettuce 原生异步命令；先打开 Spring 管道，
+ *   保证共享连接模式下拿到的也是独占连接。
+ * - 集群连接下 flushCommands 会刷写全部节点连接，命令已按 Slot 分桶到各节点。
+ * - 有状态连接取自 AbstractRedisAsyncCommands#getConnection，不使用已废弃的 getStatefulConnection。
+ * - 集群节点连接按需异步建立：首次发往某节点的命令可能在第一次刷写之后才写入新连接的缓冲区，
+ *   新连接继承手动刷写而不会自行写出。等待期间按 REFLUSH_INTERVAL_MS 分段，未完成时再刷写一次，
+ *   把这类命令的额外延迟限制在一个分段内，而不是整个批量超时。
+ * - finally 中恢复自动刷写并补刷一次，防止异常路径遗留缓冲命令。
+ *
+ * 使用约束：
+ * 必须作用在独占连接（连接池借出的连接）上，共享连接关闭自动刷写会阻塞其他线程的命令；
+ * 执行器通过打开 Spring 管道保证这一点，调用方无需关心连接工厂的共享模式。
+ */
+final class LettuceManualFlushExecutor {
+
+    /**
+     * 等待期间补刷间隔（毫秒），覆盖刷写之后才建立的节点连接
+     */
+    private static final long REFLUSH_INTERVAL_MS = 5;
+
+    private LettuceManualFlushExecutor() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 手动刷写执行批量命令
+     *
+     * 实现逻辑：
+     * 1. 解析原生异步命令与有状态连接。
+     * 2. 关闭自动刷写并写入全部命令。
+     * 3. 一次性刷写并在超时时间内等待全部结果，等待未完成时分段补刷。
+     * 4. 恢复自动刷写。
+     *
+     * @param connection Spring Redis 连接
+     * @param timeout 等待超时时间
+     * @param commandWriter 命令写入函数，返回需要等待的 Future 列表
+     */
+    static void execute(RedisConnection connection, Duration timeout,
+                        Function<RedisClusterAsyncCommands<byte[], byte[]>, List<? extends Future<?>>> commandWriter) {
+        // 实现思路：
+        // 1. 关闭自动刷写后命令只进入缓冲区，flushCommands 时才真正写出 socket。
+        // 2. 连接工厂为共享模式时，原生连接默认是全局共享连接；
+        //    打开 Spring 管道会让 getNativeConnection 改为返回从连接池借出的独占连接。
+        boolean openedPipeline = !connection.isPipelined();
+        if (openedPipeline) {
+            connection.openPipeline();
+        }
+        try {
+            executeOnDedicated(connection, timeout, commandWriter);
+        } finally {
+            if (openedPipeline) {
+                // 命令未经 Spring 管道登记，关闭时无待收集结果
+                connection.closePipeline();
+            }
+        }
+    }
+
+    /**
+     * 在独占连接上关闭自动刷写并执行批量命令
+     *
+     * @param connection 已打开管道的 Spring Redis 连接
+     * @param timeout 等待超时时间
+     * @param commandWriter 命令写入函数
+     */
+    @SuppressWarnings("unchecked")
+    private static void executeOnDedicated(RedisConnection connection, Duration timeout,
+                                           Function<RedisClusterAsyncCommands<byte[], byte[]>, List<? extends Future<?>>> commandWriter) {
+        Object nativeConnection = connection.getNativeConnection();
+        if (!(nativeConnection instanceof RedisClusterAsyncCommands)) {
+            throw new IllegalStateException("当前连接不支持Lettuce原生异步命令: " + nativeConnection);
+        }
+        RedisClusterAsyncCommands<byte[], byte[]> commands = (RedisClusterAsyncCommands<byte[], byte[]>) nativeConnection;
+        StatefulConnection<byte[], byte[]> statefulConnection = resolveStatefulConnection(nativeConnection);
+
+        statefulConnection.setAutoFlushCommands(false);
+        try {
+            List<? extends Future<?>> futures = commandWriter.apply(commands);
+            // 核心代码：一次刷写，集群模式下每个节点连接各写一次
+            statefulConnection.flushCommands();
+            if (futures.isEmpty()) {
+                return;
+            }
+            awaitWithReflush(statefulConnection, timeout, futures.toArray(new Future[0]));
+        } finally {
+            statefulConnection.setAutoFlushCommands(true);
+            statefulConnection.flushCommands();
+        }
+    }
+
+    /**
+     * 分段等待全部结果，每段未完成时补刷一次
+     *
+     * 实现逻辑：
+     * 1. 每次最多等待 REFLUSH_INTERVAL_MS，全部完成即返回。
+     * 2. 未完成则再次刷写：等待期间新建立的节点连接上的缓冲命令此时才写出。
+     * 3. 超过总超时时间抛出命令超时异常。
+     *
+     * @param statefulConnection 有状态连接
+     * @param timeout 总等待时间
+     * @param futures 待等待的结果
+     */
+    private static void awaitWithReflush(StatefulConnection<byte[], byte[]> statefulConnection, Duration timeout,
+                                         Future<?>[] futures) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new RedisCommandTimeoutException("批量命令等待超时: " + timeout.toMillis() + "ms");
+            }
+            long slice = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(REFLUSH_INTERVAL_MS));
+            if (LettuceFutures.awaitAll(slice, TimeUnit.NANOSECONDS, futures)) {
+                return;
+            }
+            // 核心代码：补刷，覆盖首次刷写之后才建立的节点连接
+            statefulConnection.flushCommands();
+        }
+    }
+
+    /**
+     * 解析有状态连接
+     *
+     * @param nativeConnection 原生异步命令对象
+     * @return 有状态连接
+     */
+    @SuppressWarnings("unchecked")
+    private static StatefulConnection<byte[], byte[]> resolveStatefulConnection(Object nativeConnection) {
+        // 集群与单机异步命令实现均继承 AbstractRedisAsyncCommands，getConnection 未废弃
+        if (nativeConnection instanceof AbstractRedisAsyncCommands<?, ?> asyncCommands) {
+            return (StatefulConnection<byte[], byte[]>) asyncCommands.getConnection();
+        }
+        throw new IllegalStateException("无法解析Lettuce有状态连接: " + nativeConnection.getClass().getName());
+    }
+}
@@ -0,0 +1,311 @@
+package com.hao.redis.integration.redis;
+
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 基于 Lettuce 原生异步命令的批量管道实现
+ *
+ * 类职责：
+ * 将 RedisBatch 的命令登记转换为 Lettuce 异步命令，并记录待等待的 Future。
+ *
+ * 设计目的：
+ * 1. 直接复用 Lettuce 的按 Slot 路由能力，集群模式下命令自动落到正确节点。
+ * 2. 通过值编解码函数复用同一实现，服务 String 与 byte[] 两类客户端。
+ *
+ * 为什么需要该类：
+ * Spring 的 executePipelined 对状态回复（如 LTRIM、HMSET）不返回结果，
+ * 结果下标无法与命令一一对应，无法提供类型化 Future。
+ *
+ * 核心实现思路：
+ * - 登记命令时立即写入连接缓冲区（调用方已关闭自动刷写）。
+ * - 每条命令的 RedisFuture 经 thenApply 转换为业务类型后加入待等待列表。
+ *
+ * @param <T> 值类型
+ */
+@SuppressWarnings("all")
+class LettuceRedisBatch<T> implements RedisBatch<T> {
+
+    private final RedisClusterAsyncCommands<byte[], byte[]> commands;
+    private final Function<T, byte[]> valueEncoder;
+    private final Function<byte[], T> valueDecoder;
+
+    /**
+     * 按 Key 转换待写入值（如压缩），仅作用于字符串与哈希的值，不作用于列表、集合成员
+     */
+    private final BiFunction<String, T, T> storeEncoder;
+
+    /**
+     * 按 Key 转换读取到的值（如解压），与 storeEncoder 对称，仅作用于字符串与哈希的值
+     */
+    private final BiFunction<String, T, T> loadDecoder;
+    private final List<CompletableFuture<?>> pendingFutures = new ArrayList<>();
+
+    /**
+     * 批量管道构造方法
+     *
+     * @param commands 已关闭自动刷写的原生异步命令
+     * @param valueEncoder 值编码函数
+     * @param valueDecoder 值解码函数
+     */
+    LettuceRedisBatch(RedisClusterAsyncCommands<byte[], byte[]> commands,
+                      Function<T, byte[]> valueEncoder,
+                      Function<byte[], T> valueDecoder) {
+        this(commands, valueEncoder, valueDecoder, (key, value) -> value, (key, value) -> value);
+    }
+
+    /**
+     * 批量管道构造方法（带按 Key 的读写值转换）
+     *
+     * @param commands 已关闭自动刷写的原生异步命令
+     * @param valueEncoder 值编码函数
+     * @param valueDecoder 值解码函数
+     * @param storeEncoder 按 Key 的写入值转换函数
+     * @param loadDecoder 按 Key 的读取值转换函数
+     */
+    LettuceRedisBatch(RedisClusterAsyncCommands<byte[], byte[]> commands,
+                      Function<T, byte[]> valueEncoder,
+                      Function<byte[], T> valueDecoder,
+                      BiFunction<String, T, T> storeEncoder,
+                      BiFunction<String, T, T> loadDecoder) {
+        this.commands = commands;
+        this.valueEncoder = valueEncoder;
+        this.valueDecoder = valueDecoder;
+        this.storeEncoder = storeEncoder;
+        this.loadDecoder = loadDecoder;
+    }
+
+    /**
+     * 获取已登记命令的 Future 列表
+     *
+     * @return 待等待的 Future 列表（只读）
+     */
+    List<CompletableFuture<?>> pendingFutures() {
+        return Collections.unmodifiableList(pendingFutures);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> set(String key, T value) {
+        validateKey(key, "key");
+        return track(commands.set(rawKey(key), storeValue(key, value)), "OK"::equals);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setex(String key, int expireSeconds, T value) {
+        validateKey(key, "key");
+        validatePositive(expireSeconds, "expireSeconds");
+        return track(commands.setex(rawKey(key), expireSeconds, storeValue(key, value)), "OK"::equals);
+    }
+
+    @Override
+    public CompletableFuture<T> get(String key) {
+        validateKey(key, "key");
+        return track(commands.get(rawKey(key)), raw -> loadValue(key, raw));
+    }
+
+    @Override
+    public CompletableFuture<Long> incr(String key) {
+        validateKey(key, "key");
+        return track(commands.incr(rawKey(key)), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Long> incrBy(String key, long delta) {
+        validateKey(key, "key");
+        return track(commands.incrby(rawKey(key), delta), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setBit(String key, long offset, boolean value) {
+        validateKey(key, "key");
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset 不能为负数");
+        }
+        return track(commands.setbit(rawKey(key), offset, value ? 1 : 0), previous -> previous != null && previous == 1L);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> getBit(String key, long offset) {
+        validateKey(key, "key");
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset 不能为负数");
+        }
+        return track(commands.getbit(rawKey(key), offset), bit -> bit != null && bit == 1L);
+    }
+
+    @Override
+    public CompletableFuture<Long> del(String key) {
+        validateKey(key, "key");
+        return track(commands.del(rawKey(key)), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expire(String key, int seconds) {
+        validateKey(key, "key");
+        validatePositive(seconds, "seconds");
+        return track(commands.expire(rawKey(key), seconds), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hset(String key, String field, T value) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return track(commands.hset(rawKey(key), rawKey(field), storeValue(key, value)), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hsetnx(String key, String field, T value) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return track(commands.hsetnx(rawKey(key), rawKey(field), storeValue(key, value)), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Void> hmset(String key, Map<String, T> paramMap) {
+        validateKey(key, "key");
+        if (paramMap == null || paramMap.isEmpty()) {
+            throw new IllegalArgumentException("paramMap 不能为空");
+        }
+        Map<byte[], byte[]> rawMap = new LinkedHashMap<>(paramMap.size() * 2);
+        paramMap.forEach((field, value) -> rawMap.put(rawKey(field), storeValue(key, value)));
+        return track(commands.hmset(rawKey(key), rawMap), reply -> null);
+    }
+
+    @Override
+    public CompletableFuture<T> hget(String key, String field) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return track(commands.hget(rawKey(key), rawKey(field)), raw -> loadValue(key, raw));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> hmget(String key, String... fields) {
+        validateKey(key, "key");
+        return track(commands.hmget(rawKey(key), rawFields(fields)), keyValues -> {
+            List<T> values = new ArrayList<>(keyValues.size());
+            keyValues.forEach(keyValue -> values.add(keyValue.hasValue() ? loadValue(key, keyValue.getValue()) : null));
+            return values;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> hdel(String key, String... fields) {
+        validateKey(key, "key");
+        return track(commands.hdel(rawKey(key), rawFields(fields)), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Long> lpush(String key, T... values) {
+        validateKey(key, "key");
+        return track(commands.lpush(rawKey(key), rawValues(values, "values")), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Void> ltrim(String key, long start, long stop) {
+        validateKey(key, "key");
+        return track(commands.ltrim(rawKey(key), start, stop), reply -> null);
+    }
+
+    @Override
+    public CompletableFuture<Long> sadd(String key, T... members) {
+        validateKey(key, "key");
+        return track(commands.sadd(rawKey(key), rawValues(members, "members")), Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Double> zincrby(String key, double increment, T member) {
+        validateKey(key, "key");
+        return track(commands.zincrby(rawKey(key), increment, rawValue(member)), Function.identity());
+    }
+
+    /**
+     * 登记命令结果
+     *
+     * 实现逻辑：
+     * 1. 将 RedisFuture 转换为业务类型 Future。
+     * 2. 记录转换后的 Future，供统一等待使用。
+     *
+     * @param future 原生命令 Future
+     * @param converter 结果转换函数
+     * @return 业务类型 Future
+     */
+    private <R, V> CompletableFuture<V> track(RedisFuture<R> future, Function<R, V> converter) {
+        // 实现思路：
+        // 1. 等待转换后的 Future，确保调用方读取时转换已完成。
+        CompletableFuture<V> converted = future.toCompletableFuture().thenApply(converter);
+        pendingFutures.add(converted);
+        return converted;
+    }
+
+    private T decodeValue(byte[] raw) {
+        return raw == null ? null : valueDecoder.apply(raw);
+    }
+
+    private T loadValue(String key, byte[] raw) {
+        return raw == null ? null : loadDecoder.apply(key, valueDecoder.apply(raw));
+    }
+
+    private byte[] rawValue(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value 不能为空");
+        }
+        return valueEncoder.apply(value);
+    }
+
+    private byte[] storeValue(String key, T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value 不能为空");
+        }
+        return valueEncoder.apply(storeEncoder.apply(key, value));
+    }
+
+    private byte[][] rawValues(T[] values, String name) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+        byte[][] raw = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            raw[i] = rawValue(values[i]);
+        }
+        return raw;
+    }
+
+    private static byte[][] rawFields(String[] fields) {
+        if (fields == null || fields.length == 0) {
+            throw new IllegalArgumentException("fields 不能为空");
+        }
+        byte[][] raw = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            validateKey(fields[i], "field");
+            raw[i] = rawKey(fields[i]);
+        }
+        return raw;
+    }
+
+    private static byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void validateKey(String key, String name) {
+        if (!StringUtils.hasText(key)) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    private static void validatePositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " 必须大于 0");
+        }
+    }
+}
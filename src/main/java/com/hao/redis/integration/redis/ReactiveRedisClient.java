@@ -0,0 +1,142 @@
+package com.hao.redis.integration.redis;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 响应式客户端接口
+ *
+ * 类职责：
+ * 以 Mono/Flux 形式提供 Redis 常用命令，服务于非阻塞读链路。
+ *
+ * 设计目的：
+ * 1. 请求处理期间不占用容器工作线程，少量事件循环线程即可承载大量并发连接。
+ * 2. 命令命名与 RedisClient 保持一致，降低同步/响应式切换成本。
+ *
+ * 为什么需要该类：
+ * 列表、热榜、用户详情等接口是纯 Redis 读，同步调用时每个请求独占一个 Tomcat 线程直到回包。
+ *
+ * 核心实现思路：
+ * - 基于 ReactiveStringRedisTemplate，底层为 Lettuce 响应式 API。
+ * - 命令集合以读路径为主，写命令仅保留常用项；阻塞命令与扫描类命令不提供。
+ * - 返回的 Mono/Flux 为冷序列，订阅时才发出命令。
+ *
+ * @param <T> 值类型
+ */
+@SuppressWarnings("all")
+public interface ReactiveRedisClient<T> {
+
+    // 区域：字符串
+
+    /**
+     * 字符串 -> GET，读取值。
+     */
+    Mono<T> get(String key);
+
+    /**
+     * 字符串 -> MGET，批量读取，缺失的 Key 对应 null。
+     */
+    Mono<List<T>> mget(List<String> keys);
+
+    /**
+     * 字符串 -> SET，覆盖写入。
+     */
+    Mono<Boolean> set(String key, T value);
+
+    /**
+     * 字符串 -> SETEX，写入并设置过期时间。
+     */
+    Mono<Boolean> setex(String key, Duration timeout, T value);
+
+    /**
+     * 字符串 -> INCR，整数加 1。
+     */
+    Mono<Long> incr(String key);
+
+    /**
+     * 通用 -> EXISTS，判断键是否存在。
+     */
+    Mono<Boolean> exists(String key);
+
+    /**
+     * 通用 -> DEL，删除键。
+     */
+    Mono<Long> del(String... keys);
+
+    // 区域结束
+
+    // 区域：哈希
+
+    /**
+     * 哈希 -> HGET，读取字段。
+     */
+    Mono<T> hget(String key, String field);
+
+    /**
+     * 哈希 -> HGETALL，读取全部字段。
+     */
+    Mono<Map<String, T>> hgetAll(String key);
+
+    /**
+     * 哈希 -> HMGET，批量读字段，结果顺序与入参一致，缺失字段对应 null。
+     */
+    Mono<List<T>> hmget(String key, List<String> fields);
+
+    /**
+     * 哈希 -> HSET，设置字段。
+     */
+    Mono<Boolean> hset(String key, String field, T value);
+
+    // 区域结束
+
+    // 区域：列表
+
+    /**
+     * 列表 -> LRANGE，按区间读取。
+     */
+    Flux<T> lrange(String key, long start, long stop);
+
+    /**
+     * 列表 -> LPUSH，左侧入队。
+     */
+    Mono<Long> lpush(String key, T... values);
+
+    // 区域结束
+
+    // 区域：有序集合
+
+    /**
+     * 有序集合 -> ZREVRANGE，按排名降序读取。
+     */
+    Flux<T> zrevrange(String key, long start, long stop);
+
+    /**
+     * 有序集合 -> ZSCORE，获取成员分数。
+     */
+    Mono<Double> zscore(String key, T member);
+
+    /**
+     * 有序集合 -> ZINCRBY，分数自增。
+     */
+    Mono<Double> zincrby(String key, double increment, T member);
+
+    // 区域结束
+
+    // 区域：过期控制
+
+    /**
+     * 键过期 -> EXPIRE，设置过期时间。
+     */
+    Mono<Boolean> expire(String key, Duration timeout);
+
+    /**
+     * 键过期 -> TTL，查看剩余秒数（-1 永不过期，-2 不存在）。
+     */
+    Mono<Long> ttl(String key);
+
+    // 区域结束
+}
@@ -0,0 +1,216 @@
+package com.hao.redis.integration.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 响应式客户端实现
+ *
+ * 类职责：
+ * 基于 ReactiveStringRedisTemplate 实现 ReactiveRedisClient。
+ *
+ * 设计目的：
+ * 1. 参数校验与返回值语义与 RedisClientImpl 保持一致。
+ * 2. 读链路全程非阻塞，结果在 Lettuce 事件循环线程上回调。
+ *
+ * 为什么需要该类：
+ * 响应式控制器需要 Mono/Flux 形式的 Redis 访问能力，直接使用模板会分散调用逻辑。
+ *
+ * 核心实现思路：
+ * - 参数校验在组装阶段立即执行，非法参数直接抛出 IllegalArgumentException。
+ * - TTL 语义按原生命令返回（-1 永不过期，-2 不存在）。
+ */
+@Slf4j
+@SuppressWarnings("all")
+public class ReactiveRedisClientImpl implements ReactiveRedisClient<String> {
+
+    private final ReactiveStringRedisTemplate reactiveTemplate;
+
+    public ReactiveRedisClientImpl(ReactiveStringRedisTemplate reactiveTemplate) {
+        this.reactiveTemplate = reactiveTemplate;
+    }
+
+    /* ------------------ 辅助方法 ------------------ */
+
+    private ReactiveHashOperations<String, String, String> hashOps() {
+        return reactiveTemplate.opsForHash();
+    }
+
+    private void validateKey(String key, String name) {
+        if (!StringUtils.hasText(key)) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    private void validateParams(Object[] params, String name) {
+        if (params == null || params.length == 0) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    private void validateCollection(List<?> collection, String name) {
+        if (collection == null || collection.isEmpty()) {
+            throw new IllegalArgumentException(name + " 不能为空");
+        }
+    }
+
+    // 区域：字符串
+
+    @Override
+    public Mono<String> get(String key) {
+        validateKey(key, "key");
+        return reactiveTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public Mono<List<String>> mget(List<String> keys) {
+        validateCollection(keys, "keys");
+        return reactiveTemplate.opsForValue().multiGet(keys);
+    }
+
+    @Override
+    public Mono<Boolean> set(String key, String value) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        return reactiveTemplate.opsForValue().set(key, value);
+    }
+
+    @Override
+    public Mono<Boolean> setex(String key, Duration timeout, String value) {
+        validateKey(key, "key");
+        validateKey(value, "value");
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout 必须大于 0");
+        }
+        return reactiveTemplate.opsForValue().set(key, value, timeout);
+    }
+
+    @Override
+    public Mono<Long> incr(String key) {
+        validateKey(key, "key");
+        return reactiveTemplate.opsForValue().increment(key);
+    }
+
+    @Override
+    public Mono<Boolean> exists(String key) {
+        validateKey(key, "key");
+        return reactiveTemplate.hasKey(key);
+    }
+
+    @Override
+    public Mono<Long> del(String... keys) {
+        validateParams(keys, "keys");
+        return reactiveTemplate.delete(keys);
+    }
+
+    // 区域结束
+
+    // 区域：哈希
+
+    @Override
+    public Mono<String> hget(String key, String field) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        return hashOps().get(key, field);
+    }
+
+    @Override
+    public Mono<Map<String, String>> hgetAll(String key) {
+        validateKey(key, "key");
+        // 核心代码：HGETALL 以 Entry 流返回，收集为 Map
+        return hashOps().entries(key)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .defaultIfEmpty(Collections.emptyMap());
+    }
+
+    @Override
+    public Mono<List<String>> hmget(String key, List<String> fields) {
+        validateKey(key, "key");
+        validateCollection(fields, "fields");
+        return hashOps().multiGet(key, fields);
+    }
+
+    @Override
+    public Mono<Boolean> hset(String key, String field, String value) {
+        validateKey(key, "key");
+        validateKey(field, "field");
+        validateKey(value, "value");
+        return hashOps().put(key, field, value);
+    }
+
+    // 区域结束
+
+    // 区域：列表
+
+    @Override
+    public Flux<String> lrange(String key, long start, long stop) {
+        validateKey(key, "key");
+        return reactiveTemplate.opsForList().range(key, start, stop);
+    }
+
+    @Override
+    public Mono<Long> lpush(String key, String... values) {
+        validateKey(key, "key");
+        validateParams(values, "values");
+        return reactiveTemplate.opsForList().leftPushAll(key, values);
+    }
+
+    // 区域结束
+
+    // 区域：有序集合
+
+    @Override
+    public Flux<String> zrevrange(String key, long start, long stop) {
+        validateKey(key, "key");
+        return reactiveTemplate.opsForZSet().reverseRange(key, Range.closed(start, stop));
+    }
+
+    @Override
+    public Mono<Double> zscore(String key, String member) {
+        validateKey(key, "key");
+        validateKey(member, "member");
+        return reactiveTemplate.opsForZSet().score(key, member);
+    }
+
+    @Override
+    public Mono<Double> zincrby(String key, double increment, String member) {
+        validateKey(key, "key");
+        validateKey(member, "member");
+        return reactiveTemplate.opsForZSet().incrementScore(key, member, increment);
+    }
+
+    // 区域结束
+
+    // 区域：过期控制
+
+    @Override
+    public Mono<Boolean> expire(String key, Duration timeout) {
+        validateKey(key, "key");
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout 必须大于 0");
+        }
+        return reactiveTemplate.expire(key, timeout);
+    }
+
+    @Override
+    public Mono<Long> ttl(String key) {
+        validateKey(key, "key");
+        // 实现思路：
+        // 1. 模板将 -1 映射为 Duration.ZERO、-2 映射为空序列，这里还原原生语义。
+        return reactiveTemplate.getExpire(key)
+                .map(duration -> duration.isZero() ? -1L : duration.getSeconds())
+                .defaultIfEmpty(-2L);
+    }
+
+    // 区域结束
+}
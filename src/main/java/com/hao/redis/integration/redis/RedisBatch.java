@@ -0,0 +1,129 @@
+package com.hao.redis.integration.redis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Redis 批量管道命令接口
+ *
+ * 类职责：
+ * 在一次管道（Pipeline）中收集多条写/读命令，命令执行结果以类型化 Future 返回。
+ *
+ * 设计目的：
+ * 1. 将多条相互独立的命令合并为一次网络刷写，消除逐条往返的 RTT 开销。
+ * 2. 保持与 RedisClient 一致的命令命名，降低业务迁移成本。
+ *
+ * 为什么需要该类：
+ * 发帖、注册等写路径需要连续执行 5~7 条命令，逐条同步调用时延迟由 RTT 主导。
+ *
+ * 核心实现思路：
+ * - 回调内只负责“登记命令”，不阻塞等待结果。
+ * - RedisClient#pipeline 统一刷写并等待全部命令完成，返回前所有 Future 均已完成。
+ * - 集群模式下由 Lettuce 按 Slot 路由到各节点连接，每个节点仅刷写一次。
+ *
+ * 使用约束：
+ * Future 只能在 pipeline 方法返回后读取；回调内调用 join 会导致等待超时。
+ *
+ * @param <T> 值类型（与 RedisClient 泛型保持一致）
+ */
+@SuppressWarnings("all")
+public interface RedisBatch<T> {
+
+    /**
+     * 字符串 -> SET，覆盖写入。
+     */
+    CompletableFuture<Boolean> set(String key, T value);
+
+    /**
+     * 字符串 -> SETEX，写入并设置过期秒数。
+     */
+    CompletableFuture<Boolean> setex(String key, int expireSeconds, T value);
+
+    /**
+     * 字符串 -> GET，读取值。
+     */
+    CompletableFuture<T> get(String key);
+
+    /**
+     * 字符串 -> INCR，整数加 1。
+     */
+    CompletableFuture<Long> incr(String key);
+
+    /**
+     * 字符串 -> INCRBY，整数加指定值。
+     */
+    CompletableFuture<Long> incrBy(String key, long delta);
+
+    /**
+     * 字符串 -> SETBIT，设置位。
+     *
+     * @return 该位的原始值
+     */
+    CompletableFuture<Boolean> setBit(String key, long offset, boolean value);
+
+    /**
+     * 字符串 -> GETBIT，获取位。
+     */
+    CompletableFuture<Boolean> getBit(String key, long offset);
+
+    /**
+     * 通用 -> DEL，删除单个键。
+     */
+    CompletableFuture<Long> del(String key);
+
+    /**
+     * 键过期 -> EXPIRE，设置秒级过期。
+     */
+    CompletableFuture<Boolean> expire(String key, int seconds);
+
+    /**
+     * 哈希 -> HSET，设置字段。
+     */
+    CompletableFuture<Boolean> hset(String key, String field, T value);
+
+    /**
+     * 哈希 -> HSETNX，字段不存在时写入。
+     */
+    CompletableFuture<Boolean> hsetnx(String key, String field, T value);
+
+    /**
+     * 哈希 -> HMSET，批量写字段。
+     */
+    CompletableFuture<Void> hmset(String key, Map<String, T> paramMap);
+
+    /**
+     * 哈希 -> HGET，读取字段。
+     */
+    CompletableFuture<T> hget(String key, String field);
+
+    /**
+     * 哈希 -> HMGET，批量读取字段，结果顺序与入参一致，不存在的字段为 null。
+     */
+    CompletableFuture<List<T>> hmget(String key, String... fields);
+
+    /**
+     * 哈希 -> HDEL，删除字段。
+     */
+    CompletableFuture<Long> hdel(String key, String... fields);
+
+    /**
+     * 列表 -> LPUSH，左侧入队。
+     */
+    CompletableFuture<Long> lpush(String key, T... values);
+
+    /**
+     * 列表 -> LTRIM，保留指定区间。
+     */
+    CompletableFuture<Void> ltrim(String key, long start, long stop);
+
+    /**
+     * 无序集合 -> SADD，添加成员。
+     */
+    CompletableFuture<Long> sadd(String key, T... members);
+
+    /**
+     * 有序集合 -> ZINCRBY，分数自增。
+     */
+    CompletableFuture<Double> zincrby(String key, double increment, T member);
+}
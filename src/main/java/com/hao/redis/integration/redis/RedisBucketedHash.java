@@ -0,0 +1,442 @@
+package com.hao.redis.integration.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * 分桶哈希存储
+ *
+ * 类职责：
+ * 把一个逻辑上的大哈希按字段拆分到 N 个哈希桶（prefix + 桶号），提供按字段读写、批量读取与旧数据迁移。
+ *
+ * 设计目的：
+ * 1. 避免单个大 Key：单哈希只能落在一个 Slot/节点，HGETALL、DEL 与 Slot 迁移都会长时间阻塞。
+ * 2. 数据与读流量分散到多个节点，批量读取按桶并行下发。
+ *
+ * 为什么需要该类：
+ * 微博详情原先全部写入 weibo:info 一个哈希，随发帖量无限增长，成为集群内的热点大 Key。
+ *
+ * 核心实现思路：
+ * - 桶号 = 数字字段 % 桶数（非数字字段按 hashCode 取模），写入与读取使用同一规则。
+ * - 批量读取按桶分组，同步版逐桶经 RedisClient 代理下发 HMGET（保留近端缓存、合并读等能力），
+ *   异步/响应式版各桶并发请求，结果按入参下标回填。
+ * - 迁移期间分桶未命中的字段回读旧哈希；是否回读由 Redis 中旧哈希是否存在决定并定时复查，
+ *   未执行迁移的实例也能在迁移完成后关闭回读，旧哈希重新出现时恢复回读。
+ *
+ * 使用约束：
+ * 桶数一经上线不可随意修改，修改后需按新桶数重新迁移。
+ */
+@Slf4j
+public class RedisBucketedHash {
+
+    private final String legacyKey;
+    private final String bucketPrefix;
+    private final int bucketCount;
+
+    /**
+     * 旧哈希是否已迁移完毕（Redis 中旧哈希不存在），完毕后不再回读；定时复查，为本地缓存的 Redis 状态
+     */
+    private volatile boolean legacyDrained;
+
+    /**
+     * 复查旧哈希状态所用的客户端（可选），未注入时只在本实例迁移后更新状态
+     */
+    private RedisClient<String> stateClient;
+
+    /**
+     * 值编解码器（可选），异步与响应式客户端不经过 RedisClientImpl，读取结果在回填时按 Key 解压
+     */
+    private RedisValueCodec valueCodec;
+
+    /**
+     * 分桶哈希构造方法
+     *
+     * @param legacyKey 旧版单哈希 Key（为空表示无历史数据）
+     * @param bucketPrefix 分桶 Key 前缀
+     * @param bucketCount 桶数
+     */
+    public RedisBucketedHash(String legacyKey, String bucketPrefix, int bucketCount) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("bucketCount 必须大于 0");
+        }
+        this.legacyKey = legacyKey;
+        this.bucketPrefix = bucketPrefix;
+        this.bucketCount = bucketCount;
+        this.legacyDrained = legacyKey == null;
+    }
+
+    /**
+     * 注入复查旧哈希状态所用的客户端
+     *
+     * @param stateClient Redis 客户端
+     */
+    public void setStateClient(RedisClient<String> stateClient) {
+        this.stateClient = stateClient;
+    }
+
+    /**
+     * 注入值编解码器
+     *
+     * @param valueCodec 值编解码器
+     */
+    public void setValueCodec(RedisValueCodec valueCodec) {
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * 计算字段所属的分桶 Key
+     *
+     * @param field 哈希字段（如 postId）
+     * @return 分桶 Key
+     */
+    public String bucketKey(String field) {
+        return bucketPrefix + bucketOf(field);
+    }
+
+    /**
+     * 计算字段所属桶号
+     *
+     * 实现逻辑：
+     * 1. 数字字段按数值取模，相邻 ID 均匀轮转到各桶。
+     * 2. 非数字字段按 hashCode 取模。
+     *
+     * @param field 哈希字段
+     * @return 桶号（0 ~ bucketCount-1）
+     */
+    public int bucketOf(String field) {
+        if (field == null || field.isEmpty()) {
+            throw new IllegalArgumentException("field 不能为空");
+        }
+        long numeric = parseNumeric(field);
+        return numeric >= 0 ? (int) (numeric % bucketCount) : Math.floorMod(field.hashCode(), bucketCount);
+    }
+
+    /**
+     * 读取单个字段
+     *
+     * 实现逻辑：
+     * 1. 读取所属分桶；未命中且旧哈希未迁移完时回读旧哈希。
+     *
+     * @param client 读客户端（主节点或从节点读视图）
+     * @param field 哈希字段
+     * @return 字段值，不存在返回 null
+     */
+    public String hget(RedisClient<String> client, String field) {
+        String value = client.hget(bucketKey(field), field);
+        if (value == null && !legacyDrained) {
+            value = client.hget(legacyKey, field);
+        }
+        return value;
+    }
+
+    /**
+     * 批量读取字段（同步）
+     *
+     * 实现逻辑：
+     * 1. 按桶分组，每个桶经客户端代理发出一次 HMGET。
+     * 2. 结果按入参下标回填；迁移期间未命中的字段再批量回读旧哈希。
+     *
+     * @param client 读客户端（主节点或从节点读视图）
+     * @param fields 字段列表
+     * @return 与入参顺序一致的值列表，不存在的字段为 null
+     */
+    public List<String> hmget(RedisClient<String> client, List<String> fields) {
+        // 实现思路：
+        // 1. 不走原生管道：逐桶调用 client.hmget，经过近端缓存、合并读、节点保护与命令统计，
+        //    这些能力正是为微博详情 HMGET 而建；同一批字段按桶聚合，请求数不超过涉及的桶数。
+        if (fields == null || fields.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] results = new String[fields.size()];
+        // 核心代码：逐桶经代理读取并按下标回填
+        groupByBucket(fields).forEach((bucket, indexes) ->
+                fill(results, indexes, bucket, client.hmget(bucket, Arrays.asList(pick(fields, indexes)))));
+
+        List<Integer> missing = missingIndexes(results);
+        if (!missing.isEmpty()) {
+            fill(results, missing, legacyKey, client.hmget(legacyKey, Arrays.asList(pick(fields, missing))));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 批量读取字段（异步）
+     *
+     * 实现逻辑：
+     * 1. 各桶 HMGET 并发发出，全部完成后按下标回填。
+     * 2. 迁移期间未命中的字段继续异步回读旧哈希。
+     *
+     * @param client 异步客户端
+     * @param fields 字段列表
+     * @return 与入参顺序一致的值列表 Future
+     */
+    public CompletableFuture<List<String>> hmgetAsync(AsyncRedisClient<String> client, List<String> fields) {
+        return hmgetWith(client::hmget, fields);
+    }
+
+    /**
+     * 批量读取字段（带截止时间与对冲）
+     *
+     * 实现逻辑：
+     * 1. 各桶 HMGET 经对冲读取器并发发出：主节点慢于 p95 时向从节点补发。
+     * 2. 每个桶请求各自施加截止时间，并发执行，整体等待不超过截止时间。
+     *
+     * @param reader 对冲读取器
+     * @param fields 字段列表
+     * @param deadline 截止时间
+     * @return 与入参顺序一致的值列表，不存在的字段为 null
+     * @throws org.springframework.dao.QueryTimeoutException 超过截止时间
+     */
+    public List<String> hmget(RedisHedgedReader reader, List<String> fields, Duration deadline) {
+        // 实现思路：
+        // 1. 复用异步批量读取流程，只替换单桶读取方式。
+        CompletableFuture<List<String>> future = hmgetWith(
+                (bucket, bucketFields) -> reader.hmget(bucket, bucketFields, deadline), fields);
+        return RedisHedgedReader.await(future, legacyKey, deadline);
+    }
+
+    /**
+     * 按指定单桶读取方式批量读取字段
+     *
+     * 实现逻辑：
+     * 1. 各桶 HMGET 并发发出，全部完成后按下标回填。
+     * 2. 迁移期间未命中的字段继续异步回读旧哈希。
+     *
+     * @param bucketReader 单桶读取方式（桶 Key, 字段列表）-> 值列表 Future
+     * @param fields 字段列表
+     * @return 与入参顺序一致的值列表 Future
+     */
+    private CompletableFuture<List<String>> hmgetWith(
+            BiFunction<String, List<String>, CompletableFuture<List<String>>> bucketReader, List<String> fields) {
+        // 实现思路：
+        // 1. 回调只做内存回填，不执行阻塞操作。
+        if (fields == null || fields.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        Map<String, List<Integer>> groups = groupByBucket(fields);
+        String[] results = new String[fields.size()];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+        // 核心代码：各桶并发读取，回调内写入互不重叠的下标
+        groups.forEach((bucket, indexes) -> futures.add(bucketReader.apply(bucket, Arrays.asList(pick(fields, indexes)))
+                .thenAccept(values -> fill(results, indexes, bucket, values))));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> {
+                    List<Integer> missing = missingIndexes(results);
+                    if (missing.isEmpty()) {
+                        return CompletableFuture.completedFuture(Arrays.asList(results));
+                    }
+                    return bucketReader.apply(legacyKey, Arrays.asList(pick(fields, missing)))
+                            .thenApply(values -> {
+                                fill(results, missing, legacyKey, values);
+                                return Arrays.asList(results);
+                            });
+                });
+    }
+
+    /**
+     * 批量读取字段（响应式）
+     *
+     * 实现逻辑：
+     * 1. 各桶 HMGET 并发订阅，全部完成后按下标回填。
+     * 2. 迁移期间未命中的字段继续回读旧哈希。
+     *
+     * @param client 响应式客户端
+     * @param fields 字段列表
+     * @return 与入参顺序一致的值列表
+     */
+    public Mono<List<String>> hmgetReactive(ReactiveRedisClient<String> client, List<String> fields) {
+        // 实现思路：
+        // 1. flatMap 并发订阅各桶请求，结果写入互不重叠的下标。
+        if (fields == null || fields.isEmpty()) {
+            return Mono.just(Collections.emptyList());
+        }
+        Map<String, List<Integer>> groups = groupByBucket(fields);
+        String[] results = new String[fields.size()];
+        return Flux.fromIterable(groups.entrySet())
+                .flatMap(group -> client.hmget(group.getKey(), Arrays.asList(pick(fields, group.getValue())))
+                        .doOnNext(values -> fill(results, group.getValue(), group.getKey(), values)))
+                .then(Mono.defer(() -> {
+                    List<Integer> missing = missingIndexes(results);
+                    if (missing.isEmpty()) {
+                        return Mono.just(Arrays.asList(results));
+                    }
+                    return client.hmget(legacyKey, Arrays.asList(pick(fields, missing)))
+                            .map(values -> {
+                                fill(results, missing, legacyKey, values);
+                                return Arrays.asList(results);
+                            });
+                }));
+    }
+
+    /**
+     * 将旧版单哈希迁移到分桶
+     *
+     * 实现逻辑：
+     * 1. 通过 RedisClient#hscan 惰性遍历旧哈希，每批在一次管道内 HSETNX 到各分桶（不覆盖迁移期间新写入的数据）。
+     * 2. 写入成功后 HDEL 旧哈希中已迁移的字段，中断后重跑可从剩余数据继续。
+     * 3. 旧哈希清空后删除并关闭回读。
+     *
+     * @param client Redis 客户端（用于 HSCAN、管道写入与删除）
+     * @param batchSize 每批字段数（同时作为 HSCAN 的 COUNT）
+     * @return 本次迁移的字段数
+     */
+    public long migrateLegacy(RedisClient<String> client, int batchSize) {
+        // 实现思路：
+        // 1. 逐批迁移，任意时刻只持有一批数据，不对旧哈希执行 HGETALL。
+        if (legacyKey == null || !client.exists(legacyKey)) {
+            legacyDrained = true;
+            return 0L;
+        }
+        log.info("分桶迁移开始|Bucket_migrate_start,legacyKey={},buckets={},legacySize={}",
+                legacyKey, bucketCount, client.hlen(legacyKey));
+        long migrated = 0;
+        Map<String, String> pending = new LinkedHashMap<>(batchSize * 2);
+        try (Stream<Map.Entry<String, String>> entries = client.hscan(legacyKey, batchSize)) {
+            Iterator<Map.Entry<String, String>> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, String> entry = iterator.next();
+                pending.put(entry.getKey(), entry.getValue());
+                if (pending.size() >= batchSize) {
+                    migrated += migrateBatch(client, pending);
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            migrated += migrateBatch(client, pending);
+        }
+        // 迁移期间旧哈希不再有新写入，清空即说明迁移完成
+        if (client.hlen(legacyKey) == 0) {
+            client.del(legacyKey);
+            legacyDrained = true;
+        }
+        log.info("分桶迁移完成|Bucket_migrate_done,legacyKey={},migrated={},drained={}", legacyKey, migrated, legacyDrained);
+        return migrated;
+    }
+
+    /**
+     * 旧哈希是否已迁移完毕
+     *
+     * @return true 表示读取不再回读旧哈希
+     */
+    public boolean isLegacyDrained() {
+        return legacyDrained;
+    }
+
+    /**
+     * 按 Redis 中旧哈希是否存在刷新迁移状态
+     *
+     * 实现逻辑：
+     * 1. 旧哈希不存在视为迁移完毕，关闭回读；存在则开启回读。
+     * 2. 状态变化时记录日志。
+     *
+     * @param client Redis 客户端
+     * @return 刷新后的迁移状态
+     */
+    public boolean refreshLegacyState(RedisClient<String> client) {
+        if (legacyKey == null) {
+            return true;
+        }
+        boolean drained = !Boolean.TRUE.equals(client.exists(legacyKey));
+        if (drained != legacyDrained) {
+            legacyDrained = drained;
+            log.info("分桶旧哈希状态变化|Bucket_legacy_state_changed,legacyKey={},drained={}", legacyKey, drained);
+        }
+        return drained;
+    }
+
+    /**
+     * 定时复查旧哈希状态
+     *
+     * 实现逻辑：
+     * 1. 启动后立即执行一次，此后按固定间隔执行；每次只有一条 EXISTS。
+     * 2. 复查失败保持原状态（回读旧哈希只多一次读，不影响正确性）。
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${redis.bucketed-hash.legacy-check-ms:30000}")
+    public void checkLegacyState() {
+        if (stateClient == null || legacyKey == null) {
+            return;
+        }
+        try {
+            refreshLegacyState(stateClient);
+        } catch (Exception e) {
+            log.warn("分桶旧哈希状态复查失败|Bucket_legacy_check_fail,legacyKey={},error={}", legacyKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 迁移一批字段
+     *
+     * @param client Redis 客户端
+     * @param pending 待迁移字段（迁移后清空）
+     * @return 本批字段数
+     */
+    private int migrateBatch(RedisClient<String> client, Map<String, String> pending) {
+        // 核心代码：先写分桶再删旧字段，任意一步失败都不会丢数据
+        client.pipeline(batch -> pending.forEach((field, value) -> batch.hsetnx(bucketKey(field), field, value)));
+        String[] fields = pending.keySet().toArray(new String[0]);
+        client.pipeline(batch -> batch.hdel(legacyKey, fields));
+        int size = pending.size();
+        pending.clear();
+        return size;
+    }
+
+    private Map<String, List<Integer>> groupByBucket(List<String> fields) {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            groups.computeIfAbsent(bucketKey(fields.get(i)), bucket -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    private List<Integer> missingIndexes(String[] results) {
+        if (legacyDrained) {
+            return Collections.emptyList();
+        }
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    private static String[] pick(List<String> fields, List<Integer> indexes) {
+        String[] picked = new String[indexes.size()];
+        for (int i = 0; i < picked.length; i++) {
+            picked[i] = fields.get(indexes.get(i));
+        }
+        return picked;
+    }
+
+    private void fill(String[] results, List<Integer> indexes, String key, List<String> values) {
+        // 异步与响应式客户端不经过 RedisClientImpl，在此按 Key 统一解压（已解压的值无魔数头，原样返回）
+        for (int i = 0; i < indexes.size() && i < values.size(); i++) {
+            String value = values.get(i);
+            results[indexes.get(i)] = valueCodec != null ? valueCodec.decode(key, value) : value;
+        }
+    }
+
+    private static long parseNumeric(String field) {
+        if (field.length() > 18) {
+            return -1L;
+        }
+        long value = 0;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1L;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
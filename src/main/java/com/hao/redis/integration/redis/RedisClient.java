@@ -2,10 +2,13 @@ package com.hao.redis.integration.redis;
 
 import org.springframework.data.redis.core.Cursor;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * 统一 Redis 客户端接口
@@ -23,6 +26,9 @@ import java.util.concurrent.TimeUnit;
  * 核心实现思路：
  * - 按 Redis 数据类型分组定义方法。
  * - 实现层负责参数校验与模板调用。
+ * - 单条命令内的多 Key 原子操作（集合运算及其 STORE、RPOPLPUSH、BLPOP/BRPOP、RENAME）要求全部 Key 位于同一 Slot，
+ *   跨 Slot 时抛出 IllegalArgumentException；同一实体的 Key 使用 RedisKeysEnum#joinTagged 共址。
+ *   MGET/MSET/DEL 按节点拆分执行，本身不保证原子性，不受此限制。
  *
  * @param <T> 字符串操作的值类型（如 String 或序列化后的对象）
  */
@@ -185,6 +191,8 @@ public interface RedisClient<T> {
 
     /**
      * 哈希 -> HGETALL，获取全部字段。示例：HGETALL user:1。
+     * <p>
+     * 单次回复返回整个哈希，仅用于小哈希；大哈希请使用 hscan。
      */
     Map<String, T> hgetAll(String key);
 
@@ -204,12 +212,12 @@ public interface RedisClient<T> {
     List<T> hmget(String key, List<String> fields);
 
     /**
-     * 哈希 -> HKEYS，列出字段名。示例：HKEYS user:1。
+     * 哈希 -> HKEYS，列出字段名。示例：HKEYS user:1。大哈希请使用 hscan。
      */
     Set<String> hkeys(String key);
 
     /**
-     * 哈希 -> HVALS，列出字段值。示例：HVALS user:1。
+     * 哈希 -> HVALS，列出字段值。示例：HVALS user:1。大哈希请使用 hscan。
      */
     List<T> hvals(String key);
 
@@ -240,6 +248,18 @@ public interface RedisClient<T> {
      */
     Double hincrByFloat(String key, String field, double delta);
 
+    /**
+     * 哈希 -> HSCAN，按页惰性遍历字段。示例：HSCAN weibo:info 0 COUNT 500。
+     * <p>
+     * 每次只向服务端请求一页（约 count 个字段），消费到页尾才拉取下一页；
+     * 返回的流持有游标与连接，应使用 try-with-resources 关闭；遍历期间有写入时字段可能重复出现。
+     *
+     * @param key 哈希键
+     * @param count 每页建议数量（COUNT）
+     * @return 字段 -> 值 的流
+     */
+    Stream<Map.Entry<String, T>> hscan(String key, int count);
+
     // 区域结束
 
     // 区域：列表
@@ -333,9 +353,22 @@ public interface RedisClient<T> {
 
     /**
      * 无序集合 -> SMEMBERS，获取全部成员。示例：SMEMBERS tags。
+     * <p>
+     * 单次回复返回整个集合，仅用于小集合；大集合（如 uv:daily:*）请使用 sscan。
      */
     Set<T> smembers(String key);
 
+    /**
+     * 无序集合 -> SSCAN，按页惰性遍历成员。示例：SSCAN uv:daily:2024-01-01 0 COUNT 500。
+     * <p>
+     * 返回的流持有游标与连接，应使用 try-with-resources 关闭；遍历期间有写入时成员可能重复出现。
+     *
+     * @param key 集合键
+     * @param count 每页建议数量（COUNT）
+     * @return 成员流
+     */
+    Stream<T> sscan(String key, int count);
+
     /**
      * 无序集合 -> SISMEMBER，判断成员存在。示例：SISMEMBER tags a。
      */
@@ -519,6 +552,17 @@ public interface RedisClient<T> {
      */
     Long zunionstore(String destination, String... keys);
 
+    /**
+     * 有序集合 -> ZSCAN，按页惰性遍历成员与分值。示例：ZSCAN rank:hot 0 COUNT 500。
+     * <p>
+     * 遍历顺序不按分值排序；返回的流持有游标与连接，应使用 try-with-resources 关闭。
+     *
+     * @param key 有序集合键
+     * @param count 每页建议数量（COUNT）
+     * @return 成员 -> 分值 的流
+     */
+    Stream<Map.Entry<T, Double>> zscan(String key, int count);
+
     // 区域结束：有序集合
 
     // 区域：过期控制
@@ -563,14 +607,89 @@ public interface RedisClient<T> {
     Boolean renamenx(String oldKey, String newKey);
 
     /**
-     * 通用 -> KEYS，模式匹配列出键（生产慎用）。示例：KEYS user:*。
+     * 通用 -> KEYS，模式匹配列出键。示例：KEYS user:*。
+     * <p>
+     * 集群下基于全主节点并行 SCAN 实现，不再执行阻塞分片的 KEYS 命令；结果全部加载到内存，大 Key 空间请使用 scanStream。
      */
     Set<String> keys(String pattern);
 
     /**
      * 通用 -> SCAN，迭代遍历键。示例：SCAN 0 MATCH user:* COUNT 100。
+     * <p>
+     * 集群下只会遍历模板选中的单个节点，结果不完整；遍历全集群请使用 scanStream。
      */
     Cursor<String> scan(String pattern, long count);
 
+    /**
+     * 通用 -> SCAN（全集群），所有主节点并行遍历并合并为流。示例：SCAN 0 MATCH user:* COUNT 1000。
+     * <p>
+     * 返回的流持有后台扫描任务，应使用 try-with-resources 关闭；rehash 期间同一 Key 可能重复出现。
+     */
+    Stream<String> scanStream(String pattern, int pageSize);
+
+    // 区域结束
+
+    // 区域：批量管道
+
+    /**
+     * 管道批量执行：回调内登记的命令合并为一次网络刷写。示例：INCR + HSET + LPUSH 一次往返。
+     * <p>
+     * 集群模式下命令按 Slot 路由，每个节点仅刷写一次；方法返回时回调中拿到的 Future 均已完成。
+     * 注意：管道不保证原子性，命令间存在依赖（如用 INCR 结果作为下一条命令参数）时需拆分调用。
+     *
+     * @param batchConsumer 命令登记回调
+     */
+    void pipeline(Consumer<RedisBatch<T>> batchConsumer);
+
+    // 区域结束
+
+    // 区域：读路由
+
+    /**
+     * 从节点读视图：返回的客户端读命令优先路由到从节点（REPLICA_PREFERRED），无可用从节点时回退主节点。
+     * <p>
+     * 从节点存在复制延迟，仅适用于可容忍短暂旧数据的展示类读（如时间轴、热榜）；
+     * 写后立即读、加锁、计数等路径必须继续使用当前客户端。未配置从节点读时返回当前客户端本身。
+     *
+     * @return 从节点读视图
+     */
+    default RedisClient<T> replicaReads() {
+        return this;
+    }
+
+    // 区域结束
+
+    // 区域：截止时间读
+
+    /**
+     * 哈希 -> HGET（带截止时间）。超过截止时间抛出 QueryTimeoutException，不等待全局命令超时。
+     * <p>
+     * 配置了对冲读时，主节点在该命令 p95 延迟内未返回则同时向从节点读取，取先返回者（可能读到短暂旧数据）。
+     * 未配置时退化为普通 HGET。
+     *
+     * @param deadline 截止时间
+     */
+    default T hget(String key, String field, Duration deadline) {
+        return hget(key, field);
+    }
+
+    /**
+     * 哈希 -> HMGET（带截止时间），语义同 {@link #hget(String, String, Duration)}。
+     *
+     * @param deadline 截止时间
+     */
+    default List<T> hmget(String key, List<String> fields, Duration deadline) {
+        return hmget(key, fields);
+    }
+
+    /**
+     * 有序集合 -> ZREVRANGE（带截止时间），语义同 {@link #hget(String, String, Duration)}。
+     *
+     * @param deadline 截止时间
+     */
+    default Set<T> zrevrange(String key, long start, long stop, Duration deadline) {
+        return zrevrange(key, start, stop);
+    }
+
     // 区域结束
 }
@@ -1,5 +1,12 @@
 package com.hao.redis.integration.redis;
 
+import com.hao.redis.common.enums.RedisScriptEnum;
+import com.hao.redis.common.util.RedisSlotUtil;
+import com.hao.redis.integration.cache.RedisNearCache;
+import com.hao.redis.integration.cluster.RedisClusterScanner;
+import com.hao.redis.integration.cluster.RedisClusterTopologyCache;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.DataType;
 import org.springframework.data.redis.connection.ReturnType;
@@ -13,9 +20,14 @@ import org.springframework.util.StringUtils;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * RedisClient 接口实现
@@ -37,12 +49,224 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RedisClientImpl implements RedisClient<String> {
 
+    /**
+     * 批量命令默认等待超时时间（未注入配置时使用）
+     */
+    private static final Duration DEFAULT_BATCH_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * KEYS 基于 SCAN 实现时的单页 COUNT 提示值
+     */
+    private static final int KEYS_SCAN_PAGE_SIZE = 1000;
+
+    private static final Function<String, byte[]> STRING_ENCODER = value -> value.getBytes(StandardCharsets.UTF_8);
+    private static final Function<byte[], String> STRING_DECODER = raw -> new String(raw, StandardCharsets.UTF_8);
+
     private final StringRedisTemplate redisTemplate;
 
+    /**
+     * 管道与多 Key 扇出的等待超时，与单命令超时（spring.data.redis.timeout）一致
+     */
+    private Duration batchTimeout = DEFAULT_BATCH_TIMEOUT;
+
+    /**
+     * 集群拓扑缓存（可选），用于多 Key 命令按节点分组扇出
+     */
+    private RedisClusterTopologyCache topologyCache;
+
+    /**
+     * 近端缓存（可选），用于哈希热点读的本地命中
+     */
+    private RedisNearCache nearCache;
+
+    /**
+     * 读请求合并器（可选），开启后并发 GET/HGET 合并为 MGET/HMGET
+     */
+    private RedisReadCoalescer readCoalescer;
+
+    /**
+     * 集群并行扫描器（可选），用于 KEYS 与全集群 SCAN
+     */
+    private RedisClusterScanner clusterScanner;
+
+    /**
+     * 脚本注册中心（可选），用于以 EVALSHA 执行内置脚本
+     */
+    private RedisScriptRegistry scriptRegistry;
+
+    /**
+     * 从节点读视图（可选），读命令优先路由到从节点
+     */
+    private RedisClient<String> replicaClient;
+
+    /**
+     * 当前实例是否为从节点读视图，切面据此把流量归入独立的节点维度
+     */
+    private boolean replicaView;
+
+    /**
+     * 热点 Key 探测器（可选），对单 Key 命令抽样计数
+     */
+    private RedisHotKeyDetector hotKeyDetector;
+
+    /**
+     * 值压缩编解码器（可选），可压缩 Key 的大值写入前压缩
+     */
+    private RedisValueCodec valueCodec;
+
+    /**
+     * 对冲读取器（可选），用于带截止时间的读命令
+     */
+    private RedisHedgedReader hedgedReader;
+
     public RedisClientImpl(StringRedisTemplate redisTemplate) {
         this.redisTemplate = redisTemplate;
     }
 
+    /**
+     * 注入批量命令等待超时
+     *
+     * 实现逻辑：
+     * 1. 管道与多 Key 扇出使用与单命令相同的超时，避免批量等待远长于单命令。
+     *
+     * @param batchTimeout 等待超时（通常为 spring.data.redis.timeout）
+     */
+    public void setBatchTimeout(Duration batchTimeout) {
+        if (batchTimeout != null && !batchTimeout.isNegative() && !batchTimeout.isZero()) {
+            this.batchTimeout = batchTimeout;
+        }
+    }
+
+    /**
+     * 注入集群拓扑缓存
+     *
+     * 实现逻辑：
+     * 1. 保存拓扑缓存引用；未注入时多 Key 命令仅按 Slot 分组。
+     *
+     * @param topologyCache 集群拓扑缓存
+     */
+    public void setTopologyCache(RedisClusterTopologyCache topologyCache) {
+        this.topologyCache = topologyCache;
+    }
+
+    /**
+     * 注入近端缓存
+     *
+     * 实现逻辑：
+     * 1. 保存近端缓存引用；未注入或跟踪未就绪时哈希读直接访问 Redis。
+     *
+     * @param nearCache 近端缓存
+     */
+    public void setNearCache(RedisNearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    /**
+     * 注入读请求合并器
+     *
+     * 实现逻辑：
+     * 1. 保存合并器引用；未注入时 GET/HGET 逐条直接访问 Redis。
+     *
+     * @param readCoalescer 读请求合并器
+     */
+    public void setReadCoalescer(RedisReadCoalescer readCoalescer) {
+        this.readCoalescer = readCoalescer;
+    }
+
+    /**
+     * 注入集群并行扫描器
+     *
+     * 实现逻辑：
+     * 1. 保存扫描器引用；未注入时 KEYS/全集群 SCAN 回退到模板实现。
+     *
+     * @param clusterScanner 集群并行扫描器
+     */
+    public void setClusterScanner(RedisClusterScanner clusterScanner) {
+        this.clusterScanner = clusterScanner;
+    }
+
+    /**
+     * 注入脚本注册中心
+     *
+     * 实现逻辑：
+     * 1. 保存注册中心引用；未注入时 releaseLock 以 EVAL 上传脚本正文执行。
+     *
+     * @param scriptRegistry 脚本注册中心
+     */
+    public void setScriptRegistry(RedisScriptRegistry scriptRegistry) {
+        this.scriptRegistry = scriptRegistry;
+    }
+
+    /**
+     * 注入从节点读视图
+     *
+     * 实现逻辑：
+     * 1. 保存从节点读客户端引用；未注入时 replicaReads 返回当前客户端，读写均走主节点。
+     *
+     * @param replicaClient 从节点读客户端
+     */
+    public void setReplicaClient(RedisClient<String> replicaClient) {
+        this.replicaClient = replicaClient;
+    }
+
+    /**
+     * 标记为从节点读视图
+     *
+     * 实现逻辑：
+     * 1. 统计与节点保护切面按“主节点地址 + 从节点后缀”区分流量，从节点抖动不影响主节点熔断状态。
+     *
+     * @param replicaView 是否为从节点读视图
+     */
+    public void setReplicaView(boolean replicaView) {
+        this.replicaView = replicaView;
+    }
+
+    /**
+     * 是否为从节点读视图
+     *
+     * @return 从节点读视图返回 true
+     */
+    public boolean isReplicaView() {
+        return replicaView;
+    }
+
+    /**
+     * 注入热点 Key 探测器
+     *
+     * 实现逻辑：
+     * 1. 保存探测器引用；未注入时不做访问抽样。
+     *
+     * @param hotKeyDetector 热点 Key 探测器
+     */
+    public void setHotKeyDetector(RedisHotKeyDetector hotKeyDetector) {
+        this.hotKeyDetector = hotKeyDetector;
+    }
+
+    /**
+     * 注入值压缩编解码器
+     *
+     * 实现逻辑：
+     * 1. 保存编解码器引用；未注入时读写均原样透传，不做压缩与解压。
+     * 2. 注入后仅对可压缩前缀的 Key 编解码：写入按开关与阈值压缩，读取按魔数头解压（关闭压缩后仍解压历史值）。
+     *
+     * @param valueCodec 值压缩编解码器
+     */
+    public void setValueCodec(RedisValueCodec valueCodec) {
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * 注入对冲读取器
+     *
+     * 实现逻辑：
+     * 1. 保存对冲读取器引用；未注入时带截止时间的读命令退化为普通读命令。
+     *
+     * @param hedgedReader 对冲读取器
+     */
+    public void setHedgedReader(RedisHedgedReader hedgedReader) {
+        this.hedgedReader = hedgedReader;
+    }
+
     /* ------------------ 辅助校验 ------------------ */
     /**
      * 校验字符串参数
@@ -62,6 +286,75 @@ public class RedisClientImpl implements RedisClient<String> {
         }
     }
 
+    /**
+     * 校验 Key 参数并记录访问
+     *
+     * 实现逻辑：
+     * 1. 校验 Key 非空。
+     * 2. 注入了热点探测器时交给探测器抽样计数。
+     *
+     * @param key Redis Key
+     */
+    private void checkKey(String key) {
+        validateKey(key, "key");
+        if (hotKeyDetector != null) {
+            hotKeyDetector.record(key);
+        }
+    }
+
+    /**
+     * 编码待写入值
+     *
+     * @param key Redis Key
+     * @param value 原始值
+     * @return 实际写入值（可能为压缩文本）
+     */
+    private String encodeValue(String key, String value) {
+        return valueCodec != null ? valueCodec.encode(key, value) : value;
+    }
+
+    /**
+     * 解码读取到的值
+     *
+     * @param key Redis Key
+     * @param value Redis 中的值
+     * @return 原始值；未注入编解码器或 Key 不可压缩时原样返回
+     */
+    private String decodeValue(String key, String value) {
+        return valueCodec != null ? valueCodec.decode(key, value) : value;
+    }
+
+    /**
+     * 批量编码待写入值（MSET）
+     *
+     * @param values Key -> 原始值
+     * @return Key -> 实际写入值，未注入编解码器时返回原 Map
+     */
+    private Map<String, String> encodeValues(Map<String, String> values) {
+        if (valueCodec == null) {
+            return values;
+        }
+        Map<String, String> stored = new LinkedHashMap<>(values.size() * 2);
+        values.forEach((key, value) -> stored.put(key, valueCodec.encode(key, value)));
+        return stored;
+    }
+
+    /**
+     * 批量编码哈希字段值（HMSET），同一哈希共用 Key 的压缩配置
+     *
+     * @param key Redis Key
+     * @param fields 字段 -> 原始值
+     * @return 字段 -> 实际写入值，未注入编解码器或 Key 不可压缩时返回原 Map
+     */
+    private Map<String, String> encodeFields(String key, Map<String, String> fields) {
+        if (valueCodec == null || !valueCodec.isCompressible(key)) {
+            return fields;
+        }
+        Map<String, String> stored = new LinkedHashMap<>(fields.size() * 2);
+        fields.forEach((field, value) -> stored.put(field, valueCodec.encode(key, value)));
+        return stored;
+    }
+
     /**
      * 校验数组参数
      *
@@ -80,6 +373,38 @@ public class RedisClientImpl implements RedisClient<String> {
         }
     }
     
+    /**
+     * 校验多 Key 原子命令的 Key 位于同一 Slot
+     *
+     * 实现逻辑：
+     * 1. 逐个校验 Key 非空。
+     * 2. Key 分布在不同 Slot 时抛出异常，不下发命令。
+     *
+     * @param keys 命令涉及的全部 Key
+     */
+    private void validateSameSlot(String... keys) {
+        // 实现思路：
+        // 1. 集群模式下 Spring Data Redis 会把跨 Slot 的集合运算、RENAME 等拆成多条命令在本地拼装，
+        //    不报错但失去原子性；统一在客户端拒绝，调用方需用 Hash Tag 让同一实体的 Key 共址。
+        for (String key : keys) {
+            validateKey(key, "key");
+        }
+        RedisSlotUtil.requireSameSlot(keys);
+    }
+
+    /**
+     * 校验目标 Key 与源 Key 位于同一 Slot（*STORE 类命令）
+     *
+     * @param destination 目标 Key
+     * @param keys 源 Key
+     */
+    private void validateSameSlot(String destination, String[] keys) {
+        String[] all = new String[keys.length + 1];
+        all[0] = destination;
+        System.arraycopy(keys, 0, all, 1, keys.length);
+        validateSameSlot(all);
+    }
+
     /**
      * 校验集合参数
      *
@@ -124,10 +449,10 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
         validatePositive(expireTime, "expireTime");
-        redisTemplate.opsForValue().set(key, value, Duration.ofSeconds(expireTime));
+        redisTemplate.opsForValue().set(key, encodeValue(key, value), Duration.ofSeconds(expireTime));
     }
 
     /** 字符串 -> SET：覆盖写入，无过期。示例：SET user:1 "Tom"。 */
@@ -136,9 +461,9 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
-        redisTemplate.opsForValue().set(key, value);
+        redisTemplate.opsForValue().set(key, encodeValue(key, value));
     }
 
     /** 字符串 -> SETNX：不存在才写。示例：SETNX lock:task 1。 */
@@ -147,9 +472,9 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
-        return redisTemplate.opsForValue().setIfAbsent(key, value);
+        return redisTemplate.opsForValue().setIfAbsent(key, encodeValue(key, value));
     }
 
     /** 字符串 -> SETEX：写入并设置过期。示例：SETEX captcha:123 300 "8391"。 */
@@ -158,10 +483,10 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
         validatePositive(expireSeconds, "expireSeconds");
-        redisTemplate.opsForValue().set(key, value, Duration.ofSeconds(expireSeconds));
+        redisTemplate.opsForValue().set(key, encodeValue(key, value), Duration.ofSeconds(expireSeconds));
     }
 
     /**
@@ -176,7 +501,7 @@ public class RedisClientImpl implements RedisClient<String> {
      */
     @Override
     public Boolean tryLock(String key, String value, long expireTime, TimeUnit unit) {
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
         validatePositive(expireTime, "expireTime");
         return redisTemplate.opsForValue().setIfAbsent(key, value, expireTime, unit);
@@ -195,7 +520,7 @@ public class RedisClientImpl implements RedisClient<String> {
      */
     @Override
     public void setWithRandomTtl(String key, String value, long time, TimeUnit unit) {
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
         validatePositive(time, "time");
 
@@ -209,7 +534,7 @@ public class RedisClientImpl implements RedisClient<String> {
         long finalTime = time + offset;
         
         // 3. 写入 Redis
-        redisTemplate.opsForValue().set(key, value, finalTime, unit);
+        redisTemplate.opsForValue().set(key, encodeValue(key, value), finalTime, unit);
         
         log.debug("预防雪崩设置完成|Avalanche_protection, key={}, baseTtl={}, finalTtl={}", key, time, finalTime);
     }
@@ -220,8 +545,15 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
-        return redisTemplate.opsForValue().get(key);
+        checkKey(key);
+        if (readCoalescer != null) {
+            // 核心代码：并发单 Key 读合并为按 Slot 的 MGET，队列满时回退直接读取
+            CompletableFuture<String> coalesced = readCoalescer.get(key);
+            if (coalesced != null) {
+                return decodeValue(key, readCoalescer.await(coalesced));
+            }
+        }
+        return decodeValue(key, redisTemplate.opsForValue().get(key));
     }
 
     /** 字符串 -> SETBIT：设置位。示例：SETBIT mykey 7 1。 */
@@ -230,7 +562,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         if (offset < 0) {
             throw new IllegalArgumentException("offset 不能为负数");
         }
@@ -243,7 +575,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         if (offset < 0) {
             throw new IllegalArgumentException("offset 不能为负数");
         }
@@ -257,8 +589,35 @@ public class RedisClientImpl implements RedisClient<String> {
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
         validateParams(keys, "keys");
-        List<String> result = redisTemplate.opsForValue().multiGet(Arrays.asList(keys));
-        return result != null ? result : Collections.emptyList();
+        if (hotKeyDetector != null) {
+            for (String key : keys) {
+                hotKeyDetector.record(key);
+            }
+        }
+        Map<String, Map<Integer, List<Integer>>> groups = groupByNodeAndSlot(keys);
+        if (countSlots(groups) == 1) {
+            // 同 Slot 直接单条 MGET，无需扇出
+            List<String> result = redisTemplate.opsForValue().multiGet(Arrays.asList(keys));
+            if (result == null) {
+                return Collections.emptyList();
+            }
+            List<String> decoded = new ArrayList<>(result.size());
+            for (int i = 0; i < result.size(); i++) {
+                decoded.add(decodeValue(keys[i], result.get(i)));
+            }
+            return decoded;
+        }
+        // 核心代码：按 Slot 扇出 MGET，结果按输入下标回填，保证顺序与入参一致
+        String[] results = new String[keys.length];
+        fanOut(groups, (commands, indexes) -> commands.mget(rawKeys(keys, indexes)).toCompletableFuture()
+                .thenAccept(values -> {
+                    for (int i = 0; i < values.size(); i++) {
+                        KeyValue<byte[], byte[]> kv = values.get(i);
+                        int index = indexes.get(i);
+                        results[index] = kv.hasValue() ? decodeValue(keys[index], STRING_DECODER.apply(kv.getValue())) : null;
+                    }
+                }));
+        return Arrays.asList(results);
     }
 
     /** 字符串 -> MSET：批量写入。示例：MSET a 1 b 2。 */
@@ -270,7 +629,21 @@ public class RedisClientImpl implements RedisClient<String> {
         if (values == null || values.isEmpty()) {
             throw new IllegalArgumentException("values 不能为空");
         }
-        redisTemplate.opsForValue().multiSet(values);
+        String[] keys = values.keySet().toArray(new String[0]);
+        Map<String, String> stored = encodeValues(values);
+        Map<String, Map<Integer, List<Integer>>> groups = groupByNodeAndSlot(keys);
+        if (countSlots(groups) == 1) {
+            redisTemplate.opsForValue().multiSet(stored);
+            return;
+        }
+        // 核心代码：按 Slot 扇出 MSET，每个 Slot 内保持原子写入
+        fanOut(groups, (commands, indexes) -> {
+            Map<byte[], byte[]> slotValues = new LinkedHashMap<>(indexes.size() * 2);
+            for (Integer index : indexes) {
+                slotValues.put(STRING_ENCODER.apply(keys[index]), STRING_ENCODER.apply(stored.get(keys[index])));
+            }
+            return commands.mset(slotValues).toCompletableFuture();
+        });
     }
 
     /** 字符串 -> GETSET：写新值返回旧值。示例：GETSET counter 0。 */
@@ -279,9 +652,9 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
-        return redisTemplate.opsForValue().getAndSet(key, value);
+        return decodeValue(key, redisTemplate.opsForValue().getAndSet(key, encodeValue(key, value)));
     }
 
     /** 字符串 -> EXISTS：判断 key 是否存在。示例：EXISTS user:1。 */
@@ -290,7 +663,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.hasKey(key);
     }
 
@@ -300,7 +673,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForValue().increment(key);
     }
 
@@ -310,7 +683,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForValue().increment(key, delta);
     }
 
@@ -320,7 +693,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForValue().increment(key, delta);
     }
 
@@ -330,7 +703,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForValue().decrement(key);
     }
 
@@ -340,7 +713,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForValue().decrement(key, delta);
     }
 
@@ -350,7 +723,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(appendValue, "appendValue");
         Integer appended = redisTemplate.opsForValue().append(key, appendValue);
         return appended == null ? 0L : appended.longValue();
@@ -362,7 +735,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForValue().size(key);
     }
 
@@ -372,8 +745,9 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         Boolean deleted = redisTemplate.delete(key);
+        invalidateNearCache(key);
         return Boolean.TRUE.equals(deleted) ? 1L : 0L;
     }
 
@@ -383,8 +757,22 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
+        // 3. 与 del(String) 及哈希写入一致，删除完成后再失效近端缓存，
+        //    避免失效与删除之间的并发读取把旧值重新写回缓存；异常路径同样失效（可能已部分删除）。
         validateParams(keys, "keys");
-        return redisTemplate.delete(Arrays.asList(keys));
+        try {
+            Map<String, Map<Integer, List<Integer>>> groups = groupByNodeAndSlot(keys);
+            if (countSlots(groups) == 1) {
+                return redisTemplate.delete(Arrays.asList(keys));
+            }
+            // 核心代码：按 Slot 扇出 DEL，累加各 Slot 删除数量
+            LongAdder deleted = new LongAdder();
+            fanOut(groups, (commands, indexes) -> commands.del(rawKeys(keys, indexes)).toCompletableFuture()
+                    .thenAccept(count -> deleted.add(count == null ? 0L : count)));
+            return deleted.sum();
+        } finally {
+            invalidateNearCache(keys);
+        }
     }
 
     // 区域结束
@@ -397,10 +785,11 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(field, "field");
         validateKey(value, "value");
-        redisTemplate.opsForHash().put(key, field, value);
+        redisTemplate.opsForHash().put(key, field, encodeValue(key, value));
+        invalidateNearCache(key);
     }
 
     /** 哈希 -> HSETNX：字段不存在才写。示例：HSETNX user:1 name "Tom"。 */
@@ -409,10 +798,12 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(field, "field");
         validateKey(value, "value");
-        return redisTemplate.opsForHash().putIfAbsent(key, field, value);
+        Boolean created = redisTemplate.opsForHash().putIfAbsent(key, field, encodeValue(key, value));
+        invalidateNearCache(key);
+        return created;
     }
 
     /** 哈希 -> HGET：读取字段。示例：HGET user:1 name。 */
@@ -421,10 +812,13 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(field, "field");
-        Object val = redisTemplate.opsForHash().get(key, field);
-        return val != null ? val.toString() : null;
+        if (nearCache != null && nearCache.isCacheable(key)) {
+            // 核心代码：近端缓存命中时免去网络往返
+            return nearCache.getField(key, field, () -> loadHashField(key, field));
+        }
+        return loadHashField(key, field);
     }
 
     /** 哈希 -> HGETALL：获取全部字段。示例：HGETALL user:1。 */
@@ -433,7 +827,31 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
+        if (nearCache != null && nearCache.isCacheable(key)) {
+            // 核心代码：近端缓存命中时免去网络往返
+            return nearCache.getAll(key, () -> loadHashEntries(key));
+        }
+        return loadHashEntries(key);
+    }
+
+    private String loadHashField(String key, String field) {
+        if (readCoalescer != null) {
+            CompletableFuture<String> coalesced = readCoalescer.hget(key, field);
+            if (coalesced != null) {
+                return decodeValue(key, readCoalescer.await(coalesced));
+            }
+        }
+        Object val = redisTemplate.opsForHash().get(key, field);
+        return val != null ? decodeValue(key, val.toString()) : null;
+    }
+
+    private List<String> loadHashFields(String key, List<String> fields) {
+        List<Object> vals = redisTemplate.opsForHash().multiGet(key, new ArrayList<>(fields));
+        return vals.stream().map(v -> v != null ? decodeValue(key, v.toString()) : null).collect(Collectors.toList());
+    }
+
+    private Map<String, String> loadHashEntries(String key) {
         Map<Object, Object> entries = redisTemplate.opsForHash().entries(key);
         if (entries.isEmpty()) {
             return Collections.emptyMap();
@@ -441,7 +859,7 @@ public class RedisClientImpl implements RedisClient<String> {
         return entries.entrySet().stream()
                 .collect(Collectors.toMap(
                         e -> e.getKey().toString(),
-                        e -> e.getValue().toString(),
+                        e -> decodeValue(key, e.getValue().toString()),
                         (e1, e2) -> e1,
                         LinkedHashMap::new
                 ));
@@ -453,11 +871,12 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         if (paramMap == null || paramMap.isEmpty()) {
             throw new IllegalArgumentException("paramMap 不能为空");
         }
-        redisTemplate.opsForHash().putAll(key, paramMap);
+        redisTemplate.opsForHash().putAll(key, encodeFields(key, paramMap));
+        invalidateNearCache(key);
     }
 
     /** 哈希 -> HMGET：批量读字段。示例：HMGET user:1 name age。 */
@@ -466,10 +885,9 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateParams(fields, "fields");
-        List<Object> vals = redisTemplate.opsForHash().multiGet(key, Arrays.asList(fields));
-        return vals.stream().map(v -> v != null ? v.toString() : null).collect(Collectors.toList());
+        return hmget(key, Arrays.asList(fields));
     }
     
     /** 哈希 -> HMGET：批量读字段（List 参数重载）。示例：HMGET user:1 [name, age]。 */
@@ -478,10 +896,13 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateCollection(fields, "fields");
-        List<Object> vals = redisTemplate.opsForHash().multiGet(key, new ArrayList<>(fields));
-        return vals.stream().map(v -> v != null ? v.toString() : null).collect(Collectors.toList());
+        if (nearCache != null && nearCache.isCacheable(key)) {
+            // 核心代码：仅缺失字段回源，已缓存字段本地命中
+            return nearCache.getFields(key, fields, missing -> loadHashFields(key, missing));
+        }
+        return loadHashFields(key, fields);
     }
 
     /** 哈希 -> HKEYS：列出字段名。示例：HKEYS user:1。 */
@@ -490,7 +911,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         Set<Object> keys = redisTemplate.opsForHash().keys(key);
         if (keys == null || keys.isEmpty()) {
             return Collections.emptySet();
@@ -504,12 +925,12 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         List<Object> vals = redisTemplate.opsForHash().values(key);
         if (vals == null || vals.isEmpty()) {
             return Collections.emptyList();
         }
-        return vals.stream().map(v -> v != null ? v.toString() : null).collect(Collectors.toList());
+        return vals.stream().map(v -> v != null ? decodeValue(key, v.toString()) : null).collect(Collectors.toList());
     }
 
     /** 哈希 -> HLEN：字段数量。示例：HLEN user:1。 */
@@ -518,7 +939,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForHash().size(key);
     }
 
@@ -528,7 +949,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(field, "field");
         return redisTemplate.opsForHash().hasKey(key, field);
     }
@@ -539,9 +960,11 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateParams(fields, "fields");
-        return redisTemplate.opsForHash().delete(key, (Object[]) fields);
+        Long deleted = redisTemplate.opsForHash().delete(key, (Object[]) fields);
+        invalidateNearCache(key);
+        return deleted;
     }
 
     /** 哈希 -> HINCRBY：整数字段自增。示例：HINCRBY user:1 score 10。 */
@@ -550,9 +973,11 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(field, "field");
-        return redisTemplate.opsForHash().increment(key, field, delta);
+        Long result = redisTemplate.opsForHash().increment(key, field, delta);
+        invalidateNearCache(key);
+        return result;
     }
 
     /** 哈希 -> HINCRBYFLOAT：浮点字段自增。示例：HINCRBYFLOAT user:1 price 1.5。 */
@@ -561,9 +986,26 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(field, "field");
-        return redisTemplate.opsForHash().increment(key, field, delta);
+        Double result = redisTemplate.opsForHash().increment(key, field, delta);
+        invalidateNearCache(key);
+        return result;
+    }
+
+    /** 哈希 -> HSCAN：按页惰性遍历字段。示例：HSCAN weibo:info 0 COUNT 500。 */
+    @Override
+    public Stream<Map.Entry<String, String>> hscan(String key, int count) {
+        // 实现思路：
+        // 1. 游标按需拉取下一页，JVM 中任意时刻只持有一页数据。
+        // 2. 值按需解压，与 HGET 读取结果一致；流关闭时释放游标占用的连接。
+        checkKey(key);
+        validatePositive(count, "count");
+        ScanOptions options = ScanOptions.scanOptions().count(count).build();
+        Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(key, options);
+        return cursor.stream()
+                .map(entry -> Map.entry((String) entry.getKey(), decodeValue(key, (String) entry.getValue())))
+                .onClose(cursor::close);
     }
 
     // 区域结束
@@ -576,7 +1018,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateParams(values, "values");
         return redisTemplate.opsForList().leftPushAll(key, values);
     }
@@ -587,7 +1029,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateParams(values, "values");
         return redisTemplate.opsForList().rightPushAll(key, values);
     }
@@ -598,7 +1040,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForList().leftPop(key);
     }
 
@@ -608,7 +1050,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForList().rightPop(key);
     }
 
@@ -621,23 +1063,11 @@ public class RedisClientImpl implements RedisClient<String> {
         // 3. 这样可以实现真正的原子性多 Key 监听。
         validateParams(keys, "keys");
         validatePositive(timeoutSeconds, "timeoutSeconds");
+        validateSameSlot(keys);
 
         // 核心修复：使用 execute 调用底层 bLPop
-        return redisTemplate.execute((RedisCallback<List<String>>) connection -> {
-            byte[][] keyBytes = new byte[keys.length][];
-            for (int i = 0; i < keys.length; i++) {
-                keyBytes[i] = keys[i].getBytes(StandardCharsets.UTF_8);
-            }
-            List<byte[]> result = connection.bLPop(timeoutSeconds, keyBytes);
-            if (result == null || result.isEmpty()) {
-                return null;
-            }
-            // bLPop 返回的第一个元素是 key，第二个是 value
-            return Arrays.asList(
-                    new String(result.get(0), StandardCharsets.UTF_8),
-                    new String(result.get(1), StandardCharsets.UTF_8)
-            );
-        });
+        return blockingPop(keys, rawKeys -> redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.bLPop(timeoutSeconds, rawKeys)));
     }
 
     /** 列表 -> BRPOP：阻塞右出队。示例：BRPOP 5 queue。 */
@@ -648,23 +1078,34 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 使用 RedisTemplate 的 execute 方法调用底层连接的 bRPop。
         validateParams(keys, "keys");
         validatePositive(timeoutSeconds, "timeoutSeconds");
+        validateSameSlot(keys);
 
         // 核心修复：使用 execute 调用底层 bRPop
-        return redisTemplate.execute((RedisCallback<List<String>>) connection -> {
-            byte[][] keyBytes = new byte[keys.length][];
-            for (int i = 0; i < keys.length; i++) {
-                keyBytes[i] = keys[i].getBytes(StandardCharsets.UTF_8);
-            }
-            List<byte[]> result = connection.bRPop(timeoutSeconds, keyBytes);
-            if (result == null || result.isEmpty()) {
-                return null;
-            }
-            // bRPop 返回的第一个元素是 key，第二个是 value
-            return Arrays.asList(
-                    new String(result.get(0), StandardCharsets.UTF_8),
-                    new String(result.get(1), StandardCharsets.UTF_8)
-            );
-        });
+        return blockingPop(keys, rawKeys -> redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.bRPop(timeoutSeconds, rawKeys)));
+    }
+
+    /**
+     * 执行阻塞出队
+     *
+     * 实现逻辑：
+     * 1. Key 编码一次后交给独占连接执行阻塞命令。
+     * 2. 结果第一个元素为来源 Key，第二个为值，解码后按 [key, value] 返回。
+     *
+     * @param keys 监听的 Key
+     * @param executor 阻塞命令执行函数
+     * @return [key, value]；超时返回 null
+     */
+    private List<String> blockingPop(String[] keys, Function<byte[][], List<byte[]>> executor) {
+        byte[][] rawKeys = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            rawKeys[i] = STRING_ENCODER.apply(keys[i]);
+        }
+        List<byte[]> result = executor.apply(rawKeys);
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        return Arrays.asList(STRING_DECODER.apply(result.get(0)), STRING_DECODER.apply(result.get(1)));
     }
 
     /** 列表 -> LRANGE：区间读取。示例：LRANGE queue 0 9。 */
@@ -673,7 +1114,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         List<String> result = redisTemplate.opsForList().range(key, start, stop);
         return result != null ? result : Collections.emptyList();
     }
@@ -684,7 +1125,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForList().index(key, index);
     }
 
@@ -694,7 +1135,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
         redisTemplate.opsForList().set(key, index, value);
     }
@@ -705,7 +1146,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         redisTemplate.opsForList().trim(key, start, stop);
     }
 
@@ -715,7 +1156,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
         return redisTemplate.opsForList().remove(key, count, value);
     }
@@ -728,6 +1169,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 调用 RedisTemplate 执行对应命令。
         validateKey(sourceKey, "sourceKey");
         validateKey(destinationKey, "destinationKey");
+        validateSameSlot(sourceKey, destinationKey);
         return redisTemplate.opsForList().rightPopAndLeftPush(sourceKey, destinationKey);
     }
 
@@ -737,7 +1179,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForList().size(key);
     }
 
@@ -751,7 +1193,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateParams(members, "members");
         return redisTemplate.opsForSet().add(key, members);
     }
@@ -762,7 +1204,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateParams(members, "members");
         return redisTemplate.opsForSet().remove(key, (Object[]) members);
     }
@@ -773,18 +1215,29 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         Set<String> result = redisTemplate.opsForSet().members(key);
         return result != null ? result : Collections.emptySet();
     }
 
+    /** 无序集合 -> SSCAN：按页惰性遍历成员。示例：SSCAN uv:daily:2024-01-01 0 COUNT 500。 */
+    @Override
+    public Stream<String> sscan(String key, int count) {
+        // 实现思路：
+        // 1. 游标按需拉取下一页，流关闭时释放游标占用的连接。
+        checkKey(key);
+        validatePositive(count, "count");
+        Cursor<String> cursor = redisTemplate.opsForSet().scan(key, ScanOptions.scanOptions().count(count).build());
+        return cursor.stream().onClose(cursor::close);
+    }
+
     /** 无序集合 -> SISMEMBER：判断成员存在。示例：SISMEMBER tags a。 */
     @Override
     public Boolean sismember(String key, String member) {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(member, "member");
         return redisTemplate.opsForSet().isMember(key, member);
     }
@@ -795,7 +1248,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForSet().size(key);
     }
 
@@ -805,7 +1258,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForSet().pop(key);
     }
 
@@ -815,7 +1268,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validatePositive(count, "count");
         Collection<String> result = redisTemplate.opsForSet().pop(key, count);
         if (result == null || result.isEmpty()) {
@@ -830,7 +1283,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForSet().randomMember(key);
     }
 
@@ -840,7 +1293,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForSet().randomMembers(key, count);
     }
 
@@ -851,6 +1304,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
         validateParams(keys, "keys");
+        validateSameSlot(keys);
         if (keys.length == 1) {
             Set<String> result = redisTemplate.opsForSet().members(keys[0]);
             return result != null ? result : Collections.emptySet();
@@ -865,6 +1319,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
         validateParams(keys, "keys");
+        validateSameSlot(keys);
         if (keys.length == 1) {
             Set<String> result = redisTemplate.opsForSet().members(keys[0]);
             return result != null ? result : Collections.emptySet();
@@ -879,6 +1334,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
         validateParams(keys, "keys");
+        validateSameSlot(keys);
         if (keys.length == 1) {
             Set<String> result = redisTemplate.opsForSet().members(keys[0]);
             return result != null ? result : Collections.emptySet();
@@ -894,6 +1350,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 调用 RedisTemplate 执行对应命令。
         validateKey(destination, "destination");
         validateParams(keys, "keys");
+        validateSameSlot(destination, keys);
         String first = keys[0];
         List<String> others = keys.length > 1 ? Arrays.asList(keys).subList(1, keys.length) : Collections.emptyList();
         return redisTemplate.opsForSet().intersectAndStore(first, others, destination);
@@ -907,6 +1364,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 调用 RedisTemplate 执行对应命令。
         validateKey(destination, "destination");
         validateParams(keys, "keys");
+        validateSameSlot(destination, keys);
         String first = keys[0];
         List<String> others = keys.length > 1 ? Arrays.asList(keys).subList(1, keys.length) : Collections.emptyList();
         return redisTemplate.opsForSet().unionAndStore(first, others, destination);
@@ -920,6 +1378,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 调用 RedisTemplate 执行对应命令。
         validateKey(destination, "destination");
         validateParams(keys, "keys");
+        validateSameSlot(destination, keys);
         String first = keys[0];
         List<String> others = keys.length > 1 ? Arrays.asList(keys).subList(1, keys.length) : Collections.emptyList();
         return redisTemplate.opsForSet().differenceAndStore(first, others, destination);
@@ -935,7 +1394,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         if (valueMap == null || valueMap.isEmpty()) {
             throw new IllegalArgumentException("valueMap 不能为空");
         }
@@ -951,7 +1410,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(member, "member");
         Boolean added = redisTemplate.opsForZSet().add(key, member, score);
         return Boolean.TRUE.equals(added) ? 1L : 0L;
@@ -963,7 +1422,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         Set<String> result = redisTemplate.opsForZSet().range(key, start, stop);
         return result != null ? result : Collections.emptySet();
     }
@@ -974,7 +1433,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         Set<String> result = redisTemplate.opsForZSet().reverseRange(key, start, stop);
         return result != null ? result : Collections.emptySet();
     }
@@ -985,7 +1444,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         Set<String> result = redisTemplate.opsForZSet().rangeByScore(key, minScore, maxScore);
         return result != null ? result : Collections.emptySet();
     }
@@ -996,7 +1455,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         Set<String> result = redisTemplate.opsForZSet().reverseRangeByScore(key, minScore, maxScore);
         return result != null ? result : Collections.emptySet();
     }
@@ -1007,7 +1466,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(member, "member");
         return redisTemplate.opsForZSet().rank(key, member);
     }
@@ -1018,7 +1477,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(member, "member");
         return redisTemplate.opsForZSet().reverseRank(key, member);
     }
@@ -1029,7 +1488,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForZSet().removeRangeByScore(key, scoreMin, scoreMax);
     }
 
@@ -1039,7 +1498,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForZSet().removeRange(key, start, stop);
     }
 
@@ -1049,7 +1508,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateParams(members, "members");
         return redisTemplate.opsForZSet().remove(key, (Object[]) members);
     }
@@ -1060,7 +1519,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(member, "member");
         return redisTemplate.opsForZSet().score(key, member);
     }
@@ -1071,7 +1530,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(member, "member");
         return redisTemplate.opsForZSet().incrementScore(key, member, increment);
     }
@@ -1082,7 +1541,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForZSet().zCard(key);
     }
 
@@ -1092,7 +1551,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.opsForZSet().count(key, scoreMin, scoreMax);
     }
 
@@ -1102,7 +1561,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validatePositive(count, "count");
         Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet().popMin(key, count);
         if (tuples == null || tuples.isEmpty()) {
@@ -1117,7 +1576,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validatePositive(count, "count");
         Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet().popMax(key, count);
         if (tuples == null || tuples.isEmpty()) {
@@ -1134,6 +1593,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 调用 RedisTemplate 执行对应命令。
         validateKey(destination, "destination");
         validateParams(keys, "keys");
+        validateSameSlot(destination, keys);
         String first = keys[0];
         List<String> others = keys.length > 1 ? Arrays.asList(keys).subList(1, keys.length) : Collections.emptyList();
         return redisTemplate.opsForZSet().intersectAndStore(first, others, destination);
@@ -1147,11 +1607,26 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 调用 RedisTemplate 执行对应命令。
         validateKey(destination, "destination");
         validateParams(keys, "keys");
+        validateSameSlot(destination, keys);
         String first = keys[0];
         List<String> others = keys.length > 1 ? Arrays.asList(keys).subList(1, keys.length) : Collections.emptyList();
         return redisTemplate.opsForZSet().unionAndStore(first, others, destination);
     }
 
+    /** 有序集合 -> ZSCAN：按页惰性遍历成员与分值。示例：ZSCAN rank:hot 0 COUNT 500。 */
+    @Override
+    public Stream<Map.Entry<String, Double>> zscan(String key, int count) {
+        // 实现思路：
+        // 1. 游标按需拉取下一页，流关闭时释放游标占用的连接。
+        checkKey(key);
+        validatePositive(count, "count");
+        Cursor<ZSetOperations.TypedTuple<String>> cursor =
+                redisTemplate.opsForZSet().scan(key, ScanOptions.scanOptions().count(count).build());
+        return cursor.stream()
+                .map(tuple -> Map.entry(tuple.getValue(), tuple.getScore()))
+                .onClose(cursor::close);
+    }
+
     // 区域结束：有序集合
 
     // 区域：过期控制
@@ -1162,7 +1637,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validatePositive(seconds, "seconds");
         return redisTemplate.expire(key, Duration.ofSeconds(seconds));
     }
@@ -1173,7 +1648,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         validatePositive(timestamp, "timestamp");
         return redisTemplate.expireAt(key, new Date(timestamp * 1000));
     }
@@ -1184,7 +1659,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.persist(key);
     }
 
@@ -1194,7 +1669,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         return redisTemplate.getExpire(key);
     }
 
@@ -1208,7 +1683,7 @@ public class RedisClientImpl implements RedisClient<String> {
         // 实现思路：
         // 1. 参数校验。
         // 2. 调用 RedisTemplate 执行对应命令。
-        validateKey(key, "key");
+        checkKey(key);
         DataType dataType = redisTemplate.type(key);
         return dataType != null ? dataType.code() : "none";
     }
@@ -1221,7 +1696,9 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 调用 RedisTemplate 执行对应命令。
         validateKey(oldKey, "oldKey");
         validateKey(newKey, "newKey");
+        validateSameSlot(oldKey, newKey);
         redisTemplate.rename(oldKey, newKey);
+        invalidateNearCache(oldKey, newKey);
     }
 
     /** 通用 -> RENAMENX：目标不存在时重命名。示例：RENAMENX a b。 */
@@ -1232,18 +1709,27 @@ public class RedisClientImpl implements RedisClient<String> {
         // 2. 调用 RedisTemplate 执行对应命令。
         validateKey(oldKey, "oldKey");
         validateKey(newKey, "newKey");
-        return redisTemplate.renameIfAbsent(oldKey, newKey);
+        validateSameSlot(oldKey, newKey);
+        Boolean renamed = redisTemplate.renameIfAbsent(oldKey, newKey);
+        invalidateNearCache(oldKey, newKey);
+        return renamed;
     }
 
-    /** 通用 -> KEYS：模式匹配列出键（生产慎用）。示例：KEYS user:*。 */
+    /** 通用 -> KEYS：模式匹配列出键（全集群并行 SCAN 实现）。示例：KEYS user:*。 */
     @Override
     public Set<String> keys(String pattern) {
         // 实现思路：
         // 1. 参数校验。
-        // 2. 调用 RedisTemplate 执行对应命令。
+        // 2. 注入扫描器时基于全集群 SCAN 收集并去重，避免 KEYS 阻塞分片。
+        // 3. 未注入时回退到 RedisTemplate。
         validateKey(pattern, "pattern");
-        Set<String> result = redisTemplate.keys(pattern);
-        return result != null ? result : Collections.emptySet();
+        if (clusterScanner == null) {
+            Set<String> result = redisTemplate.keys(pattern);
+            return result != null ? result : Collections.emptySet();
+        }
+        try (Stream<String> stream = clusterScanner.scan(pattern, KEYS_SCAN_PAGE_SIZE)) {
+            return stream.collect(Collectors.toCollection(LinkedHashSet::new));
+        }
     }
 
     /** 通用 -> SCAN：迭代遍历键。示例：SCAN 0 MATCH user:* COUNT 100。 */
@@ -1257,6 +1743,239 @@ public class RedisClientImpl implements RedisClient<String> {
         return redisTemplate.scan(options);
     }
 
+    /** 通用 -> SCAN（全集群）：所有主节点并行遍历。示例：SCAN 0 MATCH user:* COUNT 1000。 */
+    @Override
+    public Stream<String> scanStream(String pattern, int pageSize) {
+        // 实现思路：
+        // 1. 参数校验。
+        // 2. 委托集群扫描器；未注入时退化为模板单节点 SCAN，并随流关闭游标。
+        validateKey(pattern, "pattern");
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize 必须大于 0");
+        }
+        if (clusterScanner != null) {
+            return clusterScanner.scan(pattern, pageSize);
+        }
+        Cursor<String> cursor = scan(pattern, pageSize);
+        return cursor.stream().onClose(cursor::close);
+    }
+
+    // 区域结束
+
+    // 区域：近端缓存
+
+    /**
+     * 写入后主动失效近端缓存
+     *
+     * 实现逻辑：
+     * 1. 本节点写入后立即剔除，不必等待服务端失效推送返回本机。
+     * 2. 其他节点的写入由 CLIENT TRACKING 推送负责失效。
+     *
+     * @param keys 被写入的 Key
+     */
+    private void invalidateNearCache(String... keys) {
+        if (nearCache == null) {
+            return;
+        }
+        for (String key : keys) {
+            nearCache.invalidateLocal(key);
+        }
+    }
+
+    // 区域结束
+
+    // 区域：多 Key 扇出
+
+    /**
+     * 按 Slot 命令工厂
+     * <p>
+     * 输入同一 Slot 内 Key 的原始下标，返回该 Slot 命令的完成 Future。
+     */
+    @FunctionalInterface
+    private interface SlotCommand {
+        CompletableFuture<?> dispatch(RedisClusterAsyncCommands<byte[], byte[]> commands, List<Integer> indexes);
+    }
+
+    /**
+     * 按节点与 Slot 对 Key 分组
+     *
+     * 实现逻辑：
+     * 1. 使用 RedisSlotUtil 计算每个 Key 的 Slot（兼容 Hash Tag）。
+     * 2. 通过拓扑缓存定位 Slot 所属节点，按 节点 -> Slot -> 下标列表 两级分组。
+     *
+     * @param keys Key 数组
+     * @return 分组结果（保持首次出现顺序）
+     */
+    private Map<String, Map<Integer, List<Integer>>> groupByNodeAndSlot(String[] keys) {
+        // 实现思路：
+        // 1. 记录下标而非 Key 本身，便于按输入顺序回填结果。
+        Map<String, Map<Integer, List<Integer>>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            validateKey(keys[i], "key");
+            int slot = RedisSlotUtil.getSlot(keys[i]);
+            String node = resolveNode(slot);
+            groups.computeIfAbsent(node, n -> new LinkedHashMap<>())
+                    .computeIfAbsent(slot, sl -> new ArrayList<>())
+                    .add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * 解析 Slot 所属节点
+     *
+     * @param slot Slot ID
+     * @return 节点地址，拓扑未知时返回 unknown
+     */
+    private String resolveNode(int slot) {
+        if (topologyCache == null) {
+            return "unknown";
+        }
+        String node = topologyCache.getNodeBySlot(slot);
+        return node != null ? node : "unknown";
+    }
+
+    private int countSlots(Map<String, Map<Integer, List<Integer>>> groups) {
+        int slots = 0;
+        for (Map<Integer, List<Integer>> slotGroups : groups.values()) {
+            slots += slotGroups.size();
+        }
+        return slots;
+    }
+
+    /**
+     * 多 Key 命令并行扇出
+     *
+     * 实现逻辑：
+     * 1. 借出独占连接并关闭自动刷写。
+     * 2. 逐节点、逐 Slot 登记命令（Redis Cluster 即使同节点也拒绝跨 Slot 的多 Key 命令）。
+     * 3. 一次刷写：每个节点收到一次网络写，各节点并行处理，整体约为一次 RTT。
+     *
+     * @param groups 节点 -> Slot -> 下标分组
+     * @param slotCommand Slot 命令工厂
+     */
+    private void fanOut(Map<String, Map<Integer, List<Integer>>> groups, SlotCommand slotCommand) {
+        // 实现思路：
+        // 1. 复用管道的手动刷写执行器，保证异常路径恢复自动刷写。
+        log.debug("多Key命令扇出|Multi_key_fan_out,nodes={},slots={}", groups.size(), countSlots(groups));
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            LettuceManualFlushExecutor.execute(connection, batchTimeout, commands -> {
+                List<CompletableFuture<?>> futures = new ArrayList<>();
+                for (Map<Integer, List<Integer>> slotGroups : groups.values()) {
+                    for (List<Integer> indexes : slotGroups.values()) {
+                        futures.add(slotCommand.dispatch(commands, indexes));
+                    }
+                }
+                return futures;
+            });
+            return null;
+        });
+    }
+
+    private byte[][] rawKeys(String[] keys, List<Integer> indexes) {
+        byte[][] raw = new byte[indexes.size()][];
+        for (int i = 0; i < indexes.size(); i++) {
+            raw[i] = STRING_ENCODER.apply(keys[indexes.get(i)]);
+        }
+        return raw;
+    }
+
+    // 区域结束
+
+    // 区域：批量管道
+
+    /** 管道批量执行：回调内命令合并为一次网络刷写。示例：INCR + HSET + LPUSH 一次往返。 */
+    @Override
+    public void pipeline(Consumer<RedisBatch<String>> batchConsumer) {
+        // 实现思路：
+        // 1. 从连接池借出独占连接，关闭自动刷写后登记命令。
+        // 2. 一次刷写并等待全部 Future 完成，连接随模板回调结束归还。
+        if (batchConsumer == null) {
+            throw new IllegalArgumentException("batchConsumer 不能为空");
+        }
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            // 核心代码：手动刷写执行，集群模式下每个节点仅一次网络写
+            LettuceManualFlushExecutor.execute(connection, batchTimeout, commands -> {
+                LettuceRedisBatch<String> batch = new LettuceRedisBatch<>(commands, STRING_ENCODER,
+                        STRING_DECODER, this::encodeValue, this::decodeValue);
+                batchConsumer.accept(batch);
+                return batch.pendingFutures();
+            });
+            return null;
+        });
+    }
+
+    // 区域结束
+
+    // 区域：读路由
+
+    /** 从节点读视图：读命令优先路由到从节点，未配置时返回当前客户端（经代理调用时 Spring AOP 会把 this 替换为代理）。 */
+    @Override
+    public RedisClient<String> replicaReads() {
+        return replicaClient != null ? replicaClient : this;
+    }
+
+    // 区域结束
+
+    // 区域：截止时间读
+
+    /** 哈希 -> HGET（带截止时间与对冲）。示例：HGET weibo:info:17 5017，20ms 内未返回即失败。 */
+    @Override
+    public String hget(String key, String field, Duration deadline) {
+        // 实现思路：
+        // 1. 未注入对冲读取器时退化为普通 HGET。
+        // 2. 近端缓存命中时直接返回，未命中才走对冲读。
+        if (hedgedReader == null) {
+            return hget(key, field);
+        }
+        checkKey(key);
+        validateKey(field, "field");
+        validateDeadline(deadline);
+        if (nearCache != null && nearCache.isCacheable(key)) {
+            return nearCache.getField(key, field,
+                    () -> decodeValue(key, RedisHedgedReader.await(hedgedReader.hget(key, field, deadline), key, deadline)));
+        }
+        return decodeValue(key, RedisHedgedReader.await(hedgedReader.hget(key, field, deadline), key, deadline));
+    }
+
+    /** 哈希 -> HMGET（带截止时间与对冲）。示例：HMGET weibo:info:17 5017 5273。 */
+    @Override
+    public List<String> hmget(String key, List<String> fields, Duration deadline) {
+        // 实现思路：
+        // 1. 近端缓存只对缺失字段发起对冲读。
+        if (hedgedReader == null) {
+            return hmget(key, fields);
+        }
+        checkKey(key);
+        validateCollection(fields, "fields");
+        validateDeadline(deadline);
+        Function<List<String>, List<String>> loader = missing -> RedisHedgedReader.await(
+                hedgedReader.hmget(key, missing, deadline), key, deadline).stream()
+                .map(value -> decodeValue(key, value))
+                .collect(Collectors.toList());
+        if (nearCache != null && nearCache.isCacheable(key)) {
+            return nearCache.getFields(key, fields, loader);
+        }
+        return loader.apply(fields);
+    }
+
+    /** 有序集合 -> ZREVRANGE（带截止时间与对冲）。示例：ZREVRANGE rank:hot 0 9。 */
+    @Override
+    public Set<String> zrevrange(String key, long start, long stop, Duration deadline) {
+        if (hedgedReader == null) {
+            return zrevrange(key, start, stop);
+        }
+        checkKey(key);
+        validateDeadline(deadline);
+        return RedisHedgedReader.await(hedgedReader.zrevrange(key, start, stop, deadline), key, deadline);
+    }
+
+    private void validateDeadline(Duration deadline) {
+        if (deadline == null || deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("deadline 必须大于 0");
+        }
+    }
+
     // 区域结束
 
     // 区域：扩展工具方法（便于测试或外部访问模板）
@@ -1290,7 +2009,7 @@ public class RedisClientImpl implements RedisClient<String> {
     public boolean tryLock(String key, String value, int expireTime) {
         // 实现思路：
         // 1. 校验参数并执行加锁。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
         validatePositive(expireTime, "expireTime");
         // 核心代码：尝试写入锁
@@ -1312,12 +2031,16 @@ public class RedisClientImpl implements RedisClient<String> {
     public boolean releaseLock(String key, String value) {
         // 实现思路：
         // 1. 校验参数并执行 Lua 脚本。
-        validateKey(key, "key");
+        checkKey(key);
         validateKey(value, "value");
 
-        String script = "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-                "return redis.call('del', KEYS[1]) " +
-                "else return 0 end";
+        if (scriptRegistry != null) {
+            // 优化：EVALSHA 只发送摘要，不再每次上传脚本正文
+            Long released = scriptRegistry.execute(RedisScriptEnum.LOCK_RELEASE, Collections.singletonList(key), value);
+            return Long.valueOf(1).equals(released);
+        }
+
+        String script = RedisScriptEnum.LOCK_RELEASE.getScript();
 
         RedisCallback<Long> callback = connection ->
                 connection.eval(
@@ -0,0 +1,188 @@
+package com.hao.redis.integration.redis;
+
+import com.hao.redis.common.exception.RedisNodeUnavailableException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 命令延迟与错误统计
+ *
+ * 类职责：
+ * 按“命令 + 节点”维度记录延迟直方图、错误数与超时数，并按命令、按节点汇总输出分位延迟。
+ * 分两层记录：客户端层（RedisClient 方法调用，含节点保护拒绝）与连接层（Lettuce 实际发出的每条命令）。
+ *
+ * 设计目的：
+ * 1. 不借助性能剖析工具即可定位慢节点与慢命令。
+ * 2. 记录开销固定：两次 Map 查找与两次原子更新。
+ *
+ * 为什么需要该类：
+ * 此前延迟只能在压测用例里用 System.currentTimeMillis 粗略统计，线上无法区分是某个节点慢还是某类命令慢。
+ *
+ * 核心实现思路：
+ * - 每个“命令 + 节点”组合持有一个对数线性直方图，记录路径无锁。
+ * - 汇总视图在查询时合并直方图生成，记录路径不做多维度重复记录。
+ * - 超时单独计数：命令超时通常意味着节点阻塞或网络抖动，与业务错误区分。
+ * - 节点保护拒绝单独计数且不进入直方图：拒绝没有发往 Redis，计入延迟会拉低分位数。
+ * - 连接层覆盖全部客户端（异步、对冲、二进制、合并读、从节点读）与客户端内部自调用，节点取实际连接的远端地址。
+ */
+@Component
+public class RedisCommandMetrics {
+
+    /**
+     * 命令 -> 节点 -> 统计项（两级 Map，记录时无需拼接组合 Key）
+     */
+    private final Map<String, Map<String, CommandStats>> stats = new ConcurrentHashMap<>();
+
+    /**
+     * 连接层：命令类型 -> 远端节点 -> 统计项
+     */
+    private final Map<String, Map<String, CommandStats>> wireStats = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次命令执行
+     *
+     * @param command 命令（客户端方法名）
+     * @param node 节点地址（IP:Port），多节点命令为 multi，无法解析时为 null
+     * @param nanos 耗时（纳秒）
+     * @param error 执行异常，成功为 null
+     */
+    public void record(String command, String node, long nanos, Throwable error) {
+        // 核心代码：按组合维度定位统计项并记录
+        CommandStats commandStats = locate(stats, command, node);
+        if (error instanceof RedisNodeUnavailableException) {
+            commandStats.rejected.increment();
+            return;
+        }
+        commandStats.histogram.record(nanos);
+        if (error != null) {
+            commandStats.errors.increment();
+            if (isTimeout(error)) {
+                commandStats.timeouts.increment();
+            }
+        }
+    }
+
+    /**
+     * 记录一次连接层命令完成（由 Lettuce 命令延迟回调触发）
+     *
+     * @param command 命令类型（如 HGET）
+     * @param node 远端节点地址（IP:Port）
+     * @param nanos 发出到完成的耗时（纳秒）
+     */
+    public void recordWire(String command, String node, long nanos) {
+        locate(wireStats, command, node).histogram.record(nanos);
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * 实现逻辑：
+     * 1. 按命令、按节点分别合并直方图，输出次数、p50/p99/p999/最大延迟（微秒）、错误、超时与拒绝数。
+     * 2. 同时输出“命令 + 节点”明细，便于定位单节点上的慢命令。
+     * 3. 连接层统计以相同结构放在 wire 下。
+     *
+     * @return 统计快照
+     */
+    public Map<String, Object> snapshot() {
+        // 实现思路：
+        // 1. 合并发生在查询线程，不影响记录路径。
+        Map<String, Object> snapshot = layerView(stats);
+        snapshot.put("wire", layerView(wireStats));
+        return snapshot;
+    }
+
+    /**
+     * 清空全部统计（压测前后对比使用）
+     */
+    public void reset() {
+        stats.clear();
+        wireStats.clear();
+    }
+
+    private static CommandStats locate(Map<String, Map<String, CommandStats>> layer, String command, String node) {
+        String nodeKey = node != null ? node : "unknown";
+        return layer.computeIfAbsent(command, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(nodeKey, key -> new CommandStats(command, nodeKey));
+    }
+
+    private static Map<String, Object> layerView(Map<String, Map<String, CommandStats>> layer) {
+        Map<String, CommandStats> byCommand = new TreeMap<>();
+        Map<String, CommandStats> byNode = new TreeMap<>();
+        List<CommandStats> details = new ArrayList<>();
+        layer.values().forEach(nodes -> details.addAll(nodes.values()));
+        details.sort(Comparator.comparing((CommandStats item) -> item.command).thenComparing(item -> item.node));
+        for (CommandStats item : details) {
+            byCommand.computeIfAbsent(item.command, command -> new CommandStats(command, "*")).merge(item);
+            byNode.computeIfAbsent(item.node, node -> new CommandStats("*", node)).merge(item);
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("byCommand", toView(byCommand.values()));
+        snapshot.put("byNode", toView(byNode.values()));
+        snapshot.put("details", toView(details));
+        return snapshot;
+    }
+
+    private static List<Map<String, Object>> toView(Collection<CommandStats> items) {
+        List<Map<String, Object>> view = new ArrayList<>(items.size());
+        for (CommandStats item : items) {
+            RedisLatencyHistogram.Snapshot histogram = item.histogram.snapshot();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("command", item.command);
+            row.put("node", item.node);
+            row.put("count", histogram.getCount());
+            row.put("p50Us", histogram.percentileNanos(0.50) / 1000);
+            row.put("p99Us", histogram.percentileNanos(0.99) / 1000);
+            row.put("p999Us", histogram.percentileNanos(0.999) / 1000);
+            row.put("maxUs", histogram.getMaxNanos() / 1000);
+            row.put("errors", item.errors.sum());
+            row.put("timeouts", item.timeouts.sum());
+            row.put("rejected", item.rejected.sum());
+            view.add(row);
+        }
+        return view;
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RedisCommandTimeoutException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 单个维度组合的统计项
+     */
+    private static final class CommandStats {
+        private final String command;
+        private final String node;
+        private final RedisLatencyHistogram histogram = new RedisLatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private CommandStats(String command, String node) {
+            this.command = command;
+            this.node = node;
+        }
+
+        private void merge(CommandStats other) {
+            histogram.add(other.histogram);
+            errors.add(other.errors.sum());
+            timeouts.add(other.timeouts.sum());
+            rejected.add(other.rejected.sum());
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.hao.redis.integration.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 对冲读与截止时间读取器
+ *
+ * 类职责：
+ * 1. 为单次读命令施加独立的截止时间，超时即失败，不再受全局 commandTimeout 约束。
+ * 2. 主节点在该命令当前 p95 延迟内未返回时，向从节点发送同一读请求，取先返回者。
+ *
+ * 设计目的：
+ * - 全局 5 秒命令超时对展示类读过长：单次抖动（GC、慢查询、网络重传）会直接体现为 p999。
+ * - 只对慢于 p95 的约 5% 请求额外发送一次读，以少量额外负载换取尾延迟下降。
+ *
+ * 为什么需要该类：
+ * 命令超时是连接级配置，无法按调用区分 5ms 的读与 2s 的阻塞弹出；尾延迟多由单节点偶发抖动造成，重试同节点无效。
+ *
+ * 核心实现思路：
+ * - 主请求经共享异步连接发出，对冲请求经独立的从节点优先连接发出，二者互不排队。
+ * - 每个命令维护主请求延迟直方图，按窗口刷新 p95 作为对冲延迟；样本不足时使用默认延迟。
+ * - 主请求失败时立即发出对冲请求（尚未发出时），两路都失败才失败。
+ * - 截止时间通过 orTimeout 施加在合并结果上，超时抛出 TimeoutException。
+ */
+@Slf4j
+public class RedisHedgedReader {
+
+    /**
+     * 刷新对冲延迟所需的最少样本数
+     */
+    private static final long MIN_SAMPLES = 100;
+
+    private final AsyncRedisClient<String> primary;
+    private final AsyncRedisClient<String> hedge;
+    private final double hedgeQuantile;
+    private final long defaultDelayNanos;
+    private final long minDelayNanos;
+    private final long windowNanos;
+
+    private final Map<String, CommandWindow> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+    private final LongAdder degradedLastKnown = new LongAdder();
+    private final LongAdder degradedPrimary = new LongAdder();
+
+    /**
+     * 对冲读取器构造方法
+     *
+     * @param primary 主读客户端（主节点）
+     * @param hedge 对冲读客户端（从节点优先），为空时只施加截止时间不做对冲
+     * @param hedgeQuantile 对冲延迟分位（如 0.95）
+     * @param defaultDelay 样本不足时的对冲延迟
+     * @param minDelay 对冲延迟下限，避免极低延迟时几乎每次都对冲
+     * @param window 对冲延迟刷新窗口
+     */
+    public RedisHedgedReader(AsyncRedisClient<String> primary,
+                             AsyncRedisClient<String> hedge,
+                             double hedgeQuantile,
+                             Duration defaultDelay,
+                             Duration minDelay,
+                             Duration window) {
+        if (hedgeQuantile <= 0 || hedgeQuantile >= 1) {
+            throw new IllegalArgumentException("hedgeQuantile 必须在 (0,1) 区间内");
+        }
+        this.primary = primary;
+        this.hedge = hedge;
+        this.hedgeQuantile = hedgeQuantile;
+        this.defaultDelayNanos = defaultDelay.toNanos();
+        this.minDelayNanos = minDelay.toNanos();
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * 哈希 -> HGET（带截止时间与对冲）
+     *
+     * @param key 哈希键
+     * @param field 字段
+     * @param deadline 截止时间
+     * @return 字段值 Future
+     */
+    public CompletableFuture<String> hget(String key, String field, Duration deadline) {
+        return read("hget", client -> client.hget(key, field), deadline);
+    }
+
+    /**
+     * 哈希 -> HMGET（带截止时间与对冲）
+     *
+     * @param key 哈希键
+     * @param fields 字段列表
+     * @param deadline 截止时间
+     * @return 与入参顺序一致的值列表 Future
+     */
+    public CompletableFuture<List<String>> hmget(String key, List<String> fields, Duration deadline) {
+        return read("hmget", client -> client.hmget(key, fields), deadline);
+    }
+
+    /**
+     * 有序集合 -> ZREVRANGE（带截止时间与对冲）
+     *
+     * @param key 有序集合键
+     * @param start 起始下标
+     * @param stop 结束下标
+     * @param deadline 截止时间
+     * @return 成员集合 Future
+     */
+    public CompletableFuture<Set<String>> zrevrange(String key, long start, long stop, Duration deadline) {
+        return read("zrevrange", client -> client.zrevrange(key, start, stop), deadline);
+    }
+
+    /**
+     * 执行带截止时间的对冲读
+     *
+     * 实现逻辑：
+     * 1. 立即向主节点发出读请求，成功时记录其延迟。
+     * 2. 延迟到当前对冲阈值后主请求仍未返回，则向从节点发出同一请求。
+     * 3. 任一请求成功即完成；主请求失败时立即对冲；两路均失败才失败。
+     * 4. 对合并结果施加截止时间。
+     *
+     * @param command 命令名（对冲延迟按命令统计）
+     * @param call 读命令
+     * @param deadline 截止时间
+     * @return 读取结果 Future
+     * @param <R> 结果类型
+     */
+    public <R> CompletableFuture<R> read(String command,
+                                         Function<AsyncRedisClient<String>, CompletableFuture<R>> call,
+                                         Duration deadline) {
+        // 实现思路：
+        // 1. 全程回调驱动，不占用调用线程；对冲定时使用 JDK 延迟执行器。
+        reads.increment();
+        CommandWindow window = windows.computeIfAbsent(command, key -> new CommandWindow());
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicBoolean hedged = new AtomicBoolean(hedge == null);
+        AtomicInteger failures = new AtomicInteger();
+        int attempts = hedge == null ? 1 : 2;
+        long begin = System.nanoTime();
+
+        call.apply(primary).whenComplete((value, error) -> {
+            if (error == null) {
+                window.record(System.nanoTime() - begin);
+                result.complete(value);
+                return;
+            }
+            // 主请求失败：尚未对冲则立即对冲
+            if (failures.incrementAndGet() >= attempts) {
+                result.completeExceptionally(error);
+            } else if (hedged.compareAndSet(false, true)) {
+                sendHedge(call, result, failures, attempts);
+            }
+        });
+
+        if (hedge != null) {
+            long delay = window.hedgeDelayNanos();
+            // 核心代码：到达对冲阈值后主请求仍未返回，向从节点发出同一请求
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                if (!result.isDone() && hedged.compareAndSet(false, true)) {
+                    sendHedge(call, result, failures, attempts);
+                }
+            });
+        }
+
+        return result.orTimeout(deadline.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((value, error) -> {
+                    if (error instanceof TimeoutException) {
+                        deadlineExceeded.increment();
+                    }
+                });
+    }
+
+    /**
+     * 同步等待带截止时间的读结果
+     *
+     * 实现逻辑：
+     * 1. 结果 Future 已施加截止时间，必定在截止时间内完成，可直接 join。
+     * 2. 超时转换为 QueryTimeoutException，与同步命令超时的异常类型保持一致。
+     *
+     * @param future 读取结果 Future
+     * @param key Redis Key（用于异常信息）
+     * @param deadline 截止时间
+     * @return 读取结果
+     * @param <R> 结果类型
+     */
+    public static <R> R await(CompletableFuture<R> future, String key, Duration deadline) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new QueryTimeoutException("Redis读取超过截止时间: key=" + key + ", deadline=" + deadline.toMillis() + "ms", cause);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Redis读取失败", cause);
+        }
+    }
+
+    /**
+     * 记录一次截止超时后的业务降级
+     *
+     * @param lastKnown true 表示返回上次成功结果，false 表示改为不限截止时间的主节点读取
+     */
+    public void recordDegraded(boolean lastKnown) {
+        (lastKnown ? degradedLastKnown : degradedPrimary).increment();
+    }
+
+    /**
+     * 获取对冲统计
+     *
+     * @return 读取数、对冲数、对冲胜出数、截止超时数、降级数及各命令当前对冲延迟
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> delays = new TreeMap<>();
+        windows.forEach((command, window) -> delays.put(command, window.hedgeDelayNanos() / 1000));
+        long readCount = reads.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hedgeEnabled", hedge != null);
+        stats.put("hedgeQuantile", hedgeQuantile);
+        stats.put("reads", readCount);
+        stats.put("hedges", hedges.sum());
+        stats.put("hedgeWins", hedgeWins.sum());
+        stats.put("hedgeRatio", readCount == 0 ? 0.0D : (double) hedges.sum() / readCount);
+        stats.put("deadlineExceeded", deadlineExceeded.sum());
+        stats.put("degradedLastKnown", degradedLastKnown.sum());
+        stats.put("degradedPrimary", degradedPrimary.sum());
+        stats.put("hedgeDelayUs", delays);
+        return stats;
+    }
+
+    private <R> void sendHedge(Function<AsyncRedisClient<String>, CompletableFuture<R>> call,
+                               CompletableFuture<R> result,
+                               AtomicInteger failures,
+                               int attempts) {
+        hedges.increment();
+        call.apply(hedge).whenComplete((value, error) -> {
+            if (error == null) {
+                // 先计数再完成：完成会唤醒等待线程，计数在后时调用方可能读到尚未更新的统计
+                hedgeWins.increment();
+                if (!result.complete(value)) {
+                    hedgeWins.decrement();
+                }
+            } else if (failures.incrementAndGet() >= attempts) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    /**
+     * 单命令延迟窗口
+     */
+    private final class CommandWindow {
+        private volatile RedisLatencyHistogram histogram = new RedisLatencyHistogram();
+        private volatile long delayNanos = defaultDelayNanos;
+        private volatile long windowStart = System.nanoTime();
+
+        private void record(long nanos) {
+            histogram.record(nanos);
+        }
+
+        /**
+         * 获取当前对冲延迟
+         *
+         * 实现逻辑：
+         * 1. 窗口到期且样本充足时，以窗口内分位延迟更新对冲延迟并开启新窗口。
+         * 2. 刷新由读取线程顺带完成，同一窗口只有一个线程会刷新。
+         *
+         * @return 对冲延迟（纳秒）
+         */
+        private long hedgeDelayNanos() {
+            long now = System.nanoTime();
+            long start = windowStart;
+            if (now - start >= windowNanos) {
+                RedisLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+                if (snapshot.getCount() >= MIN_SAMPLES) {
+                    synchronized (this) {
+                        if (windowStart == start) {
+                            delayNanos = Math.max(minDelayNanos, snapshot.percentileNanos(hedgeQuantile));
+                            histogram = new RedisLatencyHistogram();
+                            windowStart = now;
+                        }
+                    }
+                }
+            }
+            return delayNanos;
+        }
+    }
+}
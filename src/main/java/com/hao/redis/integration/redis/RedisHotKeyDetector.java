@@ -0,0 +1,272 @@
+package com.hao.redis.integration.redis;
+
+import com.hao.redis.common.util.RedisSlotUtil;
+import com.hao.redis.integration.cluster.RedisClusterTopologyCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 热点 Key 探测器
+ *
+ * 类职责：
+ * 对客户端发出的 Key 访问做抽样计数，在滑动时间窗口内给出访问量最高的 Key 及其 Slot、所属节点。
+ *
+ * 设计目的：
+ * 1. 在单节点被打满之前发现热点 Key（如热榜、微博详情、全局限流键）。
+ * 2. 常态开销可忽略：未命中抽样时仅一次线程本地随机数判断。
+ *
+ * 为什么需要该类：
+ * 集群下热点集中在单个 Slot，服务端只能看到节点整体负载，定位具体 Key 往往要等故障后抓包分析。
+ *
+ * 核心实现思路：
+ * - 按 1/sampleRate 概率抽样，命中后写入当前时间桶的 Count-Min Sketch（无锁原子计数）。
+ * - 多个时间桶组成环形滑动窗口，定时轮转并清空最旧的桶；估算值为各桶估算之和。
+ * - 候选集只保留估算值达到准入门槛的 Key，查询时用容量为 K 的小顶堆求 Top-K。
+ * - Count-Min Sketch 只会高估不会低估，热点不会被漏报。
+ */
+@Slf4j
+@Component
+public class RedisHotKeyDetector {
+
+    /**
+     * Sketch 行数（独立哈希函数个数）
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * 候选集容量相对 Top-K 的倍数
+     */
+    private static final int CANDIDATE_FACTOR = 8;
+
+    private final int sampleRate;
+    private final int topK;
+    private final int width;
+    private final int mask;
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final int candidateCapacity;
+    private final RedisClusterTopologyCache topologyCache;
+
+    /**
+     * 环形时间桶，每个桶是一张 DEPTH * width 的 Count-Min Sketch
+     */
+    private final AtomicReferenceArray<AtomicLongArray> buckets;
+
+    /**
+     * 候选热点 Key 集合
+     */
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder sampled = new LongAdder();
+
+    private volatile int current;
+
+    /**
+     * 候选集准入门槛（窗口内估算抽样次数），候选集满后只有超过门槛的 Key 才能进入
+     */
+    private volatile long admissionThreshold;
+
+    /**
+     * 热点 Key 探测器构造方法
+     *
+     * @param sampleRate 抽样率分母（1 表示全量记录）
+     * @param topK 输出的热点 Key 个数
+     * @param width Sketch 每行宽度（向上取整为 2 的幂）
+     * @param bucketCount 滑动窗口时间桶个数
+     * @param bucketMillis 单个时间桶时长（毫秒）
+     * @param topologyCache 集群拓扑缓存（可为空，为空时不输出所属节点）
+     */
+    @Autowired
+    public RedisHotKeyDetector(@Value("${redis.hotkey.sample-rate:16}") int sampleRate,
+                               @Value("${redis.hotkey.top-k:20}") int topK,
+                               @Value("${redis.hotkey.sketch-width:4096}") int width,
+                               @Value("${redis.hotkey.bucket-count:6}") int bucketCount,
+                               @Value("${redis.hotkey.bucket-ms:10000}") long bucketMillis,
+                               RedisClusterTopologyCache topologyCache) {
+        if (sampleRate <= 0 || topK <= 0 || width <= 0 || bucketCount <= 0 || bucketMillis <= 0) {
+            throw new IllegalArgumentException("热点探测参数必须大于 0");
+        }
+        this.sampleRate = sampleRate;
+        this.topK = topK;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = this.width - 1;
+        this.bucketCount = bucketCount;
+        this.bucketMillis = bucketMillis;
+        this.candidateCapacity = topK * CANDIDATE_FACTOR;
+        this.topologyCache = topologyCache;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.set(i, new AtomicLongArray(DEPTH * this.width));
+        }
+    }
+
+    /**
+     * 记录一次 Key 访问
+     *
+     * 实现逻辑：
+     * 1. 未命中抽样直接返回。
+     * 2. 命中后在当前时间桶的每一行对应位置原子加一。
+     * 3. 候选集未满时直接加入；已满时估算值超过准入门槛才加入。
+     *
+     * @param key Redis Key
+     */
+    public void record(String key) {
+        // 实现思路：
+        // 1. 抽样判断使用线程本地随机数，无共享状态竞争。
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        sampled.increment();
+        int h1 = spread(key.hashCode());
+        int h2 = spread(h1 * 0x9E3779B9) | 1;
+        AtomicLongArray sketch = buckets.get(current);
+        for (int row = 0; row < DEPTH; row++) {
+            // 核心代码：双重哈希定位各行计数位
+            sketch.incrementAndGet(row * width + ((h1 + row * h2) & mask));
+        }
+        if (candidates.contains(key)) {
+            return;
+        }
+        int size = candidates.size();
+        if (size < candidateCapacity
+                || (size < candidateCapacity * 2 && estimate(h1, h2) > admissionThreshold)) {
+            candidates.add(key);
+        }
+    }
+
+    /**
+     * 轮转时间桶
+     *
+     * 实现逻辑：
+     * 1. 用新的空 Sketch 替换最旧的桶，并将写入指针指向它。
+     * 2. 按新窗口重新估算候选集，淘汰冷 Key 并更新准入门槛。
+     */
+    @Scheduled(fixedRateString = "${redis.hotkey.bucket-ms:10000}")
+    public synchronized void rotate() {
+        // 实现思路：
+        // 1. 轮转期间仍写入旧桶的少量计数落在窗口内，不影响估算。
+        int next = (current + 1) % bucketCount;
+        buckets.set(next, new AtomicLongArray(DEPTH * width));
+        current = next;
+
+        List<Map.Entry<String, Long>> ranked = rankCandidates(candidateCapacity / 2);
+        Set<String> retained = new HashSet<>(ranked.size() * 2);
+        for (Map.Entry<String, Long> entry : ranked) {
+            retained.add(entry.getKey());
+        }
+        candidates.retainAll(retained);
+        admissionThreshold = ranked.size() >= topK ? ranked.get(topK - 1).getValue() : 0L;
+    }
+
+    /**
+     * 获取滑动窗口内的热点 Key
+     *
+     * 实现逻辑：
+     * 1. 估算候选集内每个 Key 的访问量，小顶堆保留 Top-K。
+     * 2. 抽样计数按抽样率还原为访问量估算，并补充 Slot 与所属节点。
+     *
+     * @return 按访问量降序的热点 Key 列表
+     */
+    public List<Map<String, Object>> hotKeys() {
+        // 实现思路：
+        // 1. 只在查询时计算 Top-K，记录路径不维护堆。
+        List<Map.Entry<String, Long>> ranked = rankCandidates(topK);
+        double windowSeconds = windowMillis() / 1000D;
+        List<Map<String, Object>> result = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Long> entry : ranked) {
+            long estimatedOps = entry.getValue() * sampleRate;
+            int slot = RedisSlotUtil.getSlot(entry.getKey());
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("key", entry.getKey());
+            item.put("estimatedOps", estimatedOps);
+            item.put("qps", Math.round(estimatedOps / windowSeconds));
+            item.put("slot", slot);
+            item.put("node", topologyCache != null ? topologyCache.getNodeBySlot(slot) : null);
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 抽样参数、抽样次数、候选集大小与热点 Key 列表
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sampleRate", sampleRate);
+        stats.put("windowSeconds", windowMillis() / 1000);
+        stats.put("sampled", sampled.sum());
+        stats.put("candidates", candidates.size());
+        stats.put("admissionThreshold", admissionThreshold);
+        stats.put("hotKeys", hotKeys());
+        return stats;
+    }
+
+    /**
+     * 估算候选集并取估算值最高的若干 Key
+     *
+     * 实现逻辑：
+     * 1. 逐个估算候选 Key，用容量为 limit 的小顶堆保留最大值。
+     * 2. 堆内元素按估算值降序输出。
+     *
+     * @param limit 保留个数
+     * @return 估算值大于 0 的 Key（降序）
+     */
+    private List<Map.Entry<String, Long>> rankCandidates(int limit) {
+        // 实现思路：
+        // 1. 堆顶为当前第 limit 大的值，更小的估算直接跳过。
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        for (String key : candidates) {
+            int h1 = spread(key.hashCode());
+            long count = estimate(h1, spread(h1 * 0x9E3779B9) | 1);
+            if (count <= 0 || (heap.size() >= limit && count <= heap.peek().getValue())) {
+                continue;
+            }
+            heap.offer(new AbstractMap.SimpleImmutableEntry<>(key, count));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(heap);
+        ranked.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return ranked;
+    }
+
+    /**
+     * 滑动窗口内的估算抽样次数：各桶取行最小值后求和
+     */
+    private long estimate(int h1, int h2) {
+        long total = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            AtomicLongArray sketch = buckets.get(b);
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, sketch.get(row * width + ((h1 + row * h2) & mask)));
+            }
+            total += min;
+        }
+        return total;
+    }
+
+    private long windowMillis() {
+        return bucketCount * bucketMillis;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+}
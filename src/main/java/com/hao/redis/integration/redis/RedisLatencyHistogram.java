@@ -0,0 +1,143 @@
+package com.hao.redis.integration.redis;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * 无锁延迟直方图（对数线性分桶）
+ *
+ * 类职责：
+ * 以纳秒为单位记录延迟样本，按分位数（p50/p99/p999）输出。
+ *
+ * 设计目的：
+ * 1. 记录路径只有一次原子自增，可挂在每条 Redis 命令上。
+ * 2. 固定内存、相对误差有上界（约 6%），不随样本数增长。
+ *
+ * 核心实现思路：
+ * - 与 HdrHistogram 相同的分桶方式：每个 2 的幂区间再等分 16 个子桶。
+ * - 小于 16ns 的值各占一个桶；超过上限（约 68 秒）的值记入最后一个桶。
+ * - 分位数取桶上界，结果只会偏大不会偏小。
+ */
+public class RedisLatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /**
+     * 可区分的最大指数（2^36 ns ≈ 68 秒）
+     */
+    private static final int MAX_EXPONENT = 35;
+
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 记录一次延迟
+     *
+     * @param nanos 延迟（纳秒）
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        counts.incrementAndGet(indexOf(value));
+        max.accumulate(value);
+    }
+
+    /**
+     * 合并另一个直方图的样本（用于按命令或按节点汇总）
+     *
+     * @param other 另一个直方图
+     */
+    public void add(RedisLatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        max.accumulate(other.max.get());
+    }
+
+    /**
+     * 生成只读快照
+     *
+     * @return 快照
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, max.get());
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT + SUB_BITS - 1;
+        int sub = index % SUB_COUNT;
+        long lower = (long) (SUB_COUNT + sub) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+
+    /**
+     * 直方图快照
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long total;
+        private final long max;
+
+        private Snapshot(long[] counts, long total, long max) {
+            this.counts = counts;
+            this.total = total;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return total;
+        }
+
+        public long getMaxNanos() {
+            return max;
+        }
+
+        /**
+         * 计算分位数
+         *
+         * @param percentile 分位（0~1，如 0.99）
+         * @return 分位延迟（纳秒），无样本时返回 0
+         */
+        public long percentileNanos(double percentile) {
+            if (total == 0) {
+                return 0L;
+            }
+            long target = Math.max(1L, (long) Math.ceil(percentile * total));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= target) {
+                    // 溢出桶没有上界，直接使用最大值
+                    return i == counts.length - 1 ? max : Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.hao.redis.integration.redis;
+
+import com.hao.redis.common.util.RedisSlotUtil;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 读请求合并器（微批）
+ *
+ * 类职责：
+ * 收集并发到达的单 Key 读请求（GET/HGET），在极短窗口内合并为按 Slot 的 MGET 与按 Key 的 HMGET。
+ *
+ * 设计目的：
+ * 1. 数百个线程同时读取时，把 N 次往返压缩为每个 Slot/Key 一次往返。
+ * 2. 合并引入的额外延迟有上界：最多等待一个窗口或凑满一批。
+ *
+ * 为什么需要该类：
+ * 热点读接口在高并发下每次 GET/HGET 各付一次 RTT，网络与 Redis 事件循环开销被放大。
+ *
+ * 核心实现思路：
+ * - 调用线程只入队并等待 Future；单个分发线程负责攒批与下发。
+ * - 分发线程独占一条集群连接并关闭自动刷写：一批命令写完后一次刷写，回包在事件循环线程完成 Future。
+ * - 分发线程不等待回包，下一批可立即开始收集，合并延迟不与 RTT 叠加。
+ * - 记录批大小直方图，用于调优窗口与批上限。
+ *
+ * 使用约束：
+ * 开启后单请求延迟最多增加一个窗口；低并发场景收益有限，默认关闭。
+ */
+@Slf4j
+public class RedisReadCoalescer implements AutoCloseable {
+
+    /**
+     * 批大小直方图桶上界（最后一个桶为“更大”）
+     */
+    private static final int[] HISTOGRAM_BOUNDS = {1, 2, 4, 8, 16, 32, 64, 128, 256};
+
+    /**
+     * 调用方默认等待超时时间（未指定时使用）
+     */
+    private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final StatefulRedisClusterConnection<String, String> connection;
+    private final RedisAdvancedClusterAsyncCommands<String, String> commands;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    /**
+     * 调用方等待超时，与单命令超时（spring.data.redis.timeout）一致
+     */
+    private final Duration waitTimeout;
+    private final BlockingQueue<PendingRead> queue;
+    private final Thread dispatcher;
+
+    private final LongAdder[] histogram = new LongAdder[HISTOGRAM_BOUNDS.length + 1];
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder coalescedReads = new LongAdder();
+    private final LongAdder roundTrips = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean running = true;
+
+    /**
+     * 读请求合并器构造方法
+     *
+     * @param connection 合并器独占的集群连接（会被关闭自动刷写）
+     * @param window 合并窗口（建议 100~500 微秒）
+     * @param maxBatchSize 单批最大请求数，凑满立即下发
+     * @param queueCapacity 等待队列容量，队列满时调用方回退为直接读取
+     */
+    public RedisReadCoalescer(StatefulRedisClusterConnection<String, String> connection,
+                              Duration window, int maxBatchSize, int queueCapacity) {
+        this(connection, window, maxBatchSize, queueCapacity, DEFAULT_WAIT_TIMEOUT);
+    }
+
+    /**
+     * 读请求合并器构造方法（指定等待超时）
+     *
+     * @param connection 合并器独占的集群连接（会被关闭自动刷写）
+     * @param window 合并窗口（建议 100~500 微秒）
+     * @param maxBatchSize 单批最大请求数，凑满立即下发
+     * @param queueCapacity 等待队列容量，队列满时调用方回退为直接读取
+     * @param waitTimeout 调用方等待超时（通常为 spring.data.redis.timeout）
+     */
+    public RedisReadCoalescer(StatefulRedisClusterConnection<String, String> connection,
+                              Duration window, int maxBatchSize, int queueCapacity, Duration waitTimeout) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize 必须大于 0");
+        }
+        this.connection = connection;
+        this.connection.setAutoFlushCommands(false);
+        this.commands = connection.async();
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.waitTimeout = waitTimeout != null && !waitTimeout.isNegative() && !waitTimeout.isZero()
+                ? waitTimeout : DEFAULT_WAIT_TIMEOUT;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = new LongAdder();
+        }
+        this.dispatcher = new Thread(this::dispatchLoop, "redis-read-coalescer");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+        log.info("读请求合并器启动|Read_coalescer_started,windowMicros={},maxBatchSize={}",
+                window.toNanos() / 1000, maxBatchSize);
+    }
+
+    /**
+     * 合并读取字符串（GET）
+     *
+     * @param key Redis Key
+     * @return 结果 Future；队列已满时返回 null，调用方应直接读取
+     */
+    public CompletableFuture<String> get(String key) {
+        return submit(new PendingRead(key, null));
+    }
+
+    /**
+     * 合并读取哈希字段（HGET）
+     *
+     * @param key Redis Key
+     * @param field 字段
+     * @return 结果 Future；队列已满时返回 null，调用方应直接读取
+     */
+    public CompletableFuture<String> hget(String key, String field) {
+        return submit(new PendingRead(key, field));
+    }
+
+    /**
+     * 同步等待合并结果
+     *
+     * 实现逻辑：
+     * 1. 在超时时间内等待 Future。
+     * 2. 将执行异常还原为运行时异常抛出。
+     *
+     * @param future 合并结果 Future
+     * @return 读取结果
+     */
+    public String await(CompletableFuture<String> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待合并读取结果被中断", e);
+        } catch (TimeoutException e) {
+            throw new RedisCommandTimeoutException("合并读取等待超时: " + waitTimeout.toMillis() + "ms");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("合并读取失败", cause);
+        }
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 批次数、合并请求数、往返次数与批大小直方图
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long batchCount = batches.sum();
+        long readCount = coalescedReads.sum();
+        stats.put("windowMicros", windowNanos / 1000);
+        stats.put("maxBatchSize", maxBatchSize);
+        stats.put("batches", batchCount);
+        stats.put("reads", readCount);
+        stats.put("roundTrips", roundTrips.sum());
+        stats.put("avgBatchSize", batchCount == 0 ? 0.0 : (double) readCount / batchCount);
+        stats.put("rejected", rejected.sum());
+        stats.put("queued", queue.size());
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < HISTOGRAM_BOUNDS.length; i++) {
+            buckets.put("le_" + HISTOGRAM_BOUNDS[i], histogram[i].sum());
+        }
+        buckets.put("gt_" + HISTOGRAM_BOUNDS[HISTOGRAM_BOUNDS.length - 1], histogram[HISTOGRAM_BOUNDS.length].sum());
+        stats.put("batchSizeHistogram", buckets);
+        return stats;
+    }
+
+    /**
+     * 关闭合并器
+     *
+     * 实现逻辑：
+     * 1. 停止分发线程，剩余请求以异常结束，避免调用方一直等待。
+     * 2. 关闭独占连接。
+     */
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        List<PendingRead> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (PendingRead read : remaining) {
+            read.future.completeExceptionally(new IllegalStateException("读请求合并器已关闭"));
+        }
+        connection.close();
+        log.info("读请求合并器关闭|Read_coalescer_closed");
+    }
+
+    private CompletableFuture<String> submit(PendingRead read) {
+        if (!running || !queue.offer(read)) {
+            rejected.increment();
+            return null;
+        }
+        return read.future;
+    }
+
+    /**
+     * 分发线程主循环
+     *
+     * 实现逻辑：
+     * 1. 阻塞等待第一个请求。
+     * 2. 在窗口内继续收集，凑满批上限立即结束。
+     * 3. 下发本批命令后立即进入下一轮，不等待回包。
+     */
+    private void dispatchLoop() {
+        // 实现思路：
+        // 1. 窗口从第一个请求到达时开始计时，保证单请求额外延迟不超过一个窗口。
+        List<PendingRead> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingRead next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(batch, new IllegalStateException("读请求合并器已关闭"));
+                return;
+            } catch (Exception e) {
+                log.error("合并读取下发失败|Coalesced_read_dispatch_fail,size={},error={}", batch.size(), e.getMessage(), e);
+                failAll(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 下发一批读请求
+     *
+     * 实现逻辑：
+     * 1. GET 按 Slot 分组，每个 Slot 一条 MGET。
+     * 2. HGET 按 Key 分组，每个 Key 一条 HMGET。
+     * 3. 一次刷写，回包后按下标完成各自的 Future。
+     *
+     * @param batch 本批请求
+     */
+    private void dispatch(List<PendingRead> batch) {
+        // 实现思路：
+        // 1. 同一批内重复的 Key/字段各自保留下标，回包后逐一完成。
+        Map<Integer, List<PendingRead>> getsBySlot = new HashMap<>();
+        Map<String, List<PendingRead>> hgetsByKey = new HashMap<>();
+        for (PendingRead read : batch) {
+            if (read.field == null) {
+                getsBySlot.computeIfAbsent(RedisSlotUtil.getSlot(read.key), slot -> new ArrayList<>()).add(read);
+            } else {
+                hgetsByKey.computeIfAbsent(read.key, key -> new ArrayList<>()).add(read);
+            }
+        }
+
+        for (List<PendingRead> reads : getsBySlot.values()) {
+            String[] keys = new String[reads.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = reads.get(i).key;
+            }
+            commands.mget(keys).whenComplete((values, error) -> complete(reads, values, error));
+        }
+        for (Map.Entry<String, List<PendingRead>> entry : hgetsByKey.entrySet()) {
+            List<PendingRead> reads = entry.getValue();
+            String[] fields = new String[reads.size()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = reads.get(i).field;
+            }
+            commands.hmget(entry.getKey(), fields).whenComplete((values, error) -> complete(reads, values, error));
+        }
+        // 核心代码：整批一次刷写
+        connection.flushCommands();
+
+        batches.increment();
+        coalescedReads.add(batch.size());
+        roundTrips.add(getsBySlot.size() + hgetsByKey.size());
+        histogram[bucket(batch.size())].increment();
+    }
+
+    private static void complete(List<PendingRead> reads, List<KeyValue<String, String>> values, Throwable error) {
+        if (error != null) {
+            failAll(reads, error);
+            return;
+        }
+        for (int i = 0; i < reads.size(); i++) {
+            KeyValue<String, String> kv = values.get(i);
+            reads.get(i).future.complete(kv.hasValue() ? kv.getValue() : null);
+        }
+    }
+
+    private static void failAll(List<PendingRead> reads, Throwable error) {
+        for (PendingRead read : reads) {
+            read.future.completeExceptionally(error);
+        }
+    }
+
+    private static int bucket(int size) {
+        for (int i = 0; i < HISTOGRAM_BOUNDS.length; i++) {
+            if (size <= HISTOGRAM_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return HISTOGRAM_BOUNDS.length;
+    }
+
+    /**
+     * 待合并的读请求
+     */
+    private static final class PendingRead {
+        private final String key;
+        private final String field;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        private PendingRead(String key, String field) {
+            this.key = key;
+            this.field = field;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.hao.redis.integration.redis;
+
+import com.hao.redis.common.enums.RedisScriptEnum;
+import com.hao.redis.common.util.RedisSlotUtil;
+import com.hao.redis.integration.cluster.RedisClusterTopologyCache;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis Lua 脚本注册中心
+ *
+ * 类职责：
+ * 启动时把 RedisScriptEnum 中的全部脚本加载到每个主节点，运行期统一以 EVALSHA 执行。
+ *
+ * 设计目的：
+ * 1. 热点路径只发送 40 字节的 SHA1 摘要，不再每次上传脚本正文。
+ * 2. 摘要在启动时计算一次，调用点不再重复构建脚本对象与计算 SHA1。
+ * 3. 主从切换、扩容或 SCRIPT FLUSH 后脚本缓存丢失时，调用方无感恢复。
+ *
+ * 为什么需要该类：
+ * 分布式锁、限流、秒杀各自管理脚本，部分调用点每次都新建脚本对象或直接 EVAL 正文，
+ * 在高频调用下浪费带宽与 CPU。
+ *
+ * 核心实现思路：
+ * - 启动时逐个主节点执行 SCRIPT LOAD；定时比对主节点列表，新主节点补加载。
+ * - 执行时 EVALSHA 按首个 Key 路由；收到 NOSCRIPT 时对全部主节点重新加载该脚本并重试一次。
+ * - 使用共享的多路复用集群连接，脚本执行不占用连接池连接。
+ */
+@Slf4j
+@Component
+public class RedisScriptRegistry implements CommandLineRunner {
+
+    private final StatefulRedisClusterConnection<String, String> connection;
+    private final RedisClusterTopologyCache topologyCache;
+
+    /**
+     * 脚本 -> SHA1 摘要（构造时计算后只读，不依赖 Redis 可用）
+     */
+    private final Map<RedisScriptEnum, String> digests = new EnumMap<>(RedisScriptEnum.class);
+
+    /**
+     * 已完成全量加载的主节点地址
+     */
+    private final Set<String> loadedNodes = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder noScriptRecoveries = new LongAdder();
+    private final LongAdder scriptLoads = new LongAdder();
+
+    public RedisScriptRegistry(StatefulRedisClusterConnection<String, String> asyncClusterConnection,
+                               RedisClusterTopologyCache topologyCache) {
+        this.connection = asyncClusterConnection;
+        this.topologyCache = topologyCache;
+        for (RedisScriptEnum script : RedisScriptEnum.values()) {
+            digests.put(script, sha1Hex(script.getScript()));
+        }
+    }
+
+    /**
+     * 项目启动时预加载全部脚本
+     */
+    @Override
+    public void run(String... args) {
+        refreshScripts();
+    }
+
+    /**
+     * 定时校验主节点脚本加载状态
+     *
+     * 实现逻辑：
+     * 1. 获取当前主节点列表，移除已下线节点的加载记录。
+     * 2. 对尚未加载的主节点（新主节点、故障切换后的从节点）执行全量加载。
+     */
+    @Scheduled(fixedDelayString = "${redis.script.reload-check-ms:30000}")
+    public void refreshScripts() {
+        // 实现思路：
+        // 1. 只对新出现的主节点加载，稳定状态下不产生任何命令。
+        try {
+            Set<String> masters = topologyCache.getMasterNodes();
+            loadedNodes.retainAll(masters);
+            for (String node : masters) {
+                if (!loadedNodes.contains(node)) {
+                    loadAllOnNode(node);
+                    loadedNodes.add(node);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("脚本预加载失败_将由NOSCRIPT兜底|Script_preload_fail,error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 以 EVALSHA 执行脚本
+     *
+     * 实现逻辑：
+     * 1. 使用预计算的摘要执行 EVALSHA，集群按首个 Key 路由。
+     * 2. 收到 NOSCRIPT 时重新加载该脚本到全部主节点后重试一次。
+     *
+     * @param script 脚本
+     * @param keys 脚本访问的 Key（需位于同一 Slot）
+     * @param args 脚本参数
+     * @param <T> 返回类型（由脚本返回类型决定，INTEGER 对应 Long）
+     * @return 脚本返回值
+     */
+    public <T> T execute(RedisScriptEnum script, List<String> keys, String... args) {
+        // 实现思路：
+        // 1. NOSCRIPT 只在脚本缓存丢失后出现一次，重试路径不进入常态。
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("keys 不能为空");
+        }
+        String[] keyArray = keys.toArray(new String[0]);
+        // 跨 Slot 的脚本在集群中必然 CROSSSLOT 失败，提前给出可定位的错误
+        RedisSlotUtil.requireSameSlot(keyArray);
+        RedisAdvancedClusterCommands<String, String> commands = connection.sync();
+        executions.increment();
+        try {
+            // 核心代码：仅发送摘要
+            return commands.evalsha(digests.get(script), script.getOutputType(), keyArray, args);
+        } catch (RedisNoScriptException e) {
+            noScriptRecoveries.increment();
+            log.warn("脚本缓存缺失_重新加载|Script_noscript_reload,script={},key={}", script, keyArray[0]);
+            loadOnAllMasters(script);
+            return commands.evalsha(digests.get(script), script.getOutputType(), keyArray, args);
+        }
+    }
+
+    /**
+     * 获取脚本摘要
+     *
+     * @param script 脚本
+     * @return SHA1 摘要（小写十六进制）
+     */
+    public String getDigest(RedisScriptEnum script) {
+        return digests.get(script);
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 执行次数、NOSCRIPT 恢复次数、加载次数与已加载节点
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("scripts", digests.size());
+        stats.put("executions", executions.sum());
+        stats.put("noScriptRecoveries", noScriptRecoveries.sum());
+        stats.put("scriptLoads", scriptLoads.sum());
+        stats.put("loadedNodes", new TreeSet<>(loadedNodes));
+        return stats;
+    }
+
+    /**
+     * 在单个节点上加载全部脚本
+     *
+     * @param node 节点地址（IP:Port）
+     */
+    private void loadAllOnNode(String node) {
+        for (RedisScriptEnum script : RedisScriptEnum.values()) {
+            loadOnNode(node, script);
+        }
+        log.info("节点脚本预加载完成|Script_preload_done,node={},scripts={}", node, digests.size());
+    }
+
+    /**
+     * 在全部主节点上加载单个脚本
+     *
+     * @param script 脚本
+     */
+    private void loadOnAllMasters(RedisScriptEnum script) {
+        for (String node : topologyCache.getMasterNodes()) {
+            loadOnNode(node, script);
+        }
+    }
+
+    private void loadOnNode(String node, RedisScriptEnum script) {
+        int separator = node.lastIndexOf(':');
+        String host = node.substring(0, separator);
+        int port = Integer.parseInt(node.substring(separator + 1));
+        String sha = connection.getConnection(host, port).sync().scriptLoad(script.getScript());
+        scriptLoads.increment();
+        if (!digests.get(script).equals(sha)) {
+            // 理论上不会出现，出现说明本地摘要算法与服务端不一致
+            log.error("脚本摘要不一致|Script_digest_mismatch,script={},local={},remote={}", script, digests.get(script), sha);
+        }
+    }
+
+    private static String sha1Hex(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 算法不可用", e);
+        }
+    }
+}
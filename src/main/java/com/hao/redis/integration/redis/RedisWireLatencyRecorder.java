@@ -0,0 +1,89 @@
+package com.hao.redis.integration.redis;
+
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.resource.ClientResources;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * Redis 连接层命令延迟记录器
+ *
+ * 类职责：
+ * 作为 Lettuce 的 CommandLatencyRecorder，把每条实际发出的命令按“命令类型 + 远端节点”写入 RedisCommandMetrics 连接层。
+ *
+ * 设计目的：
+ * 1. 覆盖切面看不到的流量：异步客户端、对冲读、二进制客户端、合并读、从节点读，以及客户端方法之间的自调用。
+ * 2. 节点取自实际连接的远端地址，而不是按 Slot 推算，从节点读与重定向后的命令也能归到真实节点。
+ *
+ * 为什么需要该类：
+ * 切面只环绕经过 Spring 代理的 RedisClient 调用，绕开代理的路径此前完全没有延迟数据。
+ *
+ * 核心实现思路：
+ * - 通过 ClientResourcesBuilderCustomizer 注册到容器管理的 ClientResources，连接工厂复用该资源，
+ *   由它派生的全部集群连接都会回调本记录器。
+ * - 回调发生在 Netty 事件循环线程，记录路径只做 Map 查找与直方图原子更新，不打日志、不抛异常。
+ * - 可通过 redis.metrics.enabled=false 关闭。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "redis.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisWireLatencyRecorder implements CommandLatencyRecorder, ClientResourcesBuilderCustomizer {
+
+    private final RedisCommandMetrics commandMetrics;
+
+    /**
+     * 连接层延迟记录器构造方法
+     *
+     * @param commandMetrics 命令统计
+     */
+    public RedisWireLatencyRecorder(RedisCommandMetrics commandMetrics) {
+        this.commandMetrics = commandMetrics;
+    }
+
+    /**
+     * 注册到 Lettuce 客户端资源
+     *
+     * @param builder 客户端资源构建器
+     */
+    @Override
+    public void customize(ClientResources.Builder builder) {
+        // 核心代码：替换默认的延迟收集器（默认收集器需额外依赖且按周期发布事件）
+        builder.commandLatencyRecorder(this);
+        log.info("Redis连接层延迟统计已注册|Redis_wire_latency_recorder_registered");
+    }
+
+    /**
+     * 记录一条命令的连接层延迟
+     *
+     * @param local 本地地址
+     * @param remote 远端节点地址
+     * @param commandType 命令类型
+     * @param firstResponseLatency 发出到首个响应字节的耗时（纳秒）
+     * @param completionLatency 发出到命令完成的耗时（纳秒）
+     */
+    @Override
+    public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+                                     long firstResponseLatency, long completionLatency) {
+        commandMetrics.recordWire(commandType.toString(), nodeOf(remote), completionLatency);
+    }
+
+    /**
+     * 远端地址转换为 IP:Port，与拓扑缓存的节点标识一致
+     *
+     * @param remote 远端地址
+     * @return 节点标识
+     */
+    private static String nodeOf(SocketAddress remote) {
+        if (remote instanceof InetSocketAddress inet) {
+            String host = inet.getAddress() != null ? inet.getAddress().getHostAddress() : inet.getHostString();
+            return host + ":" + inet.getPort();
+        }
+        return remote != null ? remote.toString() : null;
+    }
+}
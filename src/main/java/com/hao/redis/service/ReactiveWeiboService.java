@@ -0,0 +1,58 @@
+package com.hao.redis.service;
+
+import com.hao.redis.dal.model.WeiboPost;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 微博响应式读服务接口
+ *
+ * 类职责：
+ * 提供最新动态、热搜榜、用户详情的非阻塞读取能力。
+ *
+ * 设计目的：
+ * 1. 读接口在等待 Redis 回包期间不占用容器工作线程。
+ * 2. 与 WeiboService 的同步读语义保持一致，便于压测对比与灰度切换。
+ *
+ * 为什么需要该类：
+ * 读接口是纯 Redis 访问，同步实现下并发连接数受限于 Tomcat 线程数。
+ *
+ * 核心实现思路：
+ * - 基于 ReactiveRedisClient 组装 Mono 链路。
+ * - ID 列表与详情加载通过 flatMap 串联，不阻塞任何线程。
+ */
+public interface ReactiveWeiboService {
+
+    /**
+     * 获取最新动态列表
+     *
+     * 实现逻辑：
+     * 1. 读取时间轴 ID 列表并批量加载详情。
+     *
+     * @return 最新微博列表
+     */
+    Mono<List<WeiboPost>> listLatestPosts();
+
+    /**
+     * 获取全站热搜排行榜 (Top 10)
+     *
+     * 实现逻辑：
+     * 1. 读取排行榜 Top 10 并批量加载详情。
+     *
+     * @return 热搜榜列表
+     */
+    Mono<List<WeiboPost>> getHotRank();
+
+    /**
+     * 获取用户详情
+     *
+     * 实现逻辑：
+     * 1. 读取用户哈希的全部字段。
+     *
+     * @param userId 用户ID
+     * @return 用户信息
+     */
+    Mono<Map<String, String>> getUser(String userId);
+}
@@ -5,6 +5,7 @@ import com.hao.redis.dal.model.WeiboPost;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 微博业务服务接口
@@ -104,4 +105,15 @@ public interface WeiboService {
      * @return 热搜榜列表
      */
     List<WeiboPost> getHotRank();
+
+    /**
+     * 异步获取首页聚合数据（最新动态 + 热搜榜）
+     *
+     * 实现逻辑：
+     * 1. 并发发出时间轴 LRANGE 与热榜 ZREVRANGE。
+     * 2. 两路结果分别批量加载详情后合并返回。
+     *
+     * @return 首页数据 Future，latest 为最新动态，hot 为热搜榜
+     */
+    CompletableFuture<Map<String, List<WeiboPost>>> getHomeFeedAsync();
 }
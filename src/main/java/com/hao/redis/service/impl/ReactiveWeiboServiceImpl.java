@@ -0,0 +1,121 @@
+package com.hao.redis.service.impl;
+
+import com.hao.redis.common.enums.RedisKeysEnum;
+import com.hao.redis.common.util.JsonUtil;
+import com.hao.redis.dal.model.WeiboPost;
+import com.hao.redis.integration.redis.ReactiveRedisClient;
+import com.hao.redis.integration.redis.RedisBucketedHash;
+import com.hao.redis.service.ReactiveWeiboService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 微博响应式读服务实现
+ *
+ * 类职责：
+ * 基于 ReactiveRedisClient 实现最新动态、热搜榜、用户详情的非阻塞读取。
+ *
+ * 设计目的：
+ * 1. 读取流程与 WeiboServiceImpl 保持一致（ID 列表 + HMGET 批量详情）。
+ * 2. 全程无阻塞调用，可运行在少量事件循环线程上。
+ *
+ * 为什么需要该类：
+ * 同步读链路在高并发连接下受限于容器线程数，需要提供非阻塞实现。
+ *
+ * 核心实现思路：
+ * - Flux 收集为 ID 列表后 flatMap 到 HMGET。
+ * - JSON 反序列化为纯内存操作，直接在回调线程执行。
+ */
+@Slf4j
+@Service
+public class ReactiveWeiboServiceImpl implements ReactiveWeiboService {
+
+    @Autowired
+    private ReactiveRedisClient<String> reactiveRedisClient;
+
+    @Autowired
+    private RedisBucketedHash weiboPostStore;
+
+    /**
+     * 获取最新动态列表
+     *
+     * 实现逻辑：
+     * 1. LRANGE 读取时间轴前 20 条 ID。
+     * 2. HMGET 批量读取详情并反序列化。
+     *
+     * @return 最新微博列表
+     */
+    @Override
+    public Mono<List<WeiboPost>> listLatestPosts() {
+        // 实现思路：
+        // 1. 时间轴 ID 收集后批量加载详情。
+        // 核心代码：LRANGE -> HMGET
+        return reactiveRedisClient.lrange(RedisKeysEnum.TIMELINE_KEY.getKey(), 0, 19)
+                .collectList()
+                .flatMap(this::loadPosts);
+    }
+
+    /**
+     * 获取全站热搜排行榜
+     *
+     * 实现逻辑：
+     * 1. ZREVRANGE 读取热榜 Top 10 ID。
+     * 2. HMGET 批量读取详情并反序列化。
+     *
+     * @return 热搜榜列表
+     */
+    @Override
+    public Mono<List<WeiboPost>> getHotRank() {
+        // 实现思路：
+        // 1. 热榜 ID 收集后批量加载详情。
+        // 核心代码：ZREVRANGE -> HMGET
+        return reactiveRedisClient.zrevrange(RedisKeysEnum.HOT_RANK_KEY.getKey(), 0, 9)
+                .collectList()
+                .flatMap(this::loadPosts);
+    }
+
+    /**
+     * 获取用户详情
+     *
+     * 实现逻辑：
+     * 1. HGETALL 读取用户哈希。
+     *
+     * @param userId 用户ID
+     * @return 用户信息
+     */
+    @Override
+    public Mono<Map<String, String>> getUser(String userId) {
+        // 实现思路：
+        // 1. 直接读取用户哈希。
+        return reactiveRedisClient.hgetAll(RedisKeysEnum.USER_PREFIX.join(userId));
+    }
+
+    /**
+     * 批量加载微博详情
+     *
+     * 实现逻辑：
+     * 1. ID 为空直接返回空列表。
+     * 2. 按分桶并发 HMGET 读取详情，过滤缺失与解析失败的数据。
+     *
+     * @param postIds 微博ID列表
+     * @return 微博详情列表
+     */
+    private Mono<List<WeiboPost>> loadPosts(List<String> postIds) {
+        if (postIds.isEmpty()) {
+            return Mono.just(Collections.emptyList());
+        }
+        return weiboPostStore.hmgetReactive(reactiveRedisClient, postIds)
+                .map(postJsonList -> postJsonList.stream()
+                        .filter(Objects::nonNull)
+                        .map(item -> JsonUtil.toBean(item, WeiboPost.class))
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+}
@@ -2,17 +2,29 @@ package com.hao.redis.service.impl;
 
 import com.hao.redis.common.constants.DateConstants;
 import com.hao.redis.common.enums.RedisKeysEnum;
+import com.hao.redis.common.exception.RedisNodeUnavailableException;
 import com.hao.redis.common.util.BloomFilterUtil;
 import com.hao.redis.common.util.JsonUtil;
 import com.hao.redis.dal.model.WeiboPost;
+import com.hao.redis.integration.redis.AsyncRedisClient;
+import com.hao.redis.integration.redis.BinaryRedisClient;
+import com.hao.redis.integration.redis.RedisBucketedHash;
 import com.hao.redis.integration.redis.RedisClient;
+import com.hao.redis.integration.redis.RedisHedgedReader;
+import com.hao.redis.integration.redis.RedisValueCodec;
 import com.hao.redis.service.WeiboService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * 微博业务服务实现
@@ -39,9 +51,41 @@ public class WeiboServiceImpl implements WeiboService {
     @Autowired
     private RedisClient<String> redisClient;
 
+    @Autowired
+    private AsyncRedisClient<String> asyncRedisClient;
+
+    @Autowired
+    private BinaryRedisClient binaryRedisClient;
+
     @Autowired
     private BloomFilterUtil bloomFilterUtil;
 
+    @Autowired
+    private RedisBucketedHash weiboPostStore;
+
+    @Autowired
+    private RedisValueCodec valueCodec;
+
+    @Autowired
+    private RedisHedgedReader hedgedReader;
+
+    /**
+     * 信息流读取截止时间（毫秒），0 表示不设截止时间（按全局命令超时读取）。
+     * 开启后超过截止时间降级：优先返回上次成功结果，无结果时改为不限截止时间的主节点读取。
+     */
+    @Value("${weibo.feed.read-deadline-ms:0}")
+    private long feedReadDeadlineMs;
+
+    /**
+     * 时间轴上次成功读取的结果，供截止超时降级使用
+     */
+    private volatile List<WeiboPost> lastTimeline;
+
+    /**
+     * 热榜上次成功读取的结果，供截止超时降级使用
+     */
+    private volatile List<WeiboPost> lastHotRank;
+
     /**
      * 注册新用户
      *
@@ -67,12 +111,13 @@ public class WeiboServiceImpl implements WeiboService {
         paramMap.put("avatar", "default_head.png"); // 默认头像
         paramMap.put("fans", "0");    // 初始粉丝 0
         paramMap.put("follows", "0"); // 初始关注 0
-        // 核心代码：写入用户信息
-        redisClient.hmset(RedisKeysEnum.USER_PREFIX.join(newUserId), paramMap);
-        
-        // 核心代码：将 userId 加入布隆过滤器
-        bloomFilterUtil.add("user", String.valueOf(newUserId));
-        
+        // 优化：用户信息与布隆过滤器位图合并为一次管道刷写（原 1 + 3 次往返）
+        // 核心代码：写入用户信息并将 userId 加入布隆过滤器
+        redisClient.pipeline(batch -> {
+            batch.hmset(RedisKeysEnum.USER_PREFIX.join(newUserId), paramMap);
+            bloomFilterUtil.add(batch, "user", String.valueOf(newUserId));
+        });
+
         return newUserId;
     }
 
@@ -111,7 +156,14 @@ public class WeiboServiceImpl implements WeiboService {
     public Integer getTotalUV() {
         // 实现思路：
         // 1. 读取 UV 计数器并处理空值。
-        String uv = redisClient.get(RedisKeysEnum.TOTAL_UV.getKey());
+        // 2. 计数器所在节点熔断时降级返回 0，UV 为展示数据，不阻塞页面。
+        String uv;
+        try {
+            uv = redisClient.get(RedisKeysEnum.TOTAL_UV.getKey());
+        } catch (RedisNodeUnavailableException e) {
+            log.warn("UV节点不可用_降级返回0|Uv_node_unavailable_degrade,node={},reason={}", e.getNode(), e.getReason());
+            return 0;
+        }
         // 如果是 null，就返回 0
         return uv == null ? 0 : Integer.parseInt(uv);
     }
@@ -121,7 +173,7 @@ public class WeiboServiceImpl implements WeiboService {
      *
      * 实现逻辑：
      * 1. 生成微博ID并补全基础字段。
-     * 2. 写入微博详情并追加到时间轴列表。
+     * 2. 通过管道一次性写入微博详情、时间轴与布隆过滤器。
      *
      * @param userId 发布用户ID
      * @param body 微博内容
@@ -140,20 +192,25 @@ public class WeiboServiceImpl implements WeiboService {
         // 优化：使用全局单例 DateTimeFormatter
         body.setCreateTime(LocalDateTime.now().format(DateConstants.STANDARD_DATETIME_FORMATTER));
         // 核心代码：序列化微博内容
-        // 优化：使用 JsonUtil 工具类
-        String objectValue = JsonUtil.toJson(body);
-        // 核心代码：写入微博详情
-        redisClient.hset(RedisKeysEnum.WEIBO_POST_INFO.getKey(), postId, objectValue);
-        
-        // 优化：时间轴只存 postId，减少内存占用和网络传输
-        // 核心代码：写入时间轴 (仅存ID)
-        redisClient.lpush(RedisKeysEnum.TIMELINE_KEY.getKey(), postId);
-        // 优化：限制列表长度，防止无限增长 (保留最近 1000 条)
-        redisClient.ltrim(RedisKeysEnum.TIMELINE_KEY.getKey(), 0, 999);
-
-        // 核心代码：将 postId 加入布隆过滤器
-        bloomFilterUtil.add("post", postId);
-        
+        // 优化：直接序列化为 UTF-8 字节，经二进制客户端写入，省去中间 String 与二次编码
+        // 优化：长正文按分桶前缀的压缩配置压缩后写入，读取时透明解压
+        String bucketKey = weiboPostStore.bucketKey(postId);
+        byte[] objectValue = valueCodec.encode(bucketKey, JsonUtil.toJsonBytes(body));
+        byte[] rawPostId = postId.getBytes(StandardCharsets.UTF_8);
+        // 优化：详情、时间轴与布隆位图互不依赖，合并为一次管道刷写（原 6 次往返）
+        // 注意：INCR 结果是后续命令的参数，必须先同步拿到，无法并入管道
+        binaryRedisClient.pipeline(batch -> {
+            // 核心代码：写入微博详情（按 postId 分桶，避免单个大哈希）
+            batch.hset(bucketKey, postId, objectValue);
+            // 优化：时间轴只存 postId，减少内存占用和网络传输
+            // 核心代码：写入时间轴 (仅存ID)
+            batch.lpush(RedisKeysEnum.TIMELINE_KEY.getKey(), rawPostId);
+            // 优化：限制列表长度，防止无限增长 (保留最近 1000 条)
+            batch.ltrim(RedisKeysEnum.TIMELINE_KEY.getKey(), 0, 999);
+            // 核心代码：将 postId 加入布隆过滤器
+            bloomFilterUtil.add(batch, "post", postId);
+        });
+
         return postId;
     }
 
@@ -162,8 +219,9 @@ public class WeiboServiceImpl implements WeiboService {
      *
      * 实现逻辑：
      * 1. 读取时间轴列表（仅ID）。
-     * 2. 批量获取微博详情。
-     * 3. 反序列化为微博对象并过滤异常数据。
+     * 2. 批量获取微博详情：配置截止时间时经对冲读取器读取（开启对冲时主节点慢于 p95 向从节点补发）。
+     * 3. 反序列化为微博对象并过滤异常数据，记为上次成功结果。
+     * 4. 超过截止时间降级：返回上次成功结果，无结果时改为不限截止时间的主节点读取。
      *
      * @return 最新微博列表
      */
@@ -173,25 +231,24 @@ public class WeiboServiceImpl implements WeiboService {
         // 1. 读取时间轴列表 (ID列表)。
         // 2. 批量获取详情 (HMGET)。
         // 3. 反序列化。
-        
+        // 优化：时间轴为展示类读，可容忍复制延迟，优先由从节点承载，分担主节点 HMGET 压力
+        RedisClient<String> readClient = redisClient.replicaReads();
+
         // 核心代码：读取时间轴 ID 列表
-        List<String> postIds = redisClient.lrange(RedisKeysEnum.TIMELINE_KEY.getKey(), 0, 19);
+        List<String> postIds = readClient.lrange(RedisKeysEnum.TIMELINE_KEY.getKey(), 0, 19);
         if (postIds == null || postIds.isEmpty()) {
             return Collections.emptyList();
         }
         
-        // 优化：使用 HMGET 批量获取详情，避免 N+1 查询
-        // 注意：hmget 返回的是 List<String>，因为 RedisClient<String> 泛型是 String
-        List<String> postJsonList = redisClient.hmget(RedisKeysEnum.WEIBO_POST_INFO.getKey(), postIds);
-        
-        return postJsonList.stream()
-                .filter(Objects::nonNull)
-                .map(item -> {
-                    // 优化：使用 JsonUtil 工具类，自动处理异常
-                    return JsonUtil.toBean(item, WeiboPost.class);
-                })
-                .filter(Objects::nonNull) // 过滤解析失败的数据
-                .toList();
+        // 优化：使用 HMGET 批量获取详情，避免 N+1 查询；详情分桶存储，各桶 HMGET 并发发出
+        if (feedReadDeadlineMs <= 0) {
+            return lastTimeline = toPosts(weiboPostStore.hmget(readClient, postIds));
+        }
+        try {
+            return lastTimeline = toPosts(weiboPostStore.hmget(hedgedReader, postIds, Duration.ofMillis(feedReadDeadlineMs)));
+        } catch (QueryTimeoutException e) {
+            return degrade("timeline", lastTimeline, () -> lastTimeline = toPosts(weiboPostStore.hmget(redisClient, postIds)));
+        }
     }
 
     /**
@@ -219,6 +276,8 @@ public class WeiboServiceImpl implements WeiboService {
      * 实现逻辑：
      * 1. 读取热搜榜 Top 10 的微博ID列表。
      * 2. 批量加载微博详情。
+     * 3. 配置截止时间时两步读取均带截止时间（开启对冲时主节点慢于 p95 向从节点补发）。
+     * 4. 超过截止时间降级：返回上次成功结果，无结果时改为不限截止时间的主节点读取。
      *
      * @return 热搜榜列表
      */
@@ -227,27 +286,124 @@ public class WeiboServiceImpl implements WeiboService {
         // 实现思路：
         // 1. 获取热搜榜ID列表。
         // 2. 批量加载微博详情 (HMGET)。
-        
-        // 核心代码：读取热搜榜ID
+        // 优化：热榜为展示类读，可容忍复制延迟，尾部慢请求由从节点对冲承载
+        if (feedReadDeadlineMs <= 0) {
+            return lastHotRank = readHotRank();
+        }
+        Duration deadline = Duration.ofMillis(feedReadDeadlineMs);
+        try {
+            // 核心代码：读取热搜榜ID
+            Set<String> topPostIds = redisClient.zrevrange(RedisKeysEnum.HOT_RANK_KEY.getKey(), 0, 9, deadline);
+            if (topPostIds == null || topPostIds.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            // 优化：使用 HMGET 批量获取详情，避免 N+1 查询；详情分桶存储，各桶 HMGET 并发发出
+            return lastHotRank = toPosts(weiboPostStore.hmget(hedgedReader, new ArrayList<>(topPostIds), deadline));
+        } catch (QueryTimeoutException e) {
+            return degrade("hotRank", lastHotRank, () -> lastHotRank = readHotRank());
+        }
+    }
+
+    /**
+     * 不限截止时间读取热榜（主节点，按全局命令超时）
+     *
+     * @return 热搜榜列表
+     */
+    private List<WeiboPost> readHotRank() {
         Set<String> topPostIds = redisClient.zrevrange(RedisKeysEnum.HOT_RANK_KEY.getKey(), 0, 9);
         if (topPostIds == null || topPostIds.isEmpty()) {
             return Collections.emptyList();
         }
-        
-        // 优化：使用 HMGET 批量获取详情，避免 N+1 查询
-        // 注意：hmget 返回的是 List<String>
-        List<String> postJsonList = redisClient.hmget(RedisKeysEnum.WEIBO_POST_INFO.getKey(), new ArrayList<>(topPostIds));
-        
+        return toPosts(weiboPostStore.hmget(redisClient, new ArrayList<>(topPostIds)));
+    }
+
+    /**
+     * 截止超时降级
+     *
+     * 实现逻辑：
+     * 1. 有上次成功结果时直接返回，不再增加 Redis 负载。
+     * 2. 否则改为不限截止时间的主节点读取（首次请求宁可慢也不返回空列表）。
+     * 3. 两种降级分别计入对冲读取器统计。
+     *
+     * @param feed 信息流名称（日志使用）
+     * @param lastKnown 上次成功结果
+     * @param primaryRead 主节点读取
+     * @return 降级结果
+     */
+    private List<WeiboPost> degrade(String feed, List<WeiboPost> lastKnown, Supplier<List<WeiboPost>> primaryRead) {
+        boolean useLastKnown = lastKnown != null;
+        hedgedReader.recordDegraded(useLastKnown);
+        log.warn("信息流读取超过截止时间_降级|Feed_read_deadline_exceeded,feed={},deadlineMs={},fallback={}",
+                feed, feedReadDeadlineMs, useLastKnown ? "lastKnown" : "primary");
+        return useLastKnown ? lastKnown : primaryRead.get();
+    }
+
+    /**
+     * 微博详情 JSON 反序列化
+     *
+     * @param postJsonList 详情 JSON 列表（可含 null）
+     * @return 微博列表（过滤不存在与解析失败的数据）
+     */
+    private static List<WeiboPost> toPosts(List<String> postJsonList) {
         return postJsonList.stream()
                 .filter(Objects::nonNull)
                 .map(item -> {
                     // 优化：使用 JsonUtil 工具类，自动处理异常
                     return JsonUtil.toBean(item, WeiboPost.class);
                 })
-                .filter(Objects::nonNull)
+                .filter(Objects::nonNull) // 过滤解析失败的数据
                 .toList();
     }
 
+    /**
+     * 异步获取首页聚合数据
+     *
+     * 实现逻辑：
+     * 1. 并发发出时间轴 LRANGE 与热榜 ZREVRANGE，两者互不依赖。
+     * 2. 每路拿到 ID 后继续异步 HMGET 详情。
+     * 3. 两路完成后合并结果，全程不占用调用线程。
+     *
+     * @return 首页数据 Future
+     */
+    @Override
+    public CompletableFuture<Map<String, List<WeiboPost>>> getHomeFeedAsync() {
+        // 实现思路：
+        // 1. 两条读链路并发执行，总延迟约为较慢一路，而非两路之和。
+        CompletableFuture<List<WeiboPost>> latestFuture = asyncRedisClient
+                .lrange(RedisKeysEnum.TIMELINE_KEY.getKey(), 0, 19)
+                .thenCompose(this::loadPostsAsync);
+        CompletableFuture<List<WeiboPost>> hotFuture = asyncRedisClient
+                .zrevrange(RedisKeysEnum.HOT_RANK_KEY.getKey(), 0, 9)
+                .thenCompose(ids -> loadPostsAsync(new ArrayList<>(ids)));
+
+        // 核心代码：合并两路结果
+        return latestFuture.thenCombine(hotFuture, (latest, hot) -> {
+            Map<String, List<WeiboPost>> feed = new LinkedHashMap<>();
+            feed.put("latest", latest);
+            feed.put("hot", hot);
+            return feed;
+        });
+    }
+
+    /**
+     * 异步批量加载微博详情
+     *
+     * @param postIds 微博ID列表
+     * @return 微博详情列表 Future
+     */
+    private CompletableFuture<List<WeiboPost>> loadPostsAsync(List<String> postIds) {
+        if (postIds == null || postIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        return weiboPostStore.hmgetAsync(asyncRedisClient, postIds)
+                .thenApply(postJsonList -> postJsonList.stream()
+                        .filter(Objects::nonNull)
+                        .map(item -> JsonUtil.toBean(item, WeiboPost.class))
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
     /**
      * 获取微博详情
      *
@@ -267,16 +423,24 @@ public class WeiboServiceImpl implements WeiboService {
 
         // 2. 第二道防线：检查空值缓存（防止布隆误判导致的缓存穿透）
         // 如果空值缓存存在，说明之前已经查过数据库且不存在，直接返回 null
-        String nullCacheKey = RedisKeysEnum.WEIBO_NULL_CACHE.join(postId);
-        if (redisClient.exists(nullCacheKey)) {
-            log.warn("命中空值缓存_拦截穿透请求|Null_cache_hit,postId={}", postId);
-            return null;
-        }
+        String nullCacheKey = RedisKeysEnum.WEIBO_NULL_CACHE.joinTagged(postId);
+        try {
+            if (redisClient.exists(nullCacheKey)) {
+                log.warn("命中空值缓存_拦截穿透请求|Null_cache_hit,postId={}", postId);
+                return null;
+            }
 
-        // 3. 第三道防线：查询主缓存（Redis Hash）
-        String postInfoStr = redisClient.hget(RedisKeysEnum.WEIBO_POST_INFO.getKey(), postId);
-        if (postInfoStr != null) {
-            return JsonUtil.toBean(postInfoStr, WeiboPost.class);
+            // 3. 第三道防线：查询主缓存（Redis Hash）
+            String postInfoStr = weiboPostStore.hget(redisClient, postId);
+            if (postInfoStr != null) {
+                return JsonUtil.toBean(postInfoStr, WeiboPost.class);
+            }
+        } catch (RedisNodeUnavailableException e) {
+            // 降级：缓存节点熔断时直接回源，且不写空值缓存（写入同样会落到故障节点）
+            log.warn("缓存节点不可用_降级回源|Cache_node_unavailable_degrade_to_db,postId={},node={},reason={}",
+                    postId, e.getNode(), e.getReason());
+            // 真实场景：return weiboMapper.selectById(postId);
+            return null;
         }
 
         // 4. 第四道防线：回源查询数据库（模拟）
@@ -284,6 +448,11 @@ public class WeiboServiceImpl implements WeiboService {
         WeiboPost postFromDb = null; // 模拟数据库查不到
 
         if (postFromDb == null) {
+            // 迁移进行中：字段可能刚从旧哈希删除、尚未在分桶可见，本次未命中不可信，不写空值缓存
+            if (!weiboPostStore.isLegacyDrained()) {
+                log.warn("分桶迁移中_跳过空值缓存|Bucket_migrating_skip_null_cache,postId={}", postId);
+                return null;
+            }
             // 5. 核心逻辑：写入空值缓存
             // 既然布隆说存在，但数据库没有，说明发生了误判（或者数据刚被删除）
             // 写入一个短期的空值标记（如 5 分钟），防止短时间内重复打库
@@ -114,10 +114,13 @@ public class WeiboSystemIntegrationTest {
         );
         redisTemplate.delete(staticKeys);
 
-        // 2. 清理动态键（用户、点赞、每日访客）
+        // 2. 清理动态键（用户、微博详情分桶、点赞、每日访客）
         Set<String> userKeys = redisTemplate.keys("user:*");
         if (userKeys != null && !userKeys.isEmpty()) redisTemplate.delete(userKeys);
 
+        Set<String> postBucketKeys = redisTemplate.keys(RedisKeysEnum.WEIBO_POST_BUCKET.getKey() + "*");
+        if (postBucketKeys != null && !postBucketKeys.isEmpty()) redisTemplate.delete(postBucketKeys);
+
         Set<String> likeKeys = redisTemplate.keys("weibo:*:likes");
         if (likeKeys != null && !likeKeys.isEmpty()) redisTemplate.delete(likeKeys);
 
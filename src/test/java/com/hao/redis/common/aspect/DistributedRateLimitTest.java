@@ -1,7 +1,9 @@
 package com.hao.redis.common.aspect;
 
+import com.hao.redis.common.enums.RateLimitAlgorithm;
 import com.hao.redis.common.exception.RateLimitException;
 import com.hao.redis.common.interceptor.SimpleRateLimiter;
+import com.hao.redis.common.model.RateLimitResult;
 import com.hao.redis.common.util.RedisRateLimiter;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +32,7 @@ import static org.mockito.Mockito.*;
  * 测试目的：
  * 1. 验证单机限流与分布式限流的调用顺序。
  * 2. 验证限流触发时是否抛出业务异常。
+ * 3. 验证平滑模式使用 GCRA 算法，并透传建议重试时间。
  *
  * 设计思路：
  * - 使用 Mockito 模拟上下文与依赖组件。
@@ -137,6 +141,37 @@ class DistributedRateLimitTest {
         verify(joinPoint, never()).proceed();
     }
 
+    /**
+     * 分布式平滑限流拦截场景
+     *
+     * 实现逻辑：
+     * 1. 模拟单机放行与 GCRA 拒绝。
+     * 2. 验证使用 GCRA 算法，异常携带建议重试时间，且未走窗口类算法。
+     *
+     * @throws Throwable 异常
+     */
+    @Test
+    @DisplayName("多级限流_分布式平滑拦截")
+    void testDistributedSmoothRateLimit_Blocked() throws Throwable {
+        // 实现思路：
+        // 1. 先放行单机限流，再触发 GCRA 拒绝。
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        when(requestAttributes.getRequest()).thenReturn(request);
+        when(request.getRequestURI()).thenReturn("/test/api");
+        when(simpleRateLimit.type()).thenReturn(SimpleRateLimit.LimitType.DISTRIBUTED_SMOOTH);
+        when(simpleRateLimit.qps()).thenReturn("10");
+        when(simpleRateLimit.message()).thenReturn("Limited");
+
+        when(simpleRateLimiter.tryAcquire(anyString(), anyDouble())).thenReturn(true);
+        when(redisRateLimiter.acquire(anyString(), eq(10), eq(1), eq(RateLimitAlgorithm.GCRA)))
+                .thenReturn(new RateLimitResult(false, 0L, 100L));
+
+        RateLimitException e = assertThrows(RateLimitException.class, () -> aspect.around(joinPoint, simpleRateLimit));
+        assertEquals(100L, e.getRetryAfterMillis());
+        verify(redisRateLimiter, never()).tryAcquire(anyString(), anyInt(), anyInt());
+        verify(joinPoint, never()).proceed();
+    }
+
     /**
      * 单机限流拦截场景
      *
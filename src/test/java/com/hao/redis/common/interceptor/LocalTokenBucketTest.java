@@ -0,0 +1,109 @@
+package com.hao.redis.common.interceptor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 无锁令牌桶行为验证
+ *
+ * 测试目的：
+ * 1. 验证与 Guava SmoothBursty tryAcquire() 一致：首个请求立即通过，之后按间隔发放，闲置后最多突发 1 秒的令牌。
+ * 2. 验证速率调整立即按新间隔发放。
+ * 3. 验证并发 CAS 下不会多发令牌。
+ *
+ * 设计思路：
+ * - 使用可手动推进的纳秒时钟，结果不受机器调度影响。
+ */
+@Slf4j
+class LocalTokenBucketTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("按间隔发放，闲置后突发不超过 1 秒的令牌")
+    void testIntervalAndBurst() {
+        long[] now = {TimeUnit.SECONDS.toNanos(100)};
+        LocalTokenBucket bucket = new LocalTokenBucket(10, () -> now[0]);
+
+        assertTrue(bucket.tryAcquire(), "首个请求应立即通过");
+        assertFalse(bucket.tryAcquire(), "间隔内第二个请求应被拒绝");
+
+        now[0] += 100 * MILLIS;
+        assertTrue(bucket.tryAcquire(), "一个间隔后应发放新令牌");
+        assertFalse(bucket.tryAcquire());
+
+        // 闲置 10 秒，存量封顶 1 秒（10 个）+ 当前可用的 1 个，与 Guava 一致
+        now[0] += TimeUnit.SECONDS.toNanos(10);
+        int burst = 0;
+        while (bucket.tryAcquire()) {
+            burst++;
+        }
+        assertEquals(11, burst);
+    }
+
+    @Test
+    @DisplayName("速率调整按新间隔发放")
+    void testSetRate() {
+        long[] now = {TimeUnit.SECONDS.toNanos(100)};
+        LocalTokenBucket bucket = new LocalTokenBucket(1, () -> now[0]);
+        assertTrue(bucket.tryAcquire());
+
+        bucket.setRate(100);
+        assertEquals(100D, bucket.getRate());
+        // 旧间隔（1 秒）已记入 TAT，走完后按新间隔 10ms 发放
+        now[0] += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        now[0] += 10 * MILLIS;
+        assertTrue(bucket.tryAcquire());
+
+        assertThrows(IllegalArgumentException.class, () -> bucket.setRate(0));
+    }
+
+    @Test
+    @DisplayName("并发获取不多发令牌")
+    void testConcurrentNoOverIssue() throws InterruptedException {
+        long[] now = {TimeUnit.SECONDS.toNanos(100)};
+        LocalTokenBucket bucket = new LocalTokenBucket(1000, () -> now[0]);
+        // 闲置足够久，存量为 1000 + 1
+        now[0] += TimeUnit.SECONDS.toNanos(5);
+
+        int threads = 16;
+        int perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicInteger granted = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        if (bucket.tryAcquire()) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        log.info("并发发放令牌数|Concurrent_granted,count={}", granted.get());
+        assertEquals(1001, granted.get(), "时钟静止时发放数应精确等于存量");
+    }
+}
@@ -0,0 +1,99 @@
+package com.hao.redis.common.util;
+
+import com.hao.redis.common.model.RateLimitResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 配额租约限流器测试类
+ *
+ * 测试目的：
+ * 1. 验证本地按租约发放许可，Redis 调用次数约为请求数 / 单次申领量。
+ * 2. 验证全局配额耗尽时在退避期内本地拒绝，不再访问 Redis。
+ * 3. 验证 Redis 异常时改用本地保守限流，退避期内不再访问 Redis。
+ *
+ * 设计思路：
+ * - 使用 Mockito 模拟租约脚本返回值，续租执行器同步执行，结果可确定。
+ */
+@Slf4j
+class RedisLeasedRateLimiterTest {
+
+    private static final String KEY = "global_service_limit";
+    private static final int LIMIT = 2000;
+
+    /**
+     * 单次申领量：2000 * 5% = 100
+     */
+    private static final long CHUNK = 100;
+
+    @Test
+    @DisplayName("租约发放：Redis 调用次数下降两个数量级")
+    void testLeaseReducesRedisCalls() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        when(template.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(CHUNK, 60_000L));
+        RedisLeasedRateLimiter limiter = newLimiter(template, mock(RedisRateLimiter.class));
+
+        int requests = 10_000;
+        for (int i = 0; i < requests; i++) {
+            assertTrue(limiter.acquire(KEY, LIMIT, 1).isAllowed(), "租约充足时应全部放行");
+        }
+
+        Map<String, Object> stats = limiter.stats();
+        log.info("租约统计|Lease_stats,stats={}", stats);
+        long calls = (long) stats.get("redisCalls");
+        assertTrue(calls <= requests / CHUNK + 1, "Redis 调用次数应约为请求数 / 单次申领量");
+        assertTrue((double) stats.get("redisCallRatio") <= 0.011D);
+    }
+
+    @Test
+    @DisplayName("配额耗尽：退避期内本地拒绝")
+    void testDeniedBackoff() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        when(template.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(0L, 60_000L));
+        RedisLeasedRateLimiter limiter = new RedisLeasedRateLimiter(template, null, mock(RedisRateLimiter.class),
+                Runnable::run, 0.05D, 0.2D, 60_000L, 1000L);
+
+        RateLimitResult first = limiter.acquire(KEY, LIMIT, 1);
+        RateLimitResult second = limiter.acquire(KEY, LIMIT, 1);
+
+        assertFalse(first.isAllowed());
+        assertFalse(second.isAllowed());
+        assertTrue(second.getRetryAfterMillis() > 0);
+        verify(template, times(1)).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Redis异常：改用本地保守限流")
+    void testFallbackWhenRedisDown() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        when(template.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("Mock Redis Error"));
+        RedisRateLimiter redisRateLimiter = mock(RedisRateLimiter.class);
+        when(redisRateLimiter.acquireLocally(KEY, LIMIT, 1))
+                .thenReturn(new RateLimitResult(true, RateLimitResult.UNKNOWN, 0L));
+        RedisLeasedRateLimiter limiter = newLimiter(template, redisRateLimiter);
+
+        assertTrue(limiter.acquire(KEY, LIMIT, 1).isAllowed());
+        assertTrue(limiter.acquire(KEY, LIMIT, 1).isAllowed());
+
+        verify(redisRateLimiter, times(2)).acquireLocally(KEY, LIMIT, 1);
+        verify(template, times(1)).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    private static RedisLeasedRateLimiter newLimiter(StringRedisTemplate template, RedisRateLimiter redisRateLimiter) {
+        return new RedisLeasedRateLimiter(template, null, redisRateLimiter, Runnable::run, 0.05D, 0.2D, 10L, 1000L);
+    }
+}
@@ -1,6 +1,8 @@
 package com.hao.redis.common.util;
 
+import com.hao.redis.common.enums.RateLimitAlgorithm;
 import com.hao.redis.common.interceptor.SimpleRateLimiter;
+import com.hao.redis.common.model.RateLimitResult;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +15,7 @@ import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -32,6 +35,9 @@ import static org.mockito.Mockito.*;
  * 2. 验证时间窗口结束后，限流是否能自动重置。
  * 3. 验证高并发场景下，Lua 脚本的原子性是否得到保证。
  * 4. 验证 Redis 服务异常时，是否能成功降级到本地限流。
+ * 5. 验证滑动窗口算法返回的剩余配额与建议重试时间。
+ * 6. 验证 GCRA 的突发容量与匀速恢复。
+ * 7. 验证条带模式首选条带耗尽后向其他条带借用，且耗尽提示期内不再访问该条带。
  *
  * 设计思路：
  * - 使用 @SpringBootTest 启动完整容器，确保 Redis 连接可用。
@@ -59,6 +65,8 @@ public class RedisRateLimiterTest {
         // 清理数据
         try {
             realRedisTemplate.delete("rate_limit:" + TEST_KEY);
+            realRedisTemplate.delete(RateLimitAlgorithm.SLIDING_WINDOW.getKeyPrefix() + TEST_KEY);
+            realRedisTemplate.delete(RateLimitAlgorithm.GCRA.getKeyPrefix() + TEST_KEY);
             realRedisTemplate.delete("redis_fallback:" + TEST_KEY);
         } catch (Exception e) {
             log.warn("清理Redis Key失败|Failed_to_clean_redis_keys");
@@ -143,6 +151,59 @@ public class RedisRateLimiterTest {
         assertEquals(limit, successCount.get(), "高并发下成功请求数应精确等于限流阈值，证明Lua脚本原子性");
     }
 
+    @Test
+    @DisplayName("滑动窗口测试：返回剩余配额与重试时间")
+    void testAcquire_SlidingWindow_RemainingAndRetryAfter() {
+        redisRateLimiter = new RedisRateLimiter(realRedisTemplate, mock(SimpleRateLimiter.class), redisFallbackRatio);
+        int limit = 3;
+        int window = 10;
+
+        log.info("测试场景：滑动窗口剩余配额|Test_scene_sliding_window_remaining");
+
+        for (int i = 1; i <= limit; i++) {
+            RateLimitResult result = redisRateLimiter.acquire(TEST_KEY, limit, window, RateLimitAlgorithm.SLIDING_WINDOW);
+            assertTrue(result.isAllowed(), "第" + i + "次请求应成功");
+            assertEquals(limit - i, result.getRemaining(), "剩余配额应逐次递减");
+            assertEquals(0L, result.getRetryAfterMillis());
+        }
+
+        RateLimitResult rejected = redisRateLimiter.acquire(TEST_KEY, limit, window, RateLimitAlgorithm.SLIDING_WINDOW);
+        log.info("滑动窗口拒绝结果|Sliding_window_rejected,result={}", rejected);
+        assertFalse(rejected.isAllowed(), "第四次请求应被限流");
+        assertEquals(0L, rejected.getRemaining());
+        assertTrue(rejected.getRetryAfterMillis() > 0 && rejected.getRetryAfterMillis() <= 2L * window * 1000,
+                "建议重试时间应为正数且不超过两个窗口");
+    }
+
+    @Test
+    @DisplayName("GCRA测试：突发容量用尽后按发放间隔匀速恢复")
+    void testAcquireSmooth_BurstThenSteady() throws InterruptedException {
+        redisRateLimiter = new RedisRateLimiter(realRedisTemplate, mock(SimpleRateLimiter.class), redisFallbackRatio);
+        // 每秒 10 个许可（发放间隔 100ms），突发容量 3
+        int limit = 10;
+        int window = 1;
+        int burst = 3;
+
+        log.info("测试场景：GCRA突发与匀速恢复|Test_scene_gcra_burst_then_steady");
+
+        for (int i = 1; i <= burst; i++) {
+            RateLimitResult result = redisRateLimiter.acquireSmooth(TEST_KEY, limit, window, burst);
+            assertTrue(result.isAllowed(), "突发容量内第" + i + "次请求应成功");
+            assertEquals(burst - i, result.getRemaining(), "剩余突发配额应逐次递减");
+        }
+
+        RateLimitResult rejected = redisRateLimiter.acquireSmooth(TEST_KEY, limit, window, burst);
+        log.info("GCRA拒绝结果|Gcra_rejected,result={}", rejected);
+        assertFalse(rejected.isAllowed(), "突发容量用尽后应被限流");
+        assertTrue(rejected.getRetryAfterMillis() > 0 && rejected.getRetryAfterMillis() <= 100,
+                "建议重试时间不应超过一个发放间隔");
+
+        // 等待建议时间后恰好恢复一个许可，而不是整个窗口的配额
+        TimeUnit.MILLISECONDS.sleep(rejected.getRetryAfterMillis() + 5);
+        assertTrue(redisRateLimiter.acquireSmooth(TEST_KEY, limit, window, burst).isAllowed(), "等待一个间隔后应恢复一个许可");
+        assertFalse(redisRateLimiter.acquireSmooth(TEST_KEY, limit, window, burst).isAllowed(), "恢复的许可用完后应再次限流");
+    }
+
     @Test
     @DisplayName("降级容错测试：Redis异常时，验证降级逻辑被正确调用")
     void testTryAcquire_Fallback_WhenRedisIsDown() {
@@ -185,4 +246,50 @@ public class RedisRateLimiterTest {
         
         log.info("降级测试通过，Redis异常时成功调用本地降级，且降级QPS计算正确|Fallback_test_passed");
     }
+
+    @Test
+    @DisplayName("条带模式：首选条带耗尽后借用其他条带，提示期内跳过")
+    void testAcquireStriped_BorrowAndSkipExhausted() {
+        StringRedisTemplate mockRedisTemplate = mock(StringRedisTemplate.class);
+        redisRateLimiter = new RedisRateLimiter(mockRedisTemplate, mock(SimpleRateLimiter.class), redisFallbackRatio,
+                null, RateLimitAlgorithm.SLIDING_WINDOW, 1.0D, 4, 0.05D, "node-a");
+
+        // 第一个被访问的条带（首选条带）已耗尽，其余条带均有配额
+        List<String> calledKeys = new ArrayList<>();
+        when(mockRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenAnswer(invocation -> {
+            String key = ((List<?>) invocation.getArgument(1)).get(0).toString();
+            calledKeys.add(key);
+            return key.equals(calledKeys.get(0)) ? List.of(0L, 0L, 500L) : List.of(1L, 10L, 0L);
+        });
+
+        log.info("测试场景：条带借用|Test_scene_striped_borrow");
+        assertTrue(redisRateLimiter.acquireStriped(TEST_KEY, 100, 1).isAllowed(), "首选条带耗尽时应借用其他条带");
+        assertTrue(redisRateLimiter.acquireStriped(TEST_KEY, 100, 1).isAllowed());
+        log.info("条带访问顺序|Striped_called_keys,keys={}", calledKeys);
+
+        String home = calledKeys.get(0);
+        assertTrue(home.startsWith("rate_limit:striped:{" + TEST_KEY + ":"), "条带子键应带 Hash Tag");
+        assertEquals(3, calledKeys.size(), "第二次请求应跳过提示期内的首选条带");
+        assertEquals(1, calledKeys.stream().filter(home::equals).count());
+        assertEquals(calledKeys.get(1), calledKeys.get(2), "借用顺序应固定");
+    }
+
+    @Test
+    @DisplayName("条带模式：全部条带耗尽时本地拒绝，不再扫描 Redis")
+    void testAcquireStriped_AllExhausted() {
+        StringRedisTemplate mockRedisTemplate = mock(StringRedisTemplate.class);
+        redisRateLimiter = new RedisRateLimiter(mockRedisTemplate, mock(SimpleRateLimiter.class), redisFallbackRatio,
+                null, RateLimitAlgorithm.SLIDING_WINDOW, 1.0D, 4, 0.05D, "node-a");
+        when(mockRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenReturn(List.of(0L, 0L, 500L));
+
+        RateLimitResult first = redisRateLimiter.acquireStriped(TEST_KEY, 100, 1);
+        RateLimitResult second = redisRateLimiter.acquireStriped(TEST_KEY, 100, 1);
+
+        assertFalse(first.isAllowed());
+        assertFalse(second.isAllowed());
+        assertTrue(second.getRetryAfterMillis() > 0 && second.getRetryAfterMillis() <= 50,
+                "本地拒绝的建议重试时间不应超过提示有效期（容忍度 × 窗口）");
+        verify(mockRedisTemplate, times(4)).execute(any(RedisScript.class), anyList(), any(), any());
+    }
 }
@@ -0,0 +1,75 @@
+package com.hao.redis.integration.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RedisNearCache 失效纪元验证
+ *
+ * 测试目的：
+ * 1. 验证回源期间到达的失效通知不会让旧值写入缓存。
+ * 2. 验证未发生失效时回源结果正常缓存。
+ *
+ * 设计思路：
+ * - 直接构造近端缓存并置为就绪，回源函数内模拟失效推送，不依赖 Redis。
+ */
+class RedisNearCacheEpochTest {
+
+    private static final String KEY = "user:1001";
+
+    private RedisNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = new RedisNearCache(List.of("user:"), 1024 * 1024, 100, Duration.ofMinutes(1));
+        nearCache.setActive(true);
+    }
+
+    @Test
+    @DisplayName("回源期间失效：旧值不写入缓存")
+    void testInvalidationDuringLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        String first = nearCache.getField(KEY, "name", () -> {
+            loads.incrementAndGet();
+            nearCache.onRemoteInvalidation(List.of(KEY));
+            return "old";
+        });
+        String second = nearCache.getField(KEY, "name", () -> {
+            loads.incrementAndGet();
+            return "new";
+        });
+
+        assertEquals("old", first);
+        assertEquals("new", second, "失效后应重新回源");
+        assertEquals(2, loads.get());
+        assertEquals(1L, nearCache.stats().get("staleLoadsDropped"));
+
+        nearCache.getAll(KEY, () -> {
+            nearCache.onRemoteInvalidation(List.of(KEY));
+            return Map.of("name", "old");
+        });
+        assertEquals(Map.of("name", "fresh"), nearCache.getAll(KEY, () -> Map.of("name", "fresh")));
+    }
+
+    @Test
+    @DisplayName("无失效：回源结果命中缓存")
+    void testCachedWithoutInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(List.of("Tom", "18"), nearCache.getFields(KEY, List.of("name", "age"), fields -> {
+                loads.incrementAndGet();
+                return List.of("Tom", "18");
+            }));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(4L, nearCache.stats().get("hits"));
+    }
+}
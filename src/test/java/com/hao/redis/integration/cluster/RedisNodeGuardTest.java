@@ -0,0 +1,185 @@
+package com.hao.redis.integration.cluster;
+
+import com.hao.redis.common.exception.RedisNodeUnavailableException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisNodeGuard 节点隔离与熔断验证
+ *
+ * 测试目的：
+ * 1. 验证单节点在途命令达到上限后立即拒绝，其他节点不受影响。
+ * 2. 验证连续超时触发熔断，到期后半开探测成功即恢复、失败则重新打开。
+ * 3. 验证业务错误不计入熔断。
+ * 4. 验证隔离舱满时限时等待许可，以及阻塞命令只做熔断检查。
+ * 5. 验证熔断前已在途命令晚到的成功不会关闭熔断。
+ *
+ * 设计思路：
+ * - 直接调用 acquire/release 模拟命令执行，不依赖 Spring 容器与 Redis。
+ */
+@Slf4j
+class RedisNodeGuardTest {
+
+    private static final String SLOW_NODE = "10.0.0.1:6379";
+    private static final String HEALTHY_NODE = "10.0.0.2:6379";
+
+    /**
+     * 隔离舱验证
+     *
+     * 实现逻辑：
+     * 1. 慢节点占满 2 个许可后第 3 次申请被拒绝。
+     * 2. 健康节点仍可正常申请。
+     * 3. 慢节点归还许可后恢复可用。
+     */
+    @Test
+    @DisplayName("单节点隔离舱满时快速失败")
+    void testBulkhead() {
+        RedisNodeGuard guard = new RedisNodeGuard(2, 5, 1000, null);
+        guard.acquire(SLOW_NODE);
+        guard.acquire(SLOW_NODE);
+        RedisNodeUnavailableException e = assertThrows(RedisNodeUnavailableException.class, () -> guard.acquire(SLOW_NODE));
+        assertEquals(RedisNodeUnavailableException.Reason.BULKHEAD_FULL, e.getReason());
+        assertEquals(SLOW_NODE, e.getNode());
+
+        guard.acquire(HEALTHY_NODE);
+        guard.release(HEALTHY_NODE, false, null);
+
+        guard.release(SLOW_NODE, false, null);
+        assertDoesNotThrow(() -> guard.acquire(SLOW_NODE));
+    }
+
+    /**
+     * 熔断状态流转验证
+     *
+     * 实现逻辑：
+     * 1. 业务错误不计入；连续 3 次超时后熔断打开。
+     * 2. 到期后第一个请求作为探测放行，同时其他请求仍被拒绝。
+     * 3. 探测失败重新打开；再次到期后探测成功则关闭。
+     */
+    @Test
+    @DisplayName("连续超时熔断与半开恢复")
+    @SuppressWarnings("unchecked")
+    void testCircuitBreaker() throws InterruptedException {
+        RedisNodeGuard guard = new RedisNodeGuard(8, 3, 100, null);
+        RuntimeException timeout = new QueryTimeoutException("timeout", new RedisCommandTimeoutException("Command timed out"));
+
+        for (int i = 0; i < 5; i++) {
+            guard.acquire(SLOW_NODE);
+            guard.release(SLOW_NODE, false, new IllegalStateException("WRONGTYPE"));
+        }
+        for (int i = 0; i < 3; i++) {
+            guard.acquire(SLOW_NODE);
+            guard.release(SLOW_NODE, false, timeout);
+        }
+        RedisNodeUnavailableException e = assertThrows(RedisNodeUnavailableException.class, () -> guard.acquire(SLOW_NODE));
+        assertEquals(RedisNodeUnavailableException.Reason.CIRCUIT_OPEN, e.getReason());
+
+        Thread.sleep(150);
+        assertTrue(guard.acquire(SLOW_NODE));
+        assertThrows(RedisNodeUnavailableException.class, () -> guard.acquire(SLOW_NODE));
+        guard.release(SLOW_NODE, true, timeout);
+        assertThrows(RedisNodeUnavailableException.class, () -> guard.acquire(SLOW_NODE));
+
+        Thread.sleep(150);
+        assertTrue(guard.acquire(SLOW_NODE));
+        guard.release(SLOW_NODE, true, null);
+        assertFalse(guard.acquire(SLOW_NODE));
+        guard.release(SLOW_NODE, false, null);
+
+        Map<String, Object> stats = guard.stats();
+        log.info("节点隔离状态|Node_guard_stats,stats={}", stats);
+        Map<String, Object> node = ((List<Map<String, Object>>) stats.get("nodes")).get(0);
+        assertEquals("CLOSED", node.get("state"));
+        assertEquals(2L, node.get("opened"));
+        assertEquals(3L, node.get("rejectedOpen"));
+        assertEquals(0, node.get("inFlight"));
+    }
+
+    /**
+     * 掉队成功验证
+     *
+     * 实现逻辑：
+     * 1. 一条命令在途期间连续 3 次超时打开熔断。
+     * 2. 在途命令随后成功返回，熔断保持打开。
+     * 3. 到期后探测成功才关闭熔断。
+     */
+    @Test
+    @DisplayName("在途命令晚到的成功不关闭熔断")
+    void testStragglerSuccessKeepsCircuitOpen() throws InterruptedException {
+        RedisNodeGuard guard = new RedisNodeGuard(8, 3, 100, null);
+        RuntimeException timeout = new QueryTimeoutException("timeout");
+        boolean straggler = guard.acquire(SLOW_NODE);
+        for (int i = 0; i < 3; i++) {
+            guard.release(SLOW_NODE, guard.acquire(SLOW_NODE), timeout);
+        }
+        guard.release(SLOW_NODE, straggler, null);
+        RedisNodeUnavailableException e = assertThrows(RedisNodeUnavailableException.class, () -> guard.acquire(SLOW_NODE));
+        assertEquals(RedisNodeUnavailableException.Reason.CIRCUIT_OPEN, e.getReason());
+
+        Thread.sleep(150);
+        boolean probe = guard.acquire(SLOW_NODE);
+        assertTrue(probe);
+        guard.release(SLOW_NODE, probe, null);
+        assertFalse(guard.acquire(SLOW_NODE));
+    }
+
+    /**
+     * 限时等待许可验证
+     *
+     * 实现逻辑：
+     * 1. 许可占满后，另一线程在等待时限内归还，申请成功。
+     * 2. 无人归还时等待到期后拒绝。
+     */
+    @Test
+    @DisplayName("隔离舱满时限时等待许可")
+    void testAcquireWaits() throws InterruptedException {
+        RedisNodeGuard guard = new RedisNodeGuard(1, 500, 5, 1000, null);
+        guard.acquire(SLOW_NODE);
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            guard.release(SLOW_NODE, false, null);
+        });
+        releaser.start();
+        assertDoesNotThrow(() -> guard.acquire(SLOW_NODE));
+        releaser.join();
+
+        RedisNodeGuard noWait = new RedisNodeGuard(1, 20, 5, 1000, null);
+        noWait.acquire(SLOW_NODE);
+        RedisNodeUnavailableException e = assertThrows(RedisNodeUnavailableException.class, () -> noWait.acquire(SLOW_NODE));
+        assertEquals(RedisNodeUnavailableException.Reason.BULKHEAD_FULL, e.getReason());
+    }
+
+    /**
+     * 阻塞命令熔断检查验证
+     *
+     * 实现逻辑：
+     * 1. 许可占满时阻塞命令仍可执行。
+     * 2. 熔断打开后阻塞命令被拒绝。
+     */
+    @Test
+    @DisplayName("阻塞命令不占许可，仅受熔断约束")
+    void testBlockingCommandCircuitOnly() {
+        RedisNodeGuard guard = new RedisNodeGuard(1, 5, 1000, null);
+        guard.acquire(SLOW_NODE);
+        assertDoesNotThrow(() -> guard.checkCircuit(SLOW_NODE));
+        guard.release(SLOW_NODE, false, new QueryTimeoutException("timeout"));
+        for (int i = 0; i < 4; i++) {
+            guard.acquire(SLOW_NODE);
+            guard.release(SLOW_NODE, false, new QueryTimeoutException("timeout"));
+        }
+        RedisNodeUnavailableException e = assertThrows(RedisNodeUnavailableException.class, () -> guard.checkCircuit(SLOW_NODE));
+        assertEquals(RedisNodeUnavailableException.Reason.CIRCUIT_OPEN, e.getReason());
+    }
+}
@@ -0,0 +1,62 @@
+package com.hao.redis.integration.cluster;
+
+import com.hao.redis.integration.redis.RedisBucketedHash;
+import com.hao.redis.integration.redis.RedisClient;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisWarmUp 步骤截止时间验证
+ *
+ * 测试目的：
+ * 1. 验证挂起的预热步骤在剩余时间到期后被放弃，启动不被卡住。
+ * 2. 验证超时后的剩余步骤直接跳过。
+ *
+ * 设计思路：
+ * - 使用 Mockito 模拟拓扑缓存，刷新拓扑时永久阻塞，不依赖 Redis。
+ */
+@SuppressWarnings("unchecked")
+class RedisWarmUpDeadlineTest {
+
+    /**
+     * 挂起步骤超时验证
+     *
+     * 实现逻辑：
+     * 1. 拓扑刷新永久阻塞，预热总上限 200 毫秒。
+     * 2. 预热在 2 秒内返回，拓扑步骤记为 TIMEOUT，其余步骤记为 SKIPPED_TIMEOUT。
+     */
+    @Test
+    @DisplayName("挂起步骤到期放弃，剩余步骤跳过")
+    void testHungStepAbandoned() throws InterruptedException {
+        RedisClusterTopologyCache topologyCache = mock(RedisClusterTopologyCache.class);
+        CountDownLatch never = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            never.await();
+            return null;
+        }).when(topologyCache).refreshTopology();
+        RedisWarmUp warmUp = new RedisWarmUp(true, 200, new String[0], 0, "pooled", new RedisProperties(),
+                mock(LettuceConnectionFactory.class), mock(StatefulRedisClusterConnection.class), topologyCache,
+                mock(RedisScriptRegistry.class), mock(RedisClient.class), mock(RedisBucketedHash.class));
+
+        long begin = System.nanoTime();
+        warmUp.warmUp();
+        assertTrue(System.nanoTime() - begin < Duration.ofSeconds(2).toNanos(), "挂起步骤不应卡住预热");
+
+        Map<String, Object> stats = warmUp.stats();
+        assertEquals("COMPLETED", stats.get("status"));
+        assertEquals("TIMEOUT", stats.get("topology"));
+        assertEquals("SKIPPED_TIMEOUT", stats.get("scripts"));
+        assertEquals("SKIPPED_TIMEOUT", stats.get("hotKeys"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.hao.redis.integration.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisWarmUp 启动预热验证
+ *
+ * 测试目的：
+ * 1. 验证容器启动完成时预热已执行完毕，拓扑与脚本已加载到全部主节点。
+ * 2. 验证重复执行预热不产生副作用（只读操作）。
+ */
+@Slf4j
+@SpringBootTest
+class RedisWarmUpTest {
+
+    @Autowired
+    private RedisWarmUp redisWarmUp;
+
+    @Autowired
+    private RedisClusterTopologyCache topologyCache;
+
+    /**
+     * 预热结果验证
+     *
+     * 实现逻辑：
+     * 1. 容器启动后状态为 COMPLETED，主节点数与拓扑缓存一致。
+     * 2. 脚本已加载节点覆盖全部主节点；再次预热结果不变。
+     */
+    @Test
+    @DisplayName("启动预热完成且覆盖全部主节点")
+    void testWarmUpCompleted() {
+        Map<String, Object> stats = redisWarmUp.stats();
+        log.info("预热结果|Warm_up_stats,stats={}", stats);
+        assertEquals("COMPLETED", stats.get("status"));
+        int masters = topologyCache.getMasterNodes().size();
+        assertTrue(masters > 0);
+        assertEquals(masters, stats.get("topology"));
+        assertTrue(((Collection<?>) stats.get("scripts")).containsAll(topologyCache.getMasterNodes()));
+
+        redisWarmUp.warmUp();
+        assertEquals("COMPLETED", redisWarmUp.stats().get("status"));
+        assertEquals(stats.get("scripts"), redisWarmUp.stats().get("scripts"));
+    }
+}
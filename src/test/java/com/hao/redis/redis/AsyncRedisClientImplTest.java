@@ -0,0 +1,116 @@
+package com.hao.redis.redis;
+
+import com.hao.redis.integration.redis.AsyncRedisClient;
+import com.hao.redis.integration.redis.RedisClient;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AsyncRedisClient 异步命令验证
+ *
+ * 测试目的：
+ * 1. 验证异步客户端命令结果与同步客户端语义一致。
+ * 2. 验证多条独立读命令可并发发出并组合结果。
+ *
+ * 设计思路：
+ * - 使用随机前缀隔离测试数据，测试结束后由同步客户端清理。
+ * - 异步结果统一通过 get(timeout) 等待，避免测试无限阻塞。
+ */
+@Slf4j
+@SpringBootTest
+class AsyncRedisClientImplTest {
+
+    @Autowired
+    private AsyncRedisClient<String> asyncRedisClient;
+
+    @Autowired
+    private RedisClient<String> redisClient;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "test:asyncclient:" + UUID.randomUUID() + ":";
+        log.info("测试开始|Test_start,prefix={}", prefix);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        Set<String> keys = redisClient.keys(prefix + "*");
+        if (!keys.isEmpty()) {
+            redisClient.del(keys.toArray(new String[0]));
+        }
+        log.info("清理测试数据|Cleanup_test_data,deleted={},prefix={}", keys.size(), prefix);
+    }
+
+    private String k(String name) {
+        return prefix + name;
+    }
+
+    /**
+     * 字符串与哈希命令验证
+     *
+     * 实现逻辑：
+     * 1. 覆盖 SET/GET/INCR/MGET/HMSET/HMGET 等命令。
+     * 2. 校验跨 Slot MGET 的结果顺序与入参一致。
+     */
+    @Test
+    @DisplayName("异步字符串与哈希命令")
+    void testStringAndHashOps() throws Exception {
+        // 实现思路：
+        // 1. 先并发写入，再并发读取并断言。
+        CompletableFuture.allOf(
+                asyncRedisClient.set(k("s1"), "v1"),
+                asyncRedisClient.setex(k("s2"), 20, "v2"),
+                asyncRedisClient.hmset(k("h"), Map.of("name", "Tom", "age", "18"))
+        ).get(5, TimeUnit.SECONDS);
+
+        assertEquals("v1", asyncRedisClient.get(k("s1")).get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("v2", null, "v1"),
+                asyncRedisClient.mget(k("s2"), k("missing"), k("s1")).get(5, TimeUnit.SECONDS));
+        assertEquals(1L, asyncRedisClient.incr(k("counter")).get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("Tom", null),
+                asyncRedisClient.hmget(k("h"), "name", "none").get(5, TimeUnit.SECONDS));
+        assertTrue(asyncRedisClient.tryLock(k("lock"), "owner", 10, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+        assertFalse(asyncRedisClient.tryLock(k("lock"), "other", 10, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+        log.info("异步字符串与哈希命令校验通过|Async_string_hash_verify_passed");
+    }
+
+    /**
+     * 并发组合读验证
+     *
+     * 实现逻辑：
+     * 1. 同时发出 LRANGE 与 ZREVRANGE。
+     * 2. 通过 thenCombine 组合两路结果并断言。
+     */
+    @Test
+    @DisplayName("异步并发组合读")
+    void testConcurrentComposition() throws Exception {
+        // 实现思路：
+        // 1. 模拟时间轴与热榜两路独立读取。
+        redisClient.lpush(k("timeline"), "1", "2", "3");
+        redisClient.zadd(k("rank"), Map.of("1", 10.0, "2", 30.0, "3", 20.0));
+
+        CompletableFuture<List<String>> timeline = asyncRedisClient.lrange(k("timeline"), 0, -1);
+        CompletableFuture<Set<String>> rank = asyncRedisClient.zrevrange(k("rank"), 0, -1);
+        List<String> combined = timeline.thenCombine(rank, (ids, top) -> {
+            List<String> result = new ArrayList<>(ids);
+            result.addAll(top);
+            return result;
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList("3", "2", "1", "2", "3", "1"), combined);
+        log.info("异步并发组合读校验通过|Async_composition_verify_passed");
+    }
+}
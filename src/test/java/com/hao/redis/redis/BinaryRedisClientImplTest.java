@@ -0,0 +1,123 @@
+package com.hao.redis.redis;
+
+import com.hao.redis.common.util.JsonUtil;
+import com.hao.redis.integration.redis.BinaryRedisClient;
+import com.hao.redis.integration.redis.RedisClient;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BinaryRedisClient 二进制命令验证
+ *
+ * 测试目的：
+ * 1. 验证字节值原样写入与读取。
+ * 2. 验证二进制客户端与字符串客户端读写同一批 Key 时数据一致。
+ *
+ * 设计思路：
+ * - 使用随机前缀隔离测试数据，测试结束后由字符串客户端清理。
+ */
+@Slf4j
+@SpringBootTest
+class BinaryRedisClientImplTest {
+
+    @Autowired
+    private BinaryRedisClient binaryRedisClient;
+
+    @Autowired
+    private RedisClient<String> redisClient;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "test:binaryclient:" + UUID.randomUUID() + ":";
+        log.info("测试开始|Test_start,prefix={}", prefix);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        Set<String> keys = redisClient.keys(prefix + "*");
+        if (!keys.isEmpty()) {
+            redisClient.del(keys.toArray(new String[0]));
+        }
+        log.info("清理测试数据|Cleanup_test_data,deleted={},prefix={}", keys.size(), prefix);
+    }
+
+    private String k(String name) {
+        return prefix + name;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 字符串与哈希命令验证
+     *
+     * 实现逻辑：
+     * 1. 写入 JSON 字节与非 UTF-8 字节，校验原样读回。
+     * 2. 校验字符串客户端可读取二进制客户端写入的 JSON。
+     */
+    @Test
+    @DisplayName("二进制字符串与哈希命令")
+    void testStringAndHashOps() {
+        // 实现思路：
+        // 1. 非法 UTF-8 字节经 String 中转会被替换，原样读回可证明值未经过字符串转换。
+        byte[] raw = {(byte) 0xff, 0x00, (byte) 0xfe};
+        binaryRedisClient.set(k("raw"), raw);
+        assertArrayEquals(raw, binaryRedisClient.get(k("raw")));
+
+        byte[] json = JsonUtil.toJsonBytes(Map.of("name", "微博"));
+        binaryRedisClient.hset(k("h"), "1", json);
+        assertArrayEquals(json, binaryRedisClient.hget(k("h"), "1"));
+        assertEquals(new String(json, StandardCharsets.UTF_8), redisClient.hget(k("h"), "1"));
+        assertEquals("微博", JsonUtil.toBean(binaryRedisClient.hget(k("h"), "1"), Map.class).get("name"));
+
+        List<byte[]> values = binaryRedisClient.mget(k("raw"), k("missing"));
+        assertArrayEquals(raw, values.get(0));
+        assertNull(values.get(1));
+        assertEquals(2L, binaryRedisClient.del(k("raw"), k("h")));
+        log.info("二进制字符串与哈希命令校验通过|Binary_string_hash_verify_passed");
+    }
+
+    /**
+     * 列表与管道命令验证
+     *
+     * 实现逻辑：
+     * 1. 在一次管道内写入列表并裁剪。
+     * 2. 校验阻塞出队返回来源 Key 与原始字节。
+     */
+    @Test
+    @DisplayName("二进制列表与管道命令")
+    void testListAndPipelineOps() {
+        // 实现思路：
+        // 1. 管道 Future 在 pipeline 返回时均已完成。
+        String list = k("list");
+        CompletableFuture<Long>[] pushHolder = new CompletableFuture[1];
+        binaryRedisClient.pipeline(batch -> {
+            pushHolder[0] = batch.lpush(list, bytes("a"), bytes("b"), bytes("c"));
+            batch.ltrim(list, 0, 1);
+        });
+        assertEquals(3L, pushHolder[0].join());
+        assertEquals(2L, binaryRedisClient.llen(list));
+        assertArrayEquals(bytes("c"), binaryRedisClient.lrange(list, 0, 0).get(0));
+
+        Map.Entry<String, byte[]> popped = binaryRedisClient.brpop(1, list);
+        assertNotNull(popped);
+        assertEquals(list, popped.getKey());
+        assertArrayEquals(bytes("b"), popped.getValue());
+        assertEquals(Arrays.asList(list, "c"), redisClient.blpop(1, list));
+        log.info("二进制列表与管道命令校验通过|Binary_list_pipeline_verify_passed");
+    }
+}
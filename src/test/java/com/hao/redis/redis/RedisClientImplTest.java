@@ -1,5 +1,7 @@
 package com.hao.redis.redis;
 
+import com.hao.redis.common.enums.RedisKeysEnum;
+import com.hao.redis.common.util.RedisSlotUtil;
 import com.hao.redis.integration.redis.RedisClient;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
@@ -12,6 +14,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,7 +41,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * - 每个测试用例覆盖一类数据结构。
  * - 使用断言校验返回值与数据一致性。
  */
-@SpringBootTest
+@SpringBootTest(properties = "redis.replica-read.enabled=true")
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @Slf4j
 class RedisClientImplTest {
@@ -94,6 +99,19 @@ class RedisClientImplTest {
         return prefix + name;
     }
 
+    /**
+     * 生成带前缀且共用 Hash Tag 的测试Key
+     *
+     * 实现逻辑：
+     * 1. 多 Key 原子命令要求 Key 位于同一 Slot，统一使用 {entity} 标签共址。
+     *
+     * @param name 后缀名称
+     * @return 组合后的 Key
+     */
+    private String tagged(String name) {
+        return prefix + "{entity}:" + name;
+    }
+
     /**
      * 字符串命令验证
      *
@@ -188,8 +206,8 @@ class RedisClientImplTest {
         // 实现思路：
         // 1. 执行列表相关命令并断言结果。
         log.info("列表命令验证|List_ops_verify");
-        String key = k("list");
-        String dst = k("list:dst");
+        String key = tagged("list");
+        String dst = tagged("list:dst");
 
         redisClient.lpush(key, "c", "b", "a"); // 列表内容：三个元素
         redisClient.rpush(key, "d");           // 列表内容：新增一个元素
@@ -234,9 +252,9 @@ class RedisClientImplTest {
         // 实现思路：
         // 1. 执行集合相关命令并断言结果。
         log.info("无序集合命令验证|Set_ops_verify");
-        String k1 = k("set1");
-        String k2 = k("set2");
-        String dst = k("set:dst");
+        String k1 = tagged("set1");
+        String k2 = tagged("set2");
+        String dst = tagged("set:dst");
 
         redisClient.sadd(k1, "a", "b", "c");
         redisClient.sadd(k2, "b", "c", "d");
@@ -284,9 +302,9 @@ class RedisClientImplTest {
         // 实现思路：
         // 1. 执行有序集合相关命令并断言结果。
         log.info("有序集合命令验证|Zset_ops_verify");
-        String z1 = k("z1");
-        String z2 = k("z2");
-        String dst = k("z:dst");
+        String z1 = tagged("z1");
+        String z2 = tagged("z2");
+        String dst = tagged("z:dst");
 
         redisClient.zadd(z1, Map.of("u1", 10.0, "u2", 20.0));
         redisClient.zadd(z1, 15.0, "u3");
@@ -340,7 +358,7 @@ class RedisClientImplTest {
         // 实现思路：
         // 1. 执行过期与通用命令并断言结果。
         log.info("通用与过期命令验证|Common_expire_ops_verify");
-        String key = k("expire");
+        String key = tagged("expire");
         redisClient.set(key, "1");
         assertTrue(redisClient.expire(key, 30));
         Long ttl1 = redisClient.ttl(key);
@@ -354,13 +372,229 @@ class RedisClientImplTest {
         assertTrue(redisClient.persist(key));
         assertEquals(-1L, redisClient.ttl(key));
 
-        String newKey = k("renamed");
+        String newKey = tagged("renamed");
         redisClient.rename(key, newKey);
         assertEquals("string", redisClient.type(newKey));
 
-        String newKey2 = k("renamed2");
+        String newKey2 = tagged("renamed2");
         assertTrue(redisClient.renamenx(newKey, newKey2));
         assertTrue(redisClient.keys(prefix + "*").contains(newKey2));
         log.info("通用与过期校验通过|Common_expire_verify_passed,keys={}", redisClient.keys(prefix + "*"));
     }
+
+    /**
+     * 管道批量命令验证
+     *
+     * 实现逻辑：
+     * 1. 在一次管道内登记跨 Slot 的写读命令。
+     * 2. 校验 pipeline 返回后 Future 均已完成且结果正确。
+     */
+    @Test
+    @DisplayName("管道批量命令")
+    void testPipelineOps() {
+        // 实现思路：
+        // 1. 覆盖字符串、哈希、列表、位图命令，并验证类型化结果。
+        log.info("管道命令验证|Pipeline_ops_verify");
+        String counter = k("p:counter");
+        String hash = k("p:hash");
+        String list = k("p:list");
+        String bitmap = k("p:bitmap");
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        CompletableFuture<Long>[] incrHolder = new CompletableFuture[1];
+        CompletableFuture<Long>[] lpushHolder = new CompletableFuture[1];
+
+        redisClient.pipeline(batch -> {
+            incrHolder[0] = batch.incr(counter);
+            futures.add(batch.hset(hash, "name", "Tom"));
+            futures.add(batch.hmset(hash, Map.of("age", "18", "city", "sh")));
+            lpushHolder[0] = batch.lpush(list, "a", "b", "c");
+            futures.add(batch.ltrim(list, 0, 1));
+            futures.add(batch.setBit(bitmap, 7, true));
+        });
+
+        assertTrue(futures.stream().allMatch(CompletableFuture::isDone));
+        assertEquals(1L, incrHolder[0].join());
+        assertEquals(3L, lpushHolder[0].join());
+        assertEquals(Arrays.asList("c", "b"), redisClient.lrange(list, 0, -1));
+        assertEquals(Map.of("name", "Tom", "age", "18", "city", "sh"), redisClient.hgetAll(hash));
+        assertTrue(redisClient.getBit(bitmap, 7));
+        log.info("管道命令校验通过|Pipeline_verify_passed");
+    }
+
+    /**
+     * 多 Key 扇出验证
+     *
+     * 实现逻辑：
+     * 1. 构造分布在多个 Slot 的大批量 Key，执行 MSET/MGET/DEL。
+     * 2. 校验 MGET 结果顺序与入参一致，缺失 Key 返回 null。
+     */
+    @Test
+    @DisplayName("多Key跨Slot扇出")
+    void testMultiKeyFanOut() {
+        // 实现思路：
+        // 1. 200 个 Key 必然跨越多个 Slot 与节点，覆盖扇出与结果回填路径。
+        log.info("多Key扇出验证|Multi_key_fan_out_verify");
+        int size = 200;
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            values.put(k("fan:" + i), "v" + i);
+        }
+        redisClient.mset(values);
+
+        String[] keys = new String[size + 1];
+        for (int i = 0; i < size; i++) {
+            keys[i] = k("fan:" + (size - 1 - i));
+        }
+        keys[size] = k("fan:missing");
+        List<String> result = redisClient.mget(keys);
+        assertEquals(size + 1, result.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals("v" + (size - 1 - i), result.get(i));
+        }
+        assertNull(result.get(size));
+
+        assertEquals((long) size, redisClient.del(keys));
+        log.info("多Key扇出校验通过|Multi_key_fan_out_verify_passed,size={}", size);
+    }
+
+    /**
+     * 全集群并行扫描验证
+     *
+     * 实现逻辑：
+     * 1. 写入分布在多个节点的 Key，使用小页长执行全集群扫描。
+     * 2. 校验 scanStream 与 keys 均返回全部 Key，且提前关闭流不影响后续扫描。
+     */
+    @Test
+    @DisplayName("全集群并行扫描")
+    void testClusterScan() {
+        // 实现思路：
+        // 1. 页长远小于 Key 数，覆盖多轮游标与背压路径。
+        log.info("全集群扫描验证|Cluster_scan_verify");
+        int size = 300;
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            values.put(k("scan:" + i), "v" + i);
+        }
+        redisClient.mset(values);
+
+        Set<String> scanned;
+        try (Stream<String> stream = redisClient.scanStream(prefix + "scan:*", 10)) {
+            scanned = stream.collect(Collectors.toSet());
+        }
+        assertEquals(values.keySet(), scanned);
+        assertEquals(values.keySet(), redisClient.keys(prefix + "scan:*"));
+
+        try (Stream<String> stream = redisClient.scanStream(prefix + "scan:*", 10)) {
+            assertEquals(5, stream.limit(5).count());
+        }
+        assertEquals(size, redisClient.keys(prefix + "scan:*").size());
+        log.info("全集群扫描校验通过|Cluster_scan_verify_passed,size={}", size);
+    }
+
+    /**
+     * 从节点读视图验证
+     *
+     * 实现逻辑：
+     * 1. 主节点写入后，从节点读视图在复制延迟内读到相同数据。
+     * 2. 从节点读视图为独立客户端，不与主客户端为同一实例。
+     */
+    @Test
+    @DisplayName("从节点读视图")
+    void testReplicaReads() throws InterruptedException {
+        // 实现思路：
+        // 1. 复制为异步，轮询等待至多 1 秒；无从节点时读视图回退主节点，首次即可读到。
+        log.info("从节点读视图验证|Replica_read_verify");
+        RedisClient<String> replica = redisClient.replicaReads();
+        assertNotNull(replica);
+        assertNotSame(redisClient, replica);
+
+        String key = k("replica");
+        redisClient.hset(key, "f", "v");
+        String value = null;
+        for (int i = 0; i < 20 && value == null; i++) {
+            value = replica.hget(key, "f");
+            if (value == null) {
+                Thread.sleep(50);
+            }
+        }
+        assertEquals("v", value);
+        assertEquals(Collections.singletonList("v"), replica.hmget(key, Collections.singletonList("f")));
+        log.info("从节点读视图校验通过|Replica_read_verify_passed");
+    }
+
+    /**
+     * 多 Key 命令 Slot 校验
+     *
+     * 实现逻辑：
+     * 1. 不同 Hash Tag 的 Key 执行集合运算、RENAME、RPOPLPUSH 时直接拒绝，不下发命令。
+     * 2. joinTagged 生成的同实体 Key 位于同一 Slot，可直接执行多 Key 命令。
+     */
+    @Test
+    @DisplayName("多Key命令跨Slot拒绝与同实体共址")
+    void testCrossSlotRejected() {
+        // 实现思路：
+        // 1. 标签 a、b 的 Slot 分别为 15495、3300，必然跨 Slot。
+        String a = prefix + "{a}:set";
+        String b = prefix + "{b}:set";
+        redisClient.sadd(a, "x");
+        redisClient.sadd(b, "x");
+        assertThrows(IllegalArgumentException.class, () -> redisClient.sinter(a, b));
+        assertThrows(IllegalArgumentException.class, () -> redisClient.sunionstore(tagged("dst"), a, b));
+        assertThrows(IllegalArgumentException.class, () -> redisClient.rename(a, b + ":renamed"));
+        assertThrows(IllegalArgumentException.class, () -> redisClient.rpoplpush(a, b));
+        assertEquals(Set.of("x"), redisClient.smembers(a));
+
+        String nullKey = RedisKeysEnum.WEIBO_NULL_CACHE.joinTagged(5001);
+        String likesKey = RedisKeysEnum.WEIBO_PREFIX.joinTagged(5001, ":likes");
+        assertEquals("weibo:null:{5001}", nullKey);
+        assertEquals("weibo:{5001}:likes", likesKey);
+        assertEquals(RedisSlotUtil.getSlot(nullKey), RedisSlotUtil.requireSameSlot(nullKey, likesKey));
+        assertThrows(IllegalArgumentException.class, () -> RedisKeysEnum.USER_PREFIX.joinTagged("{1}"));
+        log.info("跨Slot校验通过|Cross_slot_verify_passed");
+    }
+
+    /**
+     * 集合游标遍历验证
+     *
+     * 实现逻辑：
+     * 1. 构造 2000 个元素的哈希、集合与有序集合，以 COUNT 100 分页遍历。
+     * 2. 遍历结果与全量读取一致；只消费前几个元素时提前关闭流。
+     */
+    @Test
+    @DisplayName("HSCAN/SSCAN/ZSCAN 惰性遍历")
+    void testCollectionScan() {
+        // 实现思路：
+        // 1. 元素数远大于 COUNT，覆盖多页拉取路径。
+        String hashKey = k("scan:hash");
+        String setKey = k("scan:set");
+        String zsetKey = k("scan:zset");
+        Map<String, String> fields = new HashMap<>();
+        Map<String, Double> scores = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            fields.put("f" + i, "v" + i);
+            scores.put("m" + i, (double) i);
+        }
+        redisClient.hmset(hashKey, fields);
+        redisClient.sadd(setKey, fields.keySet().toArray(new String[0]));
+        redisClient.zadd(zsetKey, scores);
+
+        try (Stream<Map.Entry<String, String>> stream = redisClient.hscan(hashKey, 100)) {
+            Map<String, String> scanned = new HashMap<>();
+            stream.forEach(entry -> scanned.put(entry.getKey(), entry.getValue()));
+            assertEquals(fields, scanned);
+        }
+        try (Stream<String> stream = redisClient.sscan(setKey, 100)) {
+            assertEquals(fields.keySet(), stream.collect(Collectors.toSet()));
+        }
+        try (Stream<Map.Entry<String, Double>> stream = redisClient.zscan(zsetKey, 100)) {
+            Map<String, Double> scanned = new HashMap<>();
+            stream.forEach(entry -> scanned.put(entry.getKey(), entry.getValue()));
+            assertEquals(scores, scanned);
+        }
+        try (Stream<String> stream = redisClient.sscan(setKey, 100)) {
+            assertEquals(5, stream.limit(5).count());
+        }
+        assertThrows(IllegalArgumentException.class, () -> redisClient.hscan(hashKey, 0));
+        log.info("集合游标遍历校验通过|Collection_scan_verify_passed,size={}", fields.size());
+    }
 }
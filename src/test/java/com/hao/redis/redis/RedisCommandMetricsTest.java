@@ -0,0 +1,137 @@
+package com.hao.redis.redis;
+
+import com.hao.redis.common.exception.RedisNodeUnavailableException;
+import com.hao.redis.integration.redis.RedisCommandMetrics;
+import com.hao.redis.integration.redis.RedisLatencyHistogram;
+import com.hao.redis.integration.redis.RedisWireLatencyRecorder;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.protocol.CommandType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisCommandMetrics 命令延迟统计验证
+ *
+ * 测试目的：
+ * 1. 验证直方图分位数相对误差在分桶精度（约 6%）以内。
+ * 2. 验证按命令、按节点汇总与错误、超时计数正确。
+ * 3. 验证节点保护拒绝与连接层延迟分别计数。
+ *
+ * 设计思路：
+ * - 纯内存组件，不依赖 Spring 容器与 Redis。
+ */
+@Slf4j
+class RedisCommandMetricsTest {
+
+    /**
+     * 分位数精度验证
+     *
+     * 实现逻辑：
+     * 1. 记录 1ms ~ 10ms 均匀分布的 10000 个样本。
+     * 2. p50/p99 与真实值的相对误差不超过 7%，且只会偏大。
+     */
+    @Test
+    @DisplayName("直方图分位数精度")
+    void testHistogramPercentiles() {
+        RedisLatencyHistogram histogram = new RedisLatencyHistogram();
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000L);
+        }
+        RedisLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10000, snapshot.getCount());
+        assertEquals(10_000_000L, snapshot.getMaxNanos());
+        assertWithin(5_000_000L, snapshot.percentileNanos(0.50));
+        assertWithin(9_900_000L, snapshot.percentileNanos(0.99));
+        assertEquals(10_000_000L, snapshot.percentileNanos(0.999));
+    }
+
+    /**
+     * 汇总与错误计数验证
+     *
+     * 实现逻辑：
+     * 1. 两个节点各记录一条 GET，其中一个节点记录一次超时与一次普通错误。
+     * 2. 按命令汇总次数为 4，按节点拆分后错误与超时落在对应节点。
+     */
+    @Test
+    @DisplayName("按命令与节点汇总")
+    @SuppressWarnings("unchecked")
+    void testSnapshotAggregation() {
+        RedisCommandMetrics metrics = new RedisCommandMetrics();
+        metrics.record("get", "10.0.0.1:6379", 100_000, null);
+        metrics.record("get", "10.0.0.2:6379", 200_000, null);
+        metrics.record("get", "10.0.0.2:6379", 5_000_000_000L,
+                new QueryTimeoutException("timeout", new RedisCommandTimeoutException("Command timed out")));
+        metrics.record("get", "10.0.0.2:6379", 300_000, new IllegalStateException("boom"));
+        metrics.record("mget", null, 400_000, null);
+
+        Map<String, Object> snapshot = metrics.snapshot();
+        log.info("命令统计快照|Command_metrics_snapshot,snapshot={}", snapshot);
+        List<Map<String, Object>> byCommand = (List<Map<String, Object>>) snapshot.get("byCommand");
+        Map<String, Object> get = byCommand.get(0);
+        assertEquals("get", get.get("command"));
+        assertEquals(4L, get.get("count"));
+        assertEquals(2L, get.get("errors"));
+        assertEquals(1L, get.get("timeouts"));
+        assertEquals(5_000_000L, get.get("maxUs"));
+
+        List<Map<String, Object>> byNode = (List<Map<String, Object>>) snapshot.get("byNode");
+        assertEquals(3, byNode.size());
+        Map<String, Object> slowNode = byNode.stream()
+                .filter(row -> "10.0.0.2:6379".equals(row.get("node")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3L, slowNode.get("count"));
+        assertEquals(1L, slowNode.get("timeouts"));
+        assertTrue(byNode.stream().anyMatch(row -> "unknown".equals(row.get("node"))));
+
+        metrics.reset();
+        assertTrue(((List<?>) metrics.snapshot().get("details")).isEmpty());
+    }
+
+    /**
+     * 拒绝计数与连接层统计验证
+     *
+     * 实现逻辑：
+     * 1. 节点保护拒绝只计入 rejected，不进入延迟直方图。
+     * 2. Lettuce 延迟回调按命令类型与远端地址记入 wire，与客户端层互不干扰。
+     */
+    @Test
+    @DisplayName("拒绝计数与连接层统计")
+    @SuppressWarnings("unchecked")
+    void testRejectedAndWire() {
+        RedisCommandMetrics metrics = new RedisCommandMetrics();
+        metrics.record("hget", "10.0.0.1:6379", 100_000, null);
+        metrics.record("hget", "10.0.0.1:6379", 1_000,
+                new RedisNodeUnavailableException("10.0.0.1:6379", RedisNodeUnavailableException.Reason.BULKHEAD_FULL));
+        RedisWireLatencyRecorder recorder = new RedisWireLatencyRecorder(metrics);
+        recorder.recordCommandLatency(null, new InetSocketAddress("10.0.0.2", 6379), CommandType.HGET, 50_000, 80_000);
+
+        Map<String, Object> snapshot = metrics.snapshot();
+        Map<String, Object> hget = ((List<Map<String, Object>>) snapshot.get("byCommand")).get(0);
+        assertEquals(1L, hget.get("count"));
+        assertEquals(1L, hget.get("rejected"));
+        assertEquals(0L, hget.get("errors"));
+
+        Map<String, Object> wire = (Map<String, Object>) snapshot.get("wire");
+        Map<String, Object> wireRow = ((List<Map<String, Object>>) wire.get("details")).get(0);
+        assertEquals("HGET", wireRow.get("command"));
+        assertEquals("10.0.0.2:6379", wireRow.get("node"));
+        assertEquals(1L, wireRow.get("count"));
+
+        metrics.reset();
+        assertTrue(((List<?>) ((Map<String, Object>) metrics.snapshot().get("wire")).get("details")).isEmpty());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.07,
+                "分位数误差超出精度: expected=" + expected + ", actual=" + actual);
+    }
+}
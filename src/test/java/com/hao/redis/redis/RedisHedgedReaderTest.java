@@ -0,0 +1,119 @@
+package com.hao.redis.redis;
+
+import com.hao.redis.integration.redis.AsyncRedisClient;
+import com.hao.redis.integration.redis.RedisHedgedReader;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisHedgedReader 对冲读验证
+ *
+ * 测试目的：
+ * 1. 验证主请求慢于对冲延迟时由对冲请求返回结果。
+ * 2. 验证主请求失败时立即对冲，不等待对冲延迟。
+ * 3. 验证两路都未返回时在截止时间处失败，并转换为 QueryTimeoutException，降级次数按类型计数。
+ *
+ * 设计思路：
+ * - 使用 Mockito 模拟主/对冲两个异步客户端，以未完成的 Future 模拟慢节点，不依赖 Redis。
+ */
+@Slf4j
+@SuppressWarnings("unchecked")
+class RedisHedgedReaderTest {
+
+    private static final Duration DEFAULT_DELAY = Duration.ofMillis(5);
+
+    /**
+     * 慢主请求被对冲验证
+     *
+     * 实现逻辑：
+     * 1. 主请求永不返回，对冲请求立即返回。
+     * 2. 结果来自对冲请求，统计中对冲数与胜出数均为 1。
+     */
+    @Test
+    @DisplayName("主请求慢时对冲请求胜出")
+    void testSlowPrimaryHedged() {
+        AsyncRedisClient<String> primary = mock(AsyncRedisClient.class);
+        AsyncRedisClient<String> hedge = mock(AsyncRedisClient.class);
+        when(primary.hget("weibo:info:1", "1")).thenReturn(new CompletableFuture<>());
+        when(hedge.hget("weibo:info:1", "1")).thenReturn(CompletableFuture.completedFuture("post-1"));
+        RedisHedgedReader reader = newReader(primary, hedge);
+
+        Duration deadline = Duration.ofMillis(500);
+        String value = RedisHedgedReader.await(reader.hget("weibo:info:1", "1", deadline), "weibo:info:1", deadline);
+
+        Map<String, Object> stats = reader.stats();
+        log.info("对冲统计|Hedge_stats,stats={}", stats);
+        assertEquals("post-1", value);
+        assertEquals(1L, stats.get("hedges"));
+        assertEquals(1L, stats.get("hedgeWins"));
+    }
+
+    /**
+     * 主请求失败立即对冲验证
+     *
+     * 实现逻辑：
+     * 1. 对冲延迟设置为 10 秒，主请求直接失败。
+     * 2. 截止时间 1 秒内即可拿到对冲结果，说明未等待对冲延迟。
+     */
+    @Test
+    @DisplayName("主请求失败时立即对冲")
+    void testPrimaryFailureHedgedImmediately() {
+        AsyncRedisClient<String> primary = mock(AsyncRedisClient.class);
+        AsyncRedisClient<String> hedge = mock(AsyncRedisClient.class);
+        when(primary.hget("k", "f")).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("node down")));
+        when(hedge.hget("k", "f")).thenReturn(CompletableFuture.completedFuture("v"));
+        RedisHedgedReader reader = new RedisHedgedReader(primary, hedge, 0.95,
+                Duration.ofSeconds(10), Duration.ofMillis(1), Duration.ofSeconds(10));
+
+        Duration deadline = Duration.ofSeconds(1);
+        assertEquals("v", RedisHedgedReader.await(reader.hget("k", "f", deadline), "k", deadline));
+    }
+
+    /**
+     * 截止时间验证
+     *
+     * 实现逻辑：
+     * 1. 主、对冲请求均不返回，20ms 截止时间后抛出 QueryTimeoutException。
+     * 2. 未配置对冲客户端时只施加截止时间。
+     */
+    @Test
+    @DisplayName("超过截止时间抛出超时异常")
+    void testDeadlineExceeded() {
+        AsyncRedisClient<String> primary = mock(AsyncRedisClient.class);
+        AsyncRedisClient<String> hedge = mock(AsyncRedisClient.class);
+        when(primary.hget("k", "f")).thenReturn(new CompletableFuture<>());
+        when(hedge.hget("k", "f")).thenReturn(new CompletableFuture<>());
+
+        Duration deadline = Duration.ofMillis(20);
+        RedisHedgedReader reader = newReader(primary, hedge);
+        long begin = System.nanoTime();
+        assertThrows(QueryTimeoutException.class,
+                () -> RedisHedgedReader.await(reader.hget("k", "f", deadline), "k", deadline));
+        assertTrue(System.nanoTime() - begin < Duration.ofSeconds(1).toNanos());
+        assertEquals(1L, reader.stats().get("deadlineExceeded"));
+
+        RedisHedgedReader noHedge = newReader(primary, null);
+        assertThrows(QueryTimeoutException.class,
+                () -> RedisHedgedReader.await(noHedge.hget("k", "f", deadline), "k", deadline));
+        assertEquals(0L, noHedge.stats().get("hedges"));
+
+        noHedge.recordDegraded(true);
+        noHedge.recordDegraded(false);
+        noHedge.recordDegraded(false);
+        assertEquals(1L, noHedge.stats().get("degradedLastKnown"));
+        assertEquals(2L, noHedge.stats().get("degradedPrimary"));
+    }
+
+    private static RedisHedgedReader newReader(AsyncRedisClient<String> primary, AsyncRedisClient<String> hedge) {
+        return new RedisHedgedReader(primary, hedge, 0.95, DEFAULT_DELAY, Duration.ofMillis(1), Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,94 @@
+package com.hao.redis.redis;
+
+import com.hao.redis.integration.redis.RedisHotKeyDetector;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisHotKeyDetector 热点探测验证
+ *
+ * 测试目的：
+ * 1. 验证热点 Key 能从大量冷 Key 中按访问量排序识别出来。
+ * 2. 验证窗口轮转后旧计数过期。
+ * 3. 验证抽样模式下单次记录开销满足 100k ops/s 下低于 1% 的要求（单次 < 100ns）。
+ *
+ * 设计思路：
+ * - 纯内存组件，不依赖 Spring 容器与 Redis。
+ */
+@Slf4j
+class RedisHotKeyDetectorTest {
+
+    /**
+     * 热点识别验证
+     *
+     * 实现逻辑：
+     * 1. 全量记录（抽样率 1），三个热点 Key 混入 500 个冷 Key。
+     * 2. Top-3 按访问量降序，且估算值不低于真实值（Count-Min 只高估）。
+     * 3. 轮转满一个窗口后热点清空。
+     */
+    @Test
+    @DisplayName("热点Key识别与窗口过期")
+    void testHotKeyRanking() {
+        RedisHotKeyDetector detector = new RedisHotKeyDetector(1, 3, 1024, 3, 1000, null);
+        for (int i = 0; i < 10000; i++) {
+            detector.record("rank:hot");
+            if (i % 2 == 0) {
+                detector.record("weibo:info");
+            }
+            if (i % 5 == 0) {
+                detector.record("rate_limit:global_service_limit");
+            }
+            detector.record("user:" + (i % 500));
+        }
+
+        List<Map<String, Object>> hotKeys = detector.hotKeys();
+        log.info("热点Key列表|Hot_keys,list={}", hotKeys);
+        assertEquals(3, hotKeys.size());
+        assertEquals("rank:hot", hotKeys.get(0).get("key"));
+        assertEquals("weibo:info", hotKeys.get(1).get("key"));
+        assertEquals("rate_limit:global_service_limit", hotKeys.get(2).get("key"));
+        assertTrue((Long) hotKeys.get(0).get("estimatedOps") >= 10000);
+        assertNotNull(hotKeys.get(0).get("slot"));
+
+        for (int i = 0; i < 3; i++) {
+            detector.rotate();
+        }
+        assertTrue(detector.hotKeys().isEmpty());
+    }
+
+    /**
+     * 记录开销验证
+     *
+     * 实现逻辑：
+     * 1. 默认抽样率下预热后记录 200 万次，计算单次平均耗时。
+     */
+    @Test
+    @DisplayName("抽样记录开销")
+    void testRecordOverhead() {
+        // 实现思路：
+        // 1. Key 预先构造，避免把字符串拼接计入耗时。
+        RedisHotKeyDetector detector = new RedisHotKeyDetector(16, 20, 4096, 6, 10000, null);
+        String[] keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i % 4 == 0 ? "rank:hot" : "weibo:post:" + i;
+        }
+        int ops = 2_000_000;
+        for (int i = 0; i < ops; i++) {
+            detector.record(keys[i & 1023]);
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            detector.record(keys[i & 1023]);
+        }
+        double nanosPerOp = (System.nanoTime() - begin) / (double) ops;
+        log.info("热点抽样开销|Hot_key_sample_cost,nanosPerOp={}", String.format("%.2f", nanosPerOp));
+        assertTrue(nanosPerOp < 100, "单次记录耗时过高: " + nanosPerOp + "ns");
+        assertEquals("rank:hot", detector.hotKeys().get(0).get("key"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.hao.redis.redis;
+
+import com.hao.redis.integration.cache.RedisNearCache;
+import com.hao.redis.integration.redis.RedisClient;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Redis 近端缓存一致性验证
+ *
+ * 测试目的：
+ * 1. 验证哈希热点读命中近端缓存。
+ * 2. 验证绕过本地客户端的写入（模拟其他节点）可通过 CLIENT TRACKING 推送在毫秒级失效本地缓存。
+ *
+ * 设计思路：
+ * - 使用被跟踪前缀 user: 下的随机 Key 隔离测试数据。
+ * - 使用 StringRedisTemplate 直接写入，模拟其他应用节点，不触发本地主动失效。
+ * - 服务端不支持 RESP3 跟踪时跳过测试。
+ */
+@Slf4j
+@SpringBootTest(properties = "redis.near-cache.enabled=true")
+class RedisNearCacheTest {
+
+    @Autowired
+    private RedisClient<String> redisClient;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisNearCache redisNearCache;
+
+    private String key;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        key = "user:nearcache-test:" + UUID.randomUUID();
+        // 等待跟踪就绪（启动任务异步完成）
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!redisNearCache.isActive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assumeTrue(redisNearCache.isActive(), "服务端未开启客户端跟踪，跳过近端缓存测试");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        stringRedisTemplate.delete(key);
+    }
+
+    /**
+     * 命中与远端失效验证
+     *
+     * 实现逻辑：
+     * 1. 写入后重复读取，校验命中计数增长。
+     * 2. 绕过客户端直接修改，校验本地缓存在限定时间内失效并读到新值。
+     */
+    @Test
+    @DisplayName("近端缓存命中与远端失效")
+    void testHitAndRemoteInvalidation() throws InterruptedException {
+        // 实现思路：
+        // 1. 先预热缓存，再模拟其他节点写入。
+        redisClient.hmset(key, Map.of("name", "Tom", "age", "18"));
+        assertEquals("Tom", redisClient.hget(key, "name"));
+        long hitsBefore = (long) redisNearCache.stats().get("hits");
+        assertEquals("Tom", redisClient.hget(key, "name"));
+        assertEquals(Arrays.asList("Tom", "18"), redisClient.hmget(key, "name", "age"));
+        assertTrue((long) redisNearCache.stats().get("hits") >= hitsBefore + 3);
+
+        // 核心代码：绕过 RedisClient 写入，只能依赖服务端推送失效
+        stringRedisTemplate.opsForHash().put(key, "name", "Jerry");
+        long start = System.currentTimeMillis();
+        String value = redisClient.hget(key, "name");
+        while (!"Jerry".equals(value) && System.currentTimeMillis() - start < 1000) {
+            Thread.sleep(1);
+            value = redisClient.hget(key, "name");
+        }
+        long costMs = System.currentTimeMillis() - start;
+        assertEquals("Jerry", value);
+        log.info("远端失效生效|Remote_invalidation_applied,costMs={},stats={}", costMs, redisNearCache.stats());
+    }
+
+    /**
+     * 本地写入主动失效验证
+     *
+     * 实现逻辑：
+     * 1. 通过 RedisClient 写入后立即读取，必须读到新值。
+     */
+    @Test
+    @DisplayName("近端缓存本地写入立即失效")
+    void testLocalWriteInvalidation() {
+        // 实现思路：
+        // 1. 本地写入路径同步剔除，无需等待推送。
+        redisClient.hmset(key, Map.of("city", "sh"));
+        assertEquals(Map.of("city", "sh"), redisClient.hgetAll(key));
+        redisClient.hset(key, "city", "bj");
+        assertEquals(Map.of("city", "bj"), redisClient.hgetAll(key));
+        assertNull(redisClient.hget(key, "missing"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.hao.redis.redis;
+
+import com.hao.redis.integration.redis.RedisClient;
+import com.hao.redis.integration.redis.RedisReadCoalescer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 读请求合并器验证
+ *
+ * 测试目的：
+ * 1. 验证并发 GET/HGET 被合并后每个调用方拿到各自正确的值。
+ * 2. 验证批大小直方图有效记录（平均批大小大于 1）。
+ *
+ * 设计思路：
+ * - 开启合并模式，使用大量并发线程同时读取不同 Key 与同一哈希的不同字段。
+ * - 通过发令枪让请求尽量在同一窗口内到达。
+ */
+@Slf4j
+@SpringBootTest(properties = {"redis.coalescing.enabled=true", "redis.coalescing.window-micros=500"})
+class RedisReadCoalescerTest {
+
+    private static final int THREADS = 200;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private RedisClient<String> redisClient;
+
+    @Autowired
+    private RedisReadCoalescer redisReadCoalescer;
+
+    /**
+     * 并发合并读取正确性验证
+     *
+     * 实现逻辑：
+     * 1. 预置字符串与哈希数据。
+     * 2. 并发读取并逐一校验结果。
+     * 3. 输出并校验批大小统计。
+     */
+    @Test
+    @DisplayName("并发GET与HGET合并读取")
+    void testCoalescedReads() throws InterruptedException {
+        // 实现思路：
+        // 1. 每个线程读取自己的 Key 与字段，结果错位即说明回填错误。
+        String prefix = "test:coalesce:" + UUID.randomUUID() + ":";
+        String hashKey = prefix + "hash";
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < THREADS; i++) {
+            values.put(prefix + i, "v" + i);
+            fields.put("f" + i, "h" + i);
+        }
+        redisClient.mset(values);
+        redisClient.hmset(hashKey, fields);
+
+        AtomicInteger mismatches = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch finishLatch = new CountDownLatch(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                final int index = i;
+                executor.submit(() -> {
+                    try {
+                        startLatch.await();
+                        for (int round = 0; round < ROUNDS; round++) {
+                            if (!("v" + index).equals(redisClient.get(prefix + index))) {
+                                mismatches.incrementAndGet();
+                            }
+                            if (!("h" + index).equals(redisClient.hget(hashKey, "f" + index))) {
+                                mismatches.incrementAndGet();
+                            }
+                        }
+                    } catch (Exception e) {
+                        mismatches.incrementAndGet();
+                        log.error("合并读取异常|Coalesced_read_error,error={}", e.getMessage());
+                    } finally {
+                        finishLatch.countDown();
+                    }
+                });
+            }
+            startLatch.countDown();
+            finishLatch.await();
+        } finally {
+            executor.shutdown();
+            redisClient.del(values.keySet().toArray(new String[0]));
+            redisClient.del(hashKey);
+        }
+
+        Map<String, Object> stats = redisReadCoalescer.stats();
+        log.info("合并读取统计|Coalescer_stats,stats={}", stats);
+        assertEquals(0, mismatches.get());
+        assertTrue((double) stats.get("avgBatchSize") > 1.0, "并发读取应被合并为批次");
+    }
+}
@@ -0,0 +1,79 @@
+package com.hao.redis.redis;
+
+import com.hao.redis.integration.redis.RedisValueCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisValueCodec 值压缩编解码验证
+ *
+ * 测试目的：
+ * 1. 验证编解码只作用于可压缩前缀，其他 Key 即使值带魔数头也原样返回。
+ * 2. 验证低于阈值的值计入 skipped。
+ * 3. 验证关闭压缩后历史压缩值仍可读取。
+ *
+ * 设计思路：
+ * - 纯内存组件，不依赖 Spring 容器与 Redis。
+ */
+class RedisValueCodecTest {
+
+    private static final String PREFIX = "weibo:info:";
+    private static final String LARGE = "{\"content\":\"" + "hello redis ".repeat(200) + "\"}";
+
+    /**
+     * 前缀范围验证
+     *
+     * 实现逻辑：
+     * 1. 可压缩 Key 写入大值被压缩，按 Key 解码还原。
+     * 2. 非可压缩 Key 不压缩，读取时不解压。
+     */
+    @Test
+    @DisplayName("编解码仅作用于可压缩前缀")
+    void testPrefixScoped() {
+        RedisValueCodec codec = new RedisValueCodec(true, 512, List.of(PREFIX));
+        String stored = codec.encode(PREFIX + "1", LARGE);
+        assertTrue(RedisValueCodec.isCompressed(stored));
+        assertEquals(LARGE, codec.decode(PREFIX + "1", stored));
+
+        assertEquals(LARGE, codec.encode("user:1", LARGE));
+        assertSame(stored, codec.decode("user:1", stored), "非可压缩 Key 不应解压");
+        assertEquals(1L, codec.stats().get("compressed"));
+        assertEquals(0L, codec.stats().get("skipped"));
+    }
+
+    /**
+     * 阈值以下计数验证
+     *
+     * 实现逻辑：
+     * 1. 字符串与字节两种写入路径各写一个小值，均计入 skipped。
+     */
+    @Test
+    @DisplayName("低于阈值的值计入 skipped")
+    void testUnderThresholdSkipped() {
+        RedisValueCodec codec = new RedisValueCodec(true, 512, List.of(PREFIX));
+        assertEquals("small", codec.encode(PREFIX + "1", "small"));
+        assertArrayEquals(new byte[]{1, 2}, codec.encode(PREFIX + "1", new byte[]{1, 2}));
+        assertEquals(2L, codec.stats().get("skipped"));
+    }
+
+    /**
+     * 关闭压缩验证
+     *
+     * 实现逻辑：
+     * 1. 关闭后写入不压缩、不计数。
+     * 2. 开启时写入的历史压缩值在关闭后仍可按 Key 解码。
+     */
+    @Test
+    @DisplayName("关闭压缩后历史值仍可读")
+    void testDisabledStillDecodes() {
+        String stored = new RedisValueCodec(true, 512, List.of(PREFIX)).encode(PREFIX + "1", LARGE);
+        RedisValueCodec disabled = new RedisValueCodec(false, 512, List.of(PREFIX));
+        assertEquals(LARGE, disabled.encode(PREFIX + "1", LARGE));
+        assertEquals(LARGE, disabled.decode(PREFIX + "1", stored));
+        assertEquals(0L, disabled.stats().get("skipped"));
+    }
+}
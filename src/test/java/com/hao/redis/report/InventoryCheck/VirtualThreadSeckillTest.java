@@ -1,5 +1,7 @@
 package com.hao.redis.report.InventoryCheck;
 
+import com.hao.redis.common.enums.RedisScriptEnum;
+import com.hao.redis.integration.redis.RedisScriptRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,7 +11,6 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -55,7 +56,8 @@ public class VirtualThreadSeckillTest {
     @Qualifier("virtualThreadExecutor")
     private Executor virtualThreadExecutor;
 
-    private DefaultRedisScript<Long> deductStockScript;
+    @Autowired
+    private RedisScriptRegistry redisScriptRegistry;
 
     // --- 压测参数配置 ---
     private static final String PRODUCT_KEY_PREFIX = "seckill:product:9999:";
@@ -81,29 +83,15 @@ public class VirtualThreadSeckillTest {
      * 测试前置初始化
      *
      * 实现逻辑：
-     * 1. 初始化扣减库存的 Lua 脚本。
+     * 1. 扣减库存脚本由脚本注册中心提供（EVALSHA）。
      * 2. 写入分片库存并执行预热。
      */
     @BeforeEach
     public void setup() {
         // 实现思路：
-        // 1. 初始化脚本与库存。
+        // 1. 初始化库存。
         // 2. 预热连接与脚本缓存。
-        // 1. 定义 Lua 脚本
-        String scriptText =
-                "if (redis.call('get', KEYS[1]) == false) then return -1 end; " +
-                        "local stock = tonumber(redis.call('get', KEYS[1])); " +
-                        "if (stock > 0) then " +
-                        "   redis.call('decr', KEYS[1]); " +
-                        "   return 1; " +
-                        "else " +
-                        "   return 0; " +
-                        "end";
-
-        deductStockScript = new DefaultRedisScript<>();
-        deductStockScript.setScriptText(scriptText);
-        deductStockScript.setResultType(Long.class);
-
+        // 1. Lua 脚本由 RedisScriptRegistry 统一管理，启动时已预加载到全部主节点
         // 2. 初始化 Redis 数据
         log.info("初始化分片库存|Init_shards,shardCount={},stockPerShard={},totalStock={}",
                 SHARD_COUNT, STOCK_PER_SHARD, TOTAL_INITIAL_STOCK);
@@ -118,7 +106,7 @@ public class VirtualThreadSeckillTest {
             log.info("分片连接预热|Shard_warmup_start");
             for (int i = 0; i < SHARD_COUNT; i++) {
                 String shardKey = PRODUCT_KEY_PREFIX + i;
-                stringRedisTemplate.execute(deductStockScript, Collections.singletonList(shardKey));
+                redisScriptRegistry.execute(RedisScriptEnum.SECKILL_DEDUCT_STOCK, Collections.singletonList(shardKey));
                 stringRedisTemplate.opsForValue().increment(shardKey);
             }
             log.info("预热完成|Warmup_done");
@@ -168,8 +156,8 @@ public class VirtualThreadSeckillTest {
                     int shardIndex = ThreadLocalRandom.current().nextInt(SHARD_COUNT);
                     String targetKey = PRODUCT_KEY_PREFIX + shardIndex;
 
-                    Long result = stringRedisTemplate.execute(
-                            deductStockScript,
+                    Long result = redisScriptRegistry.execute(
+                            RedisScriptEnum.SECKILL_DEDUCT_STOCK,
                             Collections.singletonList(targetKey)
                     );
 
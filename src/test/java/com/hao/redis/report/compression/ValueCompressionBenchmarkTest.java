@@ -0,0 +1,140 @@
+package com.hao.redis.report.compression;
+
+import com.hao.redis.common.enums.RedisKeysEnum;
+import com.hao.redis.common.model.RedisLogicalData;
+import com.hao.redis.common.util.JsonUtil;
+import com.hao.redis.dal.model.WeiboPost;
+import com.hao.redis.integration.redis.RedisValueCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 值压缩 CPU 与字节数权衡压测
+ *
+ * 类职责：
+ * 对不同大小的微博 JSON 与逻辑过期包装对象，测量压缩/解压单次耗时与压缩后字节数。
+ *
+ * 测试目的：
+ * 1. 量化压缩节省的字节比例（即网络带宽与 Redis 内存的节省比例）。
+ * 2. 量化写入压缩与读取解压带来的 CPU 开销，为阈值配置提供依据。
+ *
+ * 设计思路：
+ * - 纯内存压测，不依赖 Redis：字节数即网络与内存占用，耗时即客户端 CPU 开销。
+ * - 正文由常用短语随机拼接，接近真实微博文本的重复度；每档先预热再计时。
+ *
+ * 为什么需要该类：
+ * 压缩阈值是 CPU 与带宽的折中，小值压缩收益低且 Base64 还会膨胀，需要数据支撑。
+ */
+@Slf4j
+public class ValueCompressionBenchmarkTest {
+
+    // 压测参数配置
+    private static final int[] CONTENT_CHARS = {100, 300, 1000, 4000};   // 正文字符数档位
+    private static final int WARMUP_ITERATIONS = 20_000;                // 每档预热次数
+    private static final int ITERATIONS = 50_000;                       // 每档计时次数
+    private static final int THRESHOLD_BYTES = 512;                     // 压缩阈值（与默认配置一致）
+
+    private static final String[] PHRASES = {
+            "今天天气很好", "出门散步", "#周末去哪儿#", "转发微博", "哈哈哈哈", "推荐一家好吃的店",
+            "加班到深夜", "新品发布会", "@好友 快来看", "分享图片", "期待下一集", "这波操作太秀了"
+    };
+
+    /**
+     * 压缩权衡压测
+     *
+     * 实现逻辑：
+     * 1. 按正文长度档位构造微博 JSON 与逻辑过期包装 JSON。
+     * 2. 每档校验往返一致后分别计时编码与解码。
+     * 3. 输出原始字节、存储字节、压缩比与单次耗时对比报告。
+     */
+    @Test
+    public void testCompressionTradeOff() {
+        // 实现思路：
+        // 1. 使用默认枚举配置：详情分桶与逻辑过期缓存前缀可压缩。
+        RedisValueCodec codec = new RedisValueCodec(true, THRESHOLD_BYTES);
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-10s %-8s %10s %10s %8s %12s %12s",
+                "payload", "chars", "rawBytes", "stored", "ratio", "encodeNs", "decodeNs"));
+
+        for (int chars : CONTENT_CHARS) {
+            WeiboPost post = buildPost(chars);
+            String postJson = JsonUtil.toJson(post);
+            String logicalJson = JsonUtil.toJson(new RedisLogicalData<>(300, post));
+            report.add(measure(codec, "post", chars, RedisKeysEnum.WEIBO_POST_BUCKET.join(1), postJson));
+            report.add(measure(codec, "logical", chars, RedisKeysEnum.WEIBO_LOGICAL_CACHE.join(1), logicalJson));
+        }
+
+        log.info("值压缩压测报告|Value_compression_benchmark_report,threshold={}\n{}",
+                THRESHOLD_BYTES, String.join("\n", report));
+        log.info("值压缩统计|Value_compression_stats,stats={}", codec.stats());
+
+        // 核心代码：长正文必须有明显收益，否则压缩没有意义
+        String longJson = JsonUtil.toJson(buildPost(4000));
+        String stored = codec.encode(RedisKeysEnum.WEIBO_POST_BUCKET.join(1), longJson);
+        assertTrue(RedisValueCodec.isCompressed(stored));
+        assertTrue(stored.length() < longJson.getBytes(StandardCharsets.UTF_8).length * 0.5,
+                "长正文压缩收益不足");
+    }
+
+    /**
+     * 测量单档编码与解码开销
+     *
+     * @param codec 编解码器
+     * @param payload 负载类型
+     * @param chars 正文字符数
+     * @param key Redis Key
+     * @param json 原始 JSON
+     * @return 报告行
+     */
+    private String measure(RedisValueCodec codec, String payload, int chars, String key, String json) {
+        // 实现思路：
+        // 1. 编码与解码分开计时；结果累加到 sink 防止 JIT 消除。
+        int rawBytes = json.getBytes(StandardCharsets.UTF_8).length;
+        String stored = codec.encode(key, json);
+        assertEquals(json, RedisValueCodec.decode(stored), "往返结果不一致");
+        int storedBytes = stored.getBytes(StandardCharsets.UTF_8).length;
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += codec.encode(key, json).length();
+            sink += RedisValueCodec.decode(stored).length();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.encode(key, json).length();
+        }
+        long encodeNs = (System.nanoTime() - begin) / ITERATIONS;
+        begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += RedisValueCodec.decode(stored).length();
+        }
+        long decodeNs = (System.nanoTime() - begin) / ITERATIONS;
+        assertTrue(sink > 0);
+
+        return String.format("%-10s %-8d %10d %10d %8.2f %12d %12d",
+                payload, chars, rawBytes, storedBytes, (double) storedBytes / rawBytes, encodeNs, decodeNs);
+    }
+
+    /**
+     * 构造指定正文长度的微博
+     *
+     * @param chars 正文字符数
+     * @return 微博对象
+     */
+    private WeiboPost buildPost(int chars) {
+        Random random = new Random(chars);
+        StringBuilder content = new StringBuilder(chars + 16);
+        while (content.length() < chars) {
+            content.append(PHRASES[random.nextInt(PHRASES.length)]).append(random.nextInt(100)).append('，');
+        }
+        content.setLength(chars);
+        return new WeiboPost("5001", "1001", content.toString(), "2026-10-16 12:00:00");
+    }
+}
@@ -0,0 +1,206 @@
+package com.hao.redis.report.connection;
+
+import com.hao.redis.config.RedisConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 连接模式对比压测（连接池独占 vs 共享多路复用）
+ *
+ * 类职责：
+ * 在同一集群、同一负载下分别使用 pooled 与 shared 两种连接工厂，对比吞吐与尾延迟。
+ *
+ * 测试目的：
+ * 1. 量化连接池借还（含同步与校验）对单条命令延迟的影响。
+ * 2. 验证共享多路复用连接在高并发下的吞吐与 P99 是否优于连接池模式。
+ *
+ * 设计思路：
+ * - 通过 RedisConfig#createConnectionFactory 构建两个独立工厂，参数与线上工厂完全一致，仅连接模式不同。
+ * - 固定 Key 空间的 GET/SET 混合负载（读写 4:1），每条命令单独计时。
+ * - 每种模式先预热再正式压测，按“先 pooled 后 shared”顺序执行并交替一次，减小 JIT 与服务端缓存偏差。
+ *
+ * 为什么需要该类：
+ * 连接模式是全局配置，切换前需要可重复的数据支撑。
+ */
+@Slf4j
+@SpringBootTest
+public class ConnectionModeBenchmarkTest {
+
+    @Autowired
+    private RedisConfig redisConfig;
+
+    // 压测参数配置
+    private static final int THREAD_COUNT = 200;            // 并发线程数
+    private static final int REQUESTS_PER_THREAD = 500;     // 每个线程执行的命令数
+    private static final int WARMUP_PER_THREAD = 50;        // 每个线程预热的命令数
+    private static final int KEY_SPACE = 1000;              // Key 空间大小
+    private static final int ROUNDS = 2;                    // 每种模式的压测轮数
+
+    /**
+     * 连接模式对比压测
+     *
+     * 实现逻辑：
+     * 1. 构建 pooled 与 shared 两个连接工厂并准备数据。
+     * 2. 两种模式交替压测，记录每轮吞吐与延迟分位。
+     * 3. 输出对比报告并清理数据、销毁工厂。
+     *
+     * @throws InterruptedException 线程中断异常
+     */
+    @Test
+    public void testPooledVsSharedConnection() throws InterruptedException {
+        // 实现思路：
+        // 1. 两个工厂各自持有连接，互不影响；压测数据共用同一批 Key。
+        String keyPrefix = "bench:connmode:" + UUID.randomUUID().toString().substring(0, 8) + ":";
+        String valuePayload = "data-" + UUID.randomUUID();
+        LettuceConnectionFactory pooledFactory = redisConfig.createConnectionFactory("pooled");
+        LettuceConnectionFactory sharedFactory = redisConfig.createConnectionFactory("shared");
+        StringRedisTemplate pooledTemplate = createTemplate(pooledFactory);
+        StringRedisTemplate sharedTemplate = createTemplate(sharedFactory);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        log.info("连接模式压测启动|Connection_mode_benchmark_start,threads={},requestsPerThread={},keySpace={}",
+                THREAD_COUNT, REQUESTS_PER_THREAD, KEY_SPACE);
+        try {
+            for (int i = 0; i < KEY_SPACE; i++) {
+                pooledTemplate.opsForValue().set(keyPrefix + i, valuePayload);
+            }
+            runLoad(executor, pooledTemplate, keyPrefix, valuePayload, WARMUP_PER_THREAD);
+            runLoad(executor, sharedTemplate, keyPrefix, valuePayload, WARMUP_PER_THREAD);
+
+            List<Result> pooledResults = new ArrayList<>();
+            List<Result> sharedResults = new ArrayList<>();
+            for (int round = 0; round < ROUNDS; round++) {
+                pooledResults.add(runLoad(executor, pooledTemplate, keyPrefix, valuePayload, REQUESTS_PER_THREAD));
+                sharedResults.add(runLoad(executor, sharedTemplate, keyPrefix, valuePayload, REQUESTS_PER_THREAD));
+            }
+
+            for (int round = 0; round < ROUNDS; round++) {
+                report("pooled", round, pooledResults.get(round));
+                report("shared", round, sharedResults.get(round));
+                assertEquals(0, pooledResults.get(round).failures);
+                assertEquals(0, sharedResults.get(round).failures);
+            }
+        } finally {
+            for (int i = 0; i < KEY_SPACE; i++) {
+                try {
+                    pooledTemplate.delete(keyPrefix + i);
+                } catch (Exception e) {
+                    // 忽略清理时的异常
+                }
+            }
+            executor.shutdown();
+            pooledFactory.destroy();
+            sharedFactory.destroy();
+            log.info("连接模式压测结束|Connection_mode_benchmark_done");
+        }
+    }
+
+    private StringRedisTemplate createTemplate(LettuceConnectionFactory connectionFactory) {
+        StringRedisTemplate template = new StringRedisTemplate();
+        template.setConnectionFactory(connectionFactory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * 执行一轮并发负载
+     *
+     * 实现逻辑：
+     * 1. 全部线程就绪后同时发令，每条命令单独记录耗时。
+     * 2. 汇总全部延迟样本并计算吞吐。
+     *
+     * @return 本轮结果
+     */
+    private Result runLoad(ExecutorService executor, StringRedisTemplate template, String keyPrefix,
+                           String valuePayload, int requestsPerThread) throws InterruptedException {
+        // 实现思路：
+        // 1. 每个线程写自己的延迟数组，避免共享结构干扰计时。
+        long[][] latencies = new long[THREAD_COUNT][requestsPerThread];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch finishLatch = new CountDownLatch(THREAD_COUNT);
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            final int threadIdx = t;
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int j = 0; j < requestsPerThread; j++) {
+                        String key = keyPrefix + ((threadIdx * requestsPerThread + j) % KEY_SPACE);
+                        long begin = System.nanoTime();
+                        try {
+                            if (j % 5 == 0) {
+                                template.opsForValue().set(key, valuePayload);
+                            } else {
+                                template.opsForValue().get(key);
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[threadIdx][j] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finishLatch.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        startLatch.countDown();
+        finishLatch.await(5, TimeUnit.MINUTES);
+        long costNanos = System.nanoTime() - begin;
+
+        long[] samples = new long[THREAD_COUNT * requestsPerThread];
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            System.arraycopy(latencies[t], 0, samples, t * requestsPerThread, requestsPerThread);
+        }
+        Arrays.sort(samples);
+        return new Result(samples, costNanos, failures.get());
+    }
+
+    private void report(String mode, int round, Result result) {
+        log.info("连接模式压测报告|Connection_mode_report,mode={},round={},ops={},costMs={},tps={},p50Us={},p99Us={},maxUs={},fail={}",
+                mode, round, result.samples.length,
+                TimeUnit.NANOSECONDS.toMillis(result.costNanos),
+                String.format("%.2f", result.samples.length * 1e9 / result.costNanos),
+                result.percentileMicros(0.50), result.percentileMicros(0.99),
+                result.samples[result.samples.length - 1] / 1000, result.failures);
+    }
+
+    /**
+     * 单轮压测结果
+     */
+    private static final class Result {
+        private final long[] samples;
+        private final long costNanos;
+        private final int failures;
+
+        private Result(long[] samples, long costNanos, int failures) {
+            this.samples = samples;
+            this.costNanos = costNanos;
+            this.failures = failures;
+        }
+
+        private long percentileMicros(double percentile) {
+            int index = (int) Math.ceil(percentile * samples.length) - 1;
+            return samples[Math.max(index, 0)] / 1000;
+        }
+    }
+}
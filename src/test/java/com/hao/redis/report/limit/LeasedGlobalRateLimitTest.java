@@ -0,0 +1,152 @@
+package com.hao.redis.report.limit;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.hao.redis.common.interceptor.SimpleRateLimiter;
+import com.hao.redis.common.util.RedisLeasedRateLimiter;
+import com.hao.redis.common.util.RedisRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 配额租约全局限流压测报告
+ *
+ * 类职责：
+ * 模拟多个应用节点共用一个全局限流键，验证租约模式的限流精度与 Redis 调用量。
+ *
+ * 测试目的：
+ * 1. 阈值内发压：Redis 调用次数约为请求数的 1%（逐请求模式为 100%）。
+ * 2. 超阈值发压：整窗口内放行总量不超过阈值的 105%。
+ *
+ * 设计思路：
+ * - 每个节点一个独立的 RedisLeasedRateLimiter 实例，本地租约互不共享，只共享 Redis 中的全局计数。
+ * - 发压起点按 Redis TIME 对齐到窗口边界，统计恰好若干个完整窗口内的放行数。
+ * - 使用 Guava RateLimiter 控制客户端发压速率。
+ *
+ * 为什么需要该类：
+ * 租约把逐请求的精确计数换成批量申领，需要用数据说明精度损失有界、Redis 调用量确实下降。
+ */
+@Slf4j
+@SpringBootTest
+public class LeasedGlobalRateLimitTest {
+
+    private static final int LIMIT = 2500;
+    private static final int NODES = 4;
+    private static final int THREADS = 32;
+    private static final int WINDOWS = 3;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private final List<RedisLeasedRateLimiter> nodes = new ArrayList<>();
+
+    private ExecutorService refillExecutor;
+
+    @BeforeEach
+    void setUp() {
+        refillExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        RedisRateLimiter redisRateLimiter = new RedisRateLimiter(redisTemplate, mock(SimpleRateLimiter.class), 0.5D);
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new RedisLeasedRateLimiter(redisTemplate, null, redisRateLimiter, refillExecutor,
+                    0.05D, 0.2D, 10L, 1000L));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        refillExecutor.shutdownNow();
+        redisTemplate.delete(List.of("rate_limit:lease:report:lease_under", "rate_limit:lease:report:lease_over"));
+    }
+
+    /**
+     * 租约模式精度与调用量
+     *
+     * 实现逻辑：
+     * 1. 阈值 60% 发压 3 个窗口，统计 Redis 调用占比（各节点未用完的租约最多占用 节点数 × 单次申领量 的配额）。
+     * 2. 阈值 200% 发压 3 个窗口，统计放行总量与阈值的比值。
+     *
+     * @throws InterruptedException 线程中断异常
+     */
+    @Test
+    @DisplayName("配额租约：调用量约 1%，放行量不超过阈值 105%")
+    void testLeasedGlobalLimit() throws InterruptedException {
+        long[] under = run("report:lease_under", LIMIT * 0.6D);
+        long[] over = run("report:lease_over", LIMIT * 2.0D);
+
+        double callRatio = (double) under[2] / under[0];
+        double overRatio = (double) over[1] / ((long) LIMIT * WINDOWS);
+        log.info("========== 配额租约压测报告 ==========");
+        log.info("阈值|Limit: {}/s, 节点|Nodes: {}, 窗口数|Windows: {}", LIMIT, NODES, WINDOWS);
+        log.info("阈值内|Under_limit: requests={}, allowed={}, redisCalls={}, callRatio={}, reduction={}x",
+                under[0], under[1], under[2], String.format("%.4f", callRatio),
+                String.format("%.1f", callRatio == 0 ? 0 : 1 / callRatio));
+        log.info("超阈值|Over_limit: requests={}, allowed={}, redisCalls={}, allowedRatio={}",
+                over[0], over[1], over[2], String.format("%.3f", overRatio));
+        log.info("=====================================");
+
+        assertTrue(callRatio <= 0.015D, "阈值内发压时 Redis 调用占比应约为 1%");
+        assertTrue(overRatio <= 1.05D, "超阈值发压时放行总量应不超过阈值的 105%");
+    }
+
+    /**
+     * 对齐窗口边界后发压若干个完整窗口
+     *
+     * @param key 限流键
+     * @param offeredQps 客户端发压速率
+     * @return {请求数, 放行数, Redis 调用数}
+     * @throws InterruptedException 线程中断异常
+     */
+    private long[] run(String key, double offeredQps) throws InterruptedException {
+        long callsBefore = totalRedisCalls();
+        long windowMillis = 1000L;
+        long now = redisTime();
+        TimeUnit.MILLISECONDS.sleep((now / windowMillis + 1) * windowMillis - now);
+
+        RateLimiter shaper = RateLimiter.create(offeredQps);
+        LongAdder requests = new LongAdder();
+        LongAdder allowed = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis * WINDOWS);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            RedisLeasedRateLimiter node = nodes.get(t % NODES);
+            workers.add(Thread.ofPlatform().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    shaper.acquire();
+                    requests.increment();
+                    if (node.acquire(key, LIMIT, 1).isAllowed()) {
+                        allowed.increment();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new long[]{requests.sum(), allowed.sum(), totalRedisCalls() - callsBefore};
+    }
+
+    private long totalRedisCalls() {
+        return nodes.stream().mapToLong(node -> (long) node.stats().get("redisCalls")).sum();
+    }
+
+    private long redisTime() {
+        Long time = redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().time());
+        return time != null ? time : System.currentTimeMillis();
+    }
+}
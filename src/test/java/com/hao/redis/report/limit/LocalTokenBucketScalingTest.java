@@ -0,0 +1,129 @@
+package com.hao.redis.report.limit;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.hao.redis.common.interceptor.LocalTokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 本地令牌桶并发扩展性压测报告
+ *
+ * 类职责：
+ * 对比 Guava RateLimiter 与无锁 LocalTokenBucket 在单个热点限流键上的吞吐随线程数的变化。
+ *
+ * 测试目的：
+ * 1. 线程数 1/2/4/8/16 下分别统计每秒判定次数。
+ * 2. 验证最大线程数下无锁实现吞吐高于 Guava 实现。
+ *
+ * 设计思路：
+ * - 每次判定与 SimpleRateLimiter 的真实调用路径一致：getRate() 比较后 tryAcquire()。
+ * - 速率设置为 1000 QPS，绝大多数判定走拒绝路径，即热点键被打满时的真实状态。
+ * - 每轮先预热再计时，结果仅作相对比较。
+ *
+ * 为什么需要该类：
+ * Guava 的 getRate() 与 tryAcquire() 共用一把 synchronized 锁，单键高并发时会形成锁护航，
+ * 需要用数据说明替换后的吞吐随线程数扩展。
+ */
+@Slf4j
+public class LocalTokenBucketScalingTest {
+
+    private static final double QPS = 1000D;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+    private static final long WARMUP_MILLIS = 300;
+    private static final long MEASURE_MILLIS = 1000;
+
+    /**
+     * 热点键吞吐对比
+     *
+     * 实现逻辑：
+     * 1. 每个线程数分别压测 Guava 与 LocalTokenBucket，输出每秒判定次数。
+     * 2. 断言最大线程数下 LocalTokenBucket 吞吐更高。
+     *
+     * @throws InterruptedException 线程中断异常
+     */
+    @Test
+    @DisplayName("单热点键：无锁令牌桶吞吐随线程数扩展")
+    void testHotKeyScaling() throws InterruptedException {
+        long guavaAtMax = 0;
+        long bucketAtMax = 0;
+        log.info("========== 本地令牌桶扩展性压测报告 ==========");
+        log.info("速率|Rate: {}/s, 计时|Measure: {}ms", QPS, MEASURE_MILLIS);
+        for (int threads : THREAD_COUNTS) {
+            RateLimiter guava = RateLimiter.create(QPS);
+            LocalTokenBucket bucket = LocalTokenBucket.create(QPS);
+            long guavaOps = measure(threads, () -> {
+                if (guava.getRate() != QPS) {
+                    guava.setRate(QPS);
+                }
+                return guava.tryAcquire();
+            });
+            long bucketOps = measure(threads, () -> {
+                if (bucket.getRate() != QPS) {
+                    bucket.setRate(QPS);
+                }
+                return bucket.tryAcquire();
+            });
+            log.info("线程数|Threads: {}, Guava: {} ops/s, LocalTokenBucket: {} ops/s, speedup={}x",
+                    threads, guavaOps, bucketOps, String.format("%.1f", (double) bucketOps / Math.max(guavaOps, 1)));
+            guavaAtMax = guavaOps;
+            bucketAtMax = bucketOps;
+        }
+        log.info("=============================================");
+
+        assertTrue(bucketAtMax > guavaAtMax, "最大线程数下无锁令牌桶吞吐应高于 Guava RateLimiter");
+    }
+
+    /**
+     * 固定线程数下压测一次判定逻辑
+     *
+     * 实现逻辑：
+     * 1. 所有线程同时起跑，预热期内的判定不计数。
+     * 2. 计时期结束后汇总各线程判定次数，换算为每秒次数。
+     *
+     * @param threads 线程数
+     * @param decision 单次限流判定
+     * @return 每秒判定次数
+     * @throws InterruptedException 线程中断异常
+     */
+    private long measure(int threads, BooleanSupplier decision) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long measureFrom = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WARMUP_MILLIS);
+        long measureTo = measureFrom + TimeUnit.MILLISECONDS.toNanos(MEASURE_MILLIS);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long count = 0;
+                long now;
+                while ((now = System.nanoTime()) < measureTo) {
+                    decision.getAsBoolean();
+                    if (now >= measureFrom) {
+                        count++;
+                    }
+                }
+                ops.add(count);
+            }));
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() * 1000 / MEASURE_MILLIS;
+    }
+}
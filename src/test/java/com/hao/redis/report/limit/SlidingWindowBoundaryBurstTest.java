@@ -0,0 +1,173 @@
+package com.hao.redis.report.limit;
+
+import com.hao.redis.common.enums.RateLimitAlgorithm;
+import com.hao.redis.common.interceptor.SimpleRateLimiter;
+import com.hao.redis.common.util.RedisRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 窗口边界突发压测报告
+ *
+ * 类职责：
+ * 对比固定窗口与滑动窗口两种分布式限流算法在窗口边界处的突发放行量。
+ *
+ * 测试目的：
+ * 1. 复现固定窗口的边界问题：边界前后各一次突发，短时间内放行接近 2 倍阈值。
+ * 2. 验证滑动窗口在同样的边界突发下，放行总量不超过阈值的 105%。
+ *
+ * 设计思路：
+ * - 固定窗口的边界是首个请求后的 TTL 到期时刻，通过 PTTL 对齐。
+ * - 滑动窗口的边界是 Redis TIME 的窗口整数倍，通过 TIME 对齐，避免本机与 Redis 时钟偏差。
+ * - 每次突发以 2 倍阈值的并发请求发起，保证每侧都能打满配额。
+ *
+ * 为什么需要该类：
+ * 边界突发正是压垮 MySQL 的流量形态，算法替换必须有可复现的数据支撑。
+ *
+ * 核心实现思路：
+ * - 对齐边界 -> 边界前突发 -> 跨过边界 -> 边界后突发 -> 汇总两次放行数。
+ */
+@Slf4j
+@SpringBootTest
+public class SlidingWindowBoundaryBurstTest {
+
+    private static final String TEST_KEY = "report:boundary_burst";
+    private static final int LIMIT = 1000;
+    private static final int WINDOW_SECONDS = 10;
+    private static final int THREADS = 64;
+
+    /**
+     * 边界前突发提前量（毫秒）
+     */
+    private static final long BEFORE_BOUNDARY_MS = 300;
+
+    /**
+     * 边界后突发延后量（毫秒）
+     */
+    private static final long AFTER_BOUNDARY_MS = 10;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private RedisRateLimiter redisRateLimiter;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        redisRateLimiter = new RedisRateLimiter(redisTemplate, mock(SimpleRateLimiter.class), 0.5D);
+        executor = Executors.newFixedThreadPool(THREADS);
+        cleanKeys();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        cleanKeys();
+    }
+
+    /**
+     * 窗口边界突发对比
+     *
+     * 实现逻辑：
+     * 1. 固定窗口：首轮突发后等待 PTTL 到期，立即第二轮突发，放行总量接近 2 倍阈值。
+     * 2. 滑动窗口：按 Redis TIME 对齐到边界前 300ms 突发，边界后 10ms 再突发，放行总量不超过阈值的 105%。
+     *
+     * @throws InterruptedException 线程中断异常
+     */
+    @Test
+    @DisplayName("窗口边界突发：滑动窗口放行量不超过阈值的 105%")
+    void testBoundaryBurst() throws InterruptedException {
+        // 1. 固定窗口
+        int fixedBefore = burst(RateLimitAlgorithm.FIXED_WINDOW, LIMIT * 2);
+        Long pttl = redisTemplate.getExpire(RateLimitAlgorithm.FIXED_WINDOW.getKeyPrefix() + TEST_KEY, TimeUnit.MILLISECONDS);
+        TimeUnit.MILLISECONDS.sleep(Math.max(pttl == null ? 0 : pttl, 0) + AFTER_BOUNDARY_MS);
+        int fixedAfter = burst(RateLimitAlgorithm.FIXED_WINDOW, LIMIT * 2);
+        int fixedTotal = fixedBefore + fixedAfter;
+
+        // 2. 滑动窗口
+        long windowMillis = WINDOW_SECONDS * 1000L;
+        long now = redisTime();
+        long boundary = (now / windowMillis + 1) * windowMillis;
+        if (boundary - now < BEFORE_BOUNDARY_MS * 2) {
+            boundary += windowMillis;
+        }
+        TimeUnit.MILLISECONDS.sleep(boundary - BEFORE_BOUNDARY_MS - now);
+        int slidingBefore = burst(RateLimitAlgorithm.SLIDING_WINDOW, LIMIT * 2);
+        TimeUnit.MILLISECONDS.sleep(Math.max(boundary - redisTime(), 0) + AFTER_BOUNDARY_MS);
+        int slidingAfter = burst(RateLimitAlgorithm.SLIDING_WINDOW, LIMIT * 2);
+        int slidingTotal = slidingBefore + slidingAfter;
+
+        // 3. 报告
+        double fixedRatio = (double) fixedTotal / LIMIT;
+        double slidingRatio = (double) slidingTotal / LIMIT;
+        log.info("========== 窗口边界突发报告 ==========");
+        log.info("阈值|Limit: {} / {}s", LIMIT, WINDOW_SECONDS);
+        log.info("固定窗口|Fixed_window: before={}, after={}, total={}, ratio={}",
+                fixedBefore, fixedAfter, fixedTotal, String.format("%.3f", fixedRatio));
+        log.info("滑动窗口|Sliding_window: before={}, after={}, total={}, ratio={}",
+                slidingBefore, slidingAfter, slidingTotal, String.format("%.3f", slidingRatio));
+        log.info("=====================================");
+
+        assertTrue(fixedRatio > 1.5D, "固定窗口应复现边界 2 倍突发");
+        assertTrue(slidingRatio <= 1.05D, "滑动窗口边界突发放行量应不超过阈值的 105%");
+    }
+
+    /**
+     * 发起一次并发突发
+     *
+     * @param algorithm 限流算法
+     * @param requests 请求数
+     * @return 放行数
+     * @throws InterruptedException 线程中断异常
+     */
+    private int burst(RateLimitAlgorithm algorithm, int requests) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger allowed = new AtomicInteger();
+        for (int i = 0; i < requests; i++) {
+            executor.submit(() -> {
+                try {
+                    if (redisRateLimiter.acquire(TEST_KEY, LIMIT, WINDOW_SECONDS, algorithm).isAllowed()) {
+                        allowed.incrementAndGet();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(30, TimeUnit.SECONDS);
+        return allowed.get();
+    }
+
+    /**
+     * 读取 Redis 服务端时间（毫秒）
+     *
+     * @return Redis 时间
+     */
+    private long redisTime() {
+        Long time = redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().time());
+        return time != null ? time : System.currentTimeMillis();
+    }
+
+    private void cleanKeys() {
+        for (RateLimitAlgorithm algorithm : RateLimitAlgorithm.values()) {
+            redisTemplate.delete(algorithm.getKeyPrefix() + TEST_KEY);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.hao.redis.report.limit;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.hao.redis.common.enums.RateLimitAlgorithm;
+import com.hao.redis.common.interceptor.SimpleRateLimiter;
+import com.hao.redis.common.util.RedisRateLimiter;
+import com.hao.redis.common.util.RedisSlotUtil;
+import com.hao.redis.integration.cluster.RedisClusterTopologyCache;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 条带全局限流压测报告
+ *
+ * 类职责：
+ * 模拟多个应用节点以条带模式共用一个全局限流键，验证计数分散程度与全局精度。
+ *
+ * 测试目的：
+ * 1. 条带子键分布在多个 Slot / 主节点上。
+ * 2. 超阈值发压：整窗口内放行总量落在 [1 - 容忍度, 1.05] 倍阈值之间。
+ *
+ * 设计思路：
+ * - 每个节点一个独立的 RedisRateLimiter 实例，节点标识不同，首选条带不同，条带提示互不共享。
+ * - 发压起点按 Redis TIME 对齐到窗口边界，统计恰好若干个完整窗口内的放行数。
+ * - 使用 Guava RateLimiter 控制客户端发压速率。
+ *
+ * 为什么需要该类：
+ * 条带把一个精确计数拆成 N 个独立计数，需要用数据说明借用与提示机制把精度损失控制在容忍度以内。
+ */
+@Slf4j
+@SpringBootTest
+public class StripedGlobalRateLimitTest {
+
+    private static final String KEY = "report:striped";
+    private static final int LIMIT = 2000;
+    private static final int NODES = 4;
+    private static final int STRIPES = 8;
+    private static final double TOLERANCE = 0.05D;
+    private static final int THREADS = 32;
+    private static final int WINDOWS = 3;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisClusterTopologyCache topologyCache;
+
+    private final List<RedisRateLimiter> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new RedisRateLimiter(redisTemplate, mock(SimpleRateLimiter.class), 0.5D, null,
+                    RateLimitAlgorithm.SLIDING_WINDOW, 1.0D, STRIPES, TOLERANCE, "report-node-" + i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    /**
+     * 条带分布与全局精度
+     *
+     * 实现逻辑：
+     * 1. 统计条带子键所在的 Slot 与主节点数量。
+     * 2. 阈值 200% 发压 3 个窗口，统计放行总量与阈值的比值。
+     *
+     * @throws InterruptedException 线程中断异常
+     */
+    @Test
+    @DisplayName("条带模式：计数分散到多个 Slot，放行量在容忍度以内")
+    void testStripedGlobalLimit() throws InterruptedException {
+        Set<Integer> slots = new HashSet<>();
+        Set<String> masters = new HashSet<>();
+        for (String stripeKey : stripeKeys()) {
+            int slot = RedisSlotUtil.getSlot(stripeKey);
+            slots.add(slot);
+            String node = topologyCache.getNodeBySlot(slot);
+            if (node != null) {
+                masters.add(node);
+            }
+        }
+
+        long[] over = run(LIMIT * 2.0D);
+        double allowedRatio = (double) over[1] / ((long) LIMIT * WINDOWS);
+        log.info("========== 条带全局限流压测报告 ==========");
+        log.info("阈值|Limit: {}/s, 节点|Nodes: {}, 条带|Stripes: {}, 容忍度|Tolerance: {}", LIMIT, NODES, STRIPES, TOLERANCE);
+        log.info("分布|Distribution: slots={}, masters={}", slots.size(), masters);
+        log.info("超阈值|Over_limit: requests={}, allowed={}, allowedRatio={}",
+                over[0], over[1], String.format("%.3f", allowedRatio));
+        log.info("==========================================");
+
+        assertEquals(STRIPES, slots.size(), "各条带子键应落在不同 Slot");
+        assertTrue(allowedRatio <= 1.05D, "放行总量应不超过阈值的 105%");
+        assertTrue(allowedRatio >= 1 - TOLERANCE, "借用后少放行的量应在容忍度以内");
+    }
+
+    /**
+     * 对齐窗口边界后发压若干个完整窗口
+     *
+     * @param offeredQps 客户端发压速率
+     * @return {请求数, 放行数}
+     * @throws InterruptedException 线程中断异常
+     */
+    private long[] run(double offeredQps) throws InterruptedException {
+        long windowMillis = 1000L;
+        long now = redisTime();
+        TimeUnit.MILLISECONDS.sleep((now / windowMillis + 1) * windowMillis - now);
+
+        RateLimiter shaper = RateLimiter.create(offeredQps);
+        LongAdder requests = new LongAdder();
+        LongAdder allowed = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis * WINDOWS);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            RedisRateLimiter node = nodes.get(t % NODES);
+            workers.add(Thread.ofPlatform().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    shaper.acquire();
+                    requests.increment();
+                    if (node.acquireStriped(KEY, LIMIT, 1).isAllowed()) {
+                        allowed.increment();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new long[]{requests.sum(), allowed.sum()};
+    }
+
+    private List<String> stripeKeys() {
+        List<String> keys = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            keys.add("rate_limit:striped:{" + KEY + ":" + i + "}");
+        }
+        return keys;
+    }
+
+    private void cleanUp() {
+        // 条带子键分布在不同 Slot，逐个删除
+        stripeKeys().forEach(redisTemplate::delete);
+    }
+
+    private long redisTime() {
+        Long time = redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().time());
+        return time != null ? time : System.currentTimeMillis();
+    }
+}
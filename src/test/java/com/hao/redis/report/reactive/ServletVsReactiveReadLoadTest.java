@@ -0,0 +1,203 @@
+package com.hao.redis.report.reactive;
+
+import com.hao.redis.dal.model.WeiboPost;
+import com.hao.redis.service.WeiboService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Servlet 同步读与响应式读接口对比压测
+ *
+ * 类职责：
+ * 在真实 HTTP 链路上对比 /weibo 同步读接口与 /reactive/weibo 响应式读接口的吞吐与尾延迟。
+ *
+ * 测试目的：
+ * 1. 验证并发连接数超过 Tomcat 工作线程数时，响应式接口的吞吐与 P99 表现。
+ * 2. 为读接口是否切换响应式实现提供数据依据。
+ *
+ * 设计思路：
+ * - 使用随机端口启动完整容器，JDK HttpClient 发起真实 HTTP 请求。
+ * - 客户端使用虚拟线程模拟大量并发连接，避免客户端自身成为瓶颈。
+ * - 调高全局限流阈值，避免限流干扰对比结果。
+ *
+ * 为什么需要该类：
+ * 响应式改造的收益取决于并发连接规模，需要在同一环境下做可重复的对比。
+ *
+ * 核心实现思路：
+ * - 预置少量微博与点赞数据。
+ * - 对每组接口先预热、再正式发压，统计成功数、QPS 与 P50/P99 延迟。
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "rate.limit.global-qps=1000000")
+public class ServletVsReactiveReadLoadTest {
+
+    // 压测参数配置
+    private static final int CONCURRENCY = 1000;          // 并发连接数 (大于 Tomcat 默认 200 工作线程)
+    private static final int REQUESTS_PER_CLIENT = 20;    // 每个连接请求次数
+    private static final int WARMUP_REQUESTS = 500;       // 预热请求数
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WeiboService weiboService;
+
+    private HttpClient httpClient;
+
+    /**
+     * 压测前置数据准备
+     *
+     * 实现逻辑：
+     * 1. 发布微博并点赞，确保时间轴与热榜非空。
+     */
+    @BeforeAll
+    void prepareData() throws Exception {
+        // 实现思路：
+        // 1. 直接调用服务层写入，避免写接口限流干扰。
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (int i = 0; i < 20; i++) {
+            WeiboPost post = new WeiboPost();
+            post.setContent("读接口对比压测#" + i);
+            String postId = weiboService.createPost("1", post);
+            weiboService.likePost("1", postId);
+        }
+        log.info("压测数据准备完成|Load_test_data_ready,port={}", port);
+    }
+
+    /**
+     * 同步与响应式读接口对比
+     *
+     * 实现逻辑：
+     * 1. 依次压测 list/rank 的同步与响应式版本。
+     * 2. 输出对比报告并校验成功率。
+     */
+    @Test
+    @DisplayName("读接口对比压测_Servlet同步_vs_响应式")
+    public void compareServletAndReactive() throws Exception {
+        // 实现思路：
+        // 1. 同一进程、同一数据集下交替执行，降低环境差异影响。
+        String[][] pairs = {
+                {"/weibo/weibo/list", "/reactive/weibo/weibo/list"},
+                {"/weibo/weibo/rank", "/reactive/weibo/weibo/rank"}
+        };
+        for (String[] pair : pairs) {
+            LoadReport servlet = runLoad(pair[0]);
+            LoadReport reactive = runLoad(pair[1]);
+            log.info("对比报告|Compare_report,servletPath={},servletQps={},servletP50Ms={},servletP99Ms={},servletFail={}",
+                    pair[0], String.format("%.2f", servlet.qps), servlet.p50Ms, servlet.p99Ms, servlet.fail);
+            log.info("对比报告|Compare_report,reactivePath={},reactiveQps={},reactiveP50Ms={},reactiveP99Ms={},reactiveFail={}",
+                    pair[1], String.format("%.2f", reactive.qps), reactive.p50Ms, reactive.p99Ms, reactive.fail);
+            assertTrue(servlet.success > 0 && reactive.success > 0, "两组接口均应有成功请求");
+        }
+    }
+
+    /**
+     * 单接口发压
+     *
+     * 实现逻辑：
+     * 1. 串行预热。
+     * 2. 并发发压并记录每次请求耗时。
+     * 3. 计算 QPS 与分位延迟。
+     *
+     * @param path 接口路径
+     * @return 压测报告
+     */
+    private LoadReport runLoad(String path) throws Exception {
+        // 实现思路：
+        // 1. 预热 JIT 与连接，再用发令枪统一起跑。
+        URI uri = URI.create("http://localhost:" + port + path);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        int total = CONCURRENCY * REQUESTS_PER_CLIENT;
+        AtomicLongArray latencies = new AtomicLongArray(total);
+        AtomicInteger cursor = new AtomicInteger();
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger fail = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch finishLatch = new CountDownLatch(CONCURRENCY);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                clients.submit(() -> {
+                    try {
+                        startLatch.await();
+                        for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                            long begin = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() == 200) {
+                                    success.incrementAndGet();
+                                } else {
+                                    fail.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                fail.incrementAndGet();
+                            }
+                            latencies.set(cursor.getAndIncrement(), System.nanoTime() - begin);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finishLatch.countDown();
+                    }
+                });
+            }
+            long start = System.nanoTime();
+            startLatch.countDown();
+            finishLatch.await();
+            long costNanos = System.nanoTime() - start;
+
+            long[] sorted = new long[total];
+            for (int i = 0; i < total; i++) {
+                sorted[i] = latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            LoadReport report = new LoadReport();
+            report.success = success.get();
+            report.fail = fail.get();
+            report.qps = success.get() / (costNanos / 1_000_000_000.0);
+            report.p50Ms = sorted[(int) (total * 0.50)] / 1_000_000;
+            report.p99Ms = sorted[Math.min(total - 1, (int) (total * 0.99))] / 1_000_000;
+            return report;
+        }
+    }
+
+    /**
+     * 压测结果
+     */
+    private static class LoadReport {
+        int success;
+        int fail;
+        double qps;
+        long p50Ms;
+        long p99Ms;
+    }
+}